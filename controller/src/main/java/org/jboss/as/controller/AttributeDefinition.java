@@ -92,6 +92,8 @@ public abstract class AttributeDefinition {
     private final ModelNode undefinedMetricValue;
     protected final CapabilityReferenceRecorder referenceRecorder;
     private final Map<String, ModelNode> arbitraryDescriptors = new HashMap<>();
+    private volatile ModelNode noTextDescription;
+    private volatile ModelNode noTextOperationDescription;
 
     // NOTE: Standards for creating a constructor variant are:
     // 1) Expected to be a common use case; no one-offs.
@@ -711,9 +713,9 @@ public abstract class AttributeDefinition {
      * @return  the attribute description node
      */
     public ModelNode addResourceAttributeDescription(final ResourceBundle bundle, final String prefix, final ModelNode resourceDescription) {
-        final ModelNode attr = getNoTextDescription(false);
-        attr.get(ModelDescriptionConstants.DESCRIPTION).set(getAttributeTextDescription(bundle, prefix));
-        final ModelNode result = resourceDescription.get(ModelDescriptionConstants.ATTRIBUTES, getName()).set(attr);
+        final String description = getAttributeTextDescription(bundle, prefix);
+        final ModelNode result = resourceDescription.get(ModelDescriptionConstants.ATTRIBUTES, getName()).set(getCachedNoTextDescription(false));
+        result.get(ModelDescriptionConstants.DESCRIPTION).set(description);
         ModelNode deprecated = addDeprecatedInfo(result);
         if (deprecated != null) {
             deprecated.get(ModelDescriptionConstants.REASON).set(getAttributeDeprecatedDescription(bundle, prefix));
@@ -735,10 +737,9 @@ public abstract class AttributeDefinition {
      */
     public ModelNode addResourceAttributeDescription(final ModelNode resourceDescription, final ResourceDescriptionResolver resolver,
                                                      final Locale locale, final ResourceBundle bundle) {
-        final ModelNode attr = getNoTextDescription(false);
         final String description = resolver.getResourceAttributeDescription(getName(), locale, bundle);
-        attr.get(ModelDescriptionConstants.DESCRIPTION).set(description);
-        final ModelNode result = resourceDescription.get(ModelDescriptionConstants.ATTRIBUTES, getName()).set(attr);
+        final ModelNode result = resourceDescription.get(ModelDescriptionConstants.ATTRIBUTES, getName()).set(getCachedNoTextDescription(false));
+        result.get(ModelDescriptionConstants.DESCRIPTION).set(description);
         ModelNode deprecated = addDeprecatedInfo(result);
         if (deprecated != null) {
             deprecated.get(ModelDescriptionConstants.REASON).set(resolver.getResourceAttributeDeprecatedDescription(getName(), locale, bundle));
@@ -758,9 +759,9 @@ public abstract class AttributeDefinition {
      * @return  the attribute description node
      */
     public ModelNode addOperationParameterDescription(final ResourceBundle bundle, final String prefix, final ModelNode operationDescription) {
-        final ModelNode param = getNoTextDescription(true);
-        param.get(ModelDescriptionConstants.DESCRIPTION).set(getAttributeTextDescription(bundle, prefix));
-        final ModelNode result = operationDescription.get(ModelDescriptionConstants.REQUEST_PROPERTIES, getName()).set(param);
+        final String description = getAttributeTextDescription(bundle, prefix);
+        final ModelNode result = operationDescription.get(ModelDescriptionConstants.REQUEST_PROPERTIES, getName()).set(getCachedNoTextDescription(true));
+        result.get(ModelDescriptionConstants.DESCRIPTION).set(description);
         ModelNode deprecated = addDeprecatedInfo(result);
         if (deprecated != null) {
             deprecated.get(ModelDescriptionConstants.REASON).set(getAttributeDeprecatedDescription(bundle, prefix));
@@ -783,10 +784,9 @@ public abstract class AttributeDefinition {
     public ModelNode addOperationParameterDescription(final ModelNode resourceDescription, final String operationName,
                                                       final ResourceDescriptionResolver resolver,
                                                       final Locale locale, final ResourceBundle bundle) {
-        final ModelNode param = getNoTextDescription(true);
         final String description = resolver.getOperationParameterDescription(operationName, getName(), locale, bundle);
-        param.get(ModelDescriptionConstants.DESCRIPTION).set(description);
-        final ModelNode result = resourceDescription.get(ModelDescriptionConstants.REQUEST_PROPERTIES, getName()).set(param);
+        final ModelNode result = resourceDescription.get(ModelDescriptionConstants.REQUEST_PROPERTIES, getName()).set(getCachedNoTextDescription(true));
+        result.get(ModelDescriptionConstants.DESCRIPTION).set(description);
         ModelNode deprecated = addDeprecatedInfo(result);
         if (deprecated != null) {
             deprecated.get(ModelDescriptionConstants.REASON).set(resolver.getOperationParameterDeprecatedDescription(operationName, getName(), locale, bundle));
@@ -805,9 +805,9 @@ public abstract class AttributeDefinition {
      * @return  the attribute description node
      */
     public ModelNode addOperationReplyDescription(final ResourceBundle bundle, final String prefix, final ModelNode operationDescription) {
-        final ModelNode param = getNoTextDescription(true);
-        param.get(ModelDescriptionConstants.DESCRIPTION).set(getAttributeTextDescription(bundle, prefix));
-        final ModelNode result = operationDescription.get(ModelDescriptionConstants.REPLY_PROPERTIES, getName()).set(param);
+        final String description = getAttributeTextDescription(bundle, prefix);
+        final ModelNode result = operationDescription.get(ModelDescriptionConstants.REPLY_PROPERTIES, getName()).set(getCachedNoTextDescription(true));
+        result.get(ModelDescriptionConstants.DESCRIPTION).set(description);
         ModelNode deprecated = addDeprecatedInfo(result);
         if (deprecated != null) {
             deprecated.get(ModelDescriptionConstants.REASON).set(getAttributeDeprecatedDescription(bundle, prefix));
@@ -830,10 +830,9 @@ public abstract class AttributeDefinition {
     public ModelNode addOperationReplyDescription(final ModelNode resourceDescription, final String operationName,
                                                       final ResourceDescriptionResolver resolver,
                                                       final Locale locale, final ResourceBundle bundle) {
-        final ModelNode param = getNoTextDescription(true);
-        String description = resolver.getOperationReplyValueTypeDescription(operationName, locale, bundle, getName());
-        param.get(ModelDescriptionConstants.DESCRIPTION).set(description);
-        final ModelNode result = resourceDescription.get(ModelDescriptionConstants.REPLY_PROPERTIES, getName()).set(param);
+        final String description = resolver.getOperationReplyValueTypeDescription(operationName, locale, bundle, getName());
+        final ModelNode result = resourceDescription.get(ModelDescriptionConstants.REPLY_PROPERTIES, getName()).set(getCachedNoTextDescription(true));
+        result.get(ModelDescriptionConstants.DESCRIPTION).set(description);
         ModelNode deprecated = addDeprecatedInfo(result);
         if (deprecated != null) {
             deprecated.get(ModelDescriptionConstants.REASON).set(resolver.getOperationParameterDeprecatedDescription(operationName, getName(), locale, bundle));
@@ -885,6 +884,10 @@ public abstract class AttributeDefinition {
     /**
      * Gets descriptive metadata for this attribute, excluding free-from text
      * {@code description} fields.
+     * <p>
+     * The {@code add...Description} methods only call this once for each value of {@code forOperation}
+     * and reuse the result, so overriding implementations must always return the same metadata.
+     * </p>
      *
      * @param forOperation {@code true} if the metadata is for an operation parameter
      *                                 or reply value type
@@ -964,6 +967,31 @@ public abstract class AttributeDefinition {
         return result;
     }
 
+    /**
+     * Gets the {@link #getNoTextDescription(boolean) descriptive metadata} for this attribute, building it on first use.
+     * The returned node is shared and protected, so it must be copied, e.g. by setting it into another node, before
+     * any text is added.
+     *
+     * @param forOperation {@code true} if the metadata is for an operation parameter
+     *                                 or reply value type
+     * @return protected object node containing the descriptive metadata
+     */
+    final ModelNode getCachedNoTextDescription(boolean forOperation) {
+        ModelNode result = forOperation ? noTextOperationDescription : noTextDescription;
+        if (result == null) {
+            // Racing threads build equal descriptions, which interning resolves to the same node
+            result = NoTextDescriptionCache.intern(getNoTextDescription(forOperation));
+            if (forOperation) {
+                noTextOperationDescription = result;
+            } else {
+                noTextDescription = result;
+            }
+        } else {
+            NoTextDescriptionCache.recordHit();
+        }
+        return result;
+    }
+
     /**
      * Based on the given attribute value, add capability requirements. If this definition
      * is for an attribute whose value is or contains a reference to the name of some capability,
@@ -80,6 +80,13 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
     //holds reference to parent published registry
     private final CapabilityRegistry publishedFullRegistry;
     private boolean modified = false;
+    // Changes since the last publish or rollback, so only those need to be copied between this shadow copy
+    // and the published registry. Ids in changedCapabilities cover the capability and its requirements.
+    private final Set<CapabilityId> changedCapabilities = new HashSet<>();
+    private final Set<CapabilityId> changedPossibleCapabilities = new HashSet<>();
+    private boolean changedRuntimeStatus;
+    private boolean changedContexts;
+    private boolean cleared;
 
     public CapabilityRegistry(boolean forServer) {
         this(forServer, null);
@@ -159,6 +166,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
             } else {
                 capabilities.put(capabilityId, capabilityRegistration);
             }
+            capabilityChanged(capabilityId);
 
             // Add any hard requirements
             for (String req : capabilityRegistration.getCapability().getRequirements()) {
@@ -168,7 +176,9 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
 
             if (!forServer) {
                 CapabilityScope capContext = capabilityId.getScope();
-                knownContexts.add(capContext);
+                if (knownContexts.add(capContext)) {
+                    changedContexts = true;
+                }
             }
             modified = true;
         } finally {
@@ -222,6 +232,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
         } else {
             existing.addRegistrationPoint(requirement.getOldestRegistrationPoint());
         }
+        capabilityChanged(dependentId);
         modified = true;
     }
 
@@ -264,6 +275,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
             if (candidate != null) {
                 RegistrationPoint rp = new RegistrationPoint(registrationPoint, null);
                 if (candidate.removeRegistrationPoint(rp)) {
+                    capabilityChanged(capabilityId);
                     if (candidate.getRegistrationPointCount() == 0) {
                         removed = capabilities.remove(capabilityId);
                         requirements.remove(capabilityId);
@@ -312,6 +324,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
                 if (dependents.size() == 0) {
                     requirementMap.remove(requirementRegistration.getDependentId());
                 }
+                capabilityChanged(requirementRegistration.getDependentId());
                 modified = true;
             }
         }
@@ -392,7 +405,9 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
     public void capabilityReloadRequired(PathAddress address, ImmutableManagementResourceRegistration resourceRegistration) {
         writeLock.lock();
         try {
-            reloadCapabilities.addAll(getCapabilitiesForAddress(address, resourceRegistration));
+            if (reloadCapabilities.addAll(getCapabilitiesForAddress(address, resourceRegistration))) {
+                changedRuntimeStatus = true;
+            }
         } finally {
             writeLock.unlock();
         }
@@ -402,7 +417,9 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
     public void capabilityRestartRequired(PathAddress address, ImmutableManagementResourceRegistration resourceRegistration) {
         writeLock.lock();
         try {
-            restartCapabilities.addAll(getCapabilitiesForAddress(address, resourceRegistration));
+            if (restartCapabilities.addAll(getCapabilitiesForAddress(address, resourceRegistration))) {
+                changedRuntimeStatus = true;
+            }
         } finally {
             writeLock.unlock();
         }
@@ -521,6 +538,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
                 return capabilityRegistration;
             });
             possibleCapabilities.putIfAbsent(capabilityId, capabilityRegistration);
+            possibleCapabilityChanged(capabilityId);
             modified = true;
         } finally {
             writeLock.unlock();
@@ -546,6 +564,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
             if (candidate != null) {
                 RegistrationPoint rp = new RegistrationPoint(registrationPoint, null);
                 if (candidate.removeRegistrationPoint(rp)) {
+                    possibleCapabilityChanged(capabilityId);
                     if (candidate.getRegistrationPointCount() == 0) {
                         removed = possibleCapabilities.remove(capabilityId);
                     } else {
@@ -670,8 +689,13 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
             }
             publishedFullRegistry.writeLock.lock();
             try {
-                publishedFullRegistry.clear(true);
-                copy(this, publishedFullRegistry);
+                if (cleared) {
+                    publishedFullRegistry.clear(true);
+                    copy(this, publishedFullRegistry);
+                } else {
+                    copyChanges(this, publishedFullRegistry);
+                }
+                clearChanges();
                 modified = false;
             } finally {
                 publishedFullRegistry.writeLock.unlock();
@@ -692,8 +716,13 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
         try {
             publishedFullRegistry.readLock.lock();
             try {
-                clear(true);
-                copy(publishedFullRegistry, this);
+                if (cleared) {
+                    clear(true);
+                    copy(publishedFullRegistry, this);
+                } else {
+                    copyChanges(publishedFullRegistry, this);
+                }
+                clearChanges();
                 modified = false;
             } finally {
                 publishedFullRegistry.readLock.unlock();
@@ -727,6 +756,78 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
         }
     }
 
+    /**
+     * Copies the entries changed in this shadow copy from {@code source} to {@code target}, so the cost of a publish
+     * or rollback depends on the number of changes rather than on the size of the registry.
+     */
+    private void copyChanges(CapabilityRegistry source, CapabilityRegistry target) {
+        assert target.writeLock.isHeldByCurrentThread();
+        for (CapabilityId id : changedCapabilities) {
+            RuntimeCapabilityRegistration registration = source.capabilities.get(id);
+            if (registration == null) {
+                target.capabilities.remove(id);
+            } else {
+                target.capabilities.put(id, new RuntimeCapabilityRegistration(registration));
+            }
+            copyRequirements(id, source.requirements, target.requirements);
+            copyRequirements(id, source.runtimeOnlyRequirements, target.runtimeOnlyRequirements);
+        }
+        for (CapabilityId id : changedPossibleCapabilities) {
+            CapabilityRegistration registration = source.possibleCapabilities.get(id);
+            if (registration == null) {
+                target.possibleCapabilities.remove(id);
+            } else {
+                target.possibleCapabilities.put(id, new CapabilityRegistration(registration));
+            }
+        }
+        if (changedRuntimeStatus) {
+            target.reloadCapabilities.clear();
+            target.reloadCapabilities.addAll(source.reloadCapabilities);
+            target.restartCapabilities.clear();
+            target.restartCapabilities.addAll(source.restartCapabilities);
+        }
+        if (changedContexts) {
+            target.knownContexts.clear();
+            target.knownContexts.addAll(source.knownContexts);
+        }
+    }
+
+    private static void copyRequirements(CapabilityId id,
+                                         Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> source,
+                                         Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> dest) {
+        Map<String, RuntimeRequirementRegistration> dependents = source.get(id);
+        if (dependents == null) {
+            dest.remove(id);
+        } else {
+            Map<String, RuntimeRequirementRegistration> mapCopy = new HashMap<>();
+            for (Map.Entry<String, RuntimeRequirementRegistration> entry : dependents.entrySet()) {
+                mapCopy.put(entry.getKey(), new RuntimeRequirementRegistration(entry.getValue()));
+            }
+            dest.put(id, mapCopy);
+        }
+    }
+
+    private void capabilityChanged(CapabilityId id) {
+        // The published registry itself is only written by publish, so has no changes to track
+        if (publishedFullRegistry != null && !cleared) {
+            changedCapabilities.add(id);
+        }
+    }
+
+    private void possibleCapabilityChanged(CapabilityId id) {
+        if (publishedFullRegistry != null && !cleared) {
+            changedPossibleCapabilities.add(id);
+        }
+    }
+
+    private void clearChanges() {
+        changedCapabilities.clear();
+        changedPossibleCapabilities.clear();
+        changedRuntimeStatus = false;
+        changedContexts = false;
+        cleared = false;
+    }
+
     /**
      * Clears capability registry
      */
@@ -745,6 +846,10 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
             if (restartRequired) {
                 restartCapabilities.clear();
             }
+            // Everything changed, so the next publish or rollback copies the whole registry
+            cleared = true;
+            changedCapabilities.clear();
+            changedPossibleCapabilities.clear();
             modified = true;
         } finally {
             writeLock.unlock();
@@ -21,7 +21,11 @@
 */
 package org.jboss.as.controller;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.dmr.ModelNode;
@@ -40,6 +44,14 @@ public class ExpressionResolverImpl implements ExpressionResolver {
     private static final int GOT_DOLLAR = 1;
     private static final int GOT_OPEN_BRACE = 2;
 
+    /**
+     * Expression strings already examined, mapped to their {@link SimpleExpression} or to {@link #NOT_SIMPLE}. The
+     * parsed form does not depend on any property values, so entries never need to be invalidated.
+     */
+    private static final ConcurrentMap<String, Object> PARSED_EXPRESSIONS = new ConcurrentHashMap<String, Object>();
+    private static final int MAX_PARSED_EXPRESSIONS = 4096;
+    private static final Object NOT_SIMPLE = new Object();
+
     private final boolean lenient;
 
     /**
@@ -83,21 +95,22 @@ public class ExpressionResolverImpl implements ExpressionResolver {
         if (type == ModelType.EXPRESSION) {
             resolved = resolveExpressionStringRecursively(node.asExpression().getExpressionString(), lenient, true);
         } else if (type == ModelType.OBJECT) {
-            resolved = node.clone();
-            for (Property prop : resolved.asPropertyList()) {
+            // The children are copied as they are set, so there is no need to clone the node first
+            resolved = new ModelNode();
+            resolved.setEmptyObject();
+            for (Property prop : node.asPropertyList()) {
                 resolved.get(prop.getName()).set(resolveExpressionsRecursively(prop.getValue()));
             }
         } else if (type == ModelType.LIST) {
-            resolved = node.clone();
-            ModelNode list = new ModelNode();
-            list.setEmptyList();
-            for (ModelNode current : resolved.asList()) {
-                list.add(resolveExpressionsRecursively(current));
+            resolved = new ModelNode();
+            resolved.setEmptyList();
+            for (ModelNode current : node.asList()) {
+                resolved.add(resolveExpressionsRecursively(current));
             }
-            resolved = list;
         } else if (type == ModelType.PROPERTY) {
-            resolved = node.clone();
-            resolved.set(resolved.asProperty().getName(), resolveExpressionsRecursively(resolved.asProperty().getValue()));
+            final Property prop = node.asProperty();
+            resolved = new ModelNode();
+            resolved.set(prop.getName(), resolveExpressionsRecursively(prop.getValue()));
         } else {
             resolved = node;
         }
@@ -167,6 +180,18 @@ public class ExpressionResolverImpl implements ExpressionResolver {
 
     private ParseAndResolveResult parseAndResolve(final String initialValue, boolean lenient) throws OperationFailedException {
 
+        final SimpleExpression simple = SimpleExpression.parse(initialValue);
+        if (simple != null) {
+            // Same outcome as the general case below for a single expression without nesting or escapes
+            final String resolved = resolveExpressionString(initialValue, simple);
+            if (!initialValue.equals(resolved)) {
+                return new ParseAndResolveResult(resolved, true, EXPRESSION_PATTERN.matcher(resolved).matches());
+            } else if (lenient) {
+                return new ParseAndResolveResult(initialValue, false, false);
+            } else {
+                throw ControllerLogger.ROOT_LOGGER.cannotResolveExpression(initialValue);
+            }
+        }
 
         final StringBuilder builder = new StringBuilder();
         final int len = initialValue.length();
@@ -324,6 +349,14 @@ public class ExpressionResolverImpl implements ExpressionResolver {
 
     /** Resolve the given string using any plugin and the DMR resolve method */
     private String resolveExpressionString(final String unresolvedString) throws OperationFailedException {
+        return resolveExpressionString(unresolvedString, null);
+    }
+
+    /**
+     * Resolve the given string using any plugin and then either the parsed {@code simple} expression or, if that is
+     * {@code null}, the DMR resolve method
+     */
+    private String resolveExpressionString(final String unresolvedString, final SimpleExpression simple) throws OperationFailedException {
 
         // parseAndResolve should only be providing expressions with no leading or trailing chars
         assert unresolvedString.startsWith("${") && unresolvedString.endsWith("}");
@@ -338,7 +371,7 @@ public class ExpressionResolverImpl implements ExpressionResolver {
 
         if (resolveNode.getType() == ModelType.EXPRESSION ) {
             // resolvePluggableExpression did nothing. Try standard resolution
-            String resolvedString = resolveStandardExpression(resolveNode);
+            String resolvedString = simple == null ? resolveStandardExpression(resolveNode) : simple.resolve(resolveNode);
             if (!unresolvedString.equals(resolvedString)) {
                 // resolveStandardExpression made progress
                 result = resolvedString;
@@ -467,6 +500,98 @@ public class ExpressionResolverImpl implements ExpressionResolver {
         }
     }
 
+    /**
+     * Parsed form of an expression string consisting of nothing but a single {@code ${key1,key2:default}}
+     * expression without nested expressions, escapes or special keys, which covers most expressions in practice.
+     * Resolving one gives the same result as {@link ModelNode#resolve()}, without parsing the string again.
+     */
+    private static final class SimpleExpression {
+        private final String[] keys;
+        private final String defaultValue;
+
+        private SimpleExpression(final String[] keys, final String defaultValue) {
+            this.keys = keys;
+            this.defaultValue = defaultValue;
+        }
+
+        /**
+         * Gets the parsed form of the given string.
+         *
+         * @param expressionString the expression string
+         * @return the parsed expression, or {@code null} if the string is not a simple expression
+         */
+        static SimpleExpression parse(final String expressionString) {
+            Object parsed = PARSED_EXPRESSIONS.get(expressionString);
+            if (parsed == null) {
+                final SimpleExpression simple = doParse(expressionString);
+                parsed = simple == null ? NOT_SIMPLE : simple;
+                if (PARSED_EXPRESSIONS.size() < MAX_PARSED_EXPRESSIONS) {
+                    PARSED_EXPRESSIONS.putIfAbsent(expressionString, parsed);
+                }
+            }
+            return parsed == NOT_SIMPLE ? null : (SimpleExpression) parsed;
+        }
+
+        private static SimpleExpression doParse(final String expressionString) {
+            final int end = expressionString.length() - 1;
+            if (end < 3 || !expressionString.startsWith("${") || expressionString.charAt(end) != '}') {
+                return null;
+            }
+            // Leave vault expressions such as ${VAULT::block::attribute::1} to the general path
+            if (expressionString.contains("::")) {
+                return null;
+            }
+            final List<String> keys = new ArrayList<String>(1);
+            String defaultValue = null;
+            int keyStart = 2;
+            for (int i = 2; i <= end; i++) {
+                final char ch = expressionString.charAt(i);
+                if (ch == '$' || ch == '{' || (ch == '}' && i < end)) {
+                    return null;
+                }
+                if (defaultValue == null && (ch == ',' || ch == ':' || ch == '}')) {
+                    final String key = expressionString.substring(keyStart, i);
+                    // Leave empty, padded and special keys such as ${/} and ${:} to DMR
+                    if (key.isEmpty() || !key.trim().equals(key) || key.equals("/")) {
+                        return null;
+                    }
+                    keys.add(key);
+                    if (ch == ':') {
+                        // Keep scanning, as the default must not contain another expression or brace either
+                        defaultValue = expressionString.substring(i + 1, end);
+                    }
+                    keyStart = i + 1;
+                }
+            }
+            return new SimpleExpression(keys.toArray(new String[keys.size()]), defaultValue);
+        }
+
+        /**
+         * Resolves the expression against the system properties and environment.
+         *
+         * @param unresolved the expression as a node, for use in error messages
+         * @return the resolved value, or the unresolved expression string if no key has a value and there is no default
+         *
+         * @throws OperationFailedException if reading a system property is not permitted
+         */
+        String resolve(final ModelNode unresolved) throws OperationFailedException {
+            try {
+                for (String key : keys) {
+                    String value = System.getProperty(key);
+                    if (value == null && key.startsWith("env.")) {
+                        value = System.getenv(key.substring(4));
+                    }
+                    if (value != null) {
+                        return value;
+                    }
+                }
+            } catch (SecurityException e) {
+                throw new OperationFailedException(ControllerLogger.ROOT_LOGGER.noPermissionToResolveExpression(unresolved, e));
+            }
+            return defaultValue != null ? defaultValue : unresolved.asString();
+        }
+    }
+
     private static class OpenExpression {
         private final int startIndex;
         private int endIndex = -1;
@@ -0,0 +1,117 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Shared store of the {@link AttributeDefinition#getNoTextDescription(boolean) descriptions without text} of attributes
+ * and operation parameters. Each {@link AttributeDefinition} keeps its own descriptions once built; this class interns
+ * them, so that definitions with identical descriptions, such as the same attribute registered on many resource types,
+ * share a single protected node. It also keeps statistics on their use for diagnostic purposes.
+ */
+public final class NoTextDescriptionCache {
+
+    /** Beyond this many distinct descriptions, new ones are still cached by their definition but no longer interned */
+    private static final int MAX_INTERNED = 8192;
+
+    private static final ConcurrentMap<ModelNode, ModelNode> INTERNED = new ConcurrentHashMap<ModelNode, ModelNode>();
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder SHARED = new LongAdder();
+
+    private NoTextDescriptionCache() {
+    }
+
+    /**
+     * Gets the shared, protected node equal to the given newly built description.
+     *
+     * @param description the description. Cannot be {@code null}
+     * @return a protected node equal to {@code description}
+     */
+    static ModelNode intern(final ModelNode description) {
+        MISSES.increment();
+        final ModelNode existing = INTERNED.get(description);
+        if (existing != null) {
+            SHARED.increment();
+            return existing;
+        }
+        description.protect();
+        if (INTERNED.size() >= MAX_INTERNED) {
+            return description;
+        }
+        final ModelNode previous = INTERNED.putIfAbsent(description, description);
+        if (previous != null) {
+            SHARED.increment();
+            return previous;
+        }
+        return description;
+    }
+
+    /**
+     * Records that a description was served from the cache of its definition.
+     */
+    static void recordHit() {
+        HITS.increment();
+    }
+
+    /**
+     * Gets the number of times a description was served without building it.
+     *
+     * @return the number of cache hits
+     */
+    public static long getHitCount() {
+        return HITS.sum();
+    }
+
+    /**
+     * Gets the number of times a description had to be built.
+     *
+     * @return the number of cache misses
+     */
+    public static long getMissCount() {
+        return MISSES.sum();
+    }
+
+    /**
+     * Gets the number of built descriptions that were replaced by an identical one built earlier.
+     *
+     * @return the number of descriptions shared rather than retained
+     */
+    public static long getSharedCount() {
+        return SHARED.sum();
+    }
+
+    /**
+     * Gets the number of distinct descriptions currently interned.
+     *
+     * @return the number of interned descriptions
+     */
+    public static int getInternedCount() {
+        return INTERNED.size();
+    }
+}
@@ -55,9 +55,9 @@ public class ObjectListAttributeDefinition extends ListAttributeDefinition {
 
     @Override
     public ModelNode addResourceAttributeDescription(ResourceBundle bundle, String prefix, ModelNode resourceDescription) {
-        final ModelNode attr = getNoTextDescription(false);
-        attr.get(ModelDescriptionConstants.DESCRIPTION).set(getAttributeTextDescription(bundle, prefix));
-        final ModelNode result = resourceDescription.get(ModelDescriptionConstants.ATTRIBUTES, getName()).set(attr);
+        final String description = getAttributeTextDescription(bundle, prefix);
+        final ModelNode result = resourceDescription.get(ModelDescriptionConstants.ATTRIBUTES, getName()).set(getCachedNoTextDescription(false));
+        result.get(ModelDescriptionConstants.DESCRIPTION).set(description);
         addValueTypeDescription(result, prefix, bundle, false, null, null);
         addAccessConstraints(result, bundle.getLocale());
         return result;
@@ -65,9 +65,9 @@ public class ObjectListAttributeDefinition extends ListAttributeDefinition {
 
     @Override
     public ModelNode addOperationParameterDescription(ResourceBundle bundle, String prefix, ModelNode operationDescription) {
-        final ModelNode param = getNoTextDescription(true);
-        param.get(ModelDescriptionConstants.DESCRIPTION).set(getAttributeTextDescription(bundle, prefix));
-        final ModelNode result = operationDescription.get(ModelDescriptionConstants.REQUEST_PROPERTIES, getName()).set(param);
+        final String description = getAttributeTextDescription(bundle, prefix);
+        final ModelNode result = operationDescription.get(ModelDescriptionConstants.REQUEST_PROPERTIES, getName()).set(getCachedNoTextDescription(true));
+        result.get(ModelDescriptionConstants.DESCRIPTION).set(description);
         addValueTypeDescription(result, prefix, bundle, true, null, null);
         return result;
     }
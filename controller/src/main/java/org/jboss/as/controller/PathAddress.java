@@ -26,13 +26,9 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SER
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
-import java.util.Set;
 
 import org.jboss.as.controller._private.OperationFailedRuntimeException;
 import org.jboss.as.controller.logging.ControllerLogger;
@@ -48,10 +44,12 @@ import org.jboss.dmr.Property;
  */
 public class PathAddress implements Iterable<PathElement> {
 
+    private static final PathElement[] NO_ELEMENTS = new PathElement[0];
+
     /**
      * An empty address.
      */
-    public static final PathAddress EMPTY_ADDRESS = new PathAddress(Collections.<PathElement>emptyList());
+    public static final PathAddress EMPTY_ADDRESS = new PathAddress(NO_ELEMENTS);
 
     /**
      * Creates a PathAddress from the given ModelNode address. The given node is expected to be an address node.
@@ -63,46 +61,33 @@ public class PathAddress implements Iterable<PathElement> {
     public static PathAddress pathAddress(final ModelNode node) {
         if (node.isDefined()) {
 
-//            final List<Property> props = node.asPropertyList();
-            // Following bit is crap TODO; uncomment above and delete below
-            // when bug is fixed
-            final List<Property> props = new ArrayList<Property>();
+            // Elements are either properties or objects, or alternating key and value nodes
+            final List<ModelNode> nodes = node.asList();
+            final PathElement[] elements = new PathElement[nodes.size()];
+            int size = 0;
+            int checkFrom = 0;
             String key = null;
-            for (ModelNode element : node.asList()) {
-                Property prop = null;
-                if (element.getType() == ModelType.PROPERTY || element.getType() == ModelType.OBJECT) {
-                    prop = element.asProperty();
+            for (ModelNode element : nodes) {
+                final ModelType type = element.getType();
+                PathElement pathElement = null;
+                if (type == ModelType.PROPERTY || type == ModelType.OBJECT) {
+                    final Property prop = element.asProperty();
+                    pathElement = new PathElement(prop.getName(), prop.getValue().asString());
                 } else if (key == null) {
                     key = element.asString();
                 } else {
-                    prop = new Property(key, element);
+                    pathElement = new PathElement(key, element.asString());
                 }
-                if (prop != null) {
-                    props.add(prop);
+                if (pathElement != null) {
+                    elements[size] = pathElement;
+                    checkFrom = checkDuplicate(elements, size++, checkFrom);
                     key = null;
                 }
-
             }
-            if (props.size() == 0) {
+            if (size == 0) {
                 return EMPTY_ADDRESS;
-            } else {
-                final Set<String> seen = new HashSet<String>();
-                final List<PathElement> values = new ArrayList<PathElement>();
-                int index = 0;
-                for (final Property prop : props) {
-                    final String name = prop.getName();
-                    if (seen.add(name)) {
-                        values.add(new PathElement(name, prop.getValue().asString()));
-                    } else {
-                        throw duplicateElement(name);
-                    }
-                    if (index == 1 && name.equals(SERVER) && seen.contains(HOST)) {
-                        seen.clear();
-                    }
-                    index++;
-                }
-                return new PathAddress(Collections.unmodifiableList(values));
             }
+            return new PathAddress(size == elements.length ? elements : Arrays.copyOf(elements, size));
         } else {
             return EMPTY_ADDRESS;
         }
@@ -112,27 +97,11 @@ public class PathAddress implements Iterable<PathElement> {
         if (elements.size() == 0) {
             return EMPTY_ADDRESS;
         }
-        final ArrayList<PathElement> newList = new ArrayList<PathElement>(elements.size());
-        final Set<String> seen = new HashSet<String>();
-        int index = 0;
-        for (PathElement element : elements) {
-            final String name = element.getKey();
-            if (seen.add(name)) {
-                newList.add(element);
-            } else {
-                throw duplicateElement(name);
-            }
-            if (index == 1 && name.equals(SERVER) && seen.contains(HOST)) {
-                seen.clear();
-            }
-            index++;
-
-        }
-        return new PathAddress(Collections.unmodifiableList(newList));
+        return createAddress(elements.toArray(new PathElement[elements.size()]));
     }
 
     public static PathAddress pathAddress(PathElement... elements) {
-        return pathAddress(Arrays.<PathElement>asList(elements));
+        return createAddress(elements.clone());
     }
 
     public static PathAddress pathAddress(String key, String value) {
@@ -140,44 +109,40 @@ public class PathAddress implements Iterable<PathElement> {
     }
 
     public static PathAddress pathAddress(PathAddress parent, PathElement... elements) {
-        List<PathElement> list = new ArrayList<PathElement>(parent.pathAddressList);
-        for (PathElement element : elements) {
-            list.add(element);
-        }
-        return pathAddress(list);
+        return parent.append(elements);
     }
 
     public static PathAddress parseCLIStyleAddress(String address) throws IllegalArgumentException {
-        PathAddress parsedAddress = PathAddress.EMPTY_ADDRESS;
         if (address == null || address.trim().isEmpty()) {
-            return parsedAddress;
+            return PathAddress.EMPTY_ADDRESS;
         }
         String trimmedAddress = address.trim();
         if (trimmedAddress.charAt(0) != '/' || !Character.isAlphabetic(trimmedAddress.charAt(1))) {
             throw ControllerLogger.ROOT_LOGGER.illegalCLIStylePathAddress(address);
         }
-        char[] characters = address.toCharArray();
+        final List<PathElement> elements = new ArrayList<PathElement>();
         boolean escaped = false;
-        StringBuilder keyBuffer = new StringBuilder();
-        StringBuilder valueBuffer = new StringBuilder();
+        final StringBuilder keyBuffer = new StringBuilder();
+        final StringBuilder valueBuffer = new StringBuilder();
         StringBuilder currentBuffer = keyBuffer;
-        for (int i = 1; i < characters.length; i++) {
-            switch (characters[i]) {
+        for (int i = 1; i < address.length(); i++) {
+            final char c = address.charAt(i);
+            switch (c) {
                 case '/':
                     if (escaped) {
                         escaped = false;
-                        currentBuffer.append(characters[i]);
+                        currentBuffer.append(c);
                     } else {
-                        parsedAddress = addpathAddressElement(parsedAddress, address, keyBuffer, valueBuffer);
-                        keyBuffer = new StringBuilder();
-                        valueBuffer = new StringBuilder();
+                        addPathElement(elements, address, keyBuffer, valueBuffer);
+                        keyBuffer.setLength(0);
+                        valueBuffer.setLength(0);
                         currentBuffer = keyBuffer;
                     }
                     break;
                 case '\\':
                     if (escaped) {
                         escaped = false;
-                        currentBuffer.append(characters[i]);
+                        currentBuffer.append(c);
                     } else {
                         escaped = true;
                     }
@@ -185,39 +150,77 @@ public class PathAddress implements Iterable<PathElement> {
                 case '=':
                     if (escaped) {
                         escaped = false;
-                        currentBuffer.append(characters[i]);
+                        currentBuffer.append(c);
                     } else {
                         currentBuffer = valueBuffer;
                     }
                     break;
                 default:
-                    currentBuffer.append(characters[i]);
+                    currentBuffer.append(c);
                     break;
             }
         }
-        parsedAddress = addpathAddressElement(parsedAddress, address, keyBuffer, valueBuffer);
-        return parsedAddress;
+        addPathElement(elements, address, keyBuffer, valueBuffer);
+        return pathAddress(elements);
     }
 
-    private static PathAddress addpathAddressElement(PathAddress parsedAddress, String address, StringBuilder keyBuffer, StringBuilder valueBuffer) {
+    private static void addPathElement(List<PathElement> elements, String address, StringBuilder keyBuffer, StringBuilder valueBuffer) {
         if (keyBuffer.length() > 0) {
             if (valueBuffer.length() > 0) {
-                return parsedAddress.append(PathElement.pathElement(keyBuffer.toString(), valueBuffer.toString()));
+                elements.add(PathElement.pathElement(keyBuffer.toString(), valueBuffer.toString()));
+                return;
             }
             throw ControllerLogger.ROOT_LOGGER.illegalCLIStylePathAddress(address);
         }
-        return parsedAddress;
+    }
+
+    /**
+     * Creates an address from elements not yet checked for duplicate keys. The array is not copied.
+     */
+    private static PathAddress createAddress(final PathElement[] elements) {
+        if (elements.length == 0) {
+            return EMPTY_ADDRESS;
+        }
+        int checkFrom = 0;
+        for (int i = 0; i < elements.length; i++) {
+            checkFrom = checkDuplicate(elements, i, checkFrom);
+        }
+        return new PathAddress(elements);
+    }
+
+    /**
+     * Checks that the key of the element at {@code index} is not used by an earlier element from {@code checkFrom} on.
+     *
+     * @return the index from which to check the keys of the following elements
+     */
+    private static int checkDuplicate(final PathElement[] elements, final int index, final int checkFrom) {
+        // Addresses are short, so a linear scan is cheaper than a set of the keys seen
+        final String name = elements[index].getKey();
+        for (int i = checkFrom; i < index; i++) {
+            if (name.equals(elements[i].getKey())) {
+                throw duplicateElement(name);
+            }
+        }
+        if (index == 1 && name.equals(SERVER) && elements[0].getKey().equals(HOST)) {
+            // A host=>*,server=>* prefix may be followed by another host and server
+            return 2;
+        }
+        return checkFrom;
     }
 
     private static OperationFailedRuntimeException duplicateElement(final String name) {
         return ControllerLogger.ROOT_LOGGER.duplicateElement(name);
     }
 
-    private final List<PathElement> pathAddressList;
+    private final PathElement[] elements;
+    /** Cached hash code, or zero if not computed yet */
+    private int hashCode;
+    /** Cached, protected model node representation, or {@code null} if not created yet */
+    private volatile ModelNode modelNode;
 
-    PathAddress(final List<PathElement> pathAddressList) {
-        assert pathAddressList != null : ControllerLogger.ROOT_LOGGER.nullVar("pathAddressList").getLocalizedMessage();
-        this.pathAddressList = pathAddressList;
+    private PathAddress(final PathElement[] elements) {
+        assert elements != null : ControllerLogger.ROOT_LOGGER.nullVar("elements").getLocalizedMessage();
+        this.elements = elements;
     }
 
     /**
@@ -229,8 +232,7 @@ public class PathAddress implements Iterable<PathElement> {
      * @throws IndexOutOfBoundsException if the index is out of range (<tt>index &lt; 0 || index &gt;= size()</tt>)
      */
     public PathElement getElement(int index) {
-        final List<PathElement> list = pathAddressList;
-        return list.get(index);
+        return elements[index];
     }
 
     /**
@@ -239,8 +241,8 @@ public class PathAddress implements Iterable<PathElement> {
      * @return the element, or {@code null} if {@link #size()} is zero.
      */
     public PathElement getLastElement() {
-        final List<PathElement> list = pathAddressList;
-        return list.size() == 0 ? null : list.get(list.size() - 1);
+        final PathElement[] elements = this.elements;
+        return elements.length == 0 ? null : elements[elements.length - 1];
     }
 
     /**
@@ -250,8 +252,7 @@ public class PathAddress implements Iterable<PathElement> {
      * @return the partial address
      */
     public PathAddress subAddress(int start) {
-        final List<PathElement> list = pathAddressList;
-        return new PathAddress(list.subList(start, list.size()));
+        return subAddress(start, elements.length);
     }
 
     /**
@@ -262,7 +263,13 @@ public class PathAddress implements Iterable<PathElement> {
      * @return the partial address
      */
     public PathAddress subAddress(int start, int end) {
-        return new PathAddress(pathAddressList.subList(start, end));
+        if (start < 0 || end > elements.length || start > end) {
+            throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", size: " + elements.length);
+        }
+        if (start == 0 && end == elements.length) {
+            return this;
+        }
+        return start == end ? EMPTY_ADDRESS : new PathAddress(Arrays.copyOfRange(elements, start, end));
     }
 
     /**
@@ -272,10 +279,12 @@ public class PathAddress implements Iterable<PathElement> {
      * @return the new path address
      */
     public PathAddress append(List<PathElement> additionalElements) {
-        final ArrayList<PathElement> newList = new ArrayList<PathElement>(pathAddressList.size() + additionalElements.size());
-        newList.addAll(pathAddressList);
-        newList.addAll(additionalElements);
-        return pathAddress(newList);
+        final PathElement[] newElements = Arrays.copyOf(elements, elements.length + additionalElements.size());
+        int i = elements.length;
+        for (PathElement element : additionalElements) {
+            newElements[i++] = element;
+        }
+        return createAddress(newElements);
     }
 
     /**
@@ -285,7 +294,9 @@ public class PathAddress implements Iterable<PathElement> {
      * @return the new path address
      */
     public PathAddress append(PathElement... additionalElements) {
-        return append(Arrays.asList(additionalElements));
+        final PathElement[] newElements = Arrays.copyOf(elements, elements.length + additionalElements.length);
+        System.arraycopy(additionalElements, 0, newElements, elements.length, additionalElements.length);
+        return createAddress(newElements);
     }
 
     /**
@@ -295,7 +306,7 @@ public class PathAddress implements Iterable<PathElement> {
      * @return the new path address
      */
     public PathAddress append(PathAddress address) {
-        return append(address.pathAddressList);
+        return append(address.elements);
     }
 
     public PathAddress append(String key, String value) {
@@ -315,10 +326,10 @@ public class PathAddress implements Iterable<PathElement> {
      * @throws NoSuchElementException if the model contains no such element
      */
     public ModelNode navigate(ModelNode model, boolean create) throws NoSuchElementException {
-        final Iterator<PathElement> i = pathAddressList.iterator();
-        while (i.hasNext()) {
-            final PathElement element = i.next();
-            if (create && !i.hasNext()) {
+        final int last = elements.length - 1;
+        for (int i = 0; i <= last; i++) {
+            final PathElement element = elements[i];
+            if (create && i == last) {
                 if (element.isMultiTarget()) {
                     throw new IllegalStateException();
                 }
@@ -338,10 +349,10 @@ public class PathAddress implements Iterable<PathElement> {
      * @throws NoSuchElementException if the model contains no such element
      */
     public ModelNode remove(ModelNode model) throws NoSuchElementException {
-        final Iterator<PathElement> i = pathAddressList.iterator();
-        while (i.hasNext()) {
-            final PathElement element = i.next();
-            if (i.hasNext()) {
+        final int last = elements.length - 1;
+        for (int i = 0; i <= last; i++) {
+            final PathElement element = elements[i];
+            if (i < last) {
                 model = model.require(element.getKey()).require(element.getValue());
             } else {
                 final ModelNode parent = model.require(element.getKey());
@@ -357,15 +368,28 @@ public class PathAddress implements Iterable<PathElement> {
      * @return the model node list of properties
      */
     public ModelNode toModelNode() {
-        final ModelNode node = new ModelNode().setEmptyList();
-        for (PathElement element : pathAddressList) {
-            final String value;
-            if (element.isMultiTarget() && !element.isWildcard()) {
-                value = '[' + element.getValue() + ']';
-            } else {
-                value = element.getValue();
+        return getModelNode().clone();
+    }
+
+    /**
+     * Gets the model node representation of this address, creating it on first use. The node is shared, so it is
+     * protected against modification.
+     */
+    private ModelNode getModelNode() {
+        ModelNode node = modelNode;
+        if (node == null) {
+            node = new ModelNode().setEmptyList();
+            for (PathElement element : elements) {
+                final String value;
+                if (element.isMultiTarget() && !element.isWildcard()) {
+                    value = '[' + element.getValue() + ']';
+                } else {
+                    value = element.getValue();
+                }
+                node.add(element.getKey(), value);
             }
-            node.add(element.getKey(), value);
+            node.protect();
+            modelNode = node;
         }
         return node;
     }
@@ -376,7 +400,7 @@ public class PathAddress implements Iterable<PathElement> {
      * @return <code>true</code> if the address can apply to multiple targets, <code>false</code> otherwise
      */
     public boolean isMultiTarget() {
-        for (final PathElement element : pathAddressList) {
+        for (final PathElement element : elements) {
             if (element.isMultiTarget()) {
                 return true;
             }
@@ -390,7 +414,7 @@ public class PathAddress implements Iterable<PathElement> {
      * @return the size
      */
     public int size() {
-        return pathAddressList.size();
+        return elements.length;
     }
 
     /**
@@ -400,7 +424,7 @@ public class PathAddress implements Iterable<PathElement> {
      */
     @Override
     public ListIterator<PathElement> iterator() {
-        return pathAddressList.listIterator();
+        return new ElementIterator(elements);
     }
 
     public PathAddress getParent() {
@@ -409,7 +433,16 @@ public class PathAddress implements Iterable<PathElement> {
 
     @Override
     public int hashCode() {
-        return pathAddressList.hashCode();
+        int result = hashCode;
+        if (result == 0) {
+            // Same value as the hash code of a list of the elements
+            result = 1;
+            for (PathElement element : elements) {
+                result = 31 * result + element.hashCode();
+            }
+            hashCode = result;
+        }
+        return result;
     }
 
     /**
@@ -430,12 +463,29 @@ public class PathAddress implements Iterable<PathElement> {
      * @return {@code true} if they are equal, {@code false} otherwise
      */
     public boolean equals(PathAddress other) {
-        return this == other || other != null && pathAddressList.equals(other.pathAddressList);
+        if (this == other) {
+            return true;
+        }
+        if (other == null || other.elements.length != elements.length) {
+            return false;
+        }
+        final int hash = hashCode;
+        final int otherHash = other.hashCode;
+        if (hash != 0 && otherHash != 0 && hash != otherHash) {
+            return false;
+        }
+        // Addresses being compared usually share a prefix, so compare from the end
+        for (int i = elements.length - 1; i >= 0; i--) {
+            if (!elements[i].equals(other.elements[i])) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
     public String toString() {
-        return toModelNode().toString();
+        return getModelNode().toString();
     }
 
     public String toCLIStyleString() {
@@ -447,11 +497,11 @@ public class PathAddress implements Iterable<PathElement> {
     }
 
     private String toString(char keyValSeparator) {
-        if (pathAddressList.size() == 0) {
+        if (elements.length == 0) {
             return "/";
         }
         StringBuilder sb = new StringBuilder();
-        for (PathElement pe : pathAddressList) {
+        for (PathElement pe : elements) {
             sb.append('/');
             sb.append(pe.getKey());
             sb.append(keyValSeparator);
@@ -459,4 +509,67 @@ public class PathAddress implements Iterable<PathElement> {
         }
         return sb.toString();
     }
+
+    /**
+     * Read-only iterator over the elements of an address.
+     */
+    private static final class ElementIterator implements ListIterator<PathElement> {
+        private final PathElement[] elements;
+        private int index;
+
+        private ElementIterator(final PathElement[] elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < elements.length;
+        }
+
+        @Override
+        public PathElement next() {
+            if (index >= elements.length) {
+                throw new NoSuchElementException();
+            }
+            return elements[index++];
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return index > 0;
+        }
+
+        @Override
+        public PathElement previous() {
+            if (index <= 0) {
+                throw new NoSuchElementException();
+            }
+            return elements[--index];
+        }
+
+        @Override
+        public int nextIndex() {
+            return index;
+        }
+
+        @Override
+        public int previousIndex() {
+            return index - 1;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void set(final PathElement element) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void add(final PathElement element) {
+            throw new UnsupportedOperationException();
+        }
+    }
 }
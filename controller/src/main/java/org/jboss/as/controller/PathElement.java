@@ -98,7 +98,8 @@ public class PathElement {
             this.value = value;
         }
         this.multiTarget = multiTarget;
-        hashCode = key.hashCode() * 19 + value.hashCode();
+        // Use the stored value, as equals does, so that "[a]" and "a" hash the same
+        hashCode = this.key.hashCode() * 19 + this.value.hashCode();
     }
 
     /**
@@ -366,6 +366,7 @@ public class ModelDescriptionConstants {
     public static final String READ_CHILDREN_RESOURCES_OPERATION = "read-children-resources";
     public static final String READ_CONFIG_AS_XML_OPERATION = "read-config-as-xml";
     public static final String READ_CONTENT = "read-content";
+    public static final String READ_DEPLOYMENT_PROFILE = "read-deployment-profile";
     public static final String READ_ONLY = "read-only";
     public static final String READ_OPERATION_DESCRIPTION_OPERATION = "read-operation-description";
     public static final String READ_OPERATION_NAMES_OPERATION = "read-operation-names";
@@ -451,6 +452,7 @@ public class ModelDescriptionConstants {
     public static final String SERVER_IDENTITY = "server-identity";
     public static final String SERVER_LAUNCH = "server-launch";
     public static final String SERVER_OPERATIONS = "server-operations";
+    public static final String SERVER_START_CONCURRENCY = "server-start-concurrency";
     public static final String SERVICE = "service";
     public static final String SERVICES_MISSING_DEPENDENCIES = "services-missing-dependencies";
     public static final String SERVICES_MISSING_TRANSITIVE_DEPENDENCIES = "services-missing-transitive-dependencies";
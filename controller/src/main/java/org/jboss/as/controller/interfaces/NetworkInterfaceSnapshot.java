@@ -0,0 +1,181 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.interfaces;
+
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The network interfaces of the host and their addresses, enumerated once and shared by every interface resolution.
+ * <p>
+ * Enumerating the interfaces of a host with many virtual interfaces is expensive, so the snapshot is taken on first use
+ * and reused until it is {@link #invalidate() invalidated}, which is done at the start of each boot, or
+ * {@link #refresh() refreshed}. The candidates are indexed by interface name and by address so that criteria naming a
+ * specific interface or address only need to evaluate the interfaces which can match.
+ * </p>
+ */
+public final class NetworkInterfaceSnapshot {
+
+    private static volatile NetworkInterfaceSnapshot current;
+
+    private final List<NetworkInterface> interfaces;
+    private final Map<NetworkInterface, Set<InetAddress>> candidates;
+    private final Map<String, NetworkInterface> interfacesByName;
+    private final Map<InetAddress, Collection<NetworkInterface>> interfacesByAddress;
+
+    NetworkInterfaceSnapshot(final Enumeration<NetworkInterface> networkInterfaces) {
+        final List<NetworkInterface> interfaces = new ArrayList<NetworkInterface>();
+        final Map<NetworkInterface, Set<InetAddress>> candidates = new LinkedHashMap<NetworkInterface, Set<InetAddress>>();
+        while (networkInterfaces.hasMoreElements()) {
+            final NetworkInterface networkInterface = networkInterfaces.nextElement();
+            interfaces.add(networkInterface);
+            storeAddresses(networkInterface, candidates);
+        }
+        final Map<String, NetworkInterface> interfacesByName = new HashMap<String, NetworkInterface>();
+        final Map<InetAddress, Collection<NetworkInterface>> interfacesByAddress = new HashMap<InetAddress, Collection<NetworkInterface>>();
+        for (Map.Entry<NetworkInterface, Set<InetAddress>> entry : candidates.entrySet()) {
+            interfacesByName.put(entry.getKey().getName(), entry.getKey());
+            for (InetAddress address : entry.getValue()) {
+                Collection<NetworkInterface> addressInterfaces = interfacesByAddress.get(address);
+                if (addressInterfaces == null) {
+                    addressInterfaces = new ArrayList<NetworkInterface>(1);
+                    interfacesByAddress.put(address, addressInterfaces);
+                }
+                addressInterfaces.add(entry.getKey());
+            }
+        }
+        this.interfaces = Collections.unmodifiableList(interfaces);
+        this.candidates = Collections.unmodifiableMap(candidates);
+        this.interfacesByName = interfacesByName;
+        this.interfacesByAddress = interfacesByAddress;
+    }
+
+    /**
+     * Gets the current snapshot, enumerating the network interfaces if there is none.
+     *
+     * @return the snapshot
+     * @throws SocketException if the network interfaces cannot be enumerated
+     */
+    public static NetworkInterfaceSnapshot get() throws SocketException {
+        NetworkInterfaceSnapshot snapshot = current;
+        if (snapshot == null) {
+            synchronized (NetworkInterfaceSnapshot.class) {
+                snapshot = current;
+                if (snapshot == null) {
+                    snapshot = current = new NetworkInterfaceSnapshot(NetworkInterface.getNetworkInterfaces());
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Replace the current snapshot with a new enumeration of the network interfaces.
+     *
+     * @return the new snapshot
+     * @throws SocketException if the network interfaces cannot be enumerated
+     */
+    public static NetworkInterfaceSnapshot refresh() throws SocketException {
+        synchronized (NetworkInterfaceSnapshot.class) {
+            final NetworkInterfaceSnapshot snapshot = new NetworkInterfaceSnapshot(NetworkInterface.getNetworkInterfaces());
+            current = snapshot;
+            return snapshot;
+        }
+    }
+
+    /**
+     * Discard the current snapshot so the network interfaces are enumerated again when next used.
+     */
+    public static void invalidate() {
+        current = null;
+    }
+
+    /**
+     * @return the top level network interfaces
+     */
+    public List<NetworkInterface> getInterfaces() {
+        return interfaces;
+    }
+
+    /**
+     * @return every network interface, including sub-interfaces, and its addresses
+     */
+    public Map<NetworkInterface, Set<InetAddress>> getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * Gets the candidates for the interface with the given name.
+     *
+     * @param name the name of the interface
+     * @return the interface and its addresses, or an empty map if there is no such interface
+     */
+    public Map<NetworkInterface, Set<InetAddress>> getCandidatesForName(final String name) {
+        final NetworkInterface networkInterface = interfacesByName.get(name);
+        return networkInterface == null
+                ? Collections.<NetworkInterface, Set<InetAddress>>emptyMap()
+                : Collections.singletonMap(networkInterface, candidates.get(networkInterface));
+    }
+
+    /**
+     * Gets the candidates for the interfaces which have the given address.
+     *
+     * @param address the address
+     * @return the interfaces with the address and all their addresses, or an empty map if no interface has the address
+     */
+    public Map<NetworkInterface, Set<InetAddress>> getCandidatesForAddress(final InetAddress address) {
+        final Collection<NetworkInterface> addressInterfaces = interfacesByAddress.get(address);
+        if (addressInterfaces == null) {
+            return Collections.emptyMap();
+        }
+        final Map<NetworkInterface, Set<InetAddress>> result = new LinkedHashMap<NetworkInterface, Set<InetAddress>>();
+        for (NetworkInterface networkInterface : addressInterfaces) {
+            result.put(networkInterface, candidates.get(networkInterface));
+        }
+        return result;
+    }
+
+    private static void storeAddresses(final NetworkInterface networkInterface, final Map<NetworkInterface, Set<InetAddress>> candidates) {
+        final Set<InetAddress> addresses = new LinkedHashSet<InetAddress>();
+        final Enumeration<InetAddress> interfaceAddresses = networkInterface.getInetAddresses();
+        while (interfaceAddresses.hasMoreElements()) {
+            addresses.add(interfaceAddresses.nextElement());
+        }
+        candidates.put(networkInterface, Collections.unmodifiableSet(addresses));
+        final Enumeration<NetworkInterface> subInterfaces = networkInterface.getSubInterfaces();
+        while (subInterfaces.hasMoreElements()) {
+            storeAddresses(subInterfaces.nextElement(), candidates);
+        }
+    }
+}
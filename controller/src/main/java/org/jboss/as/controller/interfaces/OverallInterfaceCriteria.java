@@ -28,6 +28,7 @@ import java.net.Inet6Address;
 import java.net.InetAddress;
 import java.net.NetworkInterface;
 import java.net.SocketException;
+import java.net.UnknownHostException;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
@@ -94,6 +95,40 @@ public final class OverallInterfaceCriteria implements InterfaceCriteria {
         return result;
     }
 
+    /**
+     * Gets the acceptable addresses from a snapshot of the host's network interfaces. If the criteria require an
+     * interface with a specific name or address only the interfaces which can match are evaluated.
+     *
+     * @param snapshot the snapshot of the network interfaces
+     * @return the acceptable interfaces and addresses
+     * @throws SocketException if evaluating the state of an interface results in one
+     */
+    public Map<NetworkInterface, Set<InetAddress>> getAcceptableAddresses(NetworkInterfaceSnapshot snapshot) throws SocketException {
+        return getAcceptableAddresses(getCandidates(snapshot));
+    }
+
+    private Map<NetworkInterface, Set<InetAddress>> getCandidates(NetworkInterfaceSnapshot snapshot) {
+        // All the criteria must be met, so any one naming an interface or address limits the candidates
+        for (InterfaceCriteria criteria : interfaceCriteria) {
+            if (criteria instanceof NicInterfaceCriteria) {
+                return snapshot.getCandidatesForName(((NicInterfaceCriteria) criteria).getAcceptableName());
+            }
+        }
+        for (InterfaceCriteria criteria : interfaceCriteria) {
+            if (criteria instanceof InetAddressMatchInterfaceCriteria) {
+                try {
+                    InetAddress address = ((InetAddressMatchInterfaceCriteria) criteria).getAddress();
+                    if (!address.isAnyLocalAddress()) {
+                        return snapshot.getCandidatesForAddress(address);
+                    }
+                } catch (UnknownHostException e) {
+                    // Let the criteria report the address it cannot resolve
+                }
+            }
+        }
+        return snapshot.getCandidates();
+    }
+
     public String toString() {
         StringBuilder sb = new StringBuilder("OverallInterfaceCriteria(");
         for (InterfaceCriteria criteria : interfaceCriteria) {
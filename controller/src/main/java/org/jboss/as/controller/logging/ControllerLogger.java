@@ -57,6 +57,7 @@ import org.jboss.as.controller.access.rbac.UnknowRoleException;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.interfaces.InterfaceCriteria;
 import org.jboss.as.controller.notification.Notification;
+import org.jboss.as.controller.notification.NotificationHandler;
 import org.jboss.as.controller.parsing.Element;
 import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
 import org.jboss.as.controller.registry.AttributeAccess;
@@ -3452,4 +3453,12 @@ public interface ControllerLogger extends BasicLogger {
 
     @Message(id = 422, value = "Could not load module '%s' for transformers")
     RuntimeException couldNotLoadModuleForTransformers(String name, @Cause ModuleLoadException e);
+
+    @LogMessage(level = WARN)
+    @Message(id = 423, value = "The notification queue of handler %s is full, notifications are dropped for this handler until it catches up (queue size %d)")
+    void notificationQueueFull(NotificationHandler handler, int queueSize);
+
+    @LogMessage(level = INFO)
+    @Message(id = 424, value = "Handler %s has caught up with its notification queue, %d notifications were dropped for it")
+    void notificationQueueRecovered(NotificationHandler handler, long dropped);
 }
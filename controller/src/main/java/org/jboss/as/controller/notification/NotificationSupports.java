@@ -23,12 +23,18 @@
 package org.jboss.as.controller.notification;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.registry.NotificationHandlerRegistration;
 
@@ -40,7 +46,9 @@ import org.jboss.as.controller.registry.NotificationHandlerRegistration;
  *
  * The {@code NonBlockingNotificationSupport} will fire the notifications in a separate thread (provided by its {@code
  *  executorService}.
- * Its {@code emit()} method will return immediately and will not block the code execution.
+ * Its {@code emit()} method will return immediately and will not block the code execution. Each handler receives the
+ * notifications from its own bounded queue, if a handler can not keep up the notifications that do not fit in its queue
+ * are dropped for that handler only.
  *
  * @author <a href="http://jmesnil.net/">Jeff Mesnil</a> (c) 2014 Red Hat inc.
  */
@@ -67,53 +75,209 @@ class NotificationSupports {
 
     static class NonBlockingNotificationSupport implements  NotificationSupport {
 
+        /**
+         * The maximum number of notifications waiting to be handled by a single handler before notifications for that
+         * handler are dropped.
+         */
+        static final int DEFAULT_HANDLER_QUEUE_SIZE = 10000;
+
         private final NotificationHandlerRegistration registry;
+        private final NotificationHandlerRegistration registryView;
         private final ExecutorService executor;
+        private final int handlerQueueSize;
 
         /**
          * Use a concurrent queue to put the notifications in it when {@code emit()} is called.
-         * The queue will be drained in a separate thread and the notifications effectively delivered to the handlers.
+         * The queue will be drained in a separate thread and the notifications dispatched to the queues of the handlers
+         * that match them.
          *
-         * This ensures that the notifications will be delivered in the same order they were emitted.
+         * This ensures that the notifications will be delivered to each handler in the same order they were emitted.
          */
         private final Queue<Notification> queue = new ConcurrentLinkedQueue<Notification>();
 
         /**
-         * use the lock's exclusive writeLock to ensure only one thread can drain the queue at a given time.
+         * Whether a task to drain the {@code queue} has been submitted, ensures only one thread drains the queue at a given time.
+         */
+        private final AtomicBoolean dispatching = new AtomicBoolean();
+
+        /**
+         * Each handler has its own bounded queue drained by its own task so that a slow handler does not delay the
+         * delivery of notifications to the other handlers.
          */
-        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final ConcurrentMap<NotificationHandler, HandlerQueue> handlerQueues = new ConcurrentHashMap<NotificationHandler, HandlerQueue>();
 
         public NonBlockingNotificationSupport(NotificationHandlerRegistration registry, ExecutorService executor) {
+            this(registry, executor, DEFAULT_HANDLER_QUEUE_SIZE);
+        }
+
+        NonBlockingNotificationSupport(NotificationHandlerRegistration registry, ExecutorService executor, int handlerQueueSize) {
             this.registry = registry;
             this.executor = executor;
+            this.handlerQueueSize = handlerQueueSize;
+            this.registryView = new HandlerQueueCleaningRegistration();
         }
 
         @Override
-        public synchronized void emit(Notification... notifications) {
+        public void emit(Notification... notifications) {
             queue.addAll(Arrays.asList(notifications));
 
-            executor.execute(new Runnable() {
-                @Override
-                public void run() {
-                    lock.writeLock().lock();
-                    try {
-                        while (true) {
-                            Notification notification = queue.poll();
-                            if (notification == null) {
-                                break;
-                            }
-                            fireNotifications(registry, notification);
+            if (dispatching.compareAndSet(false, true)) {
+                try {
+                    executor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            dispatch();
                         }
-                    } finally {
-                        lock.writeLock().unlock();
-                    }
+                    });
+                } catch (RejectedExecutionException e) {
+                    dispatching.set(false);
+                    throw e;
                 }
-            });
+            }
         }
 
         @Override
         public NotificationHandlerRegistration getNotificationRegistry() {
-            return registry;
+            return registryView;
+        }
+
+        /**
+         * @return the number of handlers which currently have a queue
+         */
+        int getHandlerQueueCount() {
+            return handlerQueues.size();
+        }
+
+        private void dispatch() {
+            for (;;) {
+                Notification notification;
+                while ((notification = queue.poll()) != null) {
+                    try {
+                        // each notification may have a different subset of handlers depending on their filters
+                        for (NotificationHandler handler : registry.findMatchingNotificationHandlers(notification)) {
+                            getHandlerQueue(handler).offer(notification);
+                        }
+                    } catch (Throwable t) {
+                        ControllerLogger.ROOT_LOGGER.failedToEmitNotification(notification, t);
+                    }
+                }
+                dispatching.set(false);
+                // a notification may have been added after the queue was found empty but before the flag was cleared
+                if (queue.isEmpty() || !dispatching.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        }
+
+        private HandlerQueue getHandlerQueue(NotificationHandler handler) {
+            HandlerQueue handlerQueue = handlerQueues.get(handler);
+            if (handlerQueue == null) {
+                HandlerQueue newQueue = new HandlerQueue(handler);
+                handlerQueue = handlerQueues.putIfAbsent(handler, newQueue);
+                if (handlerQueue == null) {
+                    handlerQueue = newQueue;
+                }
+            }
+            return handlerQueue;
+        }
+
+        private final class HandlerQueue implements Runnable {
+
+            private final NotificationHandler handler;
+            private final BlockingQueue<Notification> notifications;
+            private final AtomicBoolean scheduled = new AtomicBoolean();
+            /**
+             * The number of notifications dropped since the handler last caught up, only used by the dispatching thread.
+             */
+            private long dropped;
+            private volatile boolean unregistered;
+
+            private HandlerQueue(NotificationHandler handler) {
+                this.handler = handler;
+                this.notifications = new LinkedBlockingQueue<Notification>(handlerQueueSize);
+            }
+
+            void offer(Notification notification) {
+                if (notifications.offer(notification)) {
+                    if (dropped > 0) {
+                        ControllerLogger.ROOT_LOGGER.notificationQueueRecovered(handler, dropped);
+                        dropped = 0;
+                    }
+                } else if (dropped++ == 0) {
+                    // only log once until the handler catches up
+                    ControllerLogger.ROOT_LOGGER.notificationQueueFull(handler, handlerQueueSize);
+                }
+                if (scheduled.compareAndSet(false, true)) {
+                    try {
+                        executor.execute(this);
+                    } catch (RejectedExecutionException e) {
+                        scheduled.set(false);
+                        throw e;
+                    }
+                }
+            }
+
+            /**
+             * Marks the handler as unregistered, the queue is discarded once it has been drained.
+             */
+            void unregister() {
+                unregistered = true;
+                if (!scheduled.get() && notifications.isEmpty()) {
+                    handlerQueues.remove(handler, this);
+                }
+            }
+
+            @Override
+            public void run() {
+                for (;;) {
+                    Notification notification;
+                    while ((notification = notifications.poll()) != null) {
+                        try {
+                            handler.handleNotification(notification);
+                        } catch (Throwable t) {
+                            ControllerLogger.ROOT_LOGGER.failedToEmitNotification(notification, t);
+                        }
+                    }
+                    scheduled.set(false);
+                    if (notifications.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                        if (unregistered) {
+                            // a queue that is reused after this is removed is recreated by the next dispatch
+                            handlerQueues.remove(handler, this);
+                        }
+                        return;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Delegates to the registry and discards the queue of a handler once it is unregistered and has handled its
+         * pending notifications.
+         */
+        private final class HandlerQueueCleaningRegistration implements NotificationHandlerRegistration {
+
+            @Override
+            public void registerNotificationHandler(PathAddress source, NotificationHandler handler, NotificationFilter filter) {
+                registry.registerNotificationHandler(source, handler, filter);
+                HandlerQueue handlerQueue = handlerQueues.get(handler);
+                if (handlerQueue != null) {
+                    handlerQueue.unregistered = false;
+                }
+            }
+
+            @Override
+            public void unregisterNotificationHandler(PathAddress source, NotificationHandler handler, NotificationFilter filter) {
+                registry.unregisterNotificationHandler(source, handler, filter);
+                HandlerQueue handlerQueue = handlerQueues.get(handler);
+                if (handlerQueue != null) {
+                    handlerQueue.unregister();
+                }
+            }
+
+            @Override
+            public Collection<NotificationHandler> findMatchingNotificationHandlers(Notification notification) {
+                return registry.findMatchingNotificationHandlers(notification);
+            }
         }
     }
 
@@ -138,6 +138,12 @@ public enum Attribute {
     PATTERN("pattern"),
     PERMISSION_COMBINATION_POLICY("permission-combination-policy"),
     PLAIN_TEXT("plain-text"),
+    POOL_MAX_IDLE("pool-max-idle"),
+    POOL_MAX_LIFETIME("pool-max-lifetime"),
+    POOL_MAX_SIZE("pool-max-size"),
+    POOL_MAX_WAIT("pool-max-wait"),
+    POOL_MIN_IDLE("pool-min-idle"),
+    POOL_VALIDATE("pool-validate"),
     PORT("port"),
     PORT_OFFSET("port-offset"),
     PREFER_ORIGINAL_CONNECTION("prefer-original-connection"),
@@ -171,6 +177,7 @@ public enum Attribute {
     SECURE_PORT("secure-port"),
     SECURITY_REALM("security-realm"),
     SERVER_NAME("server-name"),
+    SERVER_START_CONCURRENCY("server-start-concurrency"),
     SHA1("sha1"),
     SIZE("size"),
     SKIP_GROUP_LOADING("skip-group-loading"),
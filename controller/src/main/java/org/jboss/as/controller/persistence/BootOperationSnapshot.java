@@ -0,0 +1,294 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.EXTENSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.logging.ControllerLogger.ROOT_LOGGER;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.jboss.as.controller.Extension;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.jboss.modules.Module;
+import org.jboss.modules.ModuleIdentifier;
+import org.jboss.modules.ModuleLoadException;
+import org.jboss.modules.ModuleLoader;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * A binary copy of the boot operations parsed from a configuration file.
+ * <p>
+ * The snapshot records a hash of the configuration file, a fingerprint of the parsers and a fingerprint of each extension
+ * module the configuration adds. It is only used if all of them still match, otherwise the configuration is parsed again
+ * and the snapshot replaced. A fingerprint is the location a class or service file is loaded from, which includes the name
+ * of the jar and so changes when the parser or module is upgraded.
+ * </p>
+ * <p>
+ * The boot operations must depend on nothing else. A host configuration for example does not qualify, as the operations
+ * parsed from it also depend on the name of the host and the running mode, so only standalone server configurations use
+ * a snapshot.
+ * </p>
+ */
+final class BootOperationSnapshot {
+
+    /**
+     * The system property which enables the use of boot operation snapshots.
+     */
+    static final String ENABLED_PROPERTY = "jboss.as.boot.snapshot";
+
+    private static final int MAGIC = 0x424f4f54;
+    private static final int VERSION = 2;
+    private static final String EXTENSION_SERVICE = "META-INF/services/" + Extension.class.getName();
+
+    /**
+     * Provides the fingerprint of an extension module.
+     */
+    interface ModuleFingerprint {
+        /**
+         * @param moduleName the name of the module
+         * @return the fingerprint, or {@code null} if the module cannot be identified
+         */
+        String getFingerprint(String moduleName);
+    }
+
+    static final ModuleFingerprint DEFAULT_FINGERPRINT = new ModuleFingerprint() {
+        @Override
+        public String getFingerprint(final String moduleName) {
+            final ModuleLoader loader = Module.getCallerModuleLoader();
+            if (loader == null) {
+                return null;
+            }
+            try {
+                final URL url = loader.loadModule(ModuleIdentifier.fromString(moduleName)).getClassLoader().getResource(EXTENSION_SERVICE);
+                return url == null ? null : url.toExternalForm();
+            } catch (ModuleLoadException | RuntimeException e) {
+                return null;
+            }
+        }
+    };
+
+    private final File file;
+    private final String parserFingerprint;
+    private final ModuleFingerprint fingerprint;
+
+    BootOperationSnapshot(final File file, final String parserFingerprint) {
+        this(file, parserFingerprint, DEFAULT_FINGERPRINT);
+    }
+
+    BootOperationSnapshot(final File file, final String parserFingerprint, final ModuleFingerprint fingerprint) {
+        this.file = file;
+        this.parserFingerprint = parserFingerprint;
+        this.fingerprint = fingerprint;
+    }
+
+    static boolean isEnabled() {
+        return Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(ENABLED_PROPERTY, "false"));
+    }
+
+    /**
+     * Get the fingerprint of the classes of the parsers, which changes when one of them is upgraded.
+     *
+     * @param parsers the parsers
+     * @return the fingerprint, or {@code null} if the location of a parser cannot be identified
+     */
+    static String getParserFingerprint(final Collection<?> parsers) {
+        final Set<String> locations = new TreeSet<String>();
+        for (Object parser : parsers) {
+            final Class<?> parserClass = parser.getClass();
+            final URL url = parserClass.getResource("/" + parserClass.getName().replace('.', '/') + ".class");
+            if (url == null) {
+                return null;
+            }
+            locations.add(url.toExternalForm());
+        }
+        return locations.toString();
+    }
+
+    static byte[] hash(final byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-1").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    /**
+     * Read the boot operations if the snapshot was written for the same configuration, parsers and extension modules.
+     *
+     * @param configHash the hash of the current configuration file
+     * @return the result, or {@code null} if there is no valid snapshot
+     */
+    Result read(final byte[] configHash) {
+        if (!file.exists()) {
+            return null;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                return null;
+            }
+            final int hashLength = input.readInt();
+            if (hashLength != configHash.length) {
+                return null;
+            }
+            final byte[] hash = new byte[hashLength];
+            input.readFully(hash);
+            if (!Arrays.equals(hash, configHash)) {
+                return null;
+            }
+            if (!input.readUTF().equals(parserFingerprint)) {
+                ROOT_LOGGER.debugf("Ignoring boot operation snapshot %s since the parser has changed", file);
+                return null;
+            }
+            final long parseTime = input.readLong();
+            final int moduleCount = input.readInt();
+            for (int i = 0; i < moduleCount; i++) {
+                final String moduleName = input.readUTF();
+                final String moduleFingerprint = input.readUTF();
+                if (!moduleFingerprint.equals(fingerprint.getFingerprint(moduleName))) {
+                    ROOT_LOGGER.debugf("Ignoring boot operation snapshot %s since module %s has changed", file, moduleName);
+                    return null;
+                }
+            }
+            final int operationCount = input.readInt();
+            final List<ModelNode> operations = new ArrayList<ModelNode>(operationCount);
+            for (int i = 0; i < operationCount; i++) {
+                final ModelNode operation = new ModelNode();
+                operation.readExternal(input);
+                operations.add(operation);
+            }
+            return new Result(operations, parseTime);
+        } catch (IOException | RuntimeException e) {
+            ROOT_LOGGER.debugf(e, "Ignoring unreadable boot operation snapshot %s", file);
+            return null;
+        }
+    }
+
+    /**
+     * Replace the snapshot with the operations parsed from the configuration. A snapshot which cannot be written is
+     * simply not used, so failures are only logged.
+     *
+     * @param configHash the hash of the configuration file
+     * @param operations the parsed boot operations
+     * @param parseTime the time in nanoseconds it took to parse the configuration
+     */
+    void write(final byte[] configHash, final List<ModelNode> operations, final long parseTime) {
+        final Map<String, String> fingerprints = new LinkedHashMap<String, String>();
+        for (String moduleName : getExtensionModules(operations)) {
+            final String moduleFingerprint = fingerprint.getFingerprint(moduleName);
+            if (moduleFingerprint == null) {
+                ROOT_LOGGER.debugf("Not writing boot operation snapshot %s since module %s cannot be identified", file, moduleName);
+                return;
+            }
+            fingerprints.put(moduleName, moduleFingerprint);
+        }
+        final File tmp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeInt(configHash.length);
+                output.write(configHash);
+                output.writeUTF(parserFingerprint);
+                output.writeLong(parseTime);
+                output.writeInt(fingerprints.size());
+                for (Map.Entry<String, String> entry : fingerprints.entrySet()) {
+                    output.writeUTF(entry.getKey());
+                    output.writeUTF(entry.getValue());
+                }
+                output.writeInt(operations.size());
+                for (ModelNode operation : operations) {
+                    operation.writeExternal(output);
+                }
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            ROOT_LOGGER.debugf(e, "Failed to write boot operation snapshot %s", file);
+            tmp.delete();
+        }
+    }
+
+    private static List<String> getExtensionModules(final List<ModelNode> operations) {
+        final List<String> modules = new ArrayList<String>();
+        for (ModelNode operation : operations) {
+            if (ADD.equals(operation.get(OP).asString())) {
+                final PathAddress address = PathAddress.pathAddress(operation.get(OP_ADDR));
+                if (address.size() == 1 && EXTENSION.equals(address.getElement(0).getKey())) {
+                    modules.add(address.getElement(0).getValue());
+                }
+            }
+        }
+        return modules;
+    }
+
+    /**
+     * The operations read from a snapshot.
+     */
+    static final class Result {
+        private final List<ModelNode> operations;
+        private final long parseTime;
+
+        private Result(final List<ModelNode> operations, final long parseTime) {
+            this.operations = operations;
+            this.parseTime = parseTime;
+        }
+
+        List<ModelNode> getOperations() {
+            return operations;
+        }
+
+        /**
+         * @return the time in nanoseconds it took to parse the configuration when the snapshot was written
+         */
+        long getParseTime() {
+            return parseTime;
+        }
+    }
+}
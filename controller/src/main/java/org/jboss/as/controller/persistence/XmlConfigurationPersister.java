@@ -22,12 +22,16 @@
 
 package org.jboss.as.controller.persistence;
 
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.jboss.as.controller.logging.ControllerLogger.ROOT_LOGGER;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -47,16 +51,25 @@ import org.jboss.staxmapper.XMLMapper;
 
 /**
  * A configuration persister which uses an XML file for backing storage.
+ * <p>
+ * If {@link #useBootOperationSnapshot()} was called and the {@code jboss.as.boot.snapshot} system property is {@code true}
+ * the parsed boot operations are also written in binary form next to the configuration file, and read from there instead
+ * of parsing the configuration again for as long as neither the configuration file, the parsers nor the extension modules
+ * it adds have changed.
+ * </p>
  *
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
  */
 public class XmlConfigurationPersister extends AbstractConfigurationPersister {
 
+    private static final String BOOT_SNAPSHOT_SUFFIX = ".bootops";
+
     private final File fileName;
     private final QName rootElement;
     private final XMLElementReader<List<ModelNode>> rootParser;
     private final Map<QName, XMLElementReader<List<ModelNode>>> additionalParsers;
     private final boolean suppressLoad;
+    private boolean useBootSnapshot;
 
     /**
      * Construct a new instance.
@@ -88,6 +101,15 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
         this.suppressLoad = suppressLoad;
     }
 
+    /**
+     * Allow the boot operations to be read from a snapshot if the {@code jboss.as.boot.snapshot} system property is
+     * {@code true}. This must only be called if the boot operations depend on nothing but the content of the configuration
+     * file, the parsers and the extension modules it adds, as is the case for a standalone server configuration.
+     */
+    public void useBootOperationSnapshot() {
+        this.useBootSnapshot = true;
+    }
+
     public void registerAdditionalRootElement(final QName anotherRoot, final XMLElementReader<List<ModelNode>> parser){
         synchronized (additionalParsers) {
             additionalParsers.put(anotherRoot, parser);
@@ -107,6 +129,51 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
             return new ArrayList<>();
         }
 
+        final BootOperationSnapshot bootSnapshot = getBootOperationSnapshot();
+        if (bootSnapshot == null) {
+            return parse(null);
+        }
+
+        final long start = System.nanoTime();
+        final byte[] content;
+        try {
+            content = Files.readAllBytes(fileName.toPath());
+        } catch (Exception e) {
+            throw ControllerLogger.ROOT_LOGGER.failedToParseConfiguration(e);
+        }
+        final byte[] hash = BootOperationSnapshot.hash(content);
+        final BootOperationSnapshot.Result result = bootSnapshot.read(hash);
+        if (result != null) {
+            ROOT_LOGGER.debugf("Read %d boot operations from snapshot %s in %d ms, parsing %s took %d ms",
+                    result.getOperations().size(), bootSnapshot.getFile(), NANOSECONDS.toMillis(System.nanoTime() - start),
+                    fileName, NANOSECONDS.toMillis(result.getParseTime()));
+            return result.getOperations();
+        }
+        final List<ModelNode> updates = parse(content);
+        final long parseTime = System.nanoTime() - start;
+        ROOT_LOGGER.debugf("Parsed %d boot operations from %s in %d ms", updates.size(), fileName, NANOSECONDS.toMillis(parseTime));
+        bootSnapshot.write(hash, updates, parseTime);
+        return updates;
+    }
+
+    private BootOperationSnapshot getBootOperationSnapshot() {
+        if (!useBootSnapshot || !BootOperationSnapshot.isEnabled()) {
+            return null;
+        }
+        final List<Object> parsers = new ArrayList<Object>();
+        parsers.add(rootParser);
+        synchronized (additionalParsers) {
+            parsers.addAll(additionalParsers.values());
+        }
+        final String parserFingerprint = BootOperationSnapshot.getParserFingerprint(parsers);
+        if (parserFingerprint == null) {
+            ROOT_LOGGER.debugf("Not using a boot operation snapshot for %s since the parser cannot be identified", fileName);
+            return null;
+        }
+        return new BootOperationSnapshot(new File(fileName.getParentFile(), fileName.getName() + BOOT_SNAPSHOT_SUFFIX), parserFingerprint);
+    }
+
+    private List<ModelNode> parse(final byte[] content) throws ConfigurationPersistenceException {
         final XMLMapper mapper = XMLMapper.Factory.create();
         mapper.registerRootElement(rootElement, rootParser);
         synchronized (additionalParsers) {
@@ -116,7 +183,7 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
         }
         final List<ModelNode> updates = new ArrayList<ModelNode>();
         try {
-            final FileInputStream fis = new FileInputStream(fileName);
+            final InputStream fis = content == null ? new FileInputStream(fileName) : new ByteArrayInputStream(content);
             try {
                 BufferedInputStream input = new BufferedInputStream(fis);
                 XMLStreamReader streamReader = XMLInputFactory.newInstance().createXMLStreamReader(input);
@@ -22,11 +22,16 @@
 
 package org.jboss.as.controller.registry;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.ListIterator;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
@@ -52,6 +57,19 @@ class ConcreteNotificationHandlerRegistration implements NotificationHandlerRegi
      */
     Set<NotificationHandlerEntry> anyAddressEntries = new CopyOnWriteArraySet<NotificationHandlerEntry>();
 
+    /**
+     * The maximum number of source addresses for which the entries found in the registry tree are cached.
+     */
+    private static final int MAX_CACHED_SOURCES = 1024;
+
+    /**
+     * The entries registered in the registry tree for a notification source, before they are filtered.
+     * Each cached value records the generation of the registry it was computed for, any change to the registrations
+     * increments the generation so that values computed before the change are not used.
+     */
+    private final ConcurrentMap<PathAddress, CachedEntries> cachedEntries = new ConcurrentHashMap<>();
+    private final AtomicInteger generation = new AtomicInteger();
+
     @Override
     public void registerNotificationHandler(PathAddress source, NotificationHandler handler, NotificationFilter filter) {
         NotificationHandlerEntry entry = new NotificationHandlerEntry(handler, filter);
@@ -62,6 +80,7 @@ class ConcreteNotificationHandlerRegistration implements NotificationHandlerRegi
 
         ListIterator<PathElement> iterator = source.iterator();
         rootRegistry.registerEntry(iterator, entry);
+        invalidateCachedEntries();
     }
 
     @Override
@@ -74,14 +93,18 @@ class ConcreteNotificationHandlerRegistration implements NotificationHandlerRegi
 
         ListIterator<PathElement> iterator = source.iterator();
         rootRegistry.unregisterEntry(iterator, entry);
+        invalidateCachedEntries();
     }
 
     @Override
     public Collection<NotificationHandler> findMatchingNotificationHandlers(Notification notification) {
         Collection<NotificationHandler> handlers = new HashSet<>();
         // collect all the handlers that match the notifications for the registry tree...
-        ListIterator<PathElement> iterator = notification.getSource().iterator();
-        rootRegistry.findEntries(iterator, handlers, notification);
+        for (NotificationHandlerEntry entry : findEntries(notification.getSource())) {
+            if (entry.getFilter().isNotificationEnabled(notification)) {
+                handlers.add(entry.getHandler());
+            }
+        }
 
         // ... and also the filtered handlers registered against ANY_ADRESS
         for (NotificationHandlerEntry anyAddressEntry : anyAddressEntries) {
@@ -92,6 +115,37 @@ class ConcreteNotificationHandlerRegistration implements NotificationHandlerRegi
         return handlers;
     }
 
+    private List<NotificationHandlerEntry> findEntries(PathAddress source) {
+        // read the generation before traversing the tree so that a concurrent change invalidates the result
+        final int current = generation.get();
+        CachedEntries cached = cachedEntries.get(source);
+        if (cached != null && cached.generation == current) {
+            return cached.entries;
+        }
+        List<NotificationHandlerEntry> entries = new ArrayList<>();
+        rootRegistry.findEntries(source.iterator(), entries);
+        if (cachedEntries.size() >= MAX_CACHED_SOURCES) {
+            cachedEntries.clear();
+        }
+        cachedEntries.put(source, new CachedEntries(current, entries));
+        return entries;
+    }
+
+    private void invalidateCachedEntries() {
+        generation.incrementAndGet();
+        cachedEntries.clear();
+    }
+
+    private static final class CachedEntries {
+        private final int generation;
+        private final List<NotificationHandlerEntry> entries;
+
+        private CachedEntries(int generation, List<NotificationHandlerEntry> entries) {
+            this.generation = generation;
+            this.entries = entries;
+        }
+    }
+
     /**
      * A class to represent a single entry for both a notification handler and filter.
      */
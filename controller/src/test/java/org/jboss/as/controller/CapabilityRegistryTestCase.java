@@ -30,6 +30,10 @@ import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.controller.capability.Capability;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.capability.registry.CapabilityId;
+import org.jboss.as.controller.capability.registry.CapabilityScope;
+import org.jboss.as.controller.capability.registry.RegistrationPoint;
+import org.jboss.as.controller.capability.registry.RuntimeCapabilityRegistration;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
 import org.jboss.as.controller.operations.common.Util;
@@ -37,6 +41,7 @@ import org.jboss.as.controller.operations.global.GlobalNotifications;
 import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
 import org.jboss.as.controller.operations.validation.AbstractParameterValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.test.AbstractControllerTestBase;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -692,6 +697,51 @@ public class CapabilityRegistryTestCase extends AbstractControllerTestBase {
         }
     }
 
+    @Test
+    public void testPublishAndRollbackChanges() {
+        CapabilityRegistry published = new CapabilityRegistry(true);
+        CapabilityRegistry shadow = published.createShadowCopy();
+        for (int i = 0; i < 100; i++) {
+            register(shadow, "org.wildfly.test.base" + i, PathAddress.pathAddress("base", String.valueOf(i)));
+        }
+        shadow.publish();
+        Assert.assertEquals(100, published.getCapabilities().size());
+        Assert.assertFalse(shadow.isModified());
+
+        // Publish only the changes
+        PathAddress address = PathAddress.pathAddress("dependent", "one");
+        register(shadow, "org.wildfly.test.dependent", address, "org.wildfly.test.base0");
+        shadow.removeCapability("org.wildfly.test.base99", CapabilityScope.GLOBAL, PathAddress.pathAddress("base", "99"));
+        Assert.assertEquals(100, published.getCapabilities().size());
+        shadow.publish();
+        Assert.assertEquals(100, published.getCapabilities().size());
+        Assert.assertNotNull(published.getCapability(new CapabilityId("org.wildfly.test.dependent", CapabilityScope.GLOBAL)));
+        Assert.assertNull(published.getCapability(new CapabilityId("org.wildfly.test.base99", CapabilityScope.GLOBAL)));
+
+        // A second registration point changes the registration of an existing capability
+        RuntimeCapability<Void> base0 = RuntimeCapability.Builder.of("org.wildfly.test.base0").build();
+        shadow.registerCapability(new RuntimeCapabilityRegistration(base0, CapabilityScope.GLOBAL,
+                new RegistrationPoint(PathAddress.pathAddress("other", "one"), null)));
+        shadow.removeCapability("org.wildfly.test.dependent", CapabilityScope.GLOBAL, address);
+        shadow.rollback();
+        Assert.assertFalse(shadow.isModified());
+        Assert.assertEquals(100, shadow.getCapabilities().size());
+        Assert.assertNotNull(shadow.getCapability(new CapabilityId("org.wildfly.test.dependent", CapabilityScope.GLOBAL)));
+        Assert.assertEquals(1, shadow.getCapability(new CapabilityId("org.wildfly.test.base0", CapabilityScope.GLOBAL)).getRegistrationPointCount());
+        Assert.assertTrue(shadow.resolveCapabilities(Resource.Factory.create(), false).isValid());
+
+        // After a clear everything is published
+        shadow.clear();
+        shadow.publish();
+        Assert.assertEquals(0, published.getCapabilities().size());
+    }
+
+    private static void register(CapabilityRegistry registry, String name, PathAddress address, String... requirements) {
+        RuntimeCapability<Void> capability = RuntimeCapability.Builder.of(name).addRequirements(requirements).build();
+        registry.registerCapability(new RuntimeCapabilityRegistration(capability, CapabilityScope.GLOBAL,
+                new RegistrationPoint(address, null)));
+    }
+
     private void add(PathElement... address) throws OperationFailedException {
         executeCheckNoFailure(Util.createEmptyOperation("add", PathAddress.pathAddress(address)));
     }
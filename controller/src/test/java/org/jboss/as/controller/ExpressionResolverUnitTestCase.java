@@ -415,6 +415,61 @@ public class ExpressionResolverUnitTestCase {
         assertEquals("default", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression("${test.property1,test.property2:default}")).asString());
     }
 
+    /**
+     * Test that resolving the same expression again reflects changes to the system properties
+     * made in between, as the parsed form of the expression is reused.
+     */
+    @Test
+    public void testRepeatedResolution() throws OperationFailedException {
+        assertEquals("default:value", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression("${test.repeated1,test.repeated2:default:value}")).asString());
+        System.setProperty("test.repeated2", "two");
+        try {
+            assertEquals("two", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression("${test.repeated1,test.repeated2:default:value}")).asString());
+            System.setProperty("test.repeated1", "${test.repeated2}");
+            assertEquals("two", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression("${test.repeated1,test.repeated2:default:value}")).asString());
+        } finally {
+            System.clearProperty("test.repeated1");
+            System.clearProperty("test.repeated2");
+        }
+        assertEquals("default:value", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression("${test.repeated1,test.repeated2:default:value}")).asString());
+        ModelNode unresolved = expression("${test.repeated1}");
+        assertEquals(unresolved, ExpressionResolver.SIMPLE_LENIENT.resolveExpressions(unresolved));
+    }
+
+    @Test
+    public void testCompoundExpressions() throws OperationFailedException {
+        assertEquals("/tmp/x", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression("${test.compound.dir:/tmp}/${test.compound.sub:x}")).asString());
+        assertEquals("bc", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression("${test.compound.a:b}${test.compound.c:c}")).asString());
+        assertEquals("bc}", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression("${test.compound.a:b}c}")).asString());
+        System.setProperty("test.compound.dir", "/opt");
+        try {
+            assertEquals("/opt/x", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression("${test.compound.dir:/tmp}/${test.compound.sub:x}")).asString());
+        } finally {
+            System.clearProperty("test.compound.dir");
+        }
+    }
+
+    @Test(expected = OperationFailedException.class)
+    public void testUnresolvableNestedDefault() throws OperationFailedException {
+        ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression("${test.nested.a:${test.nested.b}}"));
+    }
+
+    @Test
+    public void testPluggableValuesNotCached() throws OperationFailedException {
+        final ExpressionResolver resolver = new ExpressionResolverImpl() {
+            private int count;
+
+            @Override
+            protected void resolvePluggableExpression(ModelNode node) {
+                if (node.asString().startsWith("${VAULT::")) {
+                    node.set("secret" + (++count));
+                }
+            }
+        };
+        assertEquals("secret1", resolver.resolveExpressions(expression("${VAULT::block::attribute::1}")).asString());
+        assertEquals("secret2", resolver.resolveExpressions(expression("${VAULT::block::attribute::1}")).asString());
+    }
+
     @Test
     public void testExpressionWithDollarEndingDefaultValue() throws OperationFailedException {
         try {
@@ -182,4 +182,33 @@ public class PathAddressTestCase {
             assertThat(ex.getMessage(), containsString(wrongAddress));
         }
     }
+
+    @Test
+    public void testSubAddressesAndEquality() {
+        PathAddress address = PathAddress.parseCLIStyleAddress("/subsystem=io/workers=*/worker=new-worker1");
+        Assert.assertSame(address, address.subAddress(0));
+        Assert.assertSame(PathAddress.EMPTY_ADDRESS, PathAddress.pathAddress("subsystem", "io").getParent());
+        Assert.assertEquals(PathAddress.pathAddress(PathElement.pathElement("subsystem", "io"), PathElement.pathElement("workers")), address.getParent());
+        Assert.assertEquals(PathAddress.pathAddress(PathElement.pathElement("workers"), PathElement.pathElement("worker", "new-worker1")), address.subAddress(1));
+        Assert.assertEquals(address, address.getParent().append("worker", "new-worker1"));
+        Assert.assertEquals(address.hashCode(), address.getParent().append("worker", "new-worker1").hashCode());
+        Assert.assertNotEquals(address, address.getParent().append("worker", "new-worker2"));
+        try {
+            PathAddress.EMPTY_ADDRESS.getParent();
+            fail();
+        } catch (IndexOutOfBoundsException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testToModelNodeReturnsCopy() {
+        PathAddress address = PathAddress.pathAddress(new ModelNode().add("one", "1").add("two", "[a,b]"));
+        ModelNode node = address.toModelNode();
+        Assert.assertEquals(new ModelNode().add("one", "1").add("two", "[a,b]"), node);
+        node.add("three", "3");
+        Assert.assertEquals(2, address.toModelNode().asList().size());
+        Assert.assertEquals(address, PathAddress.pathAddress(node).getParent());
+        Assert.assertEquals(new ModelNode().add("one", "1").add("two", "[a,b]").toString(), address.toString());
+    }
 }
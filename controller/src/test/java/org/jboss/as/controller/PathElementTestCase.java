@@ -92,4 +92,12 @@ public class PathElementTestCase {
             }
         }
     }
+
+    @Test
+    public void bracketedValue() {
+        PathElement bracketed = PathElement.pathElement("key", "[value]");
+        PathElement plain = PathElement.pathElement("key", "value");
+        assertEquals(plain, bracketed);
+        assertEquals(plain.hashCode(), bracketed.hashCode());
+    }
 }
@@ -26,6 +26,7 @@ import static org.junit.Assert.fail;
 import java.util.List;
 
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
 import org.jboss.as.controller.operations.validation.AllowedValuesValidator;
 import org.jboss.as.controller.operations.validation.EnumValidator;
 import org.jboss.as.controller.operations.validation.IntRangeValidator;
@@ -89,6 +90,35 @@ public class SimpleAttributeDefinitionUnitTestCase {
         Assert.assertTrue(allowed.contains(new ModelNode("B")));
     }
 
+    @Test
+    public void testSharedNoTextDescription() {
+        SimpleAttributeDefinition first = new SimpleAttributeDefinitionBuilder("first", ModelType.INT, true)
+                .setAllowExpression(true)
+                .setDefaultValue(new ModelNode(5))
+                .build();
+        SimpleAttributeDefinition second = new SimpleAttributeDefinitionBuilder("second", ModelType.INT, true)
+                .setAllowExpression(true)
+                .setDefaultValue(new ModelNode(5))
+                .build();
+
+        // Definitions with identical metadata share one description
+        ModelNode shared = first.getCachedNoTextDescription(false);
+        Assert.assertSame(shared, second.getCachedNoTextDescription(false));
+        Assert.assertSame(shared, first.getCachedNoTextDescription(false));
+        Assert.assertEquals(first.getNoTextDescription(false), shared);
+        Assert.assertNotEquals(shared, first.getCachedNoTextDescription(true));
+
+        // Each added description is a copy that can be modified
+        ModelNode resourceDescription = new ModelNode();
+        first.addResourceAttributeDescription(resourceDescription, NonResolvingResourceDescriptionResolver.INSTANCE, null, null);
+        second.addResourceAttributeDescription(resourceDescription, NonResolvingResourceDescriptionResolver.INSTANCE, null, null);
+        resourceDescription.get(ModelDescriptionConstants.ATTRIBUTES, "first", ModelDescriptionConstants.MAX).set(10);
+        Assert.assertTrue(resourceDescription.get(ModelDescriptionConstants.ATTRIBUTES, "first", ModelDescriptionConstants.DESCRIPTION).isDefined());
+        Assert.assertFalse(resourceDescription.get(ModelDescriptionConstants.ATTRIBUTES, "second").hasDefined(ModelDescriptionConstants.MAX));
+        Assert.assertFalse(shared.hasDefined(ModelDescriptionConstants.MAX));
+        Assert.assertTrue(NoTextDescriptionCache.getHitCount() > 0);
+    }
+
     @Test
     public void testMinMax() {
         SimpleAttributeDefinition ad = new SimpleAttributeDefinitionBuilder("test", ModelType.INT)
@@ -29,6 +29,8 @@ import static org.jboss.as.controller.interfaces.InterfaceCriteriaTestUtil.loopb
 import static org.jboss.as.controller.interfaces.InterfaceCriteriaTestUtil.nonLoopBackInterfaces;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.net.InetAddress;
@@ -134,6 +136,31 @@ public class OverallInterfaceCriteriaUnitTestCase {
         assertTrue(set.contains(entry.getValue().iterator().next()));
     }
 
+    @Test
+    public void testSnapshot() throws Exception {
+
+        NetworkInterfaceSnapshot snapshot = NetworkInterfaceSnapshot.refresh();
+        assertTrue(snapshot.getCandidates().keySet().containsAll(allCandidates.keySet()));
+
+        for (Map.Entry<NetworkInterface, Set<InetAddress>> entry : allCandidates.entrySet()) {
+            // Criteria naming an interface or address give the same result from the indexed snapshot
+            InterfaceCriteria criteria = new NicInterfaceCriteria(entry.getKey().getName());
+            OverallInterfaceCriteria testee = new OverallInterfaceCriteria("test", Collections.singleton(criteria));
+            assertEquals(testee.getAcceptableAddresses(allCandidates).keySet(), testee.getAcceptableAddresses(snapshot).keySet());
+
+            for (InetAddress address : entry.getValue()) {
+                criteria = new InetAddressMatchInterfaceCriteria(address);
+                testee = new OverallInterfaceCriteria("test", Collections.singleton(criteria));
+                assertEquals(testee.getAcceptableAddresses(allCandidates), testee.getAcceptableAddresses(snapshot));
+            }
+        }
+
+        assertTrue(snapshot.getCandidatesForName("bogus").isEmpty());
+        assertSame(snapshot, NetworkInterfaceSnapshot.get());
+        NetworkInterfaceSnapshot.invalidate();
+        assertNotSame(snapshot, NetworkInterfaceSnapshot.get());
+    }
+
     @Test
     public void testNoMatch() throws Exception {
 
@@ -31,6 +31,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -68,6 +69,120 @@ public class NotificationSupportImplTestCase {
         }
     }
 
+    @Test
+    public void testSlowHandlerDoesNotBlockOtherHandlers() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            NotificationSupports.NonBlockingNotificationSupport notificationSupport = new NotificationSupports.NonBlockingNotificationSupport(NotificationHandlerRegistration.Factory.create(), executor, 2);
+
+            final CountDownLatch release = new CountDownLatch(1);
+            final CountDownLatch blocked = new CountDownLatch(1);
+            final List<Notification> slowNotifications = new CopyOnWriteArrayList<Notification>();
+            NotificationHandler slowHandler = new NotificationHandler() {
+                @Override
+                public void handleNotification(Notification notification) {
+                    slowNotifications.add(notification);
+                    blocked.countDown();
+                    try {
+                        release.await(5, SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            };
+            CountdownListBackedNotificationHandler handler = new CountdownListBackedNotificationHandler(new CountDownLatch(0));
+
+            notificationSupport.getNotificationRegistry().registerNotificationHandler(NotificationHandlerRegistration.ANY_ADDRESS, slowHandler, ALL);
+            notificationSupport.getNotificationRegistry().registerNotificationHandler(NotificationHandlerRegistration.ANY_ADDRESS, handler, ALL);
+
+            notificationSupport.emit(new Notification("foo", pathAddress("resource", "foo"), "0"));
+            assertTrue(blocked.await(5, SECONDS));
+            // the other handler receives all the notifications whilst the slow handler is blocked
+            for (int i = 1; i < 5; i++) {
+                notificationSupport.emit(new Notification("foo", pathAddress("resource", "foo"), String.valueOf(i)));
+                waitFor(handler.getNotifications(), i + 1);
+            }
+
+            // the slow handler's queue only holds 2 of the 4 notifications emitted after it blocked
+            release.countDown();
+            waitFor(slowNotifications, 3);
+            assertEquals("0", slowNotifications.get(0).getMessage());
+            assertEquals("1", slowNotifications.get(1).getMessage());
+            assertEquals("2", slowNotifications.get(2).getMessage());
+
+            // once caught up the slow handler receives notifications again
+            notificationSupport.emit(new Notification("foo", pathAddress("resource", "foo"), "5"));
+            waitFor(slowNotifications, 4);
+            assertEquals("5", slowNotifications.get(3).getMessage());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testQueueOfBusyHandlerRemovedOnceDrained() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            NotificationSupports.NonBlockingNotificationSupport notificationSupport = new NotificationSupports.NonBlockingNotificationSupport(NotificationHandlerRegistration.Factory.create(), executor, 10);
+
+            final CountDownLatch release = new CountDownLatch(1);
+            final CountDownLatch blocked = new CountDownLatch(1);
+            final List<Notification> notifications = new CopyOnWriteArrayList<Notification>();
+            NotificationHandler handler = new NotificationHandler() {
+                @Override
+                public void handleNotification(Notification notification) {
+                    blocked.countDown();
+                    try {
+                        release.await(5, SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    notifications.add(notification);
+                }
+            };
+            NotificationHandlerRegistration registry = notificationSupport.getNotificationRegistry();
+            registry.registerNotificationHandler(NotificationHandlerRegistration.ANY_ADDRESS, handler, ALL);
+
+            notificationSupport.emit(new Notification("foo", pathAddress("resource", "foo"), "0"),
+                    new Notification("foo", pathAddress("resource", "foo"), "1"));
+            assertTrue(blocked.await(5, SECONDS));
+            // unregistered whilst the handler is busy
+            registry.unregisterNotificationHandler(NotificationHandlerRegistration.ANY_ADDRESS, handler, ALL);
+            assertEquals(1, notificationSupport.getHandlerQueueCount());
+
+            release.countDown();
+            waitFor(notifications, 2);
+            long deadline = System.currentTimeMillis() + SECONDS.toMillis(5);
+            while (notificationSupport.getHandlerQueueCount() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, notificationSupport.getHandlerQueueCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testHandlerMatchesFollowRegistrations() throws Exception {
+        NotificationHandlerRegistration registry = NotificationHandlerRegistration.Factory.create();
+        CountdownListBackedNotificationHandler handler = new CountdownListBackedNotificationHandler(new CountDownLatch(0));
+        Notification notification = new Notification("foo", pathAddress("resource", "foo"), "foo");
+
+        assertTrue(registry.findMatchingNotificationHandlers(notification).isEmpty());
+        registry.registerNotificationHandler(pathAddress("resource", "*"), handler, ALL);
+        assertTrue(registry.findMatchingNotificationHandlers(notification).contains(handler));
+        registry.unregisterNotificationHandler(pathAddress("resource", "*"), handler, ALL);
+        assertTrue(registry.findMatchingNotificationHandlers(notification).isEmpty());
+    }
+
+    private static void waitFor(List<Notification> notifications, int size) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + SECONDS.toMillis(5);
+        while (notifications.size() < size && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(size, notifications.size());
+    }
+
     private void  doNotificationOrdering(ExecutorService executor) throws Exception {
         int numberOfNotificationsEmitted = 12;
         final CountDownLatch latch = new CountDownLatch(numberOfNotificationsEmitted);
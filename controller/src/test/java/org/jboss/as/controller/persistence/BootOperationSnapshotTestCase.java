@@ -0,0 +1,147 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.EXTENSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that a {@link BootOperationSnapshot} is only used for the configuration, parser and modules it was written for.
+ */
+public class BootOperationSnapshotTestCase {
+
+    private static final String PARSER = "[jar:file:/modules/server-1.0.jar!/org/test/Parser.class]";
+
+    private final Map<String, String> fingerprints = new HashMap<String, String>();
+    private final BootOperationSnapshot.ModuleFingerprint fingerprint = new BootOperationSnapshot.ModuleFingerprint() {
+        @Override
+        public String getFingerprint(String moduleName) {
+            return fingerprints.get(moduleName);
+        }
+    };
+    private File snapshotFile;
+
+    @Before
+    public void createSnapshotFile() throws Exception {
+        File tgt = new File("target");
+        if (!tgt.exists()) {
+            Assert.fail("target/ does not exist");
+        }
+        snapshotFile = new File(tgt, "boot-operation-snapshot-test.bootops");
+        snapshotFile.delete();
+    }
+
+    @After
+    public void deleteSnapshotFile() {
+        snapshotFile.delete();
+    }
+
+    @Test
+    public void testReadWrittenSnapshot() throws Exception {
+        fingerprints.put("org.test.extension", "jar:file:/modules/test-1.0.jar!/");
+        final BootOperationSnapshot snapshot = new BootOperationSnapshot(snapshotFile, PARSER, fingerprint);
+        final byte[] hash = BootOperationSnapshot.hash("<server/>".getBytes(StandardCharsets.UTF_8));
+        final List<ModelNode> operations = createOperations();
+
+        Assert.assertNull(snapshot.read(hash));
+        snapshot.write(hash, operations, 1000000L);
+        final BootOperationSnapshot.Result result = snapshot.read(hash);
+        Assert.assertNotNull(result);
+        Assert.assertEquals(operations, result.getOperations());
+        Assert.assertEquals(1000000L, result.getParseTime());
+    }
+
+    @Test
+    public void testChangedConfiguration() throws Exception {
+        fingerprints.put("org.test.extension", "jar:file:/modules/test-1.0.jar!/");
+        final BootOperationSnapshot snapshot = new BootOperationSnapshot(snapshotFile, PARSER, fingerprint);
+        snapshot.write(BootOperationSnapshot.hash("<server/>".getBytes(StandardCharsets.UTF_8)), createOperations(), 0L);
+
+        Assert.assertNull(snapshot.read(BootOperationSnapshot.hash("<server name=\"other\"/>".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void testChangedModule() throws Exception {
+        fingerprints.put("org.test.extension", "jar:file:/modules/test-1.0.jar!/");
+        final BootOperationSnapshot snapshot = new BootOperationSnapshot(snapshotFile, PARSER, fingerprint);
+        final byte[] hash = BootOperationSnapshot.hash("<server/>".getBytes(StandardCharsets.UTF_8));
+        snapshot.write(hash, createOperations(), 0L);
+        Assert.assertNotNull(snapshot.read(hash));
+
+        fingerprints.put("org.test.extension", "jar:file:/modules/test-1.1.jar!/");
+        Assert.assertNull(snapshot.read(hash));
+    }
+
+    @Test
+    public void testChangedParser() throws Exception {
+        fingerprints.put("org.test.extension", "jar:file:/modules/test-1.0.jar!/");
+        final byte[] hash = BootOperationSnapshot.hash("<server/>".getBytes(StandardCharsets.UTF_8));
+        new BootOperationSnapshot(snapshotFile, PARSER, fingerprint).write(hash, createOperations(), 0L);
+
+        final BootOperationSnapshot upgraded = new BootOperationSnapshot(snapshotFile, "[jar:file:/modules/server-1.1.jar!/org/test/Parser.class]", fingerprint);
+        Assert.assertNull(upgraded.read(hash));
+    }
+
+    @Test
+    public void testParserFingerprint() throws Exception {
+        final String parserFingerprint = BootOperationSnapshot.getParserFingerprint(Collections.singletonList(this));
+        Assert.assertNotNull(parserFingerprint);
+        Assert.assertTrue(parserFingerprint, parserFingerprint.contains(BootOperationSnapshotTestCase.class.getSimpleName() + ".class"));
+        // The same parser registered for several root elements only counts once
+        Assert.assertEquals(parserFingerprint, BootOperationSnapshot.getParserFingerprint(Arrays.asList(this, this)));
+    }
+
+    @Test
+    public void testUnidentifiedModule() throws Exception {
+        final BootOperationSnapshot snapshot = new BootOperationSnapshot(snapshotFile, PARSER, fingerprint);
+        snapshot.write(BootOperationSnapshot.hash("<server/>".getBytes(StandardCharsets.UTF_8)), createOperations(), 0L);
+
+        Assert.assertFalse(snapshotFile.exists());
+    }
+
+    private static List<ModelNode> createOperations() {
+        final List<ModelNode> operations = new ArrayList<ModelNode>();
+        operations.add(Util.createAddOperation(PathAddress.pathAddress(EXTENSION, "org.test.extension")));
+        final ModelNode subsystemAdd = Util.createAddOperation(PathAddress.pathAddress(SUBSYSTEM, "test"));
+        subsystemAdd.get("value").set("${test.value:1}");
+        operations.add(subsystemAdd);
+        return operations;
+    }
+}
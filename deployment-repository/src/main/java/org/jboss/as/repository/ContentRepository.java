@@ -65,6 +65,11 @@ public interface ContentRepository {
     long LOCK_TIMEOUT = 5000L;
     String DELETED_CONTENT = "deleted-contents";
     String MARKED_CONTENT = "marked-contents";
+    /**
+     * The name of a file stored next to managed content in which metadata derived from the content can be cached. The
+     * file is removed along with the content.
+     */
+    String CONTENT_METADATA = "metadata";
 
     /**
      * Add the given content to the repository along with a reference tracked by {@code name}.
@@ -20,6 +20,7 @@
  */
 package org.jboss.as.repository;
 
+import static org.jboss.as.repository.ContentRepository.CONTENT_METADATA;
 import static org.jboss.as.repository.ContentRepository.DELETED_CONTENT;
 import static org.jboss.as.repository.ContentRepository.MARKED_CONTENT;
 import static org.jboss.as.repository.PathUtil.copyRecursively;
@@ -113,6 +114,7 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
     @Override
     public byte[] addContent(InputStream stream) throws IOException {
         byte[] sha1Bytes;
+        ExplodedContentManifest manifest = null;
         Path tmp = File.createTempFile(CONTENT, ".tmp", repoRoot).toPath();
         if (stream != null) {
             try (OutputStream fos = Files.newOutputStream(tmp)) {
@@ -134,7 +136,8 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
             Files.createDirectory(tmp);
             synchronized (messageDigest) {
                 messageDigest.reset();
-                sha1Bytes = HashUtil.hashPath(messageDigest, tmp);
+                manifest = ExplodedContentManifest.build(messageDigest, tmp);
+                sha1Bytes = manifest.getHash(messageDigest);
             }
         }
         final Path realFile = getDeploymentContentFile(sha1Bytes, true);
@@ -149,6 +152,9 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
             DeploymentRepositoryLogger.ROOT_LOGGER.debugf("Content was already present in repository at location %s", realFile.toAbsolutePath().toString());
         } else {
             moveTempToPermanent(tmp, realFile);
+            if (manifest != null) {
+                manifest.store(realFile);
+            }
             DeploymentRepositoryLogger.ROOT_LOGGER.contentAdded(realFile.toAbsolutePath().toString());
         }
         return sha1Bytes;
@@ -291,6 +297,10 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
                 }
             }
             deleteRecursively(contentPath);
+            if (HashUtil.isEachHexHashInTable(reference.getHexHash())) {
+                Files.deleteIfExists(contentPath.resolveSibling(CONTENT_METADATA));
+                Files.deleteIfExists(contentPath.resolveSibling(ExplodedContentManifest.MANIFEST));
+            }
         } catch (IOException ex) {
             DeploymentRepositoryLogger.ROOT_LOGGER.contentDeletionError(ex, contentPath.toString());
         } catch (InterruptedException ex) {
@@ -405,7 +415,8 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
             Path tmp = createTempDirectory(repoRoot.toPath(), CONTENT);
             Path contentDir = Files.createDirectory(tmp.resolve(CONTENT));
             unzip(contentPath, contentDir);
-            byte[] sha1Bytes = HashUtil.hashPath(messageDigest, contentDir);
+            final ExplodedContentManifest manifest = ExplodedContentManifest.build(messageDigest, contentDir);
+            byte[] sha1Bytes = manifest.getHash(messageDigest);
             final Path realFile = getDeploymentContentFile(sha1Bytes, true);
             if (hasContent(sha1Bytes)) {
                 // we've already got this content
@@ -419,6 +430,7 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
             } else {
                 moveTempToPermanent(contentDir, realFile);
                 deleteRecursively(tmp);
+                manifest.store(realFile);
                 DeploymentRepositoryLogger.ROOT_LOGGER.contentExploded(realFile.toAbsolutePath().toString());
             }
             return sha1Bytes;
@@ -448,7 +460,9 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
                     deleteRecursively(targetPath);
                 }
                 unzip(sourcePath, targetPath);
-                byte[] sha1Bytes = HashUtil.hashPath(messageDigest, contentDir);
+                final ExplodedContentManifest manifest = ExplodedContentManifest.load(messageDigest, contentPath, contentDir);
+                manifest.update(messageDigest, contentDir, targetPath);
+                byte[] sha1Bytes = manifest.getHash(messageDigest);
                 final Path realFile = getDeploymentContentFile(sha1Bytes, true);
                 if (hasContent(sha1Bytes)) {
                     // we've already got this content
@@ -462,6 +476,7 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
                 } else {
                     moveTempToPermanent(contentDir, realFile);
                     deleteRecursively(tmp);
+                    manifest.store(realFile);
                     DeploymentRepositoryLogger.ROOT_LOGGER.contentAdded(realFile.toAbsolutePath().toString());
                 }
                 return sha1Bytes;
@@ -586,6 +601,7 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
                 Path tmp = createTempDirectory(repoRoot.toPath(), CONTENT);
                 Path contentDir = tmp.resolve(CONTENT);
                 copyRecursively(contentPath, contentDir, overwrite);
+                final ExplodedContentManifest manifest = ExplodedContentManifest.load(messageDigest, contentPath, contentDir);
                 for (ExplodedContent newContent : addFiles) {
                     Path targetFile = resolveSecurely(contentDir, newContent.getRelativePath());
                     if (!Files.exists(targetFile)) {
@@ -602,8 +618,9 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
                             }
                         }
                     }
+                    manifest.update(messageDigest, contentDir, targetFile);
                 }
-                byte[] sha1Bytes = HashUtil.hashPath(messageDigest, contentDir);
+                byte[] sha1Bytes = manifest.getHash(messageDigest);
                 final Path realFile = getDeploymentContentFile(sha1Bytes, true);
                 if (hasContent(sha1Bytes)) {
                     // we've already got this content
@@ -617,6 +634,7 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
                 } else {
                     moveTempToPermanent(contentDir, realFile);
                     deleteRecursively(tmp);
+                    manifest.store(realFile);
                     DeploymentRepositoryLogger.ROOT_LOGGER.contentAdded(realFile.toAbsolutePath().toString());
                 }
                 return sha1Bytes;
@@ -636,11 +654,13 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
                 Path tmp = createTempDirectory(repoRoot.toPath(), CONTENT);
                 Path contentDir = tmp.resolve(CONTENT).toAbsolutePath();
                 copyRecursively(contentPath, contentDir, false);
+                final ExplodedContentManifest manifest = ExplodedContentManifest.load(messageDigest, contentPath, contentDir);
                 for (String path : paths) {
                     Path targetFile = resolveSecurely(contentDir, path);
                     deleteFileWithEmptyAncestorDirectories(targetFile);
+                    manifest.update(messageDigest, contentDir, targetFile);
                 }
-                byte[] sha1Bytes = HashUtil.hashPath(messageDigest, contentDir);
+                byte[] sha1Bytes = manifest.getHash(messageDigest);
                 final Path realFile = getDeploymentContentFile(sha1Bytes, true);
                 if (hasContent(sha1Bytes)) {
                     // we've already got this content
@@ -654,6 +674,7 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
                 } else {
                     moveTempToPermanent(contentDir, realFile);
                     deleteRecursively(tmp);
+                    manifest.store(realFile);
                     DeploymentRepositoryLogger.ROOT_LOGGER.contentAdded(realFile.toAbsolutePath().toString());
                 }
                 return sha1Bytes;
@@ -0,0 +1,234 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.repository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.jboss.as.repository.logging.DeploymentRepositoryLogger;
+
+/**
+ * The hash of each file of exploded content, from which the hash of the content is computed.
+ * <p>
+ * The hash of exploded content is computed over the relative path and hash of each of its files and directories, so
+ * adding or removing files only requires hashing those files. The manifest is stored next to the content, and is rebuilt
+ * from the content if it is missing, such as for content exploded before manifests were kept.
+ * </p>
+ */
+final class ExplodedContentManifest {
+
+    /**
+     * The name of the manifest file, a sibling of the content.
+     */
+    static final String MANIFEST = "manifest";
+
+    private static final int MAGIC = 0x45584d46;
+    private static final int VERSION = 1;
+
+    /**
+     * The hash of each file by relative path, or {@code null} for a directory.
+     */
+    private final TreeMap<String, byte[]> entries;
+
+    private ExplodedContentManifest(final TreeMap<String, byte[]> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Create the manifest of exploded content by hashing all its files.
+     *
+     * @param messageDigest the digest used to hash
+     * @param contentDir the root of the exploded content
+     * @return the manifest
+     * @throws IOException if the content cannot be read
+     */
+    static ExplodedContentManifest build(final MessageDigest messageDigest, final Path contentDir) throws IOException {
+        final ExplodedContentManifest manifest = new ExplodedContentManifest(new TreeMap<String, byte[]>());
+        manifest.add(messageDigest, contentDir, contentDir);
+        return manifest;
+    }
+
+    /**
+     * Load the manifest stored next to exploded content, or create it if there is no usable manifest.
+     *
+     * @param messageDigest the digest used to hash
+     * @param contentPath the path of the content in the repository
+     * @param contentDir the root of the exploded content to hash if there is no manifest, either the content or a copy of it
+     * @return the manifest
+     * @throws IOException if the content cannot be read
+     */
+    static ExplodedContentManifest load(final MessageDigest messageDigest, final Path contentPath, final Path contentDir) throws IOException {
+        final Path file = contentPath.resolveSibling(MANIFEST);
+        if (Files.exists(file)) {
+            try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                if (input.readInt() == MAGIC && input.readInt() == VERSION) {
+                    final TreeMap<String, byte[]> entries = new TreeMap<String, byte[]>();
+                    final int count = input.readInt();
+                    for (int i = 0; i < count; i++) {
+                        final String path = input.readUTF();
+                        byte[] hash = null;
+                        if (input.readBoolean()) {
+                            hash = new byte[input.readUnsignedByte()];
+                            input.readFully(hash);
+                        }
+                        entries.put(path, hash);
+                    }
+                    return new ExplodedContentManifest(entries);
+                }
+            } catch (IOException | RuntimeException e) {
+                DeploymentRepositoryLogger.ROOT_LOGGER.debugf(e, "Ignoring unreadable content manifest %s", file);
+            }
+        }
+        return build(messageDigest, contentDir);
+    }
+
+    /**
+     * Update the manifest after a file or directory of the content has been added, replaced or removed. The ancestors of
+     * the path are updated too, since they may have been created or removed with it.
+     *
+     * @param messageDigest the digest used to hash
+     * @param contentDir the root of the exploded content
+     * @param path the path which changed
+     * @throws IOException if the content cannot be read
+     */
+    void update(final MessageDigest messageDigest, final Path contentDir, final Path path) throws IOException {
+        final String key = getKey(contentDir, path);
+        if (key.isEmpty()) {
+            entries.clear();
+        } else {
+            entries.remove(key);
+            entries.subMap(key + '/', key + (char) ('/' + 1)).clear();
+        }
+        if (Files.exists(path)) {
+            add(messageDigest, contentDir, path);
+        }
+        for (Path parent = path.getParent(); parent != null && parent.startsWith(contentDir) && !parent.equals(contentDir); parent = parent.getParent()) {
+            final String parentKey = getKey(contentDir, parent);
+            if (Files.isDirectory(parent)) {
+                entries.put(parentKey, null);
+            } else {
+                entries.remove(parentKey);
+            }
+        }
+    }
+
+    /**
+     * Compute the hash of the content from the manifest.
+     *
+     * @param messageDigest the digest used to hash
+     * @return the hash of the content
+     */
+    byte[] getHash(final MessageDigest messageDigest) {
+        messageDigest.reset();
+        for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+            messageDigest.update(entry.getKey().getBytes(StandardCharsets.UTF_8));
+            messageDigest.update((byte) 0);
+            if (entry.getValue() == null) {
+                messageDigest.update((byte) 'D');
+            } else {
+                messageDigest.update((byte) 'F');
+                messageDigest.update(entry.getValue());
+            }
+        }
+        return messageDigest.digest();
+    }
+
+    /**
+     * Store the manifest next to the content. The manifest is only an optimisation, so failures are logged.
+     *
+     * @param contentPath the path of the content in the repository
+     */
+    void store(final Path contentPath) {
+        final Path file = contentPath.resolveSibling(MANIFEST);
+        final Path tmp = contentPath.resolveSibling(MANIFEST + ".tmp");
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeInt(entries.size());
+                for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                    output.writeUTF(entry.getKey());
+                    final byte[] hash = entry.getValue();
+                    output.writeBoolean(hash != null);
+                    if (hash != null) {
+                        output.writeByte(hash.length);
+                        output.write(hash);
+                    }
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            DeploymentRepositoryLogger.ROOT_LOGGER.debugf(e, "Failed to write content manifest %s", file);
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException ioex) {
+                DeploymentRepositoryLogger.ROOT_LOGGER.cannotDeleteTempFile(ioex, tmp.toString());
+            }
+        }
+    }
+
+    private void add(final MessageDigest messageDigest, final Path contentDir, final Path start) throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (!dir.equals(contentDir)) {
+                    entries.put(getKey(contentDir, dir), null);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                try (InputStream in = Files.newInputStream(file)) {
+                    entries.put(getKey(contentDir, file), HashUtil.hashContent(messageDigest, in));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static String getKey(final Path contentDir, final Path path) {
+        final StringBuilder builder = new StringBuilder();
+        for (Path name : contentDir.relativize(path)) {
+            if (builder.length() > 0) {
+                builder.append('/');
+            }
+            builder.append(name.toString());
+        }
+        return builder.toString();
+    }
+}
@@ -131,8 +131,8 @@ public class ContentRepositoryTest {
         byte[] archive = createArchive(Collections.singletonList("overlay.xhtml"));
         try (ByteArrayInputStream stream = new ByteArrayInputStream(archive)) {
             byte[] hash = repository.explodeContent(repository.addContent(stream));
-            String expResult = "b1f18e286615dda0643633ec31f1a17d90e48875";
-            //hash is different from the simple overlay.xhtml as we add the content folder name in the computation
+            String expResult = "97271b1251306ad67776e617b6db8c6c97e9e180";
+            //hash is different from the simple overlay.xhtml as we add the file path in the computation
             assertThat(hash, is(notNullValue()));
             Path content = repository.getContent(hash).getPhysicalFile().toPath();
             String contentHtml = readFileContent(content.resolve("overlay.xhtml"));
@@ -153,10 +153,10 @@ public class ContentRepositoryTest {
             assertThat(originalHash, is(notNullValue()));
             assertThat(HashUtil.bytesToHexString(originalHash), is("f11be1883895957b06f7e46d784cad60dd015d71"));
             byte[] hash = repository.explodeContent(originalHash);
-            //hash is different from the simple overlay.xhtml as we add the content folder name in the computation
+            //hash is different from the simple overlay.xhtml as we add the file path in the computation
             assertThat(hash, is(notNullValue()));
-            assertThat(HashUtil.bytesToHexString(hash), is("5ab326c763fadad903d0e9bbfecbb42e69a1b8b4"));
             Path content = repository.getContent(hash).getPhysicalFile().toPath();
+            assertThat(HashUtil.bytesToHexString(hash), is("2a9764a076392383fd6cfc7b747cd49f3e134eae"));
             String contentHtml = readFileContent(content.resolve("overlay.xhtml"));
             String expectedContentHtml = readFileContent(getResourceAsStream("overlay.xhtml"));
             assertThat(contentHtml, is(expectedContentHtml));
@@ -165,7 +165,7 @@ public class ContentRepositoryTest {
             assertTrue(PathUtil.isArchive(archiveFile));
             byte[] fullyExplodedHash = repository.explodeSubContent(hash, "test/archive.zip");
             assertThat(fullyExplodedHash, is(notNullValue()));
-            assertThat(HashUtil.bytesToHexString(fullyExplodedHash), is("231f4d042711f017d7f8c45aa4affcccbd4d67f4"));
+            assertThat(HashUtil.bytesToHexString(fullyExplodedHash), is("70d435235fc04644e1977f0410b9d023fd727e4a"));
             content = repository.getContent(repository.explodeSubContent(hash, "test/archive.zip")).getPhysicalFile().toPath();
             Path directory = content.resolve("test").resolve("archive.zip");
             assertTrue("Should not be a zip file", Files.isDirectory(directory));
@@ -226,15 +226,15 @@ public class ContentRepositoryTest {
         byte[] archive = createArchive(Collections.singletonList("overlay.xhtml"));
         try (ByteArrayInputStream stream = new ByteArrayInputStream(archive)) {
             byte[] hash = repository.explodeContent(repository.addContent(stream));
-            String expResult = "b1f18e286615dda0643633ec31f1a17d90e48875";
-            //hash is different from the simple overlay.xhtml as we add the content folder name in the computation
+            String expResult = "97271b1251306ad67776e617b6db8c6c97e9e180";
+            //hash is different from the simple overlay.xhtml as we add the file path in the computation
             assertThat(hash, is(notNullValue()));
             Path content = repository.getContent(hash).getPhysicalFile().toPath();
             String contentHtml = readFileContent(content.resolve("overlay.xhtml"));
             String expectedContentHtml = readFileContent(getResourceAsStream("overlay.xhtml"));
             assertThat(contentHtml, is(expectedContentHtml));
             assertThat(HashUtil.bytesToHexString(hash), is(expResult));
-            String updatedExpectedResult = "161a2c95b16d5ffede0721c2cec984ca51009082";
+            String updatedExpectedResult = "6def5029ead4e1fee59b37695cc15e3b0bda1e18";
             hash = repository.addContentToExploded(hash,
                     Collections.singletonList(new ExplodedContent("test.jsp",
                             new ByteArrayInputStream("this is a test".getBytes(StandardCharsets.UTF_8)))),
@@ -250,7 +250,7 @@ public class ContentRepositoryTest {
             hash = repository.removeContentFromExploded(hash, Collections.singletonList("test.jsp"));
             assertThat(hash, is(notNullValue()));
             assertThat(HashUtil.bytesToHexString(hash), is(expResult));
-            updatedExpectedResult = "a44921155d75009d885db3357005b85b435cf59f";
+            updatedExpectedResult = "c6f6585a50e6cb7312bbf54f079d5f6c996b4919";
             hash = repository.addContentToExploded(hash,
                     Collections.singletonList(new ExplodedContent("test.jsp",
                             new ByteArrayInputStream("this is an overwrite test".getBytes(StandardCharsets.UTF_8)))),
@@ -272,20 +272,50 @@ public class ContentRepositoryTest {
         }
     }
 
+    @Test
+    public void testAddEmptyExplodedContent() throws Exception {
+        byte[] hash = repository.addContent(null);
+        assertThat(HashUtil.bytesToHexString(hash), is("da39a3ee5e6b4b0d3255bfef95601890afd80709"));
+        assertTrue(Files.isDirectory(repository.getContent(hash).getPhysicalFile().toPath()));
+        try (InputStream stream = getResourceAsStream("overlay.xhtml")) {
+            hash = repository.addContentToExploded(hash, Collections.singletonList(new ExplodedContent("overlay.xhtml", stream)), true);
+        }
+        //same hash as exploding an archive of the same file
+        assertThat(HashUtil.bytesToHexString(hash), is("97271b1251306ad67776e617b6db8c6c97e9e180"));
+    }
+
+    @Test
+    public void testChangeExplodedContentWithoutManifest() throws Exception {
+        byte[] archive = createArchive(Collections.singletonList("overlay.xhtml"));
+        try (ByteArrayInputStream stream = new ByteArrayInputStream(archive)) {
+            byte[] hash = repository.explodeContent(repository.addContent(stream));
+            Path manifest = repository.getContent(hash).getPhysicalFile().toPath().resolveSibling(ExplodedContentManifest.MANIFEST);
+            assertTrue(Files.exists(manifest));
+            // content exploded before manifests were kept
+            Files.delete(manifest);
+            hash = repository.addContentToExploded(hash,
+                    Collections.singletonList(new ExplodedContent("test.jsp",
+                            new ByteArrayInputStream("this is a test".getBytes(StandardCharsets.UTF_8)))),
+                    true);
+            assertThat(HashUtil.bytesToHexString(hash), is("6def5029ead4e1fee59b37695cc15e3b0bda1e18"));
+            assertTrue(Files.exists(repository.getContent(hash).getPhysicalFile().toPath().resolveSibling(ExplodedContentManifest.MANIFEST)));
+        }
+    }
+
     @Test
     public void testListContents() throws Exception {
         byte[] archive = createArchive(Collections.singletonList("overlay.xhtml"));
         try (ByteArrayInputStream stream = new ByteArrayInputStream(archive)) {
             byte[] hash = repository.explodeContent(repository.addContent(stream));
-            String expResult = "b1f18e286615dda0643633ec31f1a17d90e48875";
-            //hash is different from the simple overlay.xhtml as we add the content folder name in the computation
+            String expResult = "97271b1251306ad67776e617b6db8c6c97e9e180";
+            //hash is different from the simple overlay.xhtml as we add the file path in the computation
             assertThat(hash, is(notNullValue()));
             Path content = repository.getContent(hash).getPhysicalFile().toPath();
             String contentHtml = readFileContent(content.resolve("overlay.xhtml"));
             String expectedContentHtml = readFileContent(getResourceAsStream("overlay.xhtml"));
             assertThat(contentHtml, is(expectedContentHtml));
             assertThat(HashUtil.bytesToHexString(hash), is(expResult));
-            String updatedExpectedResult = "161a2c95b16d5ffede0721c2cec984ca51009082";
+            String updatedExpectedResult = "6def5029ead4e1fee59b37695cc15e3b0bda1e18";
             hash = repository.addContentToExploded(hash,
                     Collections.singletonList(new ExplodedContent("test.jsp", new ByteArrayInputStream("this is a test".getBytes(StandardCharsets.UTF_8)))),
                     true);
@@ -32,12 +32,18 @@ interface CommonAttributes {
     String AUTO_DEPLOY_XML = "auto-deploy-xml";
     String DEPLOYMENT_SCANNER = "deployment-scanner";
     String DEPLOYMENT_TIMEOUT = "deployment-timeout";
+    String LAST_SCAN_TIME = "last-scan-time";
     String NAME = "name";
     String PATH = "path";
     String RELATIVE_TO = "relative-to";
     String SCANNER = "scanner";
+    String SCAN_COUNT = "scan-count";
     String SCAN_ENABLED = "scan-enabled";
     String SCAN_INTERVAL = "scan-interval";
     String RUNTIME_FAILURE_CAUSES_ROLLBACK = "runtime-failure-causes-rollback";
+    String TOTAL_SCAN_TIME = "total-scan-time";
+    String WATCH_ENABLED = "watch-enabled";
+    String WATCH_EVENT_COUNT = "watch-event-count";
+    String WATCHING = "watching";
 
 }
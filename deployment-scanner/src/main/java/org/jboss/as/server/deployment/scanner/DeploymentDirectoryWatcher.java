@@ -0,0 +1,209 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static org.jboss.as.server.deployment.scanner.logging.DeploymentScannerLogger.ROOT_LOGGER;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Watches a deployment directory, and every directory below it, for changes.
+ * <p>
+ * Every directory is registered, including those of exploded deployments, since a change to any file of an exploded
+ * deployment changes its timestamp. New directories are registered as they are created. The listener is notified of
+ * each batch of events from the watch thread, so it is expected to coalesce them rather than scan for each one.
+ * </p>
+ * <p>
+ * Changes to the marker files written by the scanner itself, such as {@code .isdeploying} and {@code .deployed}, are
+ * ignored, as otherwise every scan that deploys something would trigger another scan. Deleting a {@code .deployed}
+ * marker is still reported, since that is how a user requests an undeployment.
+ * </p>
+ */
+final class DeploymentDirectoryWatcher implements Closeable {
+
+    /**
+     * Receives the changes to the watched directory.
+     */
+    interface Listener {
+        /**
+         * Called when a file or directory below the watched directory has changed.
+         *
+         * @param overflow {@code true} if events were lost and the whole directory needs to be scanned
+         */
+        void directoryChanged(boolean overflow);
+    }
+
+    private static final String[] SCANNER_MARKERS = {
+            FileSystemDeploymentService.DEPLOYED,
+            FileSystemDeploymentService.FAILED_DEPLOY,
+            FileSystemDeploymentService.DEPLOYING,
+            FileSystemDeploymentService.UNDEPLOYING,
+            FileSystemDeploymentService.UNDEPLOYED,
+            FileSystemDeploymentService.PENDING,
+    };
+
+    private final Path root;
+    private final Listener listener;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> keys = new ConcurrentHashMap<WatchKey, Path>();
+    private final Thread thread;
+    private volatile boolean closed;
+
+    private DeploymentDirectoryWatcher(final Path root, final Listener listener) throws IOException {
+        this.root = root;
+        this.listener = listener;
+        this.watchService = root.getFileSystem().newWatchService();
+        this.thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                processEvents();
+            }
+        }, "DeploymentScanner-watch - " + root);
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Start watching a directory.
+     *
+     * @param root the directory
+     * @param listener the listener notified of changes
+     * @return the watcher
+     * @throws IOException if the directory cannot be watched
+     */
+    static DeploymentDirectoryWatcher watch(final Path root, final Listener listener) throws IOException {
+        final DeploymentDirectoryWatcher watcher = new DeploymentDirectoryWatcher(root, listener);
+        try {
+            watcher.registerAll(root);
+        } catch (IOException | RuntimeException e) {
+            watcher.close();
+            throw e;
+        }
+        watcher.thread.start();
+        return watcher;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            ROOT_LOGGER.tracef(e, "Failed to close watch service for %s", root);
+        }
+    }
+
+    private void registerAll(final Path start) throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                keys.put(dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), dir);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                // The file was removed while walking, its parent's events will trigger a scan
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void processEvents() {
+        while (!closed) {
+            final WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            final Path dir = keys.get(key);
+            boolean overflow = false;
+            boolean changed = false;
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW) {
+                    overflow = true;
+                    continue;
+                }
+                if (!isScannerMarker(event)) {
+                    changed = true;
+                }
+                if (event.kind() == ENTRY_CREATE && dir != null) {
+                    final Path child = dir.resolve((Path) event.context());
+                    if (Files.isDirectory(child)) {
+                        try {
+                            registerAll(child);
+                        } catch (IOException | RuntimeException e) {
+                            ROOT_LOGGER.tracef(e, "Failed to watch %s", child);
+                        }
+                    }
+                }
+            }
+            if (!key.reset()) {
+                keys.remove(key);
+            }
+            if (overflow) {
+                // Directories created since the events were lost have not been registered
+                try {
+                    registerAll(root);
+                } catch (IOException | RuntimeException e) {
+                    ROOT_LOGGER.tracef(e, "Failed to watch %s", root);
+                }
+            }
+            if (!closed && (changed || overflow)) {
+                listener.directoryChanged(overflow);
+            }
+        }
+    }
+
+    /**
+     * Whether an event is for a marker file written by the scanner, rather than a change made by the user.
+     */
+    private static boolean isScannerMarker(final WatchEvent<?> event) {
+        final String name = event.context().toString();
+        if (event.kind() == ENTRY_DELETE && name.endsWith(FileSystemDeploymentService.DEPLOYED)) {
+            return false;
+        }
+        for (String marker : SCANNER_MARKERS) {
+            if (name.endsWith(marker)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
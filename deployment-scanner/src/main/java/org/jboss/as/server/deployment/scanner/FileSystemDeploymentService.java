@@ -68,6 +68,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Pattern;
@@ -100,6 +101,8 @@ import org.jboss.dmr.Property;
 class FileSystemDeploymentService implements DeploymentScanner, NotificationHandler {
 
     static final Pattern ARCHIVE_PATTERN = Pattern.compile("^.*\\.(?:(?:[SsWwJjEeRr][Aa][Rr])|(?:[Ww][Aa][Bb])|(?:[Ee][Ss][Aa]))$");
+    static final Pattern WEB_ARCHIVE_PATTERN = Pattern.compile("^.*\\.(?:[Ww][Aa][RrBb])$");
+    static final Pattern JSP_PATTERN = Pattern.compile("^.*\\.(?:(?:[Jj][Ss][Pp][XxFf]?)|(?:[Tt][Aa][Gg][Xx]?))$");
 
     static final String DEPLOYED = ".deployed";
     static final String FAILED_DEPLOY = ".failed";
@@ -123,6 +126,17 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
      */
     static final long DEFAULT_DEPLOYMENT_TIMEOUT = 600;
 
+    /**
+     * Period in milliseconds with no changes to the deployment directory before a watching scanner scans it
+     */
+    static final long WATCH_QUIET_PERIOD = 500;
+
+    /**
+     * Minimum interval in milliseconds at which a watching scanner still scans the whole deployment directory, in case
+     * a change was not reported
+     */
+    static final long WATCH_RESCAN_INTERVAL = 60000;
+
     private File deploymentDir;
     private long scanInterval = 0;
     private volatile boolean scanEnabled = false;
@@ -131,6 +145,8 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     private ScheduledFuture<?> scanTask;
     private ScheduledFuture<?> rescanIncompleteTask;
     private ScheduledFuture<?> rescanUndeployTask;
+    private ScheduledFuture<?> watchScanTask;
+    private DeploymentDirectoryWatcher watcher;
     private final Lock scanLock = new ReentrantLock();
 
     private final Map<String, DeploymentMarker> deployed = new HashMap<String, DeploymentMarker>();
@@ -163,6 +179,13 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     private volatile boolean deploymentDirAccessible = true;
     private volatile boolean lastScanSuccessful = true;
 
+    private volatile boolean watchEnabled;
+    private volatile long lastWatchEvent;
+    private final AtomicLong watchEventCount = new AtomicLong();
+    private final AtomicLong scanCount = new AtomicLong();
+    private final AtomicLong totalScanTime = new AtomicLong();
+    private volatile long lastScanTime;
+
     @Override
     public void handleNotification(Notification notification) {
         if (acquireScanLock()) {
@@ -262,6 +285,42 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
     private final DeploymentScanRunnable scanRunnable = new DeploymentScanRunnable();
 
+    /**
+     * Scans the deployment directory once it has not changed for {@link #WATCH_QUIET_PERIOD}, so that a burst of changes,
+     * such as copying an exploded deployment, results in a single scan.
+     */
+    private class WatchScanRunnable implements Runnable {
+
+        @Override
+        public void run() {
+            final long quiet = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastWatchEvent);
+            if (quiet < WATCH_QUIET_PERIOD) {
+                synchronized (FileSystemDeploymentService.this) {
+                    if (scanEnabled && watcher != null) {
+                        watchScanTask = scheduledExecutor.schedule(this, WATCH_QUIET_PERIOD - quiet, TimeUnit.MILLISECONDS);
+                    }
+                }
+                return;
+            }
+            scanRunnable.run();
+        }
+    }
+
+    private final WatchScanRunnable watchScanRunnable = new WatchScanRunnable();
+
+    private final DeploymentDirectoryWatcher.Listener watchListener = new DeploymentDirectoryWatcher.Listener() {
+        @Override
+        public void directoryChanged(boolean overflow) {
+            watchEventCount.incrementAndGet();
+            lastWatchEvent = overflow ? System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(WATCH_QUIET_PERIOD) : System.nanoTime();
+            synchronized (FileSystemDeploymentService.this) {
+                if (scanEnabled && watcher != null && (watchScanTask == null || watchScanTask.isDone())) {
+                    watchScanTask = scheduledExecutor.schedule(watchScanRunnable, overflow ? 0 : WATCH_QUIET_PERIOD, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+    };
+
     FileSystemDeploymentService(final PathAddress resourceAddress, final String relativeTo, final File deploymentDir, final File relativeToDir,
                                 final DeploymentOperations.Factory deploymentOperationsFactory,
                                 final ScheduledExecutorService scheduledExecutor,
@@ -429,6 +488,53 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         this.maxNoProgress = max;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void setWatchEnabled(boolean watchEnabled) {
+        if (watchEnabled != this.watchEnabled) {
+            cancelScan();
+            this.watchEnabled = watchEnabled;
+            startScan();
+        }
+    }
+
+    /**
+     * @return {@code true} if the deployment directory is currently being watched for changes
+     */
+    synchronized boolean isWatching() {
+        return watcher != null;
+    }
+
+    /**
+     * @return the number of scans of the deployment directory
+     */
+    long getScanCount() {
+        return scanCount.get();
+    }
+
+    /**
+     * @return the duration in milliseconds of the last scan of the deployment directory
+     */
+    long getLastScanTime() {
+        return lastScanTime;
+    }
+
+    /**
+     * @return the total duration in milliseconds of all scans of the deployment directory
+     */
+    long getTotalScanTime() {
+        return totalScanTime.get();
+    }
+
+    /**
+     * @return the number of batches of changes reported while the deployment directory was watched
+     */
+    long getWatchEventCount() {
+        return watchEventCount.get();
+    }
+
     private void establishDeployedContentList(File dir, final DeploymentOperations deploymentOperations) {
         final Set<String> deploymentNames = deploymentOperations.getDeploymentsStatus().keySet();
         final List<File> children = listDirectoryChildren(dir);
@@ -562,6 +668,18 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     }
 
     private boolean scan(boolean oneOffScan, final DeploymentOperations deploymentOperations) {
+        final long start = System.nanoTime();
+        try {
+            return doScan(oneOffScan, deploymentOperations);
+        } finally {
+            final long time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            lastScanTime = time;
+            totalScanTime.addAndGet(time);
+            scanCount.incrementAndGet();
+        }
+    }
+
+    private boolean doScan(boolean oneOffScan, final DeploymentOperations deploymentOperations) {
 
         boolean scheduleRescan = false;
 
@@ -928,6 +1046,18 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
                         DeploymentMarker marker = deployed.get(fileName);
                         if (marker == null || marker.lastModified != timestamp) {
+                            if (marker != null && !marker.archive && child.isDirectory()
+                                    && isStaticContentChange(child, marker.lastModified)) {
+                                // The exploded content is used in place, so the running deployment already
+                                // serves the changed static resources and there is nothing to redeploy
+                                ROOT_LOGGER.debugf("Not redeploying %s since only static content has changed", fileName);
+                                final File deployedMarker = new File(directory, fileName + DEPLOYED);
+                                if (deployedMarker.exists()) {
+                                    deployedMarker.setLastModified(timestamp);
+                                }
+                                deployed.put(fileName, new DeploymentMarker(timestamp, false, directory));
+                                continue;
+                            }
                             try {
                                 if (isZipComplete(child)) {
                                     final String path = relativeTo == null ? child.getAbsolutePath() : relativePath + fileName;
@@ -1122,6 +1252,46 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         }
     }
 
+    /**
+     * Determine whether everything in an exploded deployment that changed since it was deployed is static web content,
+     * i.e. it is in a web archive but not under {@code WEB-INF} or {@code META-INF}, and is neither a nested archive nor
+     * a JSP. Anything else, or no identifiable change at all, requires a redeploy.
+     */
+    private boolean isStaticContentChange(final File deploymentDir, final long deployedTimestamp) {
+        final List<File> changed = new ArrayList<File>();
+        return isStaticContentChange(deploymentDir, isWebArchive(deploymentDir.getName()), deployedTimestamp, changed)
+                && !changed.isEmpty();
+    }
+
+    private boolean isStaticContentChange(final File dir, final boolean webContent, final long deployedTimestamp, final List<File> changed) {
+        if (dir.lastModified() > deployedTimestamp) {
+            if (!webContent) {
+                return false;
+            }
+            changed.add(dir);
+        }
+        for (File child : listDirectoryChildren(dir)) {
+            final String name = child.getName();
+            if (child.isDirectory()) {
+                final boolean childWebContent = isEEArchive(name) ? isWebArchive(name)
+                        : webContent && !WEB_INF.equalsIgnoreCase(name) && !META_INF.equalsIgnoreCase(name);
+                if (!isStaticContentChange(child, childWebContent, deployedTimestamp, changed)) {
+                    return false;
+                }
+            } else if (child.lastModified() > deployedTimestamp) {
+                if (!webContent || isEEArchive(name) || JSP_PATTERN.matcher(name).matches()) {
+                    return false;
+                }
+                changed.add(child);
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWebArchive(String fileName) {
+        return WEB_ARCHIVE_PATTERN.matcher(fileName).matches();
+    }
+
     private boolean isEEArchive(String fileName) {
         return ARCHIVE_PATTERN.matcher(fileName).matches();
     }
@@ -1245,7 +1415,16 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     private synchronized void startScan() {
         if (scanEnabled) {
             if (scanInterval > 0) {
-                scanTask = scheduledExecutor.scheduleWithFixedDelay(scanRunnable, 0, scanInterval, TimeUnit.MILLISECONDS);
+                if (watchEnabled && watcher == null) {
+                    try {
+                        watcher = DeploymentDirectoryWatcher.watch(deploymentDir.toPath(), watchListener);
+                    } catch (IOException | RuntimeException e) {
+                        ROOT_LOGGER.cannotWatchDeploymentDirectory(e, deploymentDir.getAbsolutePath());
+                    }
+                }
+                // Changes to a watched directory are scanned as they are reported, the periodic scan is only a fallback
+                final long interval = watcher == null ? scanInterval : Math.max(scanInterval, WATCH_RESCAN_INTERVAL);
+                scanTask = scheduledExecutor.scheduleWithFixedDelay(scanRunnable, 0, interval, TimeUnit.MILLISECONDS);
             } else {
                 scanTask = scheduledExecutor.schedule(scanRunnable, scanInterval, TimeUnit.MILLISECONDS);
             }
@@ -1268,6 +1447,14 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
             scanTask.cancel(true);
             scanTask = null;
         }
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
+        }
+        if (watchScanTask != null) {
+            watchScanTask.cancel(true);
+            watchScanTask = null;
+        }
     }
 
     private ModelNode getCompositeUpdate(final List<ModelNode> updates) {
@@ -0,0 +1,101 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Handler reading the scan metrics of a deployment scanner.
+ */
+final class ScanMetricsHandler implements OperationStepHandler {
+
+    static final AttributeDefinition SCAN_COUNT = createMetric(CommonAttributes.SCAN_COUNT, MeasurementUnit.NONE);
+    static final AttributeDefinition LAST_SCAN_TIME = createMetric(CommonAttributes.LAST_SCAN_TIME, MeasurementUnit.MILLISECONDS);
+    static final AttributeDefinition TOTAL_SCAN_TIME = createMetric(CommonAttributes.TOTAL_SCAN_TIME, MeasurementUnit.MILLISECONDS);
+    static final AttributeDefinition WATCH_EVENT_COUNT = createMetric(CommonAttributes.WATCH_EVENT_COUNT, MeasurementUnit.NONE);
+    static final AttributeDefinition WATCHING = new SimpleAttributeDefinitionBuilder(CommonAttributes.WATCHING, ModelType.BOOLEAN)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .setUndefinedMetricValue(new ModelNode(false))
+            .build();
+
+    static final AttributeDefinition[] METRICS = {SCAN_COUNT, LAST_SCAN_TIME, TOTAL_SCAN_TIME, WATCH_EVENT_COUNT, WATCHING};
+
+    static final ScanMetricsHandler INSTANCE = new ScanMetricsHandler();
+
+    private ScanMetricsHandler() {
+    }
+
+    private static AttributeDefinition createMetric(final String name, final MeasurementUnit unit) {
+        return new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setStorageRuntime()
+                .setRuntimeServiceNotRequired()
+                .setMeasurementUnit(unit)
+                .setUndefinedMetricValue(new ModelNode(0L))
+                .build();
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        context.addStep(new OperationStepHandler() {
+            @Override
+            public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                final ServiceController<?> controller = context.getServiceRegistry(false)
+                        .getService(DeploymentScannerService.getServiceName(context.getCurrentAddressValue()));
+                if (controller != null && controller.getState() == ServiceController.State.UP) {
+                    final FileSystemDeploymentService scanner = (FileSystemDeploymentService) controller.getValue();
+                    final String attributeName = operation.require(ModelDescriptionConstants.NAME).asString();
+                    final ModelNode result = context.getResult();
+                    switch (attributeName) {
+                        case CommonAttributes.SCAN_COUNT:
+                            result.set(scanner.getScanCount());
+                            break;
+                        case CommonAttributes.LAST_SCAN_TIME:
+                            result.set(scanner.getLastScanTime());
+                            break;
+                        case CommonAttributes.TOTAL_SCAN_TIME:
+                            result.set(scanner.getTotalScanTime());
+                            break;
+                        case CommonAttributes.WATCH_EVENT_COUNT:
+                            result.set(scanner.getWatchEventCount());
+                            break;
+                        case CommonAttributes.WATCHING:
+                            result.set(scanner.isWatching());
+                            break;
+                        default:
+                            throw new IllegalStateException(attributeName);
+                    }
+                }
+            }
+        }, OperationContext.Stage.RUNTIME);
+    }
+}
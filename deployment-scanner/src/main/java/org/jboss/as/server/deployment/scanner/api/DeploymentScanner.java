@@ -140,4 +140,12 @@ public interface DeploymentScanner {
      */
     void setRuntimeFailureCausesRollback(boolean rollback);
 
+    /**
+     * Sets whether the scanner watches the deployment directory and scans it when it changes, rather than only
+     * scanning it every scan interval.
+     *
+     * @param watchEnabled true if the deployment directory should be watched
+     */
+    void setWatchEnabled(boolean watchEnabled);
+
 }
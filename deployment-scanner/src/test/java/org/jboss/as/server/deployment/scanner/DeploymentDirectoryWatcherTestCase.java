@@ -0,0 +1,124 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link DeploymentDirectoryWatcher}.
+ */
+public class DeploymentDirectoryWatcherTestCase {
+
+    private final Semaphore changes = new Semaphore(0);
+    private final DeploymentDirectoryWatcher.Listener listener = new DeploymentDirectoryWatcher.Listener() {
+        @Override
+        public void directoryChanged(boolean overflow) {
+            changes.release();
+        }
+    };
+    private Path root;
+    private DeploymentDirectoryWatcher watcher;
+
+    @Before
+    public void setup() throws Exception {
+        root = Files.createTempDirectory("deployment-watcher");
+    }
+
+    @After
+    public void cleanup() throws Exception {
+        if (watcher != null) {
+            watcher.close();
+        }
+        delete(root.toFile());
+    }
+
+    @Test
+    public void testExistingExplodedDeployment() throws Exception {
+        final Path war = Files.createDirectories(root.resolve("test.war").resolve("WEB-INF"));
+        watcher = DeploymentDirectoryWatcher.watch(root, listener);
+
+        Files.write(war.resolve("web.xml"), new byte[] {1});
+        assertChanged();
+    }
+
+    @Test
+    public void testNewExplodedDeployment() throws Exception {
+        watcher = DeploymentDirectoryWatcher.watch(root, listener);
+
+        final Path war = Files.createDirectory(root.resolve("test.war"));
+        assertChanged();
+        // Let the watcher register the new directory before changing its content
+        Thread.sleep(100);
+        changes.drainPermits();
+        Files.write(war.resolve("index.html"), new byte[] {1});
+        assertChanged();
+    }
+
+    @Test
+    public void testScannerMarkersIgnored() throws Exception {
+        Files.write(root.resolve("test.jar"), new byte[] {1});
+        watcher = DeploymentDirectoryWatcher.watch(root, listener);
+
+        final Path deploying = Files.write(root.resolve("test.jar" + FileSystemDeploymentService.DEPLOYING), new byte[0]);
+        final Path deployed = Files.write(root.resolve("test.jar" + FileSystemDeploymentService.DEPLOYED), new byte[0]);
+        Files.delete(deploying);
+        Assert.assertFalse(changes.tryAcquire(2, TimeUnit.SECONDS));
+
+        // Removing the .deployed marker requests an undeployment
+        Files.delete(deployed);
+        assertChanged();
+    }
+
+    @Test
+    public void testClosed() throws Exception {
+        watcher = DeploymentDirectoryWatcher.watch(root, listener);
+        watcher.close();
+
+        Files.write(root.resolve("test.jar"), new byte[] {1});
+        Assert.assertFalse(changes.tryAcquire(1, TimeUnit.SECONDS));
+    }
+
+    private void assertChanged() throws InterruptedException {
+        // Some platforms poll for changes rather than being notified of them
+        Assert.assertTrue(changes.tryAcquire(30, TimeUnit.SECONDS));
+    }
+
+    private static void delete(final File file) {
+        final File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -38,5 +38,11 @@ public class DeploymentScannerParsingTestCase extends AbstractSubsystemBaseTest
     protected String getSubsystemXml() throws IOException {
         return SUBSYSTEM_XML;
     }
+
+    @Override
+    public void testSubsystem() throws Exception {
+        // The 2.0 document is written back in the current 2.1 namespace
+        standardSubsystemTest(null, false);
+    }
 }
 
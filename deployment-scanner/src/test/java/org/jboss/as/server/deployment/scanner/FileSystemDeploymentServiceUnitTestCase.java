@@ -1537,6 +1537,42 @@ public class FileSystemDeploymentServiceUnitTestCase {
         assertTrue(deployed.exists());
     }
 
+    /**
+     * Tests that an exploded deployment is not redeployed when only its static content changes, but is when anything
+     * under WEB-INF changes.
+     */
+    @Test
+    public void testExplodedStaticContentChange() throws Exception {
+        final File war = createDirectory("foo.war", "index.html");
+        final File webXml = createFile(createDirectory(war, "WEB-INF"), "web.xml");
+        final File deployed = new File(tmpDir, "foo.war" + FileSystemDeploymentService.DEPLOYED);
+        TesteeSet ts = createTestee();
+        ts.testee.setAutoDeployExplodedContent(true);
+        ts.controller.addCompositeSuccessResponse(1);
+        ts.testee.scan();
+        assertTrue(deployed.exists());
+        assertEquals(1, ts.controller.deployed.size());
+        assertTrue(ts.controller.responses.isEmpty());
+
+        final long timestamp = deployed.lastModified() + 10000;
+        final File index = new File(war, "index.html");
+        assertTrue(index.setLastModified(timestamp));
+        ts.controller.addCompositeSuccessResponse(1);
+        ts.testee.scan();
+        assertEquals(1, ts.controller.responses.size());
+        assertEquals(timestamp, deployed.lastModified());
+
+        // Nothing has changed since the marker was updated
+        ts.testee.scan();
+        assertEquals(1, ts.controller.responses.size());
+
+        assertTrue(webXml.setLastModified(timestamp + 10000));
+        ts.testee.scan();
+        assertTrue(ts.controller.responses.isEmpty());
+        assertTrue(deployed.exists());
+        assertEquals(1, ts.controller.deployed.size());
+    }
+
     /**
      * Tests that a deployment which had failed earlier, is redeployed (i.e. picked for deployment) when the deployment
      * file is updated (i.e. timestamp changes).
@@ -257,6 +257,13 @@ public class ManagementHttpServer {
         pathHandler.addPrefixPath(DomainApiCheckHandler.PATH, readinessHandler);
         pathHandler.addExactPath("management-upload", readinessHandler);
 
+        HttpHandler metricsHandler = InExecutorHandler.wrap(
+                managementExecutor,
+                new MetricsHandler(modelController, controlledProcessStateService, allowedOrigins)
+        );
+        pathHandler.addPrefixPath(MetricsHandler.PATH, wrapXFrameOptions(new DmrFailureReadinessHandler(securityRealm,
+                secureDomainAccess(metricsHandler, securityRealm), ErrorContextHandler.ERROR_CONTEXT)));
+
         if (securityRealm != null) {
             pathHandler.addPrefixPath(LogoutHandler.PATH, wrapXFrameOptions(new LogoutHandler(securityRealm.getName())));
         }
@@ -0,0 +1,470 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.domain.http.server;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACCESS_MECHANISM;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACCESS_TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES_ONLY;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CALLER_TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CHILDREN;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_RUNTIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MODEL_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROXIES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_DESCRIPTION_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.USER;
+import static org.jboss.as.domain.http.server.cors.CorsUtil.matchOrigin;
+import static org.jboss.as.domain.http.server.logging.HttpServerLogger.ROOT_LOGGER;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.undertow.security.api.SecurityContext;
+import io.undertow.security.idm.Account;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.handlers.BlockingHandler;
+import io.undertow.server.handlers.encoding.EncodingHandler;
+import io.undertow.util.Headers;
+import io.undertow.util.Methods;
+import org.jboss.as.controller.ControlledProcessState;
+import org.jboss.as.controller.ControlledProcessStateService;
+import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.client.OperationBuilder;
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.core.security.AccessMechanism;
+import org.jboss.as.domain.http.server.cors.CorsUtil;
+import org.jboss.as.domain.http.server.security.SubjectAccount;
+import org.jboss.as.domain.http.server.security.SubjectDoAsHandler;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
+
+/**
+ * Handler serving the metric attributes of all resources in the Prometheus text format.
+ *
+ * The metric attributes are found with a recursive {@code read-resource-description}, which is kept for a minute. The
+ * description only contains what the caller may see, so it is kept separately for each authenticated identity.
+ * Each scrape then reads all of them with a single composite operation executed as the authenticated caller, so
+ * access control is checked once per scrape rather than once per attribute. The optional {@code include} and
+ * {@code exclude} query parameters select metrics by the prefix of their name.
+ */
+class MetricsHandler implements HttpHandler {
+
+    static final String PATH = "/metrics";
+
+    private static final String INCLUDE = "include";
+    private static final String EXCLUDE = "exclude";
+    private static final String PREFIX = "wildfly_";
+    private static final long DESCRIPTION_TIMEOUT = TimeUnit.MINUTES.toNanos(1);
+    private static final String METRIC = AttributeAccess.AccessType.METRIC.toString();
+
+    private final ModelController modelController;
+    private final ControlledProcessStateService controlledProcessStateService;
+    private final Collection<String> allowedOrigins = new ArrayList<String>();
+    private final HttpHandler scrapeHandler;
+    private final Map<Set<Object>, MetricDescriptions> descriptions = new ConcurrentHashMap<>();
+
+    MetricsHandler(final ModelController modelController, final ControlledProcessStateService controlledProcessStateService, final Collection<String> allowedOrigins) {
+        this.modelController = modelController;
+        this.controlledProcessStateService = controlledProcessStateService;
+        scrapeHandler = new BlockingHandler(new SubjectDoAsHandler(new EncodingHandler.Builder().build(Collections.<String,Object>emptyMap()).wrap(new HttpHandler() {
+            @Override
+            public void handleRequest(HttpServerExchange exchange) throws Exception {
+                scrape(exchange);
+            }
+        })));
+        if (allowedOrigins != null) {
+            for (String allowedOrigin : allowedOrigins) {
+                this.allowedOrigins.add(CorsUtil.sanitizeDefaultPort(allowedOrigin));
+            }
+        }
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        @SuppressWarnings("deprecation")
+        ControlledProcessState.State currentState = controlledProcessStateService.getCurrentState();
+        if (currentState == ControlledProcessState.State.STARTING
+                || currentState == ControlledProcessState.State.STOPPING) {
+            exchange.getResponseHeaders().add(Headers.RETRY_AFTER, "2");
+            Common.SERVICE_UNAVAIABLE.handleRequest(exchange);
+            return;
+        }
+        if (!Methods.GET.equals(exchange.getRequestMethod())) {
+            ROOT_LOGGER.debug("Request rejected as method not GET.");
+            Common.METHOD_NOT_ALLOWED_HANDLER.handleRequest(exchange);
+            return;
+        }
+        if (exchange.getRequestHeaders().contains(Headers.ORIGIN) && matchOrigin(exchange, allowedOrigins) == null) {
+            return;
+        }
+        scrapeHandler.handleRequest(exchange);
+    }
+
+    private void scrape(final HttpServerExchange exchange) {
+        final PrometheusWriter writer = new PrometheusWriter();
+        try {
+            final Set<Object> caller = getCaller(exchange);
+            MetricDescriptions current = descriptions.get(caller);
+            if (current == null || current.isExpired()) {
+                final ModelNode operation = Util.createEmptyOperation(READ_RESOURCE_DESCRIPTION_OPERATION, PathAddress.EMPTY_ADDRESS);
+                operation.get(RECURSIVE).set(true);
+                operation.get(PROXIES).set(false);
+                final ModelNode response = execute(operation);
+                if (!SUCCESS.equals(response.get(OUTCOME).asString())) {
+                    Common.sendError(exchange, false, response.get(FAILURE_DESCRIPTION));
+                    return;
+                }
+                final List<MetricResource> resources = new ArrayList<>();
+                collect(PathAddress.EMPTY_ADDRESS, PathAddress.EMPTY_ADDRESS, response.get(RESULT), resources);
+                current = new MetricDescriptions(resources);
+                // Drop the descriptions of the callers that stopped scraping
+                for (Iterator<MetricDescriptions> iterator = descriptions.values().iterator(); iterator.hasNext();) {
+                    if (iterator.next().isExpired()) {
+                        iterator.remove();
+                    }
+                }
+                descriptions.put(caller, current);
+            }
+
+            final List<String> includes = getParameters(exchange, INCLUDE);
+            final List<String> excludes = getParameters(exchange, EXCLUDE);
+            // Overrides of a wildcard registration share the read of the wildcard registration
+            final Map<PathAddress, List<Selection>> reads = new LinkedHashMap<>();
+            for (MetricResource resource : current.resources) {
+                final List<Metric> selected = new ArrayList<>();
+                for (Metric metric : resource.metrics) {
+                    if (isSelected(metric.name, includes, excludes)) {
+                        selected.add(metric);
+                    }
+                }
+                if (!selected.isEmpty()) {
+                    List<Selection> selections = reads.get(resource.readAddress);
+                    if (selections == null) {
+                        selections = new ArrayList<>();
+                        reads.put(resource.readAddress, selections);
+                    }
+                    selections.add(new Selection(resource, selected));
+                }
+            }
+
+            if (!reads.isEmpty()) {
+                final ModelNode composite = Util.createEmptyOperation(COMPOSITE, PathAddress.EMPTY_ADDRESS);
+                final ModelNode steps = composite.get(STEPS).setEmptyList();
+                for (PathAddress address : reads.keySet()) {
+                    final ModelNode step = Util.createEmptyOperation(READ_RESOURCE_OPERATION, address);
+                    step.get(INCLUDE_RUNTIME).set(true);
+                    step.get(ATTRIBUTES_ONLY).set(true);
+                    steps.add(step);
+                }
+                final ModelNode response = execute(composite);
+                if (!SUCCESS.equals(response.get(OUTCOME).asString())) {
+                    Common.sendError(exchange, false, response.get(FAILURE_DESCRIPTION));
+                    return;
+                }
+                int i = 0;
+                for (Map.Entry<PathAddress, List<Selection>> read : reads.entrySet()) {
+                    final ModelNode result = response.get(RESULT, "step-" + (++i), RESULT);
+                    if (read.getKey().isMultiTarget()) {
+                        if (result.isDefined()) {
+                            for (ModelNode target : result.asList()) {
+                                if (SUCCESS.equals(target.get(OUTCOME).asString())) {
+                                    write(writer, read.getValue(), PathAddress.pathAddress(target.get(ADDRESS)), target.get(RESULT));
+                                }
+                            }
+                        }
+                    } else {
+                        write(writer, read.getValue(), read.getKey(), result);
+                    }
+                }
+            }
+        } catch (Throwable t) {
+            ROOT_LOGGER.modelRequestError(t);
+            Common.sendError(exchange, false, t.getLocalizedMessage());
+            return;
+        }
+
+        final byte[] data = writer.write().getBytes(StandardCharsets.UTF_8);
+        exchange.setStatusCode(200);
+        exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, PrometheusWriter.CONTENT_TYPE);
+        exchange.getResponseHeaders().put(Headers.CONTENT_LENGTH, data.length);
+        exchange.getResponseSender().send(ByteBuffer.wrap(data));
+    }
+
+    /**
+     * Gets the principals the access control decisions for the caller are based on.
+     */
+    private static Set<Object> getCaller(final HttpServerExchange exchange) {
+        final Set<Object> caller = new HashSet<>();
+        final SecurityContext securityContext = exchange.getSecurityContext();
+        final Account account = securityContext == null ? null : securityContext.getAuthenticatedAccount();
+        if (account instanceof SubjectAccount) {
+            caller.addAll(((SubjectAccount) account).getSubject().getPrincipals());
+        } else if (account != null) {
+            final Principal principal = account.getPrincipal();
+            caller.add(principal == null ? null : principal.getName());
+            caller.addAll(account.getRoles());
+        }
+        return caller;
+    }
+
+    private ModelNode execute(final ModelNode operation) throws Exception {
+        final ModelNode headers = operation.get(OPERATION_HEADERS);
+        headers.get(ACCESS_MECHANISM).set(AccessMechanism.HTTP.toString());
+        headers.get(CALLER_TYPE).set(USER);
+        try (OperationResponse response = modelController.execute(new OperationBuilder(operation).build(), OperationMessageHandler.logging, ModelController.OperationTransactionControl.COMMIT)) {
+            return response.getResponseNode();
+        }
+    }
+
+    /**
+     * Writes the selected metrics of a resource, using the most specific registration matching its address.
+     */
+    private static void write(final PrometheusWriter writer, final List<Selection> selections, final PathAddress address, final ModelNode attributes) {
+        Selection best = null;
+        int bestScore = -1;
+        for (Selection selection : selections) {
+            final int score = selection.resource.match(address);
+            if (score > bestScore) {
+                best = selection;
+                bestScore = score;
+            }
+        }
+        if (best == null) {
+            return;
+        }
+        final PathAddress pattern = best.resource.address;
+        final Map<String, String> labels = new LinkedHashMap<>();
+        for (int i = 0; i < pattern.size(); i++) {
+            if (pattern.getElement(i).isWildcard()) {
+                labels.put(pattern.getElement(i).getKey(), address.getElement(i).getValue());
+            }
+        }
+        for (Metric metric : best.metrics) {
+            writeValue(writer, metric.name, metric.help, labels, attributes.get(metric.attribute));
+        }
+    }
+
+    private static void writeValue(final PrometheusWriter writer, final String name, final String help, final Map<String, String> labels, final ModelNode value) {
+        switch (value.getType()) {
+            case INT:
+            case LONG:
+            case BIG_INTEGER:
+            case BIG_DECIMAL:
+                writer.addSample(name, help, labels, value.asString());
+                break;
+            case DOUBLE:
+                final double d = value.asDouble();
+                writer.addSample(name, help, labels, Double.isInfinite(d) ? (d > 0 ? "+Inf" : "-Inf") : Double.toString(d));
+                break;
+            case BOOLEAN:
+                writer.addSample(name, help, labels, value.asBoolean() ? "1" : "0");
+                break;
+            case OBJECT:
+                // e.g. the heap-memory-usage of the platform memory MBean
+                for (Property field : value.asPropertyList()) {
+                    writeValue(writer, name + '_' + PrometheusWriter.toName(field.getName()), help, labels, field.getValue());
+                }
+                break;
+            default:
+                // not a number
+                break;
+        }
+    }
+
+    /**
+     * Collects the metrics of a registration and of its children.
+     *
+     * @param address the address the resource is registered at
+     * @param readAddress the address the values of its metrics are read from, where the overrides of a wildcard
+     *                    registration are replaced by the wildcard
+     * @param description the description of the registration
+     * @param resources the list the registrations with metrics are added to
+     */
+    private static void collect(final PathAddress address, final PathAddress readAddress, final ModelNode description, final List<MetricResource> resources) {
+        if (description.hasDefined(ATTRIBUTES)) {
+            final StringBuilder prefix = new StringBuilder(PREFIX);
+            for (PathElement element : address) {
+                if (!element.isWildcard()) {
+                    prefix.append(PrometheusWriter.toName(element.getValue())).append('_');
+                }
+            }
+            final List<Metric> metrics = new ArrayList<>();
+            for (Property attribute : description.get(ATTRIBUTES).asPropertyList()) {
+                final ModelNode attributeDescription = attribute.getValue();
+                if (METRIC.equals(attributeDescription.get(ACCESS_TYPE).asString())) {
+                    final String help = attributeDescription.hasDefined(DESCRIPTION) ? attributeDescription.get(DESCRIPTION).asString() : null;
+                    metrics.add(new Metric(attribute.getName(), prefix + PrometheusWriter.toName(attribute.getName()), help));
+                }
+            }
+            if (!metrics.isEmpty()) {
+                resources.add(new MetricResource(address, readAddress, metrics));
+            }
+        }
+        if (description.hasDefined(CHILDREN)) {
+            for (Property child : description.get(CHILDREN).asPropertyList()) {
+                if (child.getValue().hasDefined(MODEL_DESCRIPTION)) {
+                    final ModelNode registrations = child.getValue().get(MODEL_DESCRIPTION);
+                    final boolean wildcard = registrations.has(PathElement.WILDCARD_VALUE);
+                    for (Property registration : registrations.asPropertyList()) {
+                        final PathElement element = PathElement.pathElement(child.getName(), registration.getName());
+                        final PathElement readElement = wildcard ? PathElement.pathElement(child.getName()) : element;
+                        collect(address.append(element), readAddress.append(readElement), registration.getValue(), resources);
+                    }
+                }
+            }
+        }
+    }
+
+    private static List<String> getParameters(final HttpServerExchange exchange, final String name) {
+        final Deque<String> values = exchange.getQueryParameters().get(name);
+        if (values == null) {
+            return Collections.emptyList();
+        }
+        final List<String> result = new ArrayList<>();
+        for (String value : values) {
+            for (String prefix : value.split(",")) {
+                if (!prefix.trim().isEmpty()) {
+                    result.add(prefix.trim());
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean isSelected(final String name, final List<String> includes, final List<String> excludes) {
+        boolean included = includes.isEmpty();
+        for (String include : includes) {
+            if (name.startsWith(include)) {
+                included = true;
+                break;
+            }
+        }
+        if (included) {
+            for (String exclude : excludes) {
+                if (name.startsWith(exclude)) {
+                    return false;
+                }
+            }
+        }
+        return included;
+    }
+
+    private static final class MetricDescriptions {
+        private final List<MetricResource> resources;
+        private final long time = System.nanoTime();
+
+        private MetricDescriptions(final List<MetricResource> resources) {
+            this.resources = resources;
+        }
+
+        private boolean isExpired() {
+            return System.nanoTime() - time > DESCRIPTION_TIMEOUT;
+        }
+    }
+
+    private static final class MetricResource {
+        private final PathAddress address;
+        private final PathAddress readAddress;
+        private final List<Metric> metrics;
+
+        private MetricResource(final PathAddress address, final PathAddress readAddress, final List<Metric> metrics) {
+            this.address = address;
+            this.readAddress = readAddress;
+            this.metrics = metrics;
+        }
+
+        /**
+         * Gets the number of fixed values of this registration that match a resource address, or {@code -1} if the
+         * address does not match.
+         */
+        private int match(final PathAddress resourceAddress) {
+            if (resourceAddress.size() != address.size()) {
+                return -1;
+            }
+            int score = 0;
+            for (int i = 0; i < address.size(); i++) {
+                final PathElement element = address.getElement(i);
+                if (!element.isWildcard()) {
+                    if (!element.getValue().equals(resourceAddress.getElement(i).getValue())) {
+                        return -1;
+                    }
+                    score++;
+                }
+            }
+            return score;
+        }
+    }
+
+    private static final class Metric {
+        private final String attribute;
+        private final String name;
+        private final String help;
+
+        private Metric(final String attribute, final String name, final String help) {
+            this.attribute = attribute;
+            this.name = name;
+            this.help = help;
+        }
+    }
+
+    private static final class Selection {
+        private final MetricResource resource;
+        private final List<Metric> metrics;
+
+        private Selection(final MetricResource resource, final List<Metric> metrics) {
+            this.resource = resource;
+            this.metrics = metrics;
+        }
+    }
+}
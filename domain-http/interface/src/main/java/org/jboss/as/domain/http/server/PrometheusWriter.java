@@ -0,0 +1,136 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.domain.http.server;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects metric samples and renders them in the Prometheus text exposition format. Samples of the same metric are
+ * grouped under a single {@code HELP} and {@code TYPE} line, whatever order they were added in.
+ */
+final class PrometheusWriter {
+
+    static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=" + Common.UTF_8;
+
+    private final Map<String, Family> families = new LinkedHashMap<>();
+
+    /**
+     * Adds a sample.
+     *
+     * @param name the metric name, which must already be a valid Prometheus name
+     * @param help the description of the metric, or {@code null}
+     * @param labels the label names and values of the sample
+     * @param value the value of the sample
+     */
+    void addSample(final String name, final String help, final Map<String, String> labels, final String value) {
+        Family family = families.get(name);
+        if (family == null) {
+            family = new Family(help);
+            families.put(name, family);
+        }
+        final StringBuilder sample = new StringBuilder(name);
+        if (!labels.isEmpty()) {
+            sample.append('{');
+            boolean first = true;
+            for (Map.Entry<String, String> label : labels.entrySet()) {
+                if (!first) {
+                    sample.append(',');
+                }
+                first = false;
+                sample.append(toName(label.getKey())).append("=\"");
+                escape(sample, label.getValue(), true);
+                sample.append('"');
+            }
+            sample.append('}');
+        }
+        family.samples.add(sample.append(' ').append(value).toString());
+    }
+
+    boolean isEmpty() {
+        return families.isEmpty();
+    }
+
+    String write() {
+        final StringBuilder out = new StringBuilder();
+        for (Map.Entry<String, Family> entry : families.entrySet()) {
+            final String name = entry.getKey();
+            final Family family = entry.getValue();
+            if (family.help != null) {
+                out.append("# HELP ").append(name).append(' ');
+                escape(out, family.help, false);
+                out.append('\n');
+            }
+            out.append("# TYPE ").append(name).append(" gauge\n");
+            for (String sample : family.samples) {
+                out.append(sample).append('\n');
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Converts a management name such as {@code busy-task-thread-count} into a valid Prometheus name.
+     */
+    static String toName(final String name) {
+        final StringBuilder result = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9' && i > 0) || c == '_') {
+                result.append(c);
+            } else if (c >= 'A' && c <= 'Z') {
+                result.append(Character.toLowerCase(c));
+            } else {
+                result.append('_');
+            }
+        }
+        return result.toString();
+    }
+
+    private static void escape(final StringBuilder out, final String value, final boolean quoted) {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '\\') {
+                out.append("\\\\");
+            } else if (c == '\n') {
+                out.append("\\n");
+            } else if (c == '"' && quoted) {
+                out.append("\\\"");
+            } else {
+                out.append(c);
+            }
+        }
+    }
+
+    private static final class Family {
+        private final String help;
+        private final List<String> samples = new ArrayList<>();
+
+        private Family(final String help) {
+            this.help = help;
+        }
+    }
+}
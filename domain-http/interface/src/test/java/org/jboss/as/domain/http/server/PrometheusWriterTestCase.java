@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.domain.http.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Tests the Prometheus text format written by {@link PrometheusWriter}.
+ */
+public class PrometheusWriterTestCase {
+
+    @Test
+    public void testNames() {
+        assertEquals("busy_task_thread_count", PrometheusWriter.toName("busy-task-thread-count"));
+        assertEquals("heap_memory_usage", PrometheusWriter.toName("Heap-Memory.Usage"));
+        assertEquals("_ds", PrometheusWriter.toName("9ds"));
+        assertEquals("java__ds", PrometheusWriter.toName("java:/DS"));
+    }
+
+    @Test
+    public void testWrite() {
+        final PrometheusWriter writer = new PrometheusWriter();
+        assertTrue(writer.isEmpty());
+
+        final Map<String, String> first = new LinkedHashMap<>();
+        first.put("worker", "default");
+        final Map<String, String> second = new LinkedHashMap<>();
+        second.put("worker", "say \"hi\"\n");
+        writer.addSample("wildfly_io_busy_task_thread_count", "The number of busy threads.\nMultiline", first, "3");
+        writer.addSample("wildfly_request_controller_active_requests", null, Collections.<String, String>emptyMap(), "0");
+        writer.addSample("wildfly_io_busy_task_thread_count", "The number of busy threads.\nMultiline", second, "1");
+
+        assertEquals("# HELP wildfly_io_busy_task_thread_count The number of busy threads.\\nMultiline\n"
+                + "# TYPE wildfly_io_busy_task_thread_count gauge\n"
+                + "wildfly_io_busy_task_thread_count{worker=\"default\"} 3\n"
+                + "wildfly_io_busy_task_thread_count{worker=\"say \\\"hi\\\"\\n\"} 1\n"
+                + "# TYPE wildfly_request_controller_active_requests gauge\n"
+                + "wildfly_request_controller_active_requests 0\n", writer.write());
+    }
+}
@@ -25,6 +25,12 @@ package org.jboss.as.domain.management.connections.ldap;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.domain.management.connections.ldap.LdapConnectionResourceDefinition.HANDLES_REFERRALS_FOR;
 import static org.jboss.as.domain.management.connections.ldap.LdapConnectionResourceDefinition.INITIAL_CONTEXT_FACTORY;
+import static org.jboss.as.domain.management.connections.ldap.LdapConnectionResourceDefinition.POOL_MAX_IDLE;
+import static org.jboss.as.domain.management.connections.ldap.LdapConnectionResourceDefinition.POOL_MAX_LIFETIME;
+import static org.jboss.as.domain.management.connections.ldap.LdapConnectionResourceDefinition.POOL_MAX_SIZE;
+import static org.jboss.as.domain.management.connections.ldap.LdapConnectionResourceDefinition.POOL_MAX_WAIT;
+import static org.jboss.as.domain.management.connections.ldap.LdapConnectionResourceDefinition.POOL_MIN_IDLE;
+import static org.jboss.as.domain.management.connections.ldap.LdapConnectionResourceDefinition.POOL_VALIDATE;
 import static org.jboss.as.domain.management.connections.ldap.LdapConnectionResourceDefinition.REFERRALS;
 import static org.jboss.as.domain.management.connections.ldap.LdapConnectionResourceDefinition.SEARCH_CREDENTIAL;
 import static org.jboss.as.domain.management.connections.ldap.LdapConnectionResourceDefinition.SEARCH_DN;
@@ -45,6 +51,7 @@ import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.domain.management.SecurityRealm;
 import org.jboss.as.domain.management.connections.ldap.LdapConnectionManagerService.Config;
+import org.jboss.as.domain.management.connections.ldap.LdapConnectionPool.PoolConfig;
 import org.jboss.as.domain.management.connections.ldap.LdapConnectionResourceDefinition.ReferralHandling;
 import org.jboss.as.domain.management.security.SSLContextService;
 import org.jboss.dmr.ModelNode;
@@ -125,7 +132,14 @@ public class LdapConnectionAddHandler extends AbstractAddStepHandler {
             handlesReferralsForSet = Collections.emptySet();
         }
 
-        return connectionManagerService.setConfiguration(initialContextFactory, url, searchDn, searchCredential, referralHandling, handlesReferralsForSet);
+        PoolConfig poolConfig = new PoolConfig(POOL_MAX_SIZE.resolveModelAttribute(context, model).asInt(),
+                POOL_MIN_IDLE.resolveModelAttribute(context, model).asInt(),
+                POOL_MAX_IDLE.resolveModelAttribute(context, model).asInt(),
+                POOL_MAX_LIFETIME.resolveModelAttribute(context, model).asLong(),
+                POOL_VALIDATE.resolveModelAttribute(context, model).asBoolean(),
+                POOL_MAX_WAIT.resolveModelAttribute(context, model).asLong());
+
+        return connectionManagerService.setConfiguration(initialContextFactory, url, searchDn, searchCredential, referralHandling, handlesReferralsForSet, poolConfig);
     }
 
 }
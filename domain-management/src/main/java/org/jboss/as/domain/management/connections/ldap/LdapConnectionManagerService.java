@@ -26,6 +26,10 @@ import static org.jboss.as.domain.management.logging.DomainManagementLogger.SECU
 import java.net.URI;
 import java.util.Hashtable;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import javax.naming.Context;
 import javax.naming.NamingException;
@@ -33,6 +37,7 @@ import javax.naming.directory.DirContext;
 import javax.naming.directory.InitialDirContext;
 import javax.net.ssl.SSLContext;
 
+import org.jboss.as.domain.management.connections.ldap.LdapConnectionPool.PoolConfig;
 import org.jboss.as.domain.management.connections.ldap.LdapConnectionResourceDefinition.ReferralHandling;
 import org.jboss.msc.inject.Injector;
 import org.jboss.msc.service.Service;
@@ -53,6 +58,11 @@ public class LdapConnectionManagerService implements Service<LdapConnectionManag
 
     private static final ServiceName BASE_SERVICE_NAME = ServiceName.JBOSS.append("server", "controller", "management", "connection_manager");
 
+    /**
+     * The interval in seconds between checks of the idle connections in the pool.
+     */
+    private static final long POOL_MAINTENANCE_INTERVAL = 10;
+
     private final LdapConnectionManagerRegistry connectionManagerRegistry;
     private final String name;
 
@@ -62,23 +72,32 @@ public class LdapConnectionManagerService implements Service<LdapConnectionManag
     private volatile Config configuration;
     private volatile Hashtable<String, String> properties = new Hashtable<String, String>();
 
+    /*
+     * Controlled by the service lifecycle and configuration changes, guarded by this.
+     */
+    private volatile LdapConnectionPool pool;
+    private ScheduledExecutorService poolMaintenance;
+    private boolean started;
+
     public LdapConnectionManagerService(final String name, final LdapConnectionManagerRegistry connectionManagerRegistry) {
         this.name = name;
         this.connectionManagerRegistry = connectionManagerRegistry;
     }
 
-    Config setConfiguration(final String initialContextFactory, final String url, final String searchDn, final String searchCredential, final ReferralHandling referralHandling, final Set<URI> referralURIs) {
-        Config configuration = new Config(initialContextFactory, url, searchDn, searchCredential, referralHandling, referralURIs);
+    synchronized Config setConfiguration(final String initialContextFactory, final String url, final String searchDn, final String searchCredential, final ReferralHandling referralHandling, final Set<URI> referralURIs, final PoolConfig poolConfig) {
+        Config configuration = new Config(initialContextFactory, url, searchDn, searchCredential, referralHandling, referralURIs, poolConfig);
 
         try {
             return this.configuration;
         } finally {
             this.configuration = configuration;
+            resetPool();
         }
     }
 
-    void setConfiguration(final Config configuration) {
+    synchronized void setConfiguration(final Config configuration) {
         this.configuration = configuration;
+        resetPool();
     }
 
     /*
@@ -91,6 +110,10 @@ public class LdapConnectionManagerService implements Service<LdapConnectionManag
 
                 @Override
                 public void run() {
+                    synchronized (LdapConnectionManagerService.this) {
+                        started = true;
+                        resetPool();
+                    }
                     connectionManagerRegistry.addLdapConnectionManagerService(name, LdapConnectionManagerService.this);
                     context.complete();
                 }
@@ -107,6 +130,14 @@ public class LdapConnectionManagerService implements Service<LdapConnectionManag
                 @Override
                 public void run() {
                     connectionManagerRegistry.removeLdapConnectionManagerService(name);
+                    synchronized (LdapConnectionManagerService.this) {
+                        started = false;
+                        resetPool();
+                        if (poolMaintenance != null) {
+                            poolMaintenance.shutdown();
+                            poolMaintenance = null;
+                        }
+                    }
                     context.complete();
                 }
             });
@@ -137,6 +168,7 @@ public class LdapConnectionManagerService implements Service<LdapConnectionManag
         properties.put(name, value);
 
         this.properties = properties;
+        resetPool();
     }
 
     synchronized void removeProperty(final String name) {
@@ -144,6 +176,7 @@ public class LdapConnectionManagerService implements Service<LdapConnectionManag
         properties.remove(name);
 
         this.properties = properties;
+        resetPool();
     }
 
     void setPropertyImmediate(final String name, final String value) {
@@ -173,9 +206,68 @@ public class LdapConnectionManagerService implements Service<LdapConnectionManag
 
     @Override
     public DirContext getConnection() throws NamingException {
+        LdapConnectionPool pool = this.pool;
+        if (pool != null) {
+            return pool.getConnection();
+        }
         return getConnection(configuration);
     }
 
+    /**
+     * Get the connection pool currently in use for this connection.
+     *
+     * @return The {@link LdapConnectionPool} or {@code null} if connections are not pooled.
+     */
+    LdapConnectionPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Replace the connection pool so that pooled connections match the current configuration and properties.
+     *
+     * Note: This method should only be called by a {@link Thread} that has already obtained the lock for this service.
+     */
+    private void resetPool() {
+        final LdapConnectionPool previous = pool;
+        final Config configuration = this.configuration;
+        if (started && configuration != null && configuration.getPoolConfig().isEnabled()) {
+            final LdapConnectionPool pool = new LdapConnectionPool(configuration.getPoolConfig(), new LdapConnectionPool.ConnectionFactory() {
+
+                @Override
+                public DirContext createConnection() throws NamingException {
+                    return LdapConnectionManagerService.this.getConnection(configuration);
+                }
+            });
+            if (poolMaintenance == null) {
+                poolMaintenance = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, String.format("LDAP Connection Pool Maintenance Thread (%s)", name));
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+                poolMaintenance.scheduleWithFixedDelay(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        LdapConnectionPool current = LdapConnectionManagerService.this.pool;
+                        if (current != null) {
+                            current.maintain();
+                        }
+                    }
+                }, 0, POOL_MAINTENANCE_INTERVAL, TimeUnit.SECONDS);
+            }
+            this.pool = pool;
+        } else {
+            this.pool = null;
+        }
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
     private DirContext getConnection(final Config configuration) throws NamingException {
         return getConnection(getFullProperties(configuration), getSSLContext(false));
     }
@@ -324,13 +416,14 @@ public class LdapConnectionManagerService implements Service<LdapConnectionManag
 
     static class Config {
 
-        private Config(final String initialContextFactory, final String url, final String searchDn, final String searchCredential, final ReferralHandling referralHandling, final Set<URI> referralURIs) {
+        private Config(final String initialContextFactory, final String url, final String searchDn, final String searchCredential, final ReferralHandling referralHandling, final Set<URI> referralURIs, final PoolConfig poolConfig) {
             this.initialContextFactory = initialContextFactory;
             this.url = url;
             this.searchDn = searchDn;
             this.searchCredential = searchCredential;
             this.referralHandling = referralHandling;
             this.referralURIs = referralURIs;
+            this.poolConfig = poolConfig;
         }
 
         private Config(final String url, final Config config) {
@@ -340,6 +433,7 @@ public class LdapConnectionManagerService implements Service<LdapConnectionManag
             this.searchCredential = config.searchCredential;
             this.referralHandling = config.referralHandling;
             this.referralURIs = config.referralURIs;
+            this.poolConfig = config.poolConfig;
         }
 
         private final String initialContextFactory;
@@ -348,6 +442,7 @@ public class LdapConnectionManagerService implements Service<LdapConnectionManag
         private final String searchCredential;
         private final ReferralHandling referralHandling;
         private final Set<URI> referralURIs;
+        private final PoolConfig poolConfig;
         public String getInitialContextFactory() {
             return initialContextFactory;
         }
@@ -366,6 +461,9 @@ public class LdapConnectionManagerService implements Service<LdapConnectionManag
         public Set<URI> getReferralURIs() {
             return referralURIs;
         }
+        PoolConfig getPoolConfig() {
+            return poolConfig;
+        }
     }
 
 }
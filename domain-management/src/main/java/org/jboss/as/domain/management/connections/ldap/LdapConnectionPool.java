@@ -0,0 +1,439 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.domain.management.connections.ldap;
+
+import static org.jboss.as.domain.management.logging.DomainManagementLogger.SECURITY_LOGGER;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.naming.CommunicationException;
+import javax.naming.NamingException;
+import javax.naming.ServiceUnavailableException;
+import javax.naming.directory.DirContext;
+
+/**
+ * A pool of the connections used to perform searches against LDAP.
+ *
+ * Connections are handed out wrapped in a {@link DirContext} that returns the connection to the pool when it is closed instead
+ * of closing the underlying connection. Connections that have failed with a communication error, had their environment
+ * modified or exceeded their maximum lifetime are closed instead of being returned to the pool.
+ */
+class LdapConnectionPool {
+
+    private static final String[] NO_ATTRIBUTES = new String[] { "1.1" };
+
+    private final PoolConfig config;
+    private final ConnectionFactory connectionFactory;
+
+    /*
+     * The following fields are guarded by this.
+     */
+    private final Deque<PooledConnection> idle = new ArrayDeque<PooledConnection>();
+    private int total;
+    private int active;
+    private boolean closed;
+
+    private long createdCount;
+    private long waitCount;
+    private long totalWaitTime;
+
+    LdapConnectionPool(final PoolConfig config, final ConnectionFactory connectionFactory) {
+        this.config = config;
+        this.connectionFactory = connectionFactory;
+    }
+
+    /**
+     * Obtain a connection from the pool, creating a new connection if no idle connection is available and the pool is below
+     * its maximum size.
+     *
+     * @return A {@link DirContext} which returns the connection to the pool when closed.
+     * @throws NamingException If an error occurs creating a new connection or no connection became available in time.
+     */
+    DirContext getConnection() throws NamingException {
+        final long start = System.nanoTime();
+        final long deadline = start + TimeUnit.MILLISECONDS.toNanos(config.getMaxWait());
+        boolean waited = false;
+        try {
+            while (true) {
+                PooledConnection connection = null;
+                List<PooledConnection> expired = null;
+                boolean create = false;
+                synchronized (this) {
+                    while (connection == null && create == false) {
+                        if (closed) {
+                            return connectionFactory.createConnection();
+                        }
+                        connection = idle.pollFirst();
+                        if (connection == null) {
+                            if (total < config.getMaxSize()) {
+                                total++;
+                                create = true;
+                            } else {
+                                long remaining = deadline - System.nanoTime();
+                                if (remaining <= 0) {
+                                    throw new ServiceUnavailableException(String.format(
+                                            "No LDAP connection became available within %d ms", config.getMaxWait()));
+                                }
+                                waited = true;
+                                try {
+                                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                    throw new ServiceUnavailableException("Interrupted waiting for an LDAP connection");
+                                }
+                            }
+                        } else if (connection.isExpired(System.nanoTime())) {
+                            total--;
+                            if (expired == null) {
+                                expired = new ArrayList<PooledConnection>(1);
+                            }
+                            expired.add(connection);
+                            connection = null;
+                        }
+                    }
+                }
+                // Closing a connection may block so it is not done whilst holding the lock.
+                if (expired != null) {
+                    for (PooledConnection current : expired) {
+                        current.destroy();
+                    }
+                }
+
+                if (create) {
+                    connection = create();
+                } else if (config.isValidate() && validate(connection) == false) {
+                    synchronized (this) {
+                        total--;
+                        notifyAll();
+                    }
+                    connection.destroy();
+                    continue;
+                }
+
+                synchronized (this) {
+                    active++;
+                }
+                return new Lease(connection).getContext();
+            }
+        } finally {
+            if (waited) {
+                synchronized (this) {
+                    waitCount++;
+                    totalWaitTime += System.nanoTime() - start;
+                }
+            }
+        }
+    }
+
+    /**
+     * Close all idle connections and prevent any further connections being returned to the pool, connections currently in use
+     * will be closed as they are released.
+     */
+    void close() {
+        final List<PooledConnection> toClose;
+        synchronized (this) {
+            closed = true;
+            toClose = new ArrayList<PooledConnection>(idle);
+            total -= idle.size();
+            idle.clear();
+            notifyAll();
+        }
+        for (PooledConnection current : toClose) {
+            current.destroy();
+        }
+    }
+
+    /**
+     * Close any idle connections that have exceeded their maximum lifetime and then open new connections until the minimum
+     * number of idle connections is reached.
+     */
+    void maintain() {
+        final List<PooledConnection> toClose = new ArrayList<PooledConnection>();
+        int toCreate = 0;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            final long now = System.nanoTime();
+            Iterator<PooledConnection> it = idle.iterator();
+            while (it.hasNext()) {
+                PooledConnection current = it.next();
+                if (current.isExpired(now)) {
+                    it.remove();
+                    total--;
+                    toClose.add(current);
+                }
+            }
+            while (idle.size() + toCreate < config.getMinIdle() && total < config.getMaxSize()) {
+                total++;
+                toCreate++;
+            }
+            if (toClose.isEmpty() == false) {
+                // Expired connections free slots for waiting borrowers
+                notifyAll();
+            }
+        }
+
+        for (PooledConnection current : toClose) {
+            current.destroy();
+        }
+        for (int i = 0; i < toCreate; i++) {
+            final PooledConnection connection;
+            try {
+                connection = create();
+            } catch (NamingException e) {
+                SECURITY_LOGGER.tracef(e, "Unable to create idle LDAP connection.");
+                synchronized (this) {
+                    // Free the slots reserved for the connections which will not be created now
+                    total -= toCreate - i - 1;
+                    notifyAll();
+                }
+                return;
+            }
+            release(connection);
+        }
+    }
+
+    synchronized int getActiveCount() {
+        return active;
+    }
+
+    synchronized int getIdleCount() {
+        return idle.size();
+    }
+
+    synchronized long getCreatedCount() {
+        return createdCount;
+    }
+
+    synchronized long getWaitCount() {
+        return waitCount;
+    }
+
+    /**
+     * Get the average time in milliseconds a request for a connection had to wait for a connection to become available.
+     *
+     * @return The average wait time in milliseconds.
+     */
+    synchronized long getAverageWaitTime() {
+        return waitCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitTime / waitCount);
+    }
+
+    private PooledConnection create() throws NamingException {
+        try {
+            DirContext context = connectionFactory.createConnection();
+            synchronized (this) {
+                createdCount++;
+            }
+            return new PooledConnection(context, System.nanoTime());
+        } catch (NamingException | RuntimeException e) {
+            synchronized (this) {
+                total--;
+                notifyAll();
+            }
+            throw e;
+        }
+    }
+
+    private boolean validate(final PooledConnection connection) {
+        try {
+            connection.delegate.getAttributes("", NO_ATTRIBUTES);
+            return true;
+        } catch (NamingException e) {
+            SECURITY_LOGGER.tracef(e, "Pooled LDAP connection failed validation.");
+            return false;
+        }
+    }
+
+    private void release(final PooledConnection connection) {
+        final boolean destroy;
+        synchronized (this) {
+            destroy = closed || connection.reusable == false || connection.isExpired(System.nanoTime())
+                    || idle.size() >= config.getMaxIdle();
+            if (destroy) {
+                total--;
+            } else {
+                idle.addFirst(connection);
+            }
+            notifyAll();
+        }
+        if (destroy) {
+            connection.destroy();
+        }
+    }
+
+    private void returned(final PooledConnection connection) {
+        synchronized (this) {
+            active--;
+        }
+        release(connection);
+    }
+
+    interface ConnectionFactory {
+
+        DirContext createConnection() throws NamingException;
+
+    }
+
+    private final class PooledConnection {
+
+        private final DirContext delegate;
+        private final long created;
+        private volatile boolean reusable = true;
+
+        private PooledConnection(final DirContext delegate, final long created) {
+            this.delegate = delegate;
+            this.created = created;
+        }
+
+        boolean isExpired(final long now) {
+            return reusable == false
+                    || (config.getMaxLifetime() > 0 && now - created >= TimeUnit.SECONDS.toNanos(config.getMaxLifetime()));
+        }
+
+        void destroy() {
+            try {
+                delegate.close();
+            } catch (NamingException e) {
+                SECURITY_LOGGER.tracef(e, "Unable to close pooled LDAP connection.");
+            }
+        }
+    }
+
+    /**
+     * A single use of a {@link PooledConnection}, once closed the {@link DirContext} handed out can no longer be used even if the
+     * underlying connection is handed out again.
+     */
+    private final class Lease implements InvocationHandler {
+
+        private final PooledConnection connection;
+        private boolean closed;
+
+        private Lease(final PooledConnection connection) {
+            this.connection = connection;
+        }
+
+        DirContext getContext() {
+            return (DirContext) Proxy.newProxyInstance(LdapConnectionPool.class.getClassLoader(), new Class<?>[] { DirContext.class }, this);
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final String name = method.getName();
+            if (method.getDeclaringClass() == Object.class) {
+                if ("equals".equals(name)) {
+                    return proxy == args[0];
+                } else if ("hashCode".equals(name)) {
+                    return System.identityHashCode(proxy);
+                }
+                return "Pooled" + connection.delegate.toString();
+            } else if ("close".equals(name)) {
+                synchronized (this) {
+                    if (closed) {
+                        return null;
+                    }
+                    closed = true;
+                }
+                returned(connection);
+                return null;
+            }
+            synchronized (this) {
+                if (closed) {
+                    throw new NamingException("The LDAP connection has already been closed.");
+                }
+            }
+            if ("addToEnvironment".equals(name) || "removeFromEnvironment".equals(name)) {
+                // The connection no longer matches the configuration of the pool.
+                connection.reusable = false;
+            }
+            try {
+                return method.invoke(connection.delegate, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof CommunicationException || cause instanceof ServiceUnavailableException) {
+                    connection.reusable = false;
+                }
+                throw cause;
+            }
+        }
+    }
+
+    /**
+     * The configuration of a {@link LdapConnectionPool}.
+     */
+    static final class PoolConfig {
+
+        private final int maxSize;
+        private final int minIdle;
+        private final int maxIdle;
+        private final long maxLifetime;
+        private final boolean validate;
+        private final long maxWait;
+
+        PoolConfig(final int maxSize, final int minIdle, final int maxIdle, final long maxLifetime, final boolean validate, final long maxWait) {
+            this.maxSize = maxSize;
+            this.minIdle = Math.min(minIdle, maxSize);
+            this.maxIdle = Math.max(Math.min(maxIdle, maxSize), this.minIdle);
+            this.maxLifetime = maxLifetime;
+            this.validate = validate;
+            this.maxWait = maxWait;
+        }
+
+        boolean isEnabled() {
+            return maxSize > 0;
+        }
+
+        int getMaxSize() {
+            return maxSize;
+        }
+
+        int getMinIdle() {
+            return minIdle;
+        }
+
+        int getMaxIdle() {
+            return maxIdle;
+        }
+
+        long getMaxLifetime() {
+            return maxLifetime;
+        }
+
+        boolean isValidate() {
+            return validate;
+        }
+
+        long getMaxWait() {
+            return maxWait;
+        }
+    }
+
+}
@@ -26,14 +26,19 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.LDA
 
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.StringListAttributeDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.descriptions.common.ControllerResolver;
 import org.jboss.as.controller.operations.validation.EnumValidator;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.operations.validation.URIValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
@@ -41,6 +46,7 @@ import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.domain.management.ModelDescriptionConstants;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
 
 /**
  * {@link org.jboss.as.controller.ResourceDefinition} for a connection factory for an LDAP-based security store.
@@ -94,7 +100,77 @@ public class LdapConnectionResourceDefinition extends SimpleResourceDefinition {
             .setValidator(new URIValidator(true, true))
             .build();
 
-    public static final AttributeDefinition[] ATTRIBUTE_DEFINITIONS = {URL, SEARCH_DN, SEARCH_CREDENTIAL, SECURITY_REALM, INITIAL_CONTEXT_FACTORY, REFERRALS, HANDLES_REFERRALS_FOR};
+    public static final SimpleAttributeDefinition POOL_MAX_SIZE = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.POOL_MAX_SIZE, ModelType.INT, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(0))
+            .setValidator(new IntRangeValidator(0, true, true))
+            .build();
+
+    public static final SimpleAttributeDefinition POOL_MIN_IDLE = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.POOL_MIN_IDLE, ModelType.INT, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(0))
+            .setValidator(new IntRangeValidator(0, true, true))
+            .build();
+
+    public static final SimpleAttributeDefinition POOL_MAX_IDLE = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.POOL_MAX_IDLE, ModelType.INT, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(Integer.MAX_VALUE))
+            .setValidator(new IntRangeValidator(0, true, true))
+            .build();
+
+    public static final SimpleAttributeDefinition POOL_MAX_LIFETIME = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.POOL_MAX_LIFETIME, ModelType.LONG, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(0L))
+            .setValidator(new LongRangeValidator(0, Long.MAX_VALUE, true, true))
+            .setMeasurementUnit(MeasurementUnit.SECONDS)
+            .build();
+
+    public static final SimpleAttributeDefinition POOL_VALIDATE = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.POOL_VALIDATE, ModelType.BOOLEAN, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(false))
+            .build();
+
+    public static final SimpleAttributeDefinition POOL_MAX_WAIT = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.POOL_MAX_WAIT, ModelType.LONG, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(30000L))
+            .setValidator(new LongRangeValidator(0, Long.MAX_VALUE, true, true))
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .build();
+
+    public static final AttributeDefinition[] ATTRIBUTE_DEFINITIONS = {URL, SEARCH_DN, SEARCH_CREDENTIAL, SECURITY_REALM, INITIAL_CONTEXT_FACTORY, REFERRALS, HANDLES_REFERRALS_FOR,
+            POOL_MAX_SIZE, POOL_MIN_IDLE, POOL_MAX_IDLE, POOL_MAX_LIFETIME, POOL_VALIDATE, POOL_MAX_WAIT};
+
+    /*
+     * Runtime Attributes
+     */
+
+    public static final SimpleAttributeDefinition POOL_ACTIVE_COUNT = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.POOL_ACTIVE_COUNT, ModelType.INT)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
+    public static final SimpleAttributeDefinition POOL_IDLE_COUNT = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.POOL_IDLE_COUNT, ModelType.INT)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
+    public static final SimpleAttributeDefinition POOL_CREATED_COUNT = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.POOL_CREATED_COUNT, ModelType.LONG)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
+    public static final SimpleAttributeDefinition POOL_WAIT_COUNT = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.POOL_WAIT_COUNT, ModelType.LONG)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
+    public static final SimpleAttributeDefinition POOL_AVERAGE_WAIT_TIME = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.POOL_AVERAGE_WAIT_TIME, ModelType.LONG)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .build();
+
+    static final AttributeDefinition[] METRICS = {POOL_ACTIVE_COUNT, POOL_IDLE_COUNT, POOL_CREATED_COUNT, POOL_WAIT_COUNT, POOL_AVERAGE_WAIT_TIME};
 
 
 
@@ -122,6 +198,48 @@ public class LdapConnectionResourceDefinition extends SimpleResourceDefinition {
 
         LdapConnectionWriteAttributeHandler writeHandler = new LdapConnectionWriteAttributeHandler();
         writeHandler.registerAttributes(resourceRegistration);
+
+        for (AttributeDefinition metric : METRICS) {
+            resourceRegistration.registerMetric(metric, PoolMetricsHandler.INSTANCE);
+        }
+    }
+
+    /**
+     * Handler reporting the statistics of the connection pool, if pooling is disabled all statistics are reported as zero.
+     */
+    private static class PoolMetricsHandler implements OperationStepHandler {
+
+        private static final PoolMetricsHandler INSTANCE = new PoolMetricsHandler();
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            context.addStep(new OperationStepHandler() {
+
+                @Override
+                public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                    final String attributeName = operation.require(ModelDescriptionConstants.NAME).asString();
+                    final ServiceController<?> controller = context.getServiceRegistry(false).getService(
+                            LdapConnectionManagerService.ServiceUtil.createServiceName(context.getCurrentAddressValue()));
+                    LdapConnectionPool pool = null;
+                    if (controller != null && controller.getState() == ServiceController.State.UP) {
+                        pool = LdapConnectionManagerService.class.cast(controller.getValue()).getPool();
+                    }
+
+                    final ModelNode result = context.getResult();
+                    if (ModelDescriptionConstants.POOL_ACTIVE_COUNT.equals(attributeName)) {
+                        result.set(pool == null ? 0 : pool.getActiveCount());
+                    } else if (ModelDescriptionConstants.POOL_IDLE_COUNT.equals(attributeName)) {
+                        result.set(pool == null ? 0 : pool.getIdleCount());
+                    } else if (ModelDescriptionConstants.POOL_CREATED_COUNT.equals(attributeName)) {
+                        result.set(pool == null ? 0L : pool.getCreatedCount());
+                    } else if (ModelDescriptionConstants.POOL_WAIT_COUNT.equals(attributeName)) {
+                        result.set(pool == null ? 0L : pool.getWaitCount());
+                    } else if (ModelDescriptionConstants.POOL_AVERAGE_WAIT_TIME.equals(attributeName)) {
+                        result.set(pool == null ? 0L : pool.getAverageWaitTime());
+                    }
+                }
+            }, OperationContext.Stage.RUNTIME);
+        }
     }
 
     public enum ReferralHandling {
@@ -24,17 +24,28 @@ package org.jboss.as.domain.management.controller;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CORE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_OPERATIONS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RUNTIME_MODIFICATION_BEGUN;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RUNTIME_MODIFICATION_COMPLETE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVICE;
 
+import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.NotificationDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.ResourceDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.domain.management._private.DomainManagementResolver;
+import org.jboss.as.protocol.mgmt.ManagementChannelStatistics;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 
 /**
  * {@code ResourceDefinition} for the management of operation execution.
@@ -50,6 +61,23 @@ public class ManagementControllerResourceDefinition extends SimpleResourceDefini
     private static final NotificationDefinition NOTIFICATION_BEGIN_RUNTIME_MODIFICATION = NotificationDefinition.Builder.create(RUNTIME_MODIFICATION_BEGUN, RESOLVER).build();
     private static final NotificationDefinition NOTIFICATION_COMPLETE_RUNTIME_MODIFICATION = NotificationDefinition.Builder.create(RUNTIME_MODIFICATION_COMPLETE, RESOLVER).build();
 
+    /*
+     * Runtime Attributes, the traffic of the management protocol over all remoting channels of the process
+     */
+
+    private static final SimpleAttributeDefinition PROTOCOL_MESSAGES_SENT = createMetric("protocol-messages-sent", null);
+    private static final SimpleAttributeDefinition PROTOCOL_COMPRESSED_MESSAGES_SENT = createMetric("protocol-compressed-messages-sent", null);
+    private static final SimpleAttributeDefinition PROTOCOL_BYTES_SENT = createMetric("protocol-bytes-sent", MeasurementUnit.BYTES);
+    private static final SimpleAttributeDefinition PROTOCOL_UNCOMPRESSED_BYTES_SENT = createMetric("protocol-uncompressed-bytes-sent", MeasurementUnit.BYTES);
+    private static final SimpleAttributeDefinition PROTOCOL_MESSAGES_RECEIVED = createMetric("protocol-messages-received", null);
+    private static final SimpleAttributeDefinition PROTOCOL_COMPRESSED_MESSAGES_RECEIVED = createMetric("protocol-compressed-messages-received", null);
+    private static final SimpleAttributeDefinition PROTOCOL_BYTES_RECEIVED = createMetric("protocol-bytes-received", MeasurementUnit.BYTES);
+    private static final SimpleAttributeDefinition PROTOCOL_UNCOMPRESSED_BYTES_RECEIVED = createMetric("protocol-uncompressed-bytes-received", MeasurementUnit.BYTES);
+
+    private static final AttributeDefinition[] METRICS = {PROTOCOL_MESSAGES_SENT, PROTOCOL_COMPRESSED_MESSAGES_SENT,
+            PROTOCOL_BYTES_SENT, PROTOCOL_UNCOMPRESSED_BYTES_SENT, PROTOCOL_MESSAGES_RECEIVED, PROTOCOL_COMPRESSED_MESSAGES_RECEIVED,
+            PROTOCOL_BYTES_RECEIVED, PROTOCOL_UNCOMPRESSED_BYTES_RECEIVED};
+
     public static final ResourceDefinition INSTANCE = new ManagementControllerResourceDefinition();
 
     private ManagementControllerResourceDefinition() {
@@ -58,6 +86,14 @@ public class ManagementControllerResourceDefinition extends SimpleResourceDefini
         );
     }
 
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        for (AttributeDefinition metric : METRICS) {
+            resourceRegistration.registerMetric(metric, ProtocolMetricsHandler.INSTANCE);
+        }
+    }
+
     @Override
     public void registerOperations(ManagementResourceRegistration resourceRegistration) {
         super.registerOperations(resourceRegistration);
@@ -77,4 +113,44 @@ public class ManagementControllerResourceDefinition extends SimpleResourceDefini
         super.registerChildren(resourceRegistration);
         resourceRegistration.registerSubModel(ActiveOperationResourceDefinition.INSTANCE);
     }
+
+    private static SimpleAttributeDefinition createMetric(final String name, final MeasurementUnit unit) {
+        return new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setStorageRuntime()
+                .setRuntimeServiceNotRequired()
+                .setMeasurementUnit(unit)
+                .build();
+    }
+
+    /**
+     * Handler reporting the management protocol traffic of all the remoting channels of the process.
+     */
+    private static class ProtocolMetricsHandler implements OperationStepHandler {
+
+        private static final ProtocolMetricsHandler INSTANCE = new ProtocolMetricsHandler();
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final String attributeName = operation.require(NAME).asString();
+            final ManagementChannelStatistics statistics = ManagementChannelStatistics.getTotalStatistics();
+            final ModelNode result = context.getResult();
+            if (PROTOCOL_MESSAGES_SENT.getName().equals(attributeName)) {
+                result.set(statistics.getMessagesSent());
+            } else if (PROTOCOL_COMPRESSED_MESSAGES_SENT.getName().equals(attributeName)) {
+                result.set(statistics.getCompressedMessagesSent());
+            } else if (PROTOCOL_BYTES_SENT.getName().equals(attributeName)) {
+                result.set(statistics.getBytesSent());
+            } else if (PROTOCOL_UNCOMPRESSED_BYTES_SENT.getName().equals(attributeName)) {
+                result.set(statistics.getUncompressedBytesSent());
+            } else if (PROTOCOL_MESSAGES_RECEIVED.getName().equals(attributeName)) {
+                result.set(statistics.getMessagesReceived());
+            } else if (PROTOCOL_COMPRESSED_MESSAGES_RECEIVED.getName().equals(attributeName)) {
+                result.set(statistics.getCompressedMessagesReceived());
+            } else if (PROTOCOL_BYTES_RECEIVED.getName().equals(attributeName)) {
+                result.set(statistics.getBytesReceived());
+            } else if (PROTOCOL_UNCOMPRESSED_BYTES_RECEIVED.getName().equals(attributeName)) {
+                result.set(statistics.getUncompressedBytesReceived());
+            }
+        }
+    }
 }
@@ -327,6 +327,30 @@ class ManagementXml_5 extends ManagementXml {
                         }
                         break;
                     }
+                    case POOL_MAX_SIZE: {
+                        LdapConnectionResourceDefinition.POOL_MAX_SIZE.parseAndSetParameter(value, add, reader);
+                        break;
+                    }
+                    case POOL_MIN_IDLE: {
+                        LdapConnectionResourceDefinition.POOL_MIN_IDLE.parseAndSetParameter(value, add, reader);
+                        break;
+                    }
+                    case POOL_MAX_IDLE: {
+                        LdapConnectionResourceDefinition.POOL_MAX_IDLE.parseAndSetParameter(value, add, reader);
+                        break;
+                    }
+                    case POOL_MAX_LIFETIME: {
+                        LdapConnectionResourceDefinition.POOL_MAX_LIFETIME.parseAndSetParameter(value, add, reader);
+                        break;
+                    }
+                    case POOL_VALIDATE: {
+                        LdapConnectionResourceDefinition.POOL_VALIDATE.parseAndSetParameter(value, add, reader);
+                        break;
+                    }
+                    case POOL_MAX_WAIT: {
+                        LdapConnectionResourceDefinition.POOL_MAX_WAIT.parseAndSetParameter(value, add, reader);
+                        break;
+                    }
                     default: {
                         throw unexpectedAttribute(reader, i);
                     }
@@ -2272,6 +2296,12 @@ class ManagementXml_5 extends ManagementXml {
             LdapConnectionResourceDefinition.REFERRALS.marshallAsAttribute(connection, writer);
             LdapConnectionResourceDefinition.HANDLES_REFERRALS_FOR.getAttributeMarshaller()
                     .marshallAsAttribute(LdapConnectionResourceDefinition.HANDLES_REFERRALS_FOR, connection, true, writer);
+            LdapConnectionResourceDefinition.POOL_MAX_SIZE.marshallAsAttribute(connection, writer);
+            LdapConnectionResourceDefinition.POOL_MIN_IDLE.marshallAsAttribute(connection, writer);
+            LdapConnectionResourceDefinition.POOL_MAX_IDLE.marshallAsAttribute(connection, writer);
+            LdapConnectionResourceDefinition.POOL_MAX_LIFETIME.marshallAsAttribute(connection, writer);
+            LdapConnectionResourceDefinition.POOL_VALIDATE.marshallAsAttribute(connection, writer);
+            LdapConnectionResourceDefinition.POOL_MAX_WAIT.marshallAsAttribute(connection, writer);
 
             if (connection.hasDefined(PROPERTY)) {
                 ModelNode properties = connection.get(PROPERTY);
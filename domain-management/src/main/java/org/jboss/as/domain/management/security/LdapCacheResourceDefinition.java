@@ -109,6 +109,22 @@ public class LdapCacheResourceDefinition extends SimpleResourceDefinition {
             .setMeasurementUnit(MeasurementUnit.SECONDS)
             .build();
 
+    public static final SimpleAttributeDefinition HIT_COUNT = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.HIT_COUNT, ModelType.LONG)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
+    public static final SimpleAttributeDefinition MISS_COUNT = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.MISS_COUNT, ModelType.LONG)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
+    public static final SimpleAttributeDefinition AVERAGE_LOAD_TIME = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.AVERAGE_LOAD_TIME, ModelType.LONG)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .build();
+
     // (Other options are, max size, min size, max age, min age, average age.
 
     /*
@@ -178,7 +194,7 @@ public class LdapCacheResourceDefinition extends SimpleResourceDefinition {
 
     private static ResourceDefinition create(final PathElement pathElement, final CacheFor cacheFor) {
         SimpleAttributeDefinition[] configurationAttributes = new SimpleAttributeDefinition[] { EVICTION_TIME, CACHE_FAILURES, MAX_CACHE_SIZE };
-        SimpleAttributeDefinition[] runtimeAttributes = new SimpleAttributeDefinition[] { CACHE_SIZE };
+        SimpleAttributeDefinition[] runtimeAttributes = new SimpleAttributeDefinition[] { CACHE_SIZE, HIT_COUNT, MISS_COUNT, AVERAGE_LOAD_TIME };
         final SimpleOperationDefinition[] runtimeOperations;
         final OperationStepHandler runtimeHandler;
         switch (cacheFor) {
@@ -288,6 +304,12 @@ public class LdapCacheResourceDefinition extends SimpleResourceDefinition {
                 LdapSearcherCache<?, K> ldapCacheService = lookupService(context, operation);
 
                 context.getResult().set(ldapCacheService.getCurrentSize());
+            } else if (ModelDescriptionConstants.HIT_COUNT.equals(name)) {
+                context.getResult().set(lookupService(context, operation).getHitCount());
+            } else if (ModelDescriptionConstants.MISS_COUNT.equals(name)) {
+                context.getResult().set(lookupService(context, operation).getMissCount());
+            } else if (ModelDescriptionConstants.AVERAGE_LOAD_TIME.equals(name)) {
+                context.getResult().set(lookupService(context, operation).getAverageLoadTime());
             }
         }
 
@@ -24,18 +24,24 @@ package org.jboss.as.domain.management.security;
 import static org.jboss.as.domain.management.logging.DomainManagementLogger.SECURITY_LOGGER;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.naming.NamingException;
 
@@ -117,17 +123,28 @@ class LdapCacheService<R, K> implements Service<LdapSearcherCache<R, K>> {
                 throw new IllegalStateException(String.format("Unknown cache mode '%s'", mode));
         }
         /*
-         * This is only used to trigger evictions, if one eviction is stuck waiting for the lock on the table there is no point
-         * having many threads concurrently waiting on the same lock.
+         * Entries are expired lazily as they are accessed, this is only used to periodically remove expired entries that are
+         * not accessed again so a single thread is sufficient.
          */
-        if (evictionTime > 0) {
+        if (evictionTime > 0 && mode != CacheMode.OFF) {
             executorService = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
 
                 @Override
                 public Thread newThread(Runnable r) {
-                    return new Thread(r, String.format("LDAP Cache Eviction Thread (%d)", THREAD_COUNT++));
+                    Thread thread = new Thread(r, String.format("LDAP Cache Eviction Thread (%d)", THREAD_COUNT++));
+                    thread.setDaemon(true);
+                    return thread;
                 }
             });
+            final ExtendedLdapSearcherCache<R, K> cache = cacheImplementation;
+            final long sweepInterval = Math.max(1, evictionTime / 2);
+            executorService.scheduleWithFixedDelay(new Runnable() {
+
+                @Override
+                public void run() {
+                    cache.evictExpired();
+                }
+            }, sweepInterval, sweepInterval, TimeUnit.SECONDS);
         }
     }
 
@@ -215,6 +232,11 @@ class LdapCacheService<R, K> implements Service<LdapSearcherCache<R, K>> {
         int count(Predicate<K> predicate);
 
         Set<K> currentKeys();
+
+        /**
+         * Remove any entries that have passed their eviction time.
+         */
+        void evictExpired();
     }
 
     private class NoCacheCache implements ExtendedLdapSearcherCache<R, K> {
@@ -259,37 +281,129 @@ class LdapCacheService<R, K> implements Service<LdapSearcherCache<R, K>> {
             return 0;
         }
 
+        @Override
+        public long getHitCount() {
+            return 0;
+        }
+
+        @Override
+        public long getMissCount() {
+            return 0;
+        }
+
+        @Override
+        public long getAverageLoadTime() {
+            return 0;
+        }
+
+        @Override
+        public void evictExpired() {
+        }
+
     }
 
+    /**
+     * Base for the caching implementations.
+     *
+     * The entries are held in a number of independently locked segments so that concurrent searches for different keys do
+     * not contend on a single lock. Small caches use a single segment so the maximum size is applied exactly, larger caches
+     * apply the maximum size per segment in the same way as most striped caches.
+     *
+     * Entries are expired lazily as they are accessed, a single periodic task removes any expired entries that have not been
+     * accessed instead of scheduling an eviction for each entry.
+     */
     private abstract class BaseSearchCache implements ExtendedLdapSearcherCache<R, K> {
 
+        private static final int MAX_SEGMENTS = 16;
+        private static final int MIN_SEGMENT_SIZE = 4;
+
         protected final int evictionTime;
         protected final boolean cacheFailures;
         protected final int maxSize;
 
-        protected final LinkedHashMap<K, CacheEntry> theCache = new LinkedHashMap<K, CacheEntry>();
+        private final long evictionNanos;
+        private final List<Segment> segments;
+        private final LongAdder hitCount = new LongAdder();
+        private final LongAdder missCount = new LongAdder();
+        private final LongAdder loadCount = new LongAdder();
+        private final LongAdder loadTime = new LongAdder();
 
-        private BaseSearchCache(final int evictionTime, final boolean cacheFailures, final int maxSize) {
+        private BaseSearchCache(final int evictionTime, final boolean cacheFailures, final int maxSize, final boolean accessOrder) {
             this.evictionTime = evictionTime;
             this.cacheFailures = cacheFailures;
             this.maxSize = maxSize;
+            this.evictionNanos = TimeUnit.SECONDS.toNanos(evictionTime);
+
+            int segmentCount = MAX_SEGMENTS;
+            if (maxSize > 0) {
+                while (segmentCount > 1 && maxSize / segmentCount < MIN_SEGMENT_SIZE) {
+                    segmentCount >>= 1;
+                }
+            }
+            segments = new ArrayList<Segment>(segmentCount);
+            for (int i = 0; i < segmentCount; i++) {
+                // Share out the maximum size so the total of the segments matches it exactly.
+                int segmentMaxSize = maxSize > 0 ? maxSize / segmentCount + (i < maxSize % segmentCount ? 1 : 0) : 0;
+                segments.add(new Segment(segmentMaxSize, accessOrder));
+            }
+        }
+
+        /**
+         * Update the expiry time of an entry, called whilst holding the lock of the segment containing the entry.
+         *
+         * @param entry - The entry being accessed.
+         * @param created - {@code true} if the entry has just been created.
+         * @param now - The current value of {@link System#nanoTime()}.
+         */
+        protected abstract void touch(CacheEntry entry, boolean created, long now);
+
+        @Override
+        public SearchResult<R> search(LdapConnectionHandler connectionHandler, final K key) throws IOException, NamingException {
+            final long now = System.nanoTime();
+            final Segment segment = segmentFor(key);
+            CacheEntry entry;
+            synchronized (segment) {
+                entry = segment.entries.get(key);
+                if (entry != null && entry.isExpired(now)) {
+                    segment.entries.remove(key);
+                    SECURITY_LOGGER.tracef("Evicted entry with key '%s' due to eviction timeout.", key);
+                    entry = null;
+                }
+                if (entry == null) {
+                    SECURITY_LOGGER.tracef("Entry for '%s' not found in cache.", key);
+                    entry = new CacheEntry();
+                    segment.put(key, entry);
+                    touch(entry, true, now);
+                } else {
+                    SECURITY_LOGGER.tracef("Cached entry for '%s' found in cache.", key);
+                    touch(entry, false, now);
+                }
+            }
+            // The individual entry will handle it's own synchronization now.
+            return entry.getSearchResult(connectionHandler, key);
         }
 
         @Override
         public int getCurrentSize() {
-            synchronized (theCache) {
-                return theCache.size();
+            final long now = System.nanoTime();
+            int size = 0;
+            for (Segment segment : segments) {
+                synchronized (segment) {
+                    for (CacheEntry current : segment.entries.values()) {
+                        if (current.isExpired(now) == false) {
+                            size++;
+                        }
+                    }
+                }
             }
+            return size;
         }
 
         @Override
         public void clearAll() {
-            synchronized (theCache) {
-                Iterator<CacheEntry> it = theCache.values().iterator();
-                while (it.hasNext()) {
-                    CacheEntry current = it.next();
-                    current.cancelFuture();
-                    it.remove();
+            for (Segment segment : segments) {
+                synchronized (segment) {
+                    segment.entries.clear();
                 }
             }
             SECURITY_LOGGER.trace("Cleared whole cache.");
@@ -297,26 +411,24 @@ class LdapCacheService<R, K> implements Service<LdapSearcherCache<R, K>> {
 
         @Override
         public void clear(K key) {
-            synchronized (theCache) {
-                CacheEntry entry = theCache.remove(key);
-                if (entry != null) {
-                    entry.cancelFuture();
-                }
+            final Segment segment = segmentFor(key);
+            synchronized (segment) {
+                segment.entries.remove(key);
             }
             SECURITY_LOGGER.tracef("Cleared entry from cache with key '%s'", key);
         }
 
         @Override
         public void clear(Predicate<K> predicate) {
-            synchronized (theCache) {
-                Iterator<Entry<K, CacheEntry>> it = theCache.entrySet().iterator();
-                while (it.hasNext()) {
-                    Entry<K, CacheEntry> current = it.next();
-                    K key = current.getKey();
-                    if (predicate.matches(key)) {
-                        it.remove();
-                        current.getValue().cancelFuture();
-                        SECURITY_LOGGER.tracef("Cleared entry from cache with key '%s' based on predicate match.", key);
+            for (Segment segment : segments) {
+                synchronized (segment) {
+                    Iterator<K> it = segment.entries.keySet().iterator();
+                    while (it.hasNext()) {
+                        K key = it.next();
+                        if (predicate.matches(key)) {
+                            it.remove();
+                            SECURITY_LOGGER.tracef("Cleared entry from cache with key '%s' based on predicate match.", key);
+                        }
                     }
                 }
             }
@@ -324,20 +436,23 @@ class LdapCacheService<R, K> implements Service<LdapSearcherCache<R, K>> {
 
         @Override
         public boolean contains(K key) {
-            synchronized (theCache) {
-                return theCache.containsKey(key);
+            final Segment segment = segmentFor(key);
+            synchronized (segment) {
+                CacheEntry entry = segment.entries.get(key);
+                return entry != null && entry.isExpired(System.nanoTime()) == false;
             }
         }
 
         @Override
         public int count(Predicate<K> predicate) {
+            final long now = System.nanoTime();
             int count = 0;
-            synchronized (theCache) {
-                Iterator<K> it = theCache.keySet().iterator();
-                while (it.hasNext()) {
-                    K current = it.next();
-                    if (predicate.matches(current)) {
-                        count++;
+            for (Segment segment : segments) {
+                synchronized (segment) {
+                    for (Entry<K, CacheEntry> current : segment.entries.entrySet()) {
+                        if (current.getValue().isExpired(now) == false && predicate.matches(current.getKey())) {
+                            count++;
+                        }
                     }
                 }
             }
@@ -346,69 +461,196 @@ class LdapCacheService<R, K> implements Service<LdapSearcherCache<R, K>> {
 
         @Override
         public Set<K> currentKeys() {
-            return Collections.unmodifiableSet(theCache.keySet());
+            final Set<K> keys = new HashSet<K>();
+            for (Segment segment : segments) {
+                synchronized (segment) {
+                    keys.addAll(segment.entries.keySet());
+                }
+            }
+            return Collections.unmodifiableSet(keys);
+        }
+
+        @Override
+        public long getHitCount() {
+            return hitCount.sum();
+        }
+
+        @Override
+        public long getMissCount() {
+            return missCount.sum();
+        }
+
+        @Override
+        public long getAverageLoadTime() {
+            final long loads = loadCount.sum();
+            return loads == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(loadTime.sum() / loads);
+        }
+
+        @Override
+        public void evictExpired() {
+            final long now = System.nanoTime();
+            final boolean trace = SECURITY_LOGGER.isTraceEnabled();
+            for (Segment segment : segments) {
+                synchronized (segment) {
+                    Iterator<Entry<K, CacheEntry>> it = segment.entries.entrySet().iterator();
+                    while (it.hasNext()) {
+                        Entry<K, CacheEntry> current = it.next();
+                        if (current.getValue().isExpired(now)) {
+                            it.remove();
+                            if (trace) {
+                                SECURITY_LOGGER.tracef("Evicted entry with key '%s' due to eviction timeout.", current.getKey());
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        private Segment segmentFor(final K key) {
+            int hash = key.hashCode();
+            // Spread the higher bits as the segment count is a power of two.
+            hash ^= (hash >>> 16);
+            return segments.get(hash & (segments.size() - 1));
+        }
+
+        private final class Segment {
+
+            private final LinkedHashMap<K, CacheEntry> entries;
+            private final int maxSize;
+
+            private Segment(final int maxSize, final boolean accessOrder) {
+                this.maxSize = maxSize;
+                entries = new LinkedHashMap<K, CacheEntry>(16, 0.75f, accessOrder);
+            }
+
+            /**
+             * Add an entry to this segment removing the eldest entries if the segment is above its maximum size.
+             *
+             * Note: This method should only be called by a {@link Thread} that has already obtained the lock of this segment.
+             */
+            private void put(final K key, final CacheEntry entry) {
+                entries.put(key, entry);
+                if (maxSize > 0 && entries.size() > maxSize) {
+                    boolean trace = SECURITY_LOGGER.isTraceEnabled();
+                    Iterator<K> it = entries.keySet().iterator();
+                    while (entries.size() > maxSize) {
+                        K current = it.next();
+                        it.remove();
+                        if (trace) {
+                            SECURITY_LOGGER.tracef("Entry with key '%s' evicted from cache due to cache being above maximum size.",
+                                    current);
+                        }
+                    }
+                }
+            }
         }
 
         protected class CacheEntry {
 
             private volatile NamingException failure;
             private volatile SearchResult<R> result;
-            private ScheduledFuture<?> future;
+            private volatile long expiry;
+            private FutureTask<SearchResult<R>> loading;
 
-            public SearchResult<R> getSearchResult(LdapConnectionHandler connectionHandler, K key) throws IOException, NamingException {
+            boolean isExpired(final long now) {
+                return evictionNanos > 0 && now - expiry >= 0;
+            }
+
+            void setExpiry(final long expiry) {
+                this.expiry = expiry;
+            }
+
+            public SearchResult<R> getSearchResult(final LdapConnectionHandler connectionHandler, final K key) throws IOException, NamingException {
                 if (failure != null) {
                     SECURITY_LOGGER.tracef("Using cached failure for search with key '%s'", key);
+                    hitCount.increment();
                     throw failure;
                 } else if (result != null) {
                     SECURITY_LOGGER.tracef("Using cached result for search with key '%s'", key);
+                    hitCount.increment();
                     return result;
                 }
 
+                final FutureTask<SearchResult<R>> task;
+                final boolean owner;
                 synchronized (this) {
                     if (failure != null) {
                         SECURITY_LOGGER.tracef("Using cached failure for search with key '%s'", key);
+                        hitCount.increment();
                         throw failure;
                     } else if (result != null) {
                         SECURITY_LOGGER.tracef("Using cached result for search with key '%s'", key);
+                        hitCount.increment();
                         return result;
                     }
+                    // Concurrent lookups for the same key wait for the single search in progress, only the thread
+                    // performing that search counts as a miss.
+                    owner = loading == null;
+                    if (owner) {
+                        missCount.increment();
+                        loading = new FutureTask<SearchResult<R>>(new Callable<SearchResult<R>>() {
 
-                    try {
-                        R result = internalSearch(connectionHandler, key);
-                        SECURITY_LOGGER.tracef("New search for entry with key '%s'", key);
-                        SearchResult<R> searchResult = new SearchResultImpl<R>(result);
-                        return this.result = searchResult;
-                    } catch (NamingException e) {
-                        if (cacheFailures) {
-                            failure = e;
+                            @Override
+                            public SearchResult<R> call() throws Exception {
+                                SECURITY_LOGGER.tracef("New search for entry with key '%s'", key);
+                                return new SearchResultImpl<R>(internalSearch(connectionHandler, key));
+                            }
+                        });
+                    } else {
+                        hitCount.increment();
+                    }
+                    task = loading;
+                }
+
+                if (owner) {
+                    final long start = System.nanoTime();
+                    task.run();
+                    loadCount.increment();
+                    loadTime.add(System.nanoTime() - start);
+                    synchronized (this) {
+                        loading = null;
+                        try {
+                            result = task.get();
+                        } catch (ExecutionException e) {
+                            if (cacheFailures && e.getCause() instanceof NamingException) {
+                                failure = (NamingException) e.getCause();
+                            }
+                        } catch (InterruptedException e) {
+                            // Not possible as the task has already completed.
+                            Thread.currentThread().interrupt();
                         }
-                        throw e;
                     }
                 }
-            }
 
-            /**
-             * Set the {@link ScheduledFuture} for the eviction of this entry.
-             *
-             * Note: This method should only be called by a {@link Thread} that has already obtained a lock to the cache.
-             *
-             * @param future - The {@link ScheduledFuture} for the eviction of this entry.
-             */
-            public void setFuture(ScheduledFuture<?> future) {
-                this.future = future;
+                return awaitResult(task);
             }
 
-            /**
-             * Cancel the {@link ScheduledFuture} for the eviction of this entry.
-             *
-             * This could be called either because the entry is being manually evicted from the cache or because eviction is
-             * being rescheduled.
-             *
-             * Note: This method should only be called by a {@link Thread} that has already obtained a lock to the cache.
-             */
-            public void cancelFuture() {
-                if (future != null) {
-                    future.cancel(true);
+            private SearchResult<R> awaitResult(final FutureTask<SearchResult<R>> task) throws IOException, NamingException {
+                boolean interrupted = false;
+                try {
+                    while (true) {
+                        try {
+                            return task.get();
+                        } catch (InterruptedException e) {
+                            interrupted = true;
+                        } catch (ExecutionException e) {
+                            Throwable cause = e.getCause();
+                            if (cause instanceof NamingException) {
+                                throw (NamingException) cause;
+                            } else if (cause instanceof IOException) {
+                                throw (IOException) cause;
+                            } else if (cause instanceof RuntimeException) {
+                                throw (RuntimeException) cause;
+                            } else if (cause instanceof Error) {
+                                throw (Error) cause;
+                            }
+                            throw new IllegalStateException(cause);
+                        }
+                    }
+                } finally {
+                    if (interrupted) {
+                        Thread.currentThread().interrupt();
+                    }
                 }
             }
         }
@@ -418,56 +660,15 @@ class LdapCacheService<R, K> implements Service<LdapSearcherCache<R, K>> {
     private class BySearchCache extends BaseSearchCache {
 
         private BySearchCache(final int evictionTime, final boolean cacheFailures, final int maxSize) {
-            super(evictionTime, cacheFailures, maxSize);
+            super(evictionTime, cacheFailures, maxSize, false);
         }
 
         @Override
-        public SearchResult<R> search(LdapConnectionHandler connectionHandler, final K key) throws IOException, NamingException {
-            CacheEntry entry = null;
-            synchronized (theCache) {
-                entry = theCache.get(key);
-                if (entry == null) {
-                    SECURITY_LOGGER.tracef("Entry for '%s' not found in cache.", key);
-                    entry = new CacheEntry();
-                    theCache.put(key, entry);
-                    if (maxSize > 0 && theCache.size() > maxSize) {
-                        boolean trace = SECURITY_LOGGER.isTraceEnabled();
-                        Iterator<Entry<K, CacheEntry>> it = theCache.entrySet().iterator();
-                        while (theCache.size() > maxSize) {
-                            Entry<K, CacheEntry> current = it.next();
-                            current.getValue().cancelFuture();
-                            it.remove();
-                            if (trace) {
-                                SECURITY_LOGGER.tracef(
-                                        "Entry with key '%s' evicted from cache due to cache being above maximum size.",
-                                        current.getKey());
-                            }
-                        }
-                    }
-                    if (evictionTime > 0) {
-                        entry.setFuture(executorService.schedule(new Runnable() {
-
-                            @Override
-                            public void run() {
-                                synchronized (theCache) {
-                                    CacheEntry entry = theCache.remove(key);
-                                    if (entry == null) {
-                                        SECURITY_LOGGER.tracef("Entry with key '%s' not in cache at time of timeout.", key);
-                                    } else {
-                                        SECURITY_LOGGER.tracef("Evicted entry with key '%s' due to eviction timeout.", key);
-                                    }
-                                }
-
-                            }
-                        }, evictionTime, TimeUnit.SECONDS));
-                    }
-                } else {
-                    SECURITY_LOGGER.tracef("Cached entry for '%s' found in cache.", key);
-                }
-
+        protected void touch(CacheEntry entry, boolean created, long now) {
+            // The eviction time is measured from when the search was first made.
+            if (created) {
+                entry.setExpiry(now + TimeUnit.SECONDS.toNanos(evictionTime));
             }
-            // The individual entry will handle it's own synchronization now.
-            return entry.getSearchResult(connectionHandler, key);
         }
 
     }
@@ -475,57 +676,13 @@ class LdapCacheService<R, K> implements Service<LdapSearcherCache<R, K>> {
     private class ByAccessCache extends BaseSearchCache {
 
         private ByAccessCache(final int evictionTime, final boolean cacheFailures, final int maxSize) {
-            super(evictionTime, cacheFailures, maxSize);
+            super(evictionTime, cacheFailures, maxSize, true);
         }
 
         @Override
-        public SearchResult<R> search(LdapConnectionHandler connectionHandler, final K key) throws IOException, NamingException {
-            CacheEntry entry = null;
-            synchronized (theCache) {
-                // Always remove the cached entry so it can be re-added and moved to the end of the list.
-                entry = theCache.remove(key);
-                if (entry == null) {
-                    SECURITY_LOGGER.tracef("Entry for '%s' not found in cache.", key);
-                    entry = new CacheEntry();
-                    if (maxSize > 0 && theCache.size() + 1 > maxSize) {
-                        boolean trace = SECURITY_LOGGER.isTraceEnabled();
-                        Iterator<Entry<K, CacheEntry>> it = theCache.entrySet().iterator();
-                        while (theCache.size() + 1 > maxSize) {
-                            Entry<K, CacheEntry> current = it.next();
-                            current.getValue().cancelFuture();
-                            it.remove();
-                            if (trace) {
-                                SECURITY_LOGGER.tracef(
-                                        "Entry with key '%s' evicted from cache due to cache being above maximum size.",
-                                        current.getKey());
-                            }
-                        }
-                    }
-                } else {
-                    SECURITY_LOGGER.tracef("Cached entry for '%s' found in cache.", key);
-                }
-                theCache.put(key, entry);
-                if (evictionTime > 0) {
-                    entry.cancelFuture();
-                    entry.setFuture(executorService.schedule(new Runnable() {
-
-                        @Override
-                        public void run() {
-                            synchronized (theCache) {
-                                CacheEntry entry = theCache.remove(key);
-                                if (entry == null) {
-                                    SECURITY_LOGGER.tracef("Entry with key '%s' not in cache at time of timeout.", key);
-                                } else {
-                                    SECURITY_LOGGER.tracef("Evicted entry with key '%s' due to eviction timeout.", key);
-                                }
-                            }
-
-                        }
-                    }, evictionTime, TimeUnit.SECONDS));
-                }
-            }
-            // The individual entry will handle it's own synchronization now.
-            return entry.getSearchResult(connectionHandler, key);
+        protected void touch(CacheEntry entry, boolean created, long now) {
+            // Every access restarts the eviction time.
+            entry.setExpiry(now + TimeUnit.SECONDS.toNanos(evictionTime));
         }
 
     }
@@ -62,6 +62,28 @@ interface LdapSearcherCache<R, K> {
 
     int count(Predicate<K> predicate);
 
+    /**
+     * Get the number of searches that were served by the cache without performing a search against LDAP, this includes
+     * searches that waited for a search already in progress for the same key.
+     *
+     * @return the number of cache hits.
+     */
+    long getHitCount();
+
+    /**
+     * Get the number of searches that performed a search against LDAP.
+     *
+     * @return the number of cache misses.
+     */
+    long getMissCount();
+
+    /**
+     * Get the average time in milliseconds taken to perform a search against LDAP on a cache miss.
+     *
+     * @return the average load time in milliseconds.
+     */
+    long getAverageLoadTime();
+
     interface Predicate<K> {//todo maybe move to java.util.function.Predicate
 
         boolean matches(final K key);
@@ -0,0 +1,209 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.domain.management.connections.ldap;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.naming.CommunicationException;
+import javax.naming.NamingException;
+import javax.naming.ServiceUnavailableException;
+import javax.naming.directory.DirContext;
+
+import org.jboss.as.domain.management.connections.ldap.LdapConnectionPool.PoolConfig;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of the {@link LdapConnectionPool} using connections that do not connect to a server.
+ */
+public class LdapConnectionPoolTestCase {
+
+    @Test
+    public void testConnectionsReused() throws Exception {
+        final MockConnectionFactory factory = new MockConnectionFactory();
+        final LdapConnectionPool pool = new LdapConnectionPool(new PoolConfig(2, 0, 2, 0, false, 100), factory);
+
+        DirContext first = pool.getConnection();
+        first.close();
+        DirContext second = pool.getConnection();
+        second.close();
+
+        Assert.assertEquals(1, factory.created.get());
+        Assert.assertEquals(0, factory.closed.get());
+        Assert.assertEquals(1, pool.getIdleCount());
+        Assert.assertEquals(0, pool.getActiveCount());
+
+        pool.close();
+        Assert.assertEquals(1, factory.closed.get());
+    }
+
+    @Test
+    public void testClosedLeaseUnusable() throws Exception {
+        final LdapConnectionPool pool = new LdapConnectionPool(new PoolConfig(1, 0, 1, 0, false, 100), new MockConnectionFactory());
+
+        DirContext context = pool.getConnection();
+        context.close();
+        // A second close must not return the connection to the pool twice.
+        context.close();
+        Assert.assertEquals(1, pool.getIdleCount());
+        try {
+            context.getAttributes("");
+            Assert.fail("Expected NamingException");
+        } catch (NamingException expected) {
+        }
+    }
+
+    @Test
+    public void testWaitForConnection() throws Exception {
+        final LdapConnectionPool pool = new LdapConnectionPool(new PoolConfig(1, 0, 1, 0, false, 50), new MockConnectionFactory());
+
+        DirContext context = pool.getConnection();
+        try {
+            pool.getConnection();
+            Assert.fail("Expected ServiceUnavailableException");
+        } catch (ServiceUnavailableException expected) {
+        }
+        Assert.assertEquals(1, pool.getWaitCount());
+        context.close();
+    }
+
+    @Test
+    public void testBrokenConnectionDiscarded() throws Exception {
+        final MockConnectionFactory factory = new MockConnectionFactory();
+        final LdapConnectionPool pool = new LdapConnectionPool(new PoolConfig(1, 0, 1, 0, false, 100), factory);
+
+        DirContext context = pool.getConnection();
+        try {
+            context.search("fail", null);
+            Assert.fail("Expected CommunicationException");
+        } catch (CommunicationException expected) {
+        }
+        context.close();
+
+        Assert.assertEquals(0, pool.getIdleCount());
+        Assert.assertEquals(1, factory.closed.get());
+        pool.getConnection().close();
+        Assert.assertEquals(2, factory.created.get());
+    }
+
+    @Test
+    public void testMinIdle() throws Exception {
+        final MockConnectionFactory factory = new MockConnectionFactory();
+        final LdapConnectionPool pool = new LdapConnectionPool(new PoolConfig(5, 2, 5, 0, false, 100), factory);
+
+        pool.maintain();
+        Assert.assertEquals(2, pool.getIdleCount());
+        Assert.assertEquals(2, factory.created.get());
+    }
+
+    @Test
+    public void testFailedMaintainWakesWaiters() throws Exception {
+        final CountDownLatch creating = new CountDownLatch(1);
+        final CountDownLatch fail = new CountDownLatch(1);
+        final MockConnectionFactory factory = new MockConnectionFactory() {
+            @Override
+            public DirContext createConnection() throws NamingException {
+                if (creating.getCount() > 0) {
+                    creating.countDown();
+                    try {
+                        fail.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    throw new CommunicationException();
+                }
+                return super.createConnection();
+            }
+        };
+        final LdapConnectionPool pool = new LdapConnectionPool(new PoolConfig(2, 2, 2, 0, false, 10000), factory);
+
+        // maintain() reserves both slots of the pool and then fails to create the first connection
+        final Thread maintainer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                pool.maintain();
+            }
+        });
+        maintainer.start();
+        Assert.assertTrue(creating.await(10, TimeUnit.SECONDS));
+
+        final AtomicInteger borrowed = new AtomicInteger();
+        final Thread[] borrowers = new Thread[2];
+        for (int i = 0; i < borrowers.length; i++) {
+            borrowers[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        pool.getConnection();
+                        borrowed.incrementAndGet();
+                    } catch (NamingException e) {
+                        // not borrowed
+                    }
+                }
+            });
+            borrowers[i].start();
+        }
+        for (Thread borrower : borrowers) {
+            while (borrower.getState() != Thread.State.TIMED_WAITING) {
+                Thread.sleep(10);
+            }
+        }
+
+        fail.countDown();
+        maintainer.join(10000);
+        // Both slots are free again, so neither borrower waits for the timeout
+        for (Thread borrower : borrowers) {
+            borrower.join(2000);
+        }
+        Assert.assertEquals(2, borrowed.get());
+    }
+
+    private static class MockConnectionFactory implements LdapConnectionPool.ConnectionFactory {
+
+        private final AtomicInteger created = new AtomicInteger();
+        private final AtomicInteger closed = new AtomicInteger();
+
+        @Override
+        public DirContext createConnection() throws NamingException {
+            created.incrementAndGet();
+            return (DirContext) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { DirContext.class },
+                    new InvocationHandler() {
+
+                        @Override
+                        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                            if ("close".equals(method.getName())) {
+                                closed.incrementAndGet();
+                            } else if ("search".equals(method.getName()) && "fail".equals(args[0])) {
+                                throw new CommunicationException();
+                            }
+                            return null;
+                        }
+                    });
+        }
+    }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat Middleware LLC, and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ *
+ */
+
+package org.jboss.as.domain.management.security;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.naming.NamingException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the concurrent behaviour of the caches provided by {@link LdapCacheService}.
+ */
+public class LdapCacheServiceTestCase {
+
+    @Test
+    public void testConcurrentMissesSearchOnce() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountingSearcher searcher = new CountingSearcher(release);
+        final LdapCacheService<String, String> service = LdapCacheService.createBySearchCacheService(searcher, 0, false, 0);
+        service.start(null);
+        final LdapSearcherCache<String, String> cache = service.getValue();
+
+        final List<Thread> threads = new ArrayList<Thread>();
+        final AtomicInteger matched = new AtomicInteger();
+        for (int i = 0; i < 10; i++) {
+            Thread thread = new Thread(new Runnable() {
+
+                @Override
+                public void run() {
+                    try {
+                        if ("result-user".equals(cache.search(null, "user").getResult())) {
+                            matched.incrementAndGet();
+                        }
+                    } catch (IOException | NamingException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        // Give the threads the chance to queue up behind the first search.
+        Thread.sleep(100);
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        Assert.assertEquals(10, matched.get());
+        Assert.assertEquals(1, searcher.count.get());
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(9, cache.getHitCount());
+
+        cache.search(null, "user");
+        Assert.assertEquals(1, searcher.count.get());
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(10, cache.getHitCount());
+    }
+
+    @Test
+    public void testMaxSizeByAccess() throws Exception {
+        final CountingSearcher searcher = new CountingSearcher(null);
+        final LdapCacheService<String, String> service = LdapCacheService.createByAccessCacheService(searcher, 0, false, 3);
+        service.start(null);
+        final LdapSearcherCache<String, String> cache = service.getValue();
+
+        cache.search(null, "a");
+        cache.search(null, "b");
+        cache.search(null, "c");
+        // Accessing 'a' makes 'b' the eldest entry.
+        cache.search(null, "a");
+        cache.search(null, "d");
+
+        Assert.assertEquals(3, cache.getCurrentSize());
+        Assert.assertTrue(cache.contains("a"));
+        Assert.assertFalse(cache.contains("b"));
+        Assert.assertTrue(cache.contains("c"));
+        Assert.assertTrue(cache.contains("d"));
+    }
+
+    @Test
+    public void testMaxSizeLargeCache() throws Exception {
+        final CountingSearcher searcher = new CountingSearcher(null);
+        final LdapCacheService<String, String> service = LdapCacheService.createBySearchCacheService(searcher, 0, false, 100);
+        service.start(null);
+        final LdapSearcherCache<String, String> cache = service.getValue();
+
+        for (int i = 0; i < 1000; i++) {
+            cache.search(null, "user" + i);
+        }
+        Assert.assertTrue(cache.getCurrentSize() <= 100);
+        Assert.assertTrue(cache.contains("user999"));
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        final CountingSearcher searcher = new CountingSearcher(null);
+        final LdapCacheService<String, String> service = LdapCacheService.createBySearchCacheService(searcher, 1, false, 0);
+        service.start(null);
+        final LdapSearcherCache<String, String> cache = service.getValue();
+
+        cache.search(null, "user");
+        Assert.assertTrue(cache.contains("user"));
+        Thread.sleep(TimeUnit.SECONDS.toMillis(1) + 100);
+        Assert.assertFalse(cache.contains("user"));
+        Assert.assertEquals(0, cache.getCurrentSize());
+
+        cache.search(null, "user");
+        Assert.assertEquals(2, searcher.count.get());
+    }
+
+    private static class CountingSearcher implements LdapSearcher<String, String> {
+
+        private final AtomicInteger count = new AtomicInteger();
+        private final CountDownLatch release;
+
+        private CountingSearcher(final CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public String search(LdapConnectionHandler connectionHandler, String key) throws IOException, NamingException {
+            count.incrementAndGet();
+            if (release != null) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "result-" + key;
+        }
+
+    }
+
+}
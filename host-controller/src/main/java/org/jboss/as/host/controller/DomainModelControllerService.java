@@ -107,6 +107,7 @@ import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.extension.ExtensionRegistry;
 import org.jboss.as.controller.extension.MutableRootResourceRegistrationProvider;
 import org.jboss.as.controller.extension.RuntimeHostControllerInfoAccessor;
+import org.jboss.as.controller.interfaces.NetworkInterfaceSnapshot;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
@@ -235,6 +236,7 @@ public class DomainModelControllerService extends AbstractControllerService impl
 
     private volatile ScheduledExecutorService pingScheduler;
     private volatile ManagementResourceRegistration hostModelRegistration;
+    private volatile ServerStartScheduler serverStartScheduler;
 
     static ServiceController<ModelController> addService(final ServiceTarget serviceTarget,
                                                             final HostControllerEnvironment environment,
@@ -590,6 +592,9 @@ public class DomainModelControllerService extends AbstractControllerService impl
         boolean ok = false;
         boolean reachedServers = false;
         try {
+            // Enumerate the network interfaces again when the interfaces are resolved
+            NetworkInterfaceSnapshot.invalidate();
+
             // Install server inventory callback
             ServerInventoryCallbackService.install(serviceTarget);
 
@@ -955,6 +960,10 @@ public class DomainModelControllerService extends AbstractControllerService impl
 
     @Override
     public void stop(final StopContext context) {
+        final ServerStartScheduler scheduler = serverStartScheduler;
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
         synchronized (serverInventoryLock) {
             try {
                 serverInventory = null;
@@ -991,11 +1000,13 @@ public class DomainModelControllerService extends AbstractControllerService impl
 
     @Override
     public void registerHostModel(String hostName, ManagementResourceRegistration root) {
+        final ServerInventory inventory = new DelegatingServerInventory();
+        serverStartScheduler = new ServerStartScheduler(inventory);
         hostModelRegistration =
                 HostModelUtil.createHostRegistry(hostName, root, hostControllerConfigurationPersister, environment, runningModeControl,
-                        localFileRepository, hostControllerInfo, new DelegatingServerInventory(), remoteFileRepository, contentRepository,
+                        localFileRepository, hostControllerInfo, inventory, remoteFileRepository, contentRepository,
                         this, hostExtensionRegistry, extensionRegistry, vaultReader, ignoredRegistry, processState, pathManager, authorizer,
-                        getAuditLogger(), getBootErrorCollector());
+                        getAuditLogger(), getBootErrorCollector(), serverStartScheduler);
     }
 
 
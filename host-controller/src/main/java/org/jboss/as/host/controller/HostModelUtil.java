@@ -119,13 +119,38 @@ public class HostModelUtil {
                                           final DelegatingConfigurableAuthorizer authorizer,
                                           final ManagedAuditLogger auditLogger,
                                           final BootErrorCollector bootErrorCollector) {
+        return createHostRegistry(hostName, root, configurationPersister, environment, runningModeControl, localFileRepository,
+                hostControllerInfo, serverInventory, remoteFileRepository, contentRepository, domainController, hostExtensionRegistry,
+                extensionRegistry, vaultReader, ignoredRegistry, processState, pathManager, authorizer, auditLogger, bootErrorCollector,
+                new ServerStartScheduler(serverInventory));
+    }
+
+    public static ManagementResourceRegistration createHostRegistry(final String hostName,
+                                          final ManagementResourceRegistration root, final HostControllerConfigurationPersister configurationPersister,
+                                          final HostControllerEnvironment environment, final HostRunningModeControl runningModeControl,
+                                          final HostFileRepository localFileRepository,
+                                          final LocalHostControllerInfoImpl hostControllerInfo, final ServerInventory serverInventory,
+                                          final HostFileRepository remoteFileRepository,
+                                          final ContentRepository contentRepository,
+                                          final DomainController domainController,
+                                          final ExtensionRegistry hostExtensionRegistry,
+                                          final ExtensionRegistry extensionRegistry,
+                                          final AbstractVaultReader vaultReader,
+                                          final IgnoredDomainResourceRegistry ignoredRegistry,
+                                          final ControlledProcessState processState,
+                                          final PathManagerService pathManager,
+                                          final DelegatingConfigurableAuthorizer authorizer,
+                                          final ManagedAuditLogger auditLogger,
+                                          final BootErrorCollector bootErrorCollector,
+                                          final ServerStartScheduler serverStartScheduler) {
         // Add of the host itself
         ManagementResourceRegistration hostRegistration = root.registerSubModel(
                 new HostResourceDefinition(hostName, configurationPersister,
                         environment, runningModeControl, localFileRepository,
                         hostControllerInfo, serverInventory, remoteFileRepository,
                         contentRepository, domainController, hostExtensionRegistry,
-                        vaultReader, ignoredRegistry, processState, pathManager, authorizer, auditLogger, bootErrorCollector));
+                        vaultReader, ignoredRegistry, processState, pathManager, authorizer, auditLogger, bootErrorCollector,
+                        serverStartScheduler));
         hostRegistration.registerReadWriteAttribute(HostResourceDefinition.DOMAIN_CONTROLLER, null,
                 DomainControllerWriteAttributeHandler.getInstance(root, hostControllerInfo, configurationPersister,
                         localFileRepository, remoteFileRepository, contentRepository, domainController, extensionRegistry, ignoredRegistry, pathManager));
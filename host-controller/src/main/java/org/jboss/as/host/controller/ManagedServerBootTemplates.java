@@ -0,0 +1,108 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.host.controller;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Boot operations of managed servers which depend only on the domain wide configuration, so servers sharing a profile
+ * or a socket binding group configuration reuse the same operations instead of creating them for every server start.
+ * All cached operations are discarded as soon as the part of the domain model they were created from changes.
+ */
+public final class ManagedServerBootTemplates {
+
+    private ModelNode profiles;
+    private final Map<String, List<ModelNode>> profileOperations = new HashMap<String, List<ModelNode>>();
+    private ModelNode socketBindingGroups;
+    private final Map<List<Object>, List<ModelNode>> socketBindingOperations = new HashMap<List<Object>, List<ModelNode>>();
+
+    /**
+     * Gets the cached subsystem operations of a profile.
+     *
+     * @param profileName the name of the profile
+     * @param profiles the current {@code profile} node of the domain model
+     * @return the operations, or {@code null} if none are cached for the current profiles
+     */
+    synchronized List<ModelNode> getProfileOperations(final String profileName, final ModelNode profiles) {
+        if (!profiles.equals(this.profiles)) {
+            this.profiles = snapshot(profiles);
+            profileOperations.clear();
+            return null;
+        }
+        return profileOperations.get(profileName);
+    }
+
+    synchronized void putProfileOperations(final String profileName, final ModelNode profiles, final List<ModelNode> operations) {
+        if (profiles.equals(this.profiles)) {
+            profileOperations.put(profileName, template(operations));
+        }
+    }
+
+    /**
+     * Gets the cached socket binding operations of a socket binding group.
+     *
+     * @param socketBindingGroup the name of the socket binding group
+     * @param portOffset the port offset of the server
+     * @param defaultInterface the default interface of the server, may be {@code null}
+     * @param socketBindingGroups the current {@code socket-binding-group} node of the domain model
+     * @return the operations, or {@code null} if none are cached for the current socket binding groups
+     */
+    synchronized List<ModelNode> getSocketBindingOperations(final String socketBindingGroup, final int portOffset,
+                                                            final String defaultInterface, final ModelNode socketBindingGroups) {
+        if (!socketBindingGroups.equals(this.socketBindingGroups)) {
+            this.socketBindingGroups = snapshot(socketBindingGroups);
+            socketBindingOperations.clear();
+            return null;
+        }
+        return socketBindingOperations.get(Arrays.<Object>asList(socketBindingGroup, portOffset, defaultInterface));
+    }
+
+    synchronized void putSocketBindingOperations(final String socketBindingGroup, final int portOffset, final String defaultInterface,
+                                                 final ModelNode socketBindingGroups, final List<ModelNode> operations) {
+        if (socketBindingGroups.equals(this.socketBindingGroups)) {
+            socketBindingOperations.put(Arrays.<Object>asList(socketBindingGroup, portOffset, defaultInterface), template(operations));
+        }
+    }
+
+    private static ModelNode snapshot(final ModelNode node) {
+        final ModelNode snapshot = node.clone();
+        snapshot.protect();
+        return snapshot;
+    }
+
+    private static List<ModelNode> template(final List<ModelNode> operations) {
+        final List<ModelNode> template = new ArrayList<ModelNode>(operations.size());
+        for (ModelNode operation : operations) {
+            template.add(snapshot(operation));
+        }
+        return Collections.unmodifiableList(template);
+    }
+}
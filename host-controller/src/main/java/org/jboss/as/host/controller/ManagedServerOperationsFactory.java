@@ -103,6 +103,7 @@ import static org.jboss.as.host.controller.ManagedServerBootCmdFactory.resolveEx
 
 import java.io.File;
 import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -173,8 +174,25 @@ public final class ManagedServerOperationsFactory {
      */
     public static ModelNode createBootUpdates(final String serverName, final ModelNode domainModel, final ModelNode hostModel,
                                               final DomainController domainController, final ExpressionResolver expressionResolver) {
+        return createBootUpdates(serverName, domainModel, hostModel, domainController, expressionResolver, null);
+    }
+
+    /**
+     * Create a list of operations required to a boot a managed server, reusing the operations shared with other
+     * servers of the host.
+     *
+     * @param serverName the server name
+     * @param domainModel the complete domain model
+     * @param hostModel the local host model
+     * @param domainController the domain controller
+     * @param bootTemplates the boot operations shared between servers, or {@code null} to create all operations
+     * @return the list of boot operations
+     */
+    public static ModelNode createBootUpdates(final String serverName, final ModelNode domainModel, final ModelNode hostModel,
+                                              final DomainController domainController, final ExpressionResolver expressionResolver,
+                                              final ManagedServerBootTemplates bootTemplates) {
         final ManagedServerOperationsFactory factory = new ManagedServerOperationsFactory(serverName, domainModel,
-                hostModel, domainController, expressionResolver);
+                hostModel, domainController, expressionResolver, bootTemplates);
 
 
         return factory.getBootUpdates();
@@ -188,10 +206,18 @@ public final class ManagedServerOperationsFactory {
     private final String serverGroupName;
     private final String profileName;
     private final DomainController domainController;
+    private final ManagedServerBootTemplates bootTemplates;
 
     ManagedServerOperationsFactory(final String serverName, final ModelNode domainModel, final ModelNode hostModel,
                                    final DomainController domainController, final ExpressionResolver expressionResolver) {
+        this(serverName, domainModel, hostModel, domainController, expressionResolver, null);
+    }
+
+    ManagedServerOperationsFactory(final String serverName, final ModelNode domainModel, final ModelNode hostModel,
+                                   final DomainController domainController, final ExpressionResolver expressionResolver,
+                                   final ManagedServerBootTemplates bootTemplates) {
         this.serverName = serverName;
+        this.bootTemplates = bootTemplates;
         this.domainModel = domainModel;
         this.hostModel = hostModel;
         this.domainController = domainController;
@@ -656,6 +682,21 @@ public final class ManagedServerOperationsFactory {
     }
 
     private void addSocketBindings(List<ModelNode> updates, int portOffSet, String bindingRef, String defaultInterface) {
+        if (bootTemplates == null) {
+            createSocketBindings(updates, portOffSet, bindingRef, defaultInterface);
+            return;
+        }
+        final ModelNode socketBindingGroups = domainModel.get(SOCKET_BINDING_GROUP);
+        List<ModelNode> operations = bootTemplates.getSocketBindingOperations(bindingRef, portOffSet, defaultInterface, socketBindingGroups);
+        if (operations == null) {
+            operations = new ArrayList<ModelNode>();
+            createSocketBindings(operations, portOffSet, bindingRef, defaultInterface);
+            bootTemplates.putSocketBindingOperations(bindingRef, portOffSet, defaultInterface, socketBindingGroups, operations);
+        }
+        updates.addAll(operations);
+    }
+
+    private void createSocketBindings(List<ModelNode> updates, int portOffSet, String bindingRef, String defaultInterface) {
         final Set<String> processed = new HashSet<String>();
         final Map<String, ModelNode> groups = new LinkedHashMap<String, ModelNode>();
         if (domainModel.hasDefined(SOCKET_BINDING_GROUP)) {
@@ -762,8 +803,18 @@ public final class ManagedServerOperationsFactory {
         }
 
     private void addSubsystems(List<ModelNode> updates) {
-        ModelNode node = domainController.getProfileOperations(profileName);
-        updates.addAll(node.asList());
+        if (bootTemplates == null) {
+            updates.addAll(domainController.getProfileOperations(profileName).asList());
+            return;
+        }
+        // Describing the profile is the most expensive part of creating the boot operations
+        final ModelNode profiles = domainModel.get(PROFILE);
+        List<ModelNode> operations = bootTemplates.getProfileOperations(profileName, profiles);
+        if (operations == null) {
+            operations = domainController.getProfileOperations(profileName).asList();
+            bootTemplates.putProfileOperations(profileName, profiles, operations);
+        }
+        updates.addAll(operations);
     }
 
     private void addDeployments(List<ModelNode> updates) {
@@ -0,0 +1,251 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.host.controller;
+
+import static java.security.AccessController.doPrivileged;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVER_GROUP;
+import static org.jboss.as.host.controller.logging.HostControllerLogger.ROOT_LOGGER;
+
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.client.helpers.domain.ServerStatus;
+import org.jboss.dmr.ModelNode;
+import org.jboss.threads.JBossThreadFactory;
+
+/**
+ * Starts the auto-start servers of a host. With a concurrency greater than zero the servers are started in waves of at
+ * most that many servers, ordered by the declaration order of their server group, and the time each server takes to
+ * boot is recorded. Otherwise all servers are launched at once as before.
+ * <p>
+ * The threads starting the servers belong to the host controller, so {@link #shutdown()} must be called when it stops.
+ * </p>
+ */
+public class ServerStartScheduler {
+
+    public enum State {
+        QUEUED,
+        STARTING,
+        STARTED,
+        FAILED
+    }
+
+    private final ServerInventory serverInventory;
+    private final Map<String, State> states = new LinkedHashMap<>();
+    private final Map<String, Long> bootTimes = new LinkedHashMap<>();
+    private final List<ExecutorService> executors = new ArrayList<>();
+    private boolean shutdown;
+
+    public ServerStartScheduler(final ServerInventory serverInventory) {
+        this.serverInventory = serverInventory;
+    }
+
+    /**
+     * Starts servers. Without a concurrency limit the servers are started by the calling thread, otherwise they are
+     * queued and this method returns once all of them are scheduled.
+     *
+     * @param servers the names of the servers to start mapped to the name of their server group, in configuration order
+     * @param domainModel the domain model
+     * @param blocking whether to wait for each server to complete its boot when starting them from the calling thread
+     * @param concurrency the maximum number of servers booting at the same time, {@code 0} or less for no limit
+     */
+    public void startServers(final Map<String, String> servers, final ModelNode domainModel, final boolean blocking, final int concurrency) {
+        if (servers.isEmpty()) {
+            return;
+        }
+        if (concurrency <= 0) {
+            for (String serverName : servers.keySet()) {
+                if (blocking) {
+                    startServer(serverName, domainModel);
+                } else {
+                    try {
+                        serverInventory.startServer(serverName, domainModel, false);
+                    } catch (Exception e) {
+                        ROOT_LOGGER.failedToStartServer(e, serverName);
+                    }
+                }
+            }
+            return;
+        }
+        final List<String> ordered = order(servers, domainModel.get(SERVER_GROUP).keys());
+        final ThreadFactory threadFactory = doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
+            public JBossThreadFactory run() {
+                return new JBossThreadFactory(new ThreadGroup("server-start-threads"), Boolean.FALSE, null, "%G - %t", null, null);
+            }
+        });
+        synchronized (this) {
+            if (shutdown) {
+                return;
+            }
+            for (Iterator<ExecutorService> iterator = executors.iterator(); iterator.hasNext(); ) {
+                if (iterator.next().isTerminated()) {
+                    iterator.remove();
+                }
+            }
+            final ExecutorService executor = Executors.newFixedThreadPool(Math.min(concurrency, ordered.size()), threadFactory);
+            executors.add(executor);
+            try {
+                for (final String serverName : ordered) {
+                    states.put(serverName, State.QUEUED);
+                    bootTimes.remove(serverName);
+                    executor.execute(new StartServerTask(serverName, domainModel));
+                }
+            } finally {
+                // The queued servers are still started, the threads go away once the queue is drained
+                executor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Stops starting servers when the host controller stops. The servers still waiting in the queue are not started,
+     * and the threads waiting for a server to boot are interrupted.
+     */
+    public void shutdown() {
+        final List<ExecutorService> executors;
+        synchronized (this) {
+            shutdown = true;
+            executors = new ArrayList<>(this.executors);
+            this.executors.clear();
+        }
+        for (ExecutorService executor : executors) {
+            for (Runnable task : executor.shutdownNow()) {
+                synchronized (this) {
+                    states.remove(((StartServerTask) task).serverName);
+                }
+            }
+        }
+    }
+
+    private void startServer(final String serverName, final ModelNode domainModel) {
+        synchronized (this) {
+            states.put(serverName, State.STARTING);
+        }
+        final long start = System.nanoTime();
+        State state = State.FAILED;
+        try {
+            if (serverInventory.startServer(serverName, domainModel, true) == ServerStatus.STARTED) {
+                state = State.STARTED;
+            }
+        } catch (Exception e) {
+            ROOT_LOGGER.failedToStartServer(e, serverName);
+        }
+        final long bootTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        synchronized (this) {
+            states.put(serverName, state);
+            if (state == State.STARTED) {
+                bootTimes.put(serverName, bootTime);
+            }
+        }
+    }
+
+    private class StartServerTask implements Runnable {
+        private final String serverName;
+        private final ModelNode domainModel;
+
+        StartServerTask(final String serverName, final ModelNode domainModel) {
+            this.serverName = serverName;
+            this.domainModel = domainModel;
+        }
+
+        @Override
+        public void run() {
+            startServer(serverName, domainModel);
+        }
+    }
+
+    /**
+     * Gets the state of the servers started through this scheduler.
+     *
+     * @return the state of each server, in start order
+     */
+    public synchronized Map<String, State> getStates() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(states));
+    }
+
+    /**
+     * Gets the names of the servers in a given state.
+     *
+     * @param state the state
+     * @return the names of the servers, in start order
+     */
+    public synchronized List<String> getServers(final State state) {
+        final List<String> result = new ArrayList<>();
+        for (Map.Entry<String, State> entry : states.entrySet()) {
+            if (entry.getValue() == state) {
+                result.add(entry.getKey());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the time the servers started by this scheduler took to boot.
+     *
+     * @return the boot time in milliseconds of each started server
+     */
+    public synchronized Map<String, Long> getBootTimes() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(bootTimes));
+    }
+
+    /**
+     * Orders servers by the position of their server group in the domain model, keeping the configuration order of
+     * the servers within a group. Servers of unknown groups are started last.
+     */
+    static List<String> order(final Map<String, String> servers, final Iterable<String> serverGroups) {
+        final Map<String, Integer> priorities = new HashMap<>();
+        for (String serverGroup : serverGroups) {
+            priorities.put(serverGroup, priorities.size());
+        }
+        final Map<Integer, List<String>> waves = new TreeMap<>();
+        for (Map.Entry<String, String> entry : servers.entrySet()) {
+            Integer priority = priorities.get(entry.getValue());
+            if (priority == null) {
+                priority = Integer.MAX_VALUE;
+            }
+            List<String> wave = waves.get(priority);
+            if (wave == null) {
+                wave = new ArrayList<>();
+                waves.put(priority, wave);
+            }
+            wave.add(entry.getKey());
+        }
+        final List<String> result = new ArrayList<>(servers.size());
+        for (List<String> wave : waves.values()) {
+            result.addAll(wave);
+        }
+        return result;
+    }
+}
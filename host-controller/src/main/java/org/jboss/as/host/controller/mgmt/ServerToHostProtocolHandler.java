@@ -49,6 +49,7 @@ import org.jboss.as.controller.client.OperationBuilder;
 import org.jboss.as.controller.client.OperationMessageHandler;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.domain.controller.DomainController;
+import org.jboss.as.host.controller.ManagedServerBootTemplates;
 import org.jboss.as.host.controller.ManagedServerOperationsFactory;
 import org.jboss.as.host.controller.ServerInventory;
 import org.jboss.as.host.controller.logging.HostControllerLogger;
@@ -97,11 +98,12 @@ public class ServerToHostProtocolHandler implements ManagementRequestHandlerFact
     private final DeploymentFileRepository deploymentFileRepository;
     private final Executor registrations;
     private final ExpressionResolver expressionResolver;
+    private final ManagedServerBootTemplates bootTemplates;
 
     private volatile String serverProcessName;
 
     ServerToHostProtocolHandler(ServerInventory serverInventory, OperationExecutor operationExecutor, DomainController domainController, ManagementChannelHandler channelHandler, Executor registrations,
-            ExpressionResolver expressionResolver) {
+            ExpressionResolver expressionResolver, ManagedServerBootTemplates bootTemplates) {
         this.serverInventory = serverInventory;
         this.operationExecutor = operationExecutor;
         this.domainController = domainController;
@@ -109,6 +111,7 @@ public class ServerToHostProtocolHandler implements ManagementRequestHandlerFact
         this.registrations = registrations;
         this.deploymentFileRepository = domainController.getLocalFileRepository();
         this.expressionResolver = expressionResolver;
+        this.bootTemplates = bootTemplates;
     }
 
     @Override
@@ -218,7 +221,7 @@ public class ServerToHostProtocolHandler implements ManagementRequestHandlerFact
             // Create the boot updates
             final String hostControllerName = domainController.getLocalHostInfo().getLocalHostName();
             final ModelNode hostModel = domainModel.require(HOST).require(hostControllerName);
-            final ModelNode updates = ManagedServerOperationsFactory.createBootUpdates(serverName, domainModel, hostModel, domainController, expressionResolver);
+            final ModelNode updates = ManagedServerOperationsFactory.createBootUpdates(serverName, domainModel, hostModel, domainController, expressionResolver, bootTemplates);
             // Register the remote communication
             final ProxyController controller = serverInventory.serverCommunicationRegistered(serverProcessName, channelHandler);
             try {
@@ -36,7 +36,9 @@ import org.jboss.as.controller.ResourceDefinition;
 import org.jboss.as.controller.RunningMode;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleMapAttributeDefinition;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.StringListAttributeDefinition;
 import org.jboss.as.controller.access.management.DelegatingConfigurableAuthorizer;
 import org.jboss.as.controller.access.management.SensitiveTargetAccessConstraintDefinition;
 import org.jboss.as.controller.audit.ManagedAuditLogger;
@@ -59,6 +61,7 @@ import org.jboss.as.controller.operations.common.ValidateOperationHandler;
 import org.jboss.as.controller.operations.common.XmlMarshallingHandler;
 import org.jboss.as.controller.operations.global.GlobalInstallationReportHandler;
 import org.jboss.as.controller.operations.validation.EnumValidator;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
@@ -76,6 +79,7 @@ import org.jboss.as.host.controller.HostControllerService;
 import org.jboss.as.host.controller.HostModelUtil;
 import org.jboss.as.host.controller.HostRunningModeControl;
 import org.jboss.as.host.controller.ServerInventory;
+import org.jboss.as.host.controller.ServerStartScheduler;
 import org.jboss.as.host.controller.descriptions.HostEnvironmentResourceDefinition;
 import org.jboss.as.host.controller.discovery.DiscoveryOptionResourceDefinition;
 import org.jboss.as.host.controller.discovery.DiscoveryOptionsResourceDefinition;
@@ -91,6 +95,7 @@ import org.jboss.as.host.controller.operations.InstallationReportHandler;
 import org.jboss.as.host.controller.operations.IsMasterHandler;
 import org.jboss.as.host.controller.operations.LocalHostControllerInfoImpl;
 import org.jboss.as.host.controller.operations.ResolveExpressionOnHostHandler;
+import org.jboss.as.host.controller.operations.ServerStartQueueReadHandler;
 import org.jboss.as.host.controller.operations.StartServersHandler;
 import org.jboss.as.host.controller.resources.HttpManagementResourceDefinition;
 import org.jboss.as.host.controller.resources.NativeManagementResourceDefinition;
@@ -111,6 +116,7 @@ import org.jboss.as.server.operations.RunningModeReadHandler;
 import org.jboss.as.server.operations.SuspendStateReadHandler;
 import org.jboss.as.server.operations.WriteConfigHandler;
 import org.jboss.as.server.services.net.InterfaceResourceDefinition;
+import org.jboss.as.server.services.net.NetworkInterfacesRefreshHandler;
 import org.jboss.as.server.services.net.SocketBindingGroupResourceDefinition;
 import org.jboss.as.server.services.net.SpecifiedInterfaceResolveHandler;
 import org.jboss.as.server.services.security.AbstractVaultReader;
@@ -203,6 +209,29 @@ public class HostResourceDefinition extends SimpleResourceDefinition {
             .setResourceOnly()
             .build();
 
+    public static final SimpleAttributeDefinition SERVER_START_CONCURRENCY = SimpleAttributeDefinitionBuilder.create(ModelDescriptionConstants.SERVER_START_CONCURRENCY, ModelType.INT, true)
+            .setDefaultValue(new ModelNode(0))
+            .setValidator(new IntRangeValidator(0, true, true))
+            .setAllowExpression(true)
+            .build();
+
+    static final StringListAttributeDefinition SERVER_START_QUEUE = new StringListAttributeDefinition.Builder(ServerStartQueueReadHandler.SERVER_START_QUEUE)
+            .setAllowNull(true)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
+    static final StringListAttributeDefinition STARTING_SERVERS = new StringListAttributeDefinition.Builder(ServerStartQueueReadHandler.STARTING_SERVERS)
+            .setAllowNull(true)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
+    static final SimpleMapAttributeDefinition SERVER_BOOT_TIMES = new SimpleMapAttributeDefinition.Builder(ServerStartQueueReadHandler.SERVER_BOOT_TIMES, ModelType.LONG, true)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
     public static final ObjectTypeAttributeDefinition DC_LOCAL = new ObjectTypeAttributeDefinition.Builder(ModelDescriptionConstants.LOCAL)
             .build();
 
@@ -239,6 +268,7 @@ public class HostResourceDefinition extends SimpleResourceDefinition {
     private final DelegatingConfigurableAuthorizer authorizer;
     private final ManagedAuditLogger auditLogger;
     private final BootErrorCollector bootErrorCollector;
+    private final ServerStartScheduler serverStartScheduler;
 
     public HostResourceDefinition(final String hostName,
                                   final HostControllerConfigurationPersister configurationPersister,
@@ -258,6 +288,31 @@ public class HostResourceDefinition extends SimpleResourceDefinition {
                                   final DelegatingConfigurableAuthorizer authorizer,
                                   final ManagedAuditLogger auditLogger,
                                   final BootErrorCollector bootErrorCollector) {
+        this(hostName, configurationPersister, environment, runningModeControl, localFileRepository, hostControllerInfo,
+                serverInventory, remoteFileRepository, contentRepository, domainController, hostExtensionRegistry,
+                vaultReader, ignoredRegistry, processState, pathManager, authorizer, auditLogger, bootErrorCollector,
+                new ServerStartScheduler(serverInventory));
+    }
+
+    public HostResourceDefinition(final String hostName,
+                                  final HostControllerConfigurationPersister configurationPersister,
+                                  final HostControllerEnvironment environment,
+                                  final HostRunningModeControl runningModeControl,
+                                  final HostFileRepository localFileRepository,
+                                  final LocalHostControllerInfoImpl hostControllerInfo,
+                                  final ServerInventory serverInventory,
+                                  final HostFileRepository remoteFileRepository,
+                                  final ContentRepository contentRepository,
+                                  final DomainController domainController,
+                                  final ExtensionRegistry hostExtensionRegistry,
+                                  final AbstractVaultReader vaultReader,
+                                  final IgnoredDomainResourceRegistry ignoredRegistry,
+                                  final ControlledProcessState processState,
+                                  final PathManagerService pathManager,
+                                  final DelegatingConfigurableAuthorizer authorizer,
+                                  final ManagedAuditLogger auditLogger,
+                                  final BootErrorCollector bootErrorCollector,
+                                  final ServerStartScheduler serverStartScheduler) {
         super(PathElement.pathElement(HOST, hostName), HostModelUtil.getResourceDescriptionResolver());
         this.configurationPersister = configurationPersister;
         this.environment = environment;
@@ -276,6 +331,7 @@ public class HostResourceDefinition extends SimpleResourceDefinition {
         this.authorizer = authorizer;
         this.auditLogger = auditLogger;
         this.bootErrorCollector = bootErrorCollector;
+        this.serverStartScheduler = serverStartScheduler;
     }
 
     @Override
@@ -290,6 +346,7 @@ public class HostResourceDefinition extends SimpleResourceDefinition {
 
         });
         hostRegistration.registerReadWriteAttribute(ORGANIZATION_IDENTIFIER, null, new ModelOnlyWriteAttributeHandler(ORGANIZATION_IDENTIFIER));
+        hostRegistration.registerReadWriteAttribute(SERVER_START_CONCURRENCY, null, new ModelOnlyWriteAttributeHandler(SERVER_START_CONCURRENCY));
         hostRegistration.registerReadOnlyAttribute(DOMAIN_ORGANIZATION_IDENTIFIER, null);
         hostRegistration.registerReadOnlyAttribute(PRODUCT_NAME, null);
         hostRegistration.registerReadOnlyAttribute(UUID, new InstanceUuidReadHandler(environment));
@@ -308,6 +365,10 @@ public class HostResourceDefinition extends SimpleResourceDefinition {
         hostRegistration.registerReadOnlyAttribute(HostResourceDefinition.HOST_STATE, new ProcessStateAttributeHandler(processState));
         hostRegistration.registerReadOnlyAttribute(ServerRootResourceDefinition.RUNNING_MODE, new RunningModeReadHandler(runningModeControl));
         hostRegistration.registerReadOnlyAttribute(ServerRootResourceDefinition.SUSPEND_STATE, SuspendStateReadHandler.INSTANCE);
+        final ServerStartQueueReadHandler serverStartQueueReadHandler = new ServerStartQueueReadHandler(serverStartScheduler);
+        hostRegistration.registerReadOnlyAttribute(SERVER_START_QUEUE, serverStartQueueReadHandler);
+        hostRegistration.registerReadOnlyAttribute(STARTING_SERVERS, serverStartQueueReadHandler);
+        hostRegistration.registerReadOnlyAttribute(SERVER_BOOT_TIMES, serverStartQueueReadHandler);
     }
 
 
@@ -328,6 +389,7 @@ public class HostResourceDefinition extends SimpleResourceDefinition {
         hostRegistration.registerOperationHandler(ResolveExpressionHandler.DEFINITION, ResolveExpressionHandler.INSTANCE);
         hostRegistration.registerOperationHandler(ResolveExpressionOnHostHandler.DEFINITION, ResolveExpressionOnHostHandler.INSTANCE);
         hostRegistration.registerOperationHandler(SpecifiedInterfaceResolveHandler.DEFINITION, SpecifiedInterfaceResolveHandler.INSTANCE);
+        hostRegistration.registerOperationHandler(NetworkInterfacesRefreshHandler.DEFINITION, NetworkInterfacesRefreshHandler.INSTANCE);
         hostRegistration.registerOperationHandler(CleanObsoleteContentHandler.DEFINITION, CleanObsoleteContentHandler.createOperation(contentRepository));
         hostRegistration.registerOperationHandler(WriteConfigHandler.DEFINITION, WriteConfigHandler.INSTANCE);
 
@@ -335,7 +397,7 @@ public class HostResourceDefinition extends SimpleResourceDefinition {
         hostRegistration.registerOperationHandler(XmlMarshallingHandler.DEFINITION, xmh);
 
 
-        StartServersHandler ssh = new StartServersHandler(environment, serverInventory, runningModeControl);
+        StartServersHandler ssh = new StartServersHandler(environment, serverInventory, runningModeControl, serverStartScheduler);
         hostRegistration.registerOperationHandler(StartServersHandler.DEFINITION, ssh);
 
         if (environment.getProcessType() != ProcessType.EMBEDDED_HOST_CONTROLLER) {
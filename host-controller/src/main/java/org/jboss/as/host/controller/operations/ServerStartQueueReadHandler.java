@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.host.controller.operations;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+
+import java.util.Map;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.host.controller.ServerStartScheduler;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Reads the server start queue attributes of the host from its {@link ServerStartScheduler}.
+ */
+public class ServerStartQueueReadHandler implements OperationStepHandler {
+
+    public static final String SERVER_START_QUEUE = "server-start-queue";
+    public static final String STARTING_SERVERS = "starting-servers";
+    public static final String SERVER_BOOT_TIMES = "server-boot-times";
+
+    private final ServerStartScheduler scheduler;
+
+    public ServerStartQueueReadHandler(final ServerStartScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final String attributeName = operation.require(NAME).asString();
+        final ModelNode result = context.getResult();
+        switch (attributeName) {
+            case SERVER_START_QUEUE:
+                setList(result, scheduler, ServerStartScheduler.State.QUEUED);
+                break;
+            case STARTING_SERVERS:
+                setList(result, scheduler, ServerStartScheduler.State.STARTING);
+                break;
+            case SERVER_BOOT_TIMES:
+                result.setEmptyObject();
+                for (Map.Entry<String, Long> entry : scheduler.getBootTimes().entrySet()) {
+                    result.get(entry.getKey()).set(entry.getValue());
+                }
+                break;
+            default:
+                throw new IllegalStateException(attributeName);
+        }
+    }
+
+    private static void setList(final ModelNode result, final ServerStartScheduler scheduler, final ServerStartScheduler.State state) {
+        result.setEmptyList();
+        for (String serverName : scheduler.getServers(state)) {
+            result.add(serverName);
+        }
+    }
+}
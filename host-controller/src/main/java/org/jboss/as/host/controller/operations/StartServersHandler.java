@@ -20,10 +20,11 @@ package org.jboss.as.host.controller.operations;
 
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.AUTO_START;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.GROUP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVER_CONFIG;
-import static org.jboss.as.host.controller.logging.HostControllerLogger.ROOT_LOGGER;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.jboss.as.controller.OperationContext;
@@ -39,6 +40,8 @@ import org.jboss.as.host.controller.logging.HostControllerLogger;
 import org.jboss.as.host.controller.HostRunningModeControl;
 import org.jboss.as.host.controller.RestartMode;
 import org.jboss.as.host.controller.ServerInventory;
+import org.jboss.as.host.controller.ServerStartScheduler;
+import org.jboss.as.host.controller.model.host.HostResourceDefinition;
 import org.jboss.as.host.controller.resources.ServerConfigResourceDefinition;
 import org.jboss.as.process.ProcessInfo;
 import org.jboss.dmr.ModelNode;
@@ -63,14 +66,21 @@ public class StartServersHandler implements OperationStepHandler {
     private final ServerInventory serverInventory;
     private final HostControllerEnvironment hostControllerEnvironment;
     private final HostRunningModeControl runningModeControl;
+    private final ServerStartScheduler serverStartScheduler;
 
     /**
      * Create the ServerAddHandler
      */
     public StartServersHandler(final HostControllerEnvironment hostControllerEnvironment, final ServerInventory serverInventory, HostRunningModeControl runningModeControl) {
+        this(hostControllerEnvironment, serverInventory, runningModeControl, new ServerStartScheduler(serverInventory));
+    }
+
+    public StartServersHandler(final HostControllerEnvironment hostControllerEnvironment, final ServerInventory serverInventory, HostRunningModeControl runningModeControl,
+                               final ServerStartScheduler serverStartScheduler) {
         this.hostControllerEnvironment = hostControllerEnvironment;
         this.serverInventory = serverInventory;
         this.runningModeControl = runningModeControl;
+        this.serverStartScheduler = serverStartScheduler;
     }
 
     /**
@@ -96,11 +106,12 @@ public class StartServersHandler implements OperationStepHandler {
                 final ModelNode hostModel = Resource.Tools.readModel(resource);
                 if(hostModel.hasDefined(SERVER_CONFIG)) {
                     final ModelNode servers = hostModel.get(SERVER_CONFIG).clone();
+                    final int concurrency = HostResourceDefinition.SERVER_START_CONCURRENCY.resolveModelAttribute(context, hostModel).asInt();
                     if (hostControllerEnvironment.isRestart() || runningModeControl.getRestartMode() == RestartMode.HC_ONLY){
-                        restartedHcStartOrReconnectServers(servers, domainModel, context);
+                        restartedHcStartOrReconnectServers(servers, domainModel, concurrency, context);
                         runningModeControl.setRestartMode(RestartMode.SERVERS);
                     } else {
-                        cleanStartServers(servers, domainModel, context);
+                        cleanStartServers(servers, domainModel, concurrency, context);
                     }
                 }
                 context.completeStep(OperationContext.RollbackHandler.NOOP_ROLLBACK_HANDLER);
@@ -108,34 +119,30 @@ public class StartServersHandler implements OperationStepHandler {
         }, OperationContext.Stage.RUNTIME);
     }
 
-    private void cleanStartServers(final ModelNode servers, final ModelNode domainModel, OperationContext context) throws OperationFailedException {
+    private void cleanStartServers(final ModelNode servers, final ModelNode domainModel, final int concurrency, OperationContext context) throws OperationFailedException {
+        final Map<String, String> toStart = new LinkedHashMap<>();
         for(final Property serverProp : servers.asPropertyList()) {
             String serverName = serverProp.getName();
             if (ServerConfigResourceDefinition.AUTO_START.resolveModelAttribute(context, serverProp.getValue()).asBoolean(true)) {
-                try {
-                    serverInventory.startServer(serverName, domainModel, START_BLOCKING);
-                } catch (Exception e) {
-                    ROOT_LOGGER.failedToStartServer(e, serverName);
-                }
+                toStart.put(serverName, serverProp.getValue().get(GROUP).asString());
             }
         }
+        serverStartScheduler.startServers(toStart, domainModel, START_BLOCKING, concurrency);
     }
 
-    private void restartedHcStartOrReconnectServers(final ModelNode servers, final ModelNode domainModel, final OperationContext context){
+    private void restartedHcStartOrReconnectServers(final ModelNode servers, final ModelNode domainModel, final int concurrency, final OperationContext context){
         Map<String, ProcessInfo> processInfos = serverInventory.determineRunningProcesses();
+        final Map<String, String> toStart = new LinkedHashMap<>();
         for(final String serverName : servers.keys()) {
             ProcessInfo info = processInfos.get(serverInventory.getServerProcessName(serverName));
             boolean auto = servers.get(serverName, AUTO_START).asBoolean(true);
             if (info == null && auto) {
-                try {
-                    serverInventory.startServer(serverName, domainModel, START_BLOCKING);
-                } catch (Exception e) {
-                    ROOT_LOGGER.failedToStartServer(e, serverName);
-                }
+                toStart.put(serverName, servers.get(serverName, GROUP).asString());
             } else if (info != null){
                 // Reconnect the server using the current authKey
                 serverInventory.reconnectServer(serverName, domainModel, info.getAuthKey(), info.isRunning(), info.isStopping());
             }
         }
+        serverStartScheduler.startServers(toStart, domainModel, START_BLOCKING, concurrency);
     }
 }
@@ -51,6 +51,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PAT
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROPERTIES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REMOTE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVER_CONFIG;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVER_START_CONCURRENCY;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SSL;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SOCKET_BINDING_DEFAULT_INTERFACE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SOCKET_BINDING_GROUP;
@@ -257,13 +258,15 @@ class HostXml_5 extends CommonXml implements ManagementXmlDelegate {
             writer.writeStartElement(Element.SERVERS.getLocalName());
             // Write the directory grouping
             HostResourceDefinition.DIRECTORY_GROUPING.marshallAsAttribute(modelNode, writer);
+            HostResourceDefinition.SERVER_START_CONCURRENCY.marshallAsAttribute(modelNode, writer);
             writeServers(writer, modelNode.get(SERVER_CONFIG));
             WriteUtils.writeNewLine(writer);
             writer.writeEndElement();
-        } else if (modelNode.hasDefined(DIRECTORY_GROUPING)) {
-            // In case there are no servers defined, write an empty element, preserving the directory grouping
+        } else if (modelNode.hasDefined(DIRECTORY_GROUPING) || modelNode.hasDefined(SERVER_START_CONCURRENCY)) {
+            // In case there are no servers defined, write an empty element, preserving the directory grouping and start concurrency
             writer.writeEmptyElement(Element.SERVERS.getLocalName());
             HostResourceDefinition.DIRECTORY_GROUPING.marshallAsAttribute(modelNode, writer);
+            HostResourceDefinition.SERVER_START_CONCURRENCY.marshallAsAttribute(modelNode, writer);
         }
 
         writeHostProfile(writer, context);
@@ -1099,6 +1102,11 @@ class HostXml_5 extends CommonXml implements ManagementXmlDelegate {
                         list.add(Util.getWriteAttributeOperation(address, DIRECTORY_GROUPING, HostResourceDefinition.DIRECTORY_GROUPING.parse(value,reader)));
                         break;
                     }
+                    case SERVER_START_CONCURRENCY: {
+                        final ModelNode address = parentAddress.clone();
+                        list.add(Util.getWriteAttributeOperation(address, SERVER_START_CONCURRENCY, HostResourceDefinition.SERVER_START_CONCURRENCY.parse(value, reader)));
+                        break;
+                    }
                     default:
                         throw unexpectedAttribute(reader, i);
                 }
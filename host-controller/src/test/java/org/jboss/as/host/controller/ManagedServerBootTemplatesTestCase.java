@@ -0,0 +1,80 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.host.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Tests the invalidation of {@link ManagedServerBootTemplates}.
+ */
+public class ManagedServerBootTemplatesTestCase {
+
+    @Test
+    public void testProfileOperations() {
+        final ManagedServerBootTemplates templates = new ManagedServerBootTemplates();
+        final ModelNode profiles = new ModelNode();
+        profiles.get("default", "subsystem", "logging").setEmptyObject();
+        final List<ModelNode> operations = Collections.singletonList(new ModelNode("add"));
+
+        assertNull(templates.getProfileOperations("default", profiles));
+        templates.putProfileOperations("default", profiles, operations);
+        final List<ModelNode> cached = templates.getProfileOperations("default", profiles.clone());
+        assertEquals(operations, cached);
+        assertSame(cached, templates.getProfileOperations("default", profiles));
+        assertNull(templates.getProfileOperations("other", profiles));
+
+        // Any change to the profiles discards the cached operations
+        final ModelNode changed = profiles.clone();
+        changed.get("default", "subsystem", "jmx").setEmptyObject();
+        assertNull(templates.getProfileOperations("default", changed));
+        assertNull(templates.getProfileOperations("default", profiles));
+    }
+
+    @Test
+    public void testSocketBindingOperations() {
+        final ManagedServerBootTemplates templates = new ManagedServerBootTemplates();
+        final ModelNode groups = new ModelNode();
+        groups.get("standard-sockets", "socket-binding", "http", "port").set(8080);
+        final List<ModelNode> operations = Collections.singletonList(new ModelNode("add"));
+
+        assertNull(templates.getSocketBindingOperations("standard-sockets", 0, null, groups));
+        templates.putSocketBindingOperations("standard-sockets", 0, null, groups, operations);
+        assertEquals(operations, templates.getSocketBindingOperations("standard-sockets", 0, null, groups));
+        // Servers with a different port offset or default interface use other operations
+        assertNull(templates.getSocketBindingOperations("standard-sockets", 100, null, groups));
+        assertNull(templates.getSocketBindingOperations("standard-sockets", 0, "public", groups));
+
+        final ModelNode changed = groups.clone();
+        changed.get("standard-sockets", "socket-binding", "http", "port").set(8081);
+        assertNull(templates.getSocketBindingOperations("standard-sockets", 0, null, changed));
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.host.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVER_GROUP;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.client.helpers.domain.ServerStatus;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Tests the start order and the shutdown of a {@link ServerStartScheduler}.
+ */
+public class ServerStartSchedulerTestCase {
+
+    @Test
+    public void testOrderByServerGroup() {
+        final Map<String, String> servers = new LinkedHashMap<>();
+        servers.put("server-one", "main-server-group");
+        servers.put("server-two", "other-server-group");
+        servers.put("server-three", "unknown-server-group");
+        servers.put("server-four", "main-server-group");
+        servers.put("server-five", "other-server-group");
+
+        assertEquals(Arrays.asList("server-two", "server-five", "server-one", "server-four", "server-three"),
+                ServerStartScheduler.order(servers, Arrays.asList("other-server-group", "main-server-group")));
+        assertEquals(Arrays.asList("server-one", "server-four", "server-two", "server-five", "server-three"),
+                ServerStartScheduler.order(servers, Arrays.asList("main-server-group", "other-server-group")));
+    }
+
+    @Test
+    public void testShutdownDrainsQueue() throws Exception {
+        final AtomicInteger starts = new AtomicInteger();
+        final CountDownLatch starting = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final ServerInventory inventory = (ServerInventory) Proxy.newProxyInstance(ServerInventory.class.getClassLoader(),
+                new Class<?>[] {ServerInventory.class}, new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        if (!method.getName().equals("startServer")) {
+                            throw new UnsupportedOperationException(method.getName());
+                        }
+                        starts.incrementAndGet();
+                        starting.countDown();
+                        try {
+                            // Block like a booting server until the scheduler is shut down
+                            new CountDownLatch(1).await();
+                        } catch (InterruptedException e) {
+                            interrupted.countDown();
+                        }
+                        return ServerStatus.FAILED;
+                    }
+                });
+        final Map<String, String> servers = new LinkedHashMap<>();
+        servers.put("server-one", "main-server-group");
+        servers.put("server-two", "main-server-group");
+        servers.put("server-three", "main-server-group");
+        final ModelNode domainModel = new ModelNode();
+        domainModel.get(SERVER_GROUP, "main-server-group").setEmptyObject();
+
+        final ServerStartScheduler scheduler = new ServerStartScheduler(inventory);
+        scheduler.startServers(servers, domainModel, true, 1);
+        assertTrue(starting.await(10, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("server-two", "server-three"), scheduler.getServers(ServerStartScheduler.State.QUEUED));
+
+        scheduler.shutdown();
+        assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+        assertEquals(Collections.singleton("server-one"), scheduler.getStates().keySet());
+        assertEquals(1, starts.get());
+
+        // Nothing is started once the host controller is stopping
+        scheduler.startServers(servers, domainModel, true, 1);
+        assertEquals(1, starts.get());
+    }
+}
@@ -24,6 +24,7 @@ package org.jboss.as.jmx.model;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACCESS_MECHANISM;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
@@ -33,6 +34,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REA
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REPLY_PROPERTIES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQUEST_PROPERTIES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
 
@@ -92,6 +94,7 @@ public class ModelControllerMBeanHelper {
     private final ConfiguredDomains configuredDomains;
     private final String domain;
     private final ManagementModelIntegration.ManagementModelProvider managementModelProvider;
+    private final ObjectNameAddressIndex index;
 
     ModelControllerMBeanHelper(TypeConverters converters, ConfiguredDomains configuredDomains, String domain,
                                ModelController controller, MutabilityChecker mutabilityChecker,
@@ -103,6 +106,7 @@ public class ModelControllerMBeanHelper {
         this.accessControlUtil = new ResourceAccessControlUtil(controller);
         this.mutabilityChecker = mutabilityChecker;
         this.managementModelProvider = managementModelProvider;
+        this.index = new ObjectNameAddressIndex(domain);
     }
 
     int getMBeanCount() {
@@ -111,7 +115,7 @@ public class ModelControllerMBeanHelper {
 
             @Override
             public ObjectName onAddress(PathAddress address) {
-                return isExcludeAddress(address) ? null : ObjectNameAddressUtil.createObjectName(domain, address);
+                return isExcludeAddress(address) ? null : index.getObjectName(address);
             }
 
             public boolean onResource(ObjectName address) {
@@ -126,27 +130,34 @@ public class ModelControllerMBeanHelper {
     }
 
     Set<ObjectInstance> queryMBeans(final MBeanServer mbeanServer, final ObjectName name, final QueryExp query) {
-        Set<ObjectInstance> basic = new RootResourceIterator<Set<ObjectInstance>>(accessControlUtil, getRootResourceAndRegistration().getResource(),
-                new ObjectNameMatchResourceAction<Set<ObjectInstance>>(name) {
+        final Set<ObjectInstance> basic;
+        if (name != null && !name.isPattern()) {
+            // A single named MBean, there is no need to walk the whole model to find it
+            basic = isQueryable(name) ? Collections.singleton(new ObjectInstance(name, CLASS_NAME)) : Collections.<ObjectInstance>emptySet();
+        } else {
+            // Only the parts of the model which can contain a match for the pattern are walked
+            basic = new RootResourceIterator<Set<ObjectInstance>>(accessControlUtil, getRootResourceAndRegistration().getResource(),
+                    new ObjectNameMatchResourceAction<Set<ObjectInstance>>(name) {
 
-            Set<ObjectInstance> set = new HashSet<ObjectInstance>();
+                Set<ObjectInstance> set = new HashSet<ObjectInstance>();
 
-            @Override
-            public boolean onResource(ObjectName resourceName) {
-                if (name == null || name.apply(resourceName)) {
-                    set.add(new ObjectInstance(resourceName, CLASS_NAME));
+                @Override
+                public boolean onResource(ObjectName resourceName) {
+                    if (name == null || name.apply(resourceName)) {
+                        set.add(new ObjectInstance(resourceName, CLASS_NAME));
+                    }
+                    return true;
                 }
-                return true;
-            }
 
-            @Override
-            public Set<ObjectInstance> getResult() {
-                if (set.size() == 1 && set.contains(ModelControllerMBeanHelper.createRootObjectInstance(domain))) {
-                    return Collections.emptySet();
+                @Override
+                public Set<ObjectInstance> getResult() {
+                    if (set.size() == 1 && set.contains(ModelControllerMBeanHelper.createRootObjectInstance(domain))) {
+                        return Collections.emptySet();
+                    }
+                    return set;
                 }
-                return set;
-            }
-        }).iterate();
+            }, index.getPatternFilter(name)).iterate();
+        }
 
         // Handle any 'query' outside the RootResourceIterator so if the query calls back
         // into us it's not a recursive kind of thing in the ModelController
@@ -173,27 +184,34 @@ public class ModelControllerMBeanHelper {
     }
 
     Set<ObjectName> queryNames(MBeanServer mbeanServer, final ObjectName name, final QueryExp query) {
-        Set<ObjectName> basic = new RootResourceIterator<Set<ObjectName>>(accessControlUtil, getRootResourceAndRegistration().getResource(),
-                new ObjectNameMatchResourceAction<Set<ObjectName>>(name) {
+        final Set<ObjectName> basic;
+        if (name != null && !name.isPattern()) {
+            // A single named MBean, there is no need to walk the whole model to find it
+            basic = isQueryable(name) ? Collections.singleton(name) : Collections.<ObjectName>emptySet();
+        } else {
+            // Only the parts of the model which can contain a match for the pattern are walked
+            basic = new RootResourceIterator<Set<ObjectName>>(accessControlUtil, getRootResourceAndRegistration().getResource(),
+                    new ObjectNameMatchResourceAction<Set<ObjectName>>(name) {
 
-            Set<ObjectName> set = new HashSet<ObjectName>();
+                Set<ObjectName> set = new HashSet<ObjectName>();
 
-            @Override
-            public boolean onResource(ObjectName resourceName) {
-                if (name == null || name.apply(resourceName)) {
-                    set.add(resourceName);
+                @Override
+                public boolean onResource(ObjectName resourceName) {
+                    if (name == null || name.apply(resourceName)) {
+                        set.add(resourceName);
+                    }
+                    return true;
                 }
-                return true;
-            }
 
-            @Override
-            public Set<ObjectName> getResult() {
-                if (set.size() == 1 && set.contains(ModelControllerMBeanHelper.createRootObjectName(domain))) {
-                  return Collections.emptySet();
+                @Override
+                public Set<ObjectName> getResult() {
+                    if (set.size() == 1 && set.contains(ModelControllerMBeanHelper.createRootObjectName(domain))) {
+                      return Collections.emptySet();
+                    }
+                    return set;
                 }
-                return set;
-            }
-        }).iterate();
+            }, index.getPatternFilter(name)).iterate();
+        }
 
         // Handle any 'query' outside the RootResourceIterator so if the query calls back
         // into us it's not a recursive kind of thing in the ModelController
@@ -218,6 +236,24 @@ public class ModelControllerMBeanHelper {
         return result;
     }
 
+    /**
+     * Check whether a query for the name would find it if the model was walked by a {@link RootResourceIterator}, i.e. the
+     * resource and all of its parents are accessible and it is not the root resource or an excluded resource.
+     */
+    private boolean isQueryable(final ObjectName name) {
+        final PathAddress address = resolvePathAddress(name);
+        if (address == null || address.size() == 0) {
+            return false;
+        }
+        for (int i = 0; i <= address.size(); i++) {
+            final PathAddress current = address.subAddress(0, i);
+            if (isExcludeAddress(current) || !accessControlUtil.getResourceAccess(current, false).isAccessibleResource()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**  Set the mbean server on the QueryExp and try and pass back any previously set one */
     private static MBeanServer setQueryExpServer(QueryExp query, MBeanServer toSet) {
         // We assume the QueryExp is a QueryEval subclass or uses the QueryEval thread local
@@ -230,11 +266,14 @@ public class ModelControllerMBeanHelper {
 
 
     PathAddress resolvePathAddress(final ObjectName name) {
-        return ObjectNameAddressUtil.resolvePathAddress(domain, getRootResourceAndRegistration().getResource(), name);
+        return resolvePathAddress(name, getRootResourceAndRegistration());
     }
 
     PathAddress resolvePathAddress(final ObjectName name, ManagementModelIntegration.ResourceAndRegistration reg) {
-        return ObjectNameAddressUtil.resolvePathAddress(domain, reg.getResource(), name);
+        if (!name.getDomain().equals(domain)) {
+            return null;
+        }
+        return index.resolvePathAddress(reg.getResource(), name);
     }
 
     /**
@@ -265,7 +304,7 @@ public class ModelControllerMBeanHelper {
             throw JmxLogger.ROOT_LOGGER.mbeanNotFound(name);
         }
         final ResourceAccessControl accessControl = accessControlUtil.getResourceAccessWithInstanceNotFoundExceptionIfNotAccessible(name, address, false);
-        return getAttribute(reg, address, name, attribute, accessControl);
+        return getAttribute(reg, address, attribute, accessControl);
     }
 
     AttributeList getAttributes(ObjectName name, String[] attributes) throws InstanceNotFoundException, ReflectionException {
@@ -275,42 +314,72 @@ public class ModelControllerMBeanHelper {
             throw JmxLogger.ROOT_LOGGER.mbeanNotFound(name);
         }
         final ResourceAccessControl accessControl = accessControlUtil.getResourceAccessWithInstanceNotFoundExceptionIfNotAccessible(name, address, false);
-        AttributeList list = new AttributeList();
-        for (String attribute : attributes) {
-            try {
-                list.add(new Attribute(attribute, getAttribute(reg, address, name, attribute, accessControl)));
-            } catch (AttributeNotFoundException e) {
-                throw new ReflectionException(e);
-            }
+        try {
+            return getAttributes(reg, address, attributes, accessControl);
+        } catch (AttributeNotFoundException e) {
+            throw new ReflectionException(e);
         }
-        return list;
     }
 
-    private Object getAttribute(final ManagementModelIntegration.ResourceAndRegistration reg, final PathAddress address, final ObjectName name, final String attribute, final ResourceAccessControl accessControl)  throws ReflectionException, AttributeNotFoundException, InstanceNotFoundException {
+    private Object getAttribute(final ManagementModelIntegration.ResourceAndRegistration reg, final PathAddress address, final String attribute, final ResourceAccessControl accessControl)  throws ReflectionException, AttributeNotFoundException, InstanceNotFoundException {
+        final AttributeList list = getAttributes(reg, address, new String[] {attribute}, accessControl);
+        return ((Attribute) list.get(0)).getValue();
+    }
+
+    /**
+     * Read all the attributes with a single operation, a composite is used rather than executing an operation per attribute
+     * when more than one attribute is read.
+     */
+    private AttributeList getAttributes(final ManagementModelIntegration.ResourceAndRegistration reg, final PathAddress address, final String[] attributes, final ResourceAccessControl accessControl) throws ReflectionException, AttributeNotFoundException, InstanceNotFoundException {
         final ImmutableManagementResourceRegistration registration = getMBeanRegistration(address, reg);
         final DescriptionProvider provider = registration.getModelDescription(PathAddress.EMPTY_ADDRESS);
         if (provider == null) {
             throw JmxLogger.ROOT_LOGGER.descriptionProviderNotFound(address);
         }
         final ModelNode description = provider.getModelDescription(null);
-        final String attributeName = findAttributeName(description.get(ATTRIBUTES), attribute);
+        final ModelNode attributeDescriptions = description.get(ATTRIBUTES);
+
+        final String[] attributeNames = new String[attributes.length];
+        final ModelNode addressNode = address.toModelNode();
+        final ModelNode[] steps = new ModelNode[attributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            final String attributeName = findAttributeName(attributeDescriptions, attributes[i]);
+            if (!accessControl.isReadableAttribute(attributeName)) {
+                throw JmxLogger.ROOT_LOGGER.notAuthorizedToReadAttribute(attributeName);
+            }
+            attributeNames[i] = attributeName;
 
-        if (!accessControl.isReadableAttribute(attributeName)) {
-            throw JmxLogger.ROOT_LOGGER.notAuthorizedToReadAttribute(attributeName);
+            final ModelNode step = new ModelNode();
+            step.get(OP).set(READ_ATTRIBUTE_OPERATION);
+            step.get(OP_ADDR).set(addressNode);
+            step.get(NAME).set(attributeName);
+            steps[i] = step;
         }
 
-
-        ModelNode op = new ModelNode();
-        op.get(OP).set(READ_ATTRIBUTE_OPERATION);
-        op.get(OP_ADDR).set(address.toModelNode());
-        op.get(NAME).set(attributeName);
+        final ModelNode op;
+        if (steps.length == 1) {
+            op = steps[0];
+        } else {
+            op = new ModelNode();
+            op.get(OP).set(COMPOSITE);
+            op.get(OP_ADDR).setEmptyList();
+            final ModelNode stepsNode = op.get(STEPS).setEmptyList();
+            for (ModelNode step : steps) {
+                stepsNode.add(step);
+            }
+        }
         ModelNode result = execute(op);
         String error = getFailureDescription(result);
         if (error != null) {
             throw new AttributeNotFoundException(error);
         }
 
-        return converters.fromModelNode(description.require(ATTRIBUTES).require(attributeName), result.get(RESULT));
+        final AttributeList list = new AttributeList();
+        for (int i = 0; i < attributes.length; i++) {
+            final ModelNode value = steps.length == 1 ? result.get(RESULT) : result.get(RESULT, "step-" + (i + 1), RESULT);
+            list.add(new Attribute(attributes[i], converters.fromModelNode(attributeDescriptions.require(attributeNames[i]), value)));
+        }
+        return list;
     }
 
 
@@ -624,7 +693,7 @@ public class ModelControllerMBeanHelper {
             }
 
             ObjectName result = null;
-            ObjectName toMatch = ObjectNameAddressUtil.createObjectName(domain, address);
+            ObjectName toMatch = index.getObjectName(address);
             if (baseName == null) {
                 result = toMatch;
             } else if (address.size() == 0) {
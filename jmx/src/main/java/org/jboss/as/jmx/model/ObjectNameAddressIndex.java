@@ -0,0 +1,207 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.jmx.model;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.management.ObjectName;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.Resource;
+
+/**
+ * An index of the ObjectNames of the resources in a domain and the addresses they resolve to.
+ * <p>
+ * Entries are added as addresses are converted and are verified against the current resource tree when they are used, so
+ * an entry for a resource which has been removed is dropped the next time it is looked up. Resolving an ObjectName without
+ * the index requires searching the permutations of its key properties against the resource tree.
+ * </p>
+ */
+class ObjectNameAddressIndex {
+
+    static final int DEFAULT_MAX_SIZE = 10000;
+
+    private final String domain;
+    private final int maxSize;
+    private final ConcurrentMap<PathAddress, ObjectName> names = new ConcurrentHashMap<PathAddress, ObjectName>();
+    private final ConcurrentMap<ObjectName, PathAddress> addresses = new ConcurrentHashMap<ObjectName, PathAddress>();
+
+    ObjectNameAddressIndex(final String domain) {
+        this(domain, DEFAULT_MAX_SIZE);
+    }
+
+    ObjectNameAddressIndex(final String domain, final int maxSize) {
+        this.domain = domain;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets the ObjectName for an address, creating and indexing it if it is not already known.
+     *
+     * @param address the address
+     *
+     * @return the ObjectName
+     */
+    ObjectName getObjectName(final PathAddress address) {
+        ObjectName name = names.get(address);
+        if (name == null) {
+            name = ObjectNameAddressUtil.createObjectName(domain, address);
+            index(address, name);
+        }
+        return name;
+    }
+
+    /**
+     * Converts the ObjectName to the address of a resource which exists under the root resource.
+     *
+     * @param rootResource the root resource
+     * @param name the ObjectName
+     *
+     * @return the PathAddress if it exists in the model, {@code null} otherwise
+     */
+    PathAddress resolvePathAddress(final Resource rootResource, final ObjectName name) {
+        final PathAddress indexed = addresses.get(name);
+        if (indexed != null) {
+            if (exists(rootResource, indexed)) {
+                return indexed;
+            }
+            remove(indexed, name);
+        }
+        final PathAddress address = ObjectNameAddressUtil.resolvePathAddress(domain, rootResource, name);
+        if (address != null) {
+            index(address, name);
+        }
+        return address;
+    }
+
+    /**
+     * Gets the filter for the children to visit when searching the resource tree for the resources whose ObjectName
+     * matches a pattern.
+     *
+     * @param pattern the pattern, may be {@code null} to match all resources
+     *
+     * @return the filter
+     */
+    PatternFilter getPatternFilter(final ObjectName pattern) {
+        if (pattern == null || !pattern.getDomain().equals(domain)) {
+            return PatternFilter.ALL;
+        }
+        final Map<String, String> fixedValues = new HashMap<String, String>();
+        final Set<String> types = new HashSet<String>();
+        for (Map.Entry<String, String> entry : pattern.getKeyPropertyList().entrySet()) {
+            final String type = ObjectNameAddressUtil.unescapeKey(entry.getKey());
+            types.add(type);
+            if (!pattern.isPropertyValuePattern(entry.getKey())) {
+                fixedValues.put(type, ObjectNameAddressUtil.unescapeValue(entry.getValue()));
+            }
+        }
+        if (pattern.isPropertyListPattern()) {
+            return fixedValues.isEmpty() ? PatternFilter.ALL : new PatternFilter(fixedValues, null);
+        }
+        return new PatternFilter(fixedValues, types);
+    }
+
+    int size() {
+        return addresses.size();
+    }
+
+    private void index(final PathAddress address, final ObjectName name) {
+        if (addresses.size() >= maxSize) {
+            // Rather than tracking usage simply start again, the index is rebuilt by the following lookups
+            names.clear();
+            addresses.clear();
+        }
+        names.put(address, name);
+        addresses.put(name, address);
+    }
+
+    private void remove(final PathAddress address, final ObjectName name) {
+        addresses.remove(name, address);
+        names.remove(address, name);
+    }
+
+    /**
+     * Selects the children of a resource which are, or are parents of, resources whose ObjectName may match a pattern.
+     * <p>
+     * An address can not contain the same key twice, so where the pattern has a fixed value for a key only the child with
+     * that value needs to be visited. Unless the pattern is a property list pattern no resource below a child whose type
+     * is not a key of the pattern can match, so those child types are not visited at all.
+     * </p>
+     */
+    static final class PatternFilter {
+
+        static final PatternFilter ALL = new PatternFilter(Collections.<String, String>emptyMap(), null);
+
+        private final Map<String, String> fixedValues;
+        private final Set<String> types;
+
+        private PatternFilter(final Map<String, String> fixedValues, final Set<String> types) {
+            this.fixedValues = fixedValues;
+            this.types = types;
+        }
+
+        /**
+         * Gets whether the children of a type should be visited.
+         *
+         * @param type the child type
+         *
+         * @return {@code true} if resources of the type may match the pattern
+         */
+        boolean isVisitedType(final String type) {
+            return types == null || types.contains(type);
+        }
+
+        /**
+         * Gets the only child of a type which may match the pattern.
+         *
+         * @param type the child type
+         *
+         * @return the element of the child, or {@code null} if all the children of the type need to be visited
+         */
+        PathElement getFixedElement(final String type) {
+            final String value = fixedValues.get(type);
+            if (value == null || value.equals(PathElement.WILDCARD_VALUE)) {
+                return null;
+            }
+            return PathElement.pathElement(type, value);
+        }
+    }
+
+    private static boolean exists(final Resource rootResource, final PathAddress address) {
+        Resource current = rootResource;
+        for (PathElement element : address) {
+            current = current.getChild(element);
+            if (current == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -123,6 +123,14 @@ class ObjectNameAddressUtil {
         return null;
     }
 
+    static String unescapeKey(final String key) {
+        return replaceEscapedCharactersInKey(key);
+    }
+
+    static String unescapeValue(final String value) {
+        return replaceEscapedCharactersInValue(value);
+    }
+
     /**
      * Straight conversion from an ObjectName to a PathAddress.
      *
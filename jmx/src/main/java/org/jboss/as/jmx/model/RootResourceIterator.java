@@ -32,11 +32,18 @@ class RootResourceIterator<T> {
     private final ResourceAccessControlUtil accessControlUtil;
     private final Resource rootResource;
     private final ResourceAction<T> action;
+    private final ObjectNameAddressIndex.PatternFilter filter;
 
     RootResourceIterator(final ResourceAccessControlUtil accessControlUtil, final Resource rootResource, final ResourceAction<T> action) {
+        this(accessControlUtil, rootResource, action, ObjectNameAddressIndex.PatternFilter.ALL);
+    }
+
+    RootResourceIterator(final ResourceAccessControlUtil accessControlUtil, final Resource rootResource, final ResourceAction<T> action,
+                         final ObjectNameAddressIndex.PatternFilter filter) {
         this.accessControlUtil = accessControlUtil;
         this.rootResource = rootResource;
         this.action = action;
+        this.filter = filter;
     }
 
     T iterate() {
@@ -54,7 +61,17 @@ class RootResourceIterator<T> {
 
         if (handleChildren) {
             for (String type : current.getChildTypes()) {
-                if (current.hasChildren(type)) {
+                if (!filter.isVisitedType(type)) {
+                    continue;
+                }
+                final PathElement fixedElement = filter.getFixedElement(type);
+                if (fixedElement != null) {
+                    // Only the child with the value in the pattern can match
+                    final Resource child = current.getChild(fixedElement);
+                    if (child != null) {
+                        doIterate(child, address.append(fixedElement));
+                    }
+                } else if (current.hasChildren(type)) {
                     for (ResourceEntry entry : current.getChildren(type)) {
                         final PathElement pathElement = entry.getPathElement();
                         final PathAddress childAddress = address.append(pathElement);
@@ -0,0 +1,110 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.jmx.model;
+
+import static org.jboss.as.controller.PathElement.pathElement;
+
+import javax.management.ObjectName;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.Resource;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests that the {@link ObjectNameAddressIndex} follows changes to the resource tree.
+ */
+public class ObjectNameAddressIndexTestCase {
+
+    private static final String DOMAIN = "jboss.as";
+    private static final PathElement TOP_ONE = pathElement("top", "one");
+    private static final PathElement BOTTOM_TWO = pathElement("bottom", "two");
+
+    @Test
+    public void testResolveIndexedAddress() throws Exception {
+        final Resource root = Resource.Factory.create();
+        final Resource top = Resource.Factory.create();
+        root.registerChild(TOP_ONE, top);
+        top.registerChild(BOTTOM_TWO, Resource.Factory.create());
+
+        final ObjectNameAddressIndex index = new ObjectNameAddressIndex(DOMAIN);
+        final PathAddress address = PathAddress.pathAddress(TOP_ONE, BOTTOM_TWO);
+        final ObjectName name = index.getObjectName(address);
+        Assert.assertSame(name, index.getObjectName(address));
+        Assert.assertEquals(address, index.resolvePathAddress(root, name));
+        // The order of the key properties does not matter
+        Assert.assertEquals(address, index.resolvePathAddress(root, new ObjectName(DOMAIN + ":bottom=two,top=one")));
+    }
+
+    @Test
+    public void testRemovedResource() throws Exception {
+        final Resource root = Resource.Factory.create();
+        root.registerChild(TOP_ONE, Resource.Factory.create());
+
+        final ObjectNameAddressIndex index = new ObjectNameAddressIndex(DOMAIN);
+        final ObjectName name = new ObjectName(DOMAIN + ":top=one");
+        Assert.assertEquals(PathAddress.pathAddress(TOP_ONE), index.resolvePathAddress(root, name));
+        Assert.assertEquals(1, index.size());
+
+        root.removeChild(TOP_ONE);
+        Assert.assertNull(index.resolvePathAddress(root, name));
+        Assert.assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testPatternFilter() throws Exception {
+        final ObjectNameAddressIndex index = new ObjectNameAddressIndex(DOMAIN);
+
+        ObjectNameAddressIndex.PatternFilter filter = index.getPatternFilter(new ObjectName(DOMAIN + ":top=one,bottom=*"));
+        Assert.assertTrue(filter.isVisitedType("top"));
+        Assert.assertTrue(filter.isVisitedType("bottom"));
+        Assert.assertFalse(filter.isVisitedType("other"));
+        Assert.assertEquals(TOP_ONE, filter.getFixedElement("top"));
+        Assert.assertNull(filter.getFixedElement("bottom"));
+
+        // Any child type may be part of a match for a property list pattern
+        filter = index.getPatternFilter(new ObjectName(DOMAIN + ":top=one,*"));
+        Assert.assertTrue(filter.isVisitedType("other"));
+        Assert.assertEquals(TOP_ONE, filter.getFixedElement("top"));
+        Assert.assertNull(filter.getFixedElement("other"));
+
+        // Escaped keys and quoted values are converted back to the path element
+        filter = index.getPatternFilter(index.getObjectName(PathAddress.pathAddress(pathElement("top", "a:b"), pathElement("bottom", "*"))));
+        Assert.assertEquals(pathElement("top", "a:b"), filter.getFixedElement("top"));
+        Assert.assertNull(filter.getFixedElement("bottom"));
+
+        filter = index.getPatternFilter(new ObjectName("other:top=one,*"));
+        Assert.assertSame(ObjectNameAddressIndex.PatternFilter.ALL, filter);
+        Assert.assertSame(ObjectNameAddressIndex.PatternFilter.ALL, index.getPatternFilter(null));
+    }
+
+    @Test
+    public void testMaxSize() throws Exception {
+        final ObjectNameAddressIndex index = new ObjectNameAddressIndex(DOMAIN, 10);
+        for (int i = 0; i < 100; i++) {
+            index.getObjectName(PathAddress.pathAddress(pathElement("top", String.valueOf(i))));
+            Assert.assertTrue(index.size() <= 10);
+        }
+    }
+}
@@ -0,0 +1,406 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.logging;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A sparse index of the line start offsets of a log file.
+ * <p>
+ * The offset of every {@code interval}th line is recorded. The index is extended incrementally as the file grows and is
+ * discarded if the file is rotated, i.e. the file shrinks or the file key of the file changes. Lines between two recorded
+ * offsets are located by scanning at most {@code interval} lines with positional {@link FileChannel} reads.
+ * </p>
+ * <p>
+ * Ranges counted from the end of the file are located by scanning backward from the end of the file instead, so reading
+ * the tail of a file never requires the index to be built.
+ * </p>
+ * <p>
+ * <i>Note: </i> Offsets are recorded on {@code '\n'} bytes which means the index can only be used for ASCII compatible
+ * encodings, see {@link #isIndexable(Charset)}.
+ * </p>
+ */
+final class LogFileIndex {
+
+    static final int DEFAULT_INTERVAL = 512;
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_CACHED_INDEXES = 64;
+
+    private static final ConcurrentMap<Path, LogFileIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private final int interval;
+    private long[] checkpoints;
+    private int checkpointCount;
+    private long indexedLength;
+    private long completeLines;
+    private long lastLineStart;
+    private Object fileKey;
+
+    LogFileIndex(final int interval) {
+        assert interval > 0 : "The interval must be greater than 0";
+        this.interval = interval;
+        reset(null);
+    }
+
+    /**
+     * Returns the shared index for the file creating a new one if required.
+     *
+     * @param path the path to the log file
+     *
+     * @return the index for the file
+     */
+    static LogFileIndex forFile(final Path path) {
+        final Path key = path.toAbsolutePath().normalize();
+        LogFileIndex result = INDEXES.get(key);
+        if (result == null) {
+            if (INDEXES.size() >= MAX_CACHED_INDEXES) {
+                purge();
+            }
+            final LogFileIndex index = new LogFileIndex(DEFAULT_INTERVAL);
+            result = INDEXES.putIfAbsent(key, index);
+            if (result == null) {
+                result = index;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether or not line offsets can be determined by searching for {@code '\n'} bytes in the given encoding.
+     *
+     * @param charset the character set used to decode the file
+     *
+     * @return {@code true} if the index can be used for the encoding, otherwise {@code false}
+     */
+    static boolean isIndexable(final Charset charset) {
+        if (!charset.canEncode()) {
+            return false;
+        }
+        try {
+            final ByteBuffer encoded = charset.newEncoder().encode(CharBuffer.wrap("\n"));
+            return encoded.remaining() == 1 && encoded.get(0) == '\n';
+        } catch (CharacterCodingException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Determines the byte range of the lines to read. For lines counted from the start of the file the index is updated
+     * to the current size of the file before the range is calculated.
+     *
+     * @param path          the path to the log file
+     * @param channel       the channel for the log file
+     * @param tail          {@code true} if the lines should be counted from the end of the file
+     * @param skip          the number of lines to skip
+     * @param numberOfLines the number of lines to read or -1 to read all lines
+     *
+     * @return the byte range in the file
+     *
+     * @throws IOException if an error occurs reading the file
+     */
+    Range range(final Path path, final FileChannel channel, final boolean tail, final int skip, final int numberOfLines) throws IOException {
+        if (tail) {
+            return tailRange(channel, skip, numberOfLines);
+        }
+        synchronized (this) {
+            update(path, channel);
+            final long totalLines = getLineCount();
+            final long firstLine = Math.min(totalLines, skip);
+            final long lastLine = (numberOfLines < 0 ? totalLines : Math.min(totalLines, firstLine + numberOfLines));
+            return new Range(lineOffset(channel, firstLine), lineOffset(channel, lastLine));
+        }
+    }
+
+    /**
+     * Determines the byte range of lines counted from the end of the file by scanning backward from the end of the file.
+     * Only the bytes of the skipped and requested lines are read.
+     *
+     * @param channel       the channel for the log file
+     * @param skip          the number of lines to skip from the end of the file
+     * @param numberOfLines the number of lines to read or -1 to read all lines
+     *
+     * @return the byte range in the file
+     *
+     * @throws IOException if an error occurs reading the file
+     */
+    private static Range tailRange(final FileChannel channel, final int skip, final int numberOfLines) throws IOException {
+        final long size = channel.size();
+        // The number of line starts to find, counting back from the end of the file
+        final long endLine = skip;
+        final long startLine = (numberOfLines < 0 ? -1L : endLine + numberOfLines);
+        final long target = (startLine < 0L ? endLine : startLine);
+        long end = (endLine == 0L ? size : 0L);
+        long start = (startLine == 0L ? size : 0L);
+        if (target > 0L) {
+            final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            long found = 0L;
+            // A terminator in the last byte of the file does not start another line
+            long position = size - 1L;
+            scan:
+            while (position > 0L) {
+                final int length = (int) Math.min(buffer.capacity(), position);
+                final long blockStart = position - length;
+                buffer.clear();
+                buffer.limit(length);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, blockStart + buffer.position()) <= 0) {
+                        break scan;
+                    }
+                }
+                for (int i = length - 1; i >= 0; i--) {
+                    if (buffer.get(i) == '\n') {
+                        final long lineStart = blockStart + i + 1;
+                        if (++found == endLine) {
+                            end = lineStart;
+                        }
+                        if (found == startLine) {
+                            start = lineStart;
+                        }
+                        if (found == target) {
+                            break scan;
+                        }
+                    }
+                }
+                position = blockStart;
+            }
+        }
+        return new Range(start, end);
+    }
+
+    /**
+     * Returns the number of lines currently indexed. A trailing line without a line terminator is counted as a line.
+     *
+     * @return the number of lines
+     */
+    synchronized long getLineCount() {
+        return completeLines + (indexedLength > lastLineStart ? 1L : 0L);
+    }
+
+    private void update(final Path path, final FileChannel channel) throws IOException {
+        final Object currentKey = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+        final long size = channel.size();
+        // The file has been rotated, the index needs to be rebuilt
+        if (size < indexedLength || !Objects.equals(fileKey, currentKey)) {
+            reset(currentKey);
+        }
+        if (size > indexedLength) {
+            final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            long position = indexedLength;
+            while (position < size) {
+                buffer.clear();
+                if (size - position < buffer.capacity()) {
+                    buffer.limit((int) (size - position));
+                }
+                final int read = channel.read(buffer, position);
+                if (read <= 0) {
+                    break;
+                }
+                for (int i = 0; i < read; i++) {
+                    if (buffer.get(i) == '\n') {
+                        lastLineStart = position + i + 1;
+                        if (++completeLines % interval == 0) {
+                            addCheckpoint(lastLineStart);
+                        }
+                    }
+                }
+                position += read;
+            }
+            indexedLength = position;
+        }
+    }
+
+    private long lineOffset(final FileChannel channel, final long line) throws IOException {
+        if (line >= getLineCount()) {
+            return indexedLength;
+        }
+        final int checkpoint = (int) (line / interval);
+        long remaining = line - ((long) checkpoint * interval);
+        long position = checkpoints[checkpoint];
+        if (remaining == 0L) {
+            return position;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        while (position < indexedLength) {
+            buffer.clear();
+            if (indexedLength - position < buffer.capacity()) {
+                buffer.limit((int) (indexedLength - position));
+            }
+            final int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n' && --remaining == 0L) {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return indexedLength;
+    }
+
+    private void addCheckpoint(final long offset) {
+        if (checkpointCount == checkpoints.length) {
+            checkpoints = Arrays.copyOf(checkpoints, checkpointCount << 1);
+        }
+        checkpoints[checkpointCount++] = offset;
+    }
+
+    private void reset(final Object fileKey) {
+        this.fileKey = fileKey;
+        checkpoints = new long[16];
+        // The first line always starts at 0
+        checkpoints[0] = 0L;
+        checkpointCount = 1;
+        indexedLength = 0L;
+        completeLines = 0L;
+        lastLineStart = 0L;
+    }
+
+    private static void purge() {
+        final Iterator<Path> iter = INDEXES.keySet().iterator();
+        while (iter.hasNext()) {
+            if (Files.notExists(iter.next())) {
+                iter.remove();
+            }
+        }
+        // All the files still exist, start over rather than growing without bounds
+        if (INDEXES.size() >= MAX_CACHED_INDEXES) {
+            INDEXES.clear();
+        }
+    }
+
+    /**
+     * A range of bytes in a log file.
+     */
+    static final class Range {
+        private final long start;
+        private final long end;
+
+        Range(final long start, final long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * The offset of the first byte, inclusive.
+         *
+         * @return the start offset
+         */
+        long getStart() {
+            return start;
+        }
+
+        /**
+         * The offset of the last byte, exclusive.
+         *
+         * @return the end offset
+         */
+        long getEnd() {
+            return end;
+        }
+    }
+
+    /**
+     * An input stream which reads a range of a file with positional reads. Closing the stream closes the channel.
+     */
+    static final class ChannelInputStream extends InputStream {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private final long end;
+        private long position;
+
+        ChannelInputStream(final FileChannel channel, final Range range) {
+            this.channel = channel;
+            this.end = range.getEnd();
+            this.position = range.getStart();
+            buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            buffer.limit(0);
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+            return buffer.get() & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            final int read = Math.min(len, buffer.remaining());
+            buffer.get(b, off, read);
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        private boolean fill() throws IOException {
+            if (buffer.hasRemaining()) {
+                return true;
+            }
+            if (position >= end) {
+                return false;
+            }
+            buffer.clear();
+            if (end - position < buffer.capacity()) {
+                buffer.limit((int) (end - position));
+            }
+            final int read = channel.read(buffer, position);
+            buffer.flip();
+            if (read <= 0) {
+                return false;
+            }
+            position += read;
+            return true;
+        }
+    }
+}
@@ -30,9 +30,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.RandomAccessFile;
+import java.io.UnsupportedEncodingException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -118,6 +122,14 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
             .setRuntimeOnly()
             .build();
 
+    static final SimpleOperationDefinition STREAM_LOG_FILE = new SimpleOperationDefinitionBuilder("stream-log-file", LoggingExtension.getResourceDescriptionResolver())
+            .addAccessConstraint(VIEW_SERVER_LOGS)
+            .setParameters(LINES, SKIP, TAIL)
+            .setReplyType(ModelType.STRING)
+            .setReadOnly()
+            .setRuntimeOnly()
+            .build();
+
     static final PathElement LOG_FILE_PATH = PathElement.pathElement("log-file");
 
     private final PathManager pathManager;
@@ -133,6 +145,7 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
     public void registerOperations(final ManagementResourceRegistration resourceRegistration) {
         super.registerOperations(resourceRegistration);
         resourceRegistration.registerOperationHandler(READ_LOG_FILE, new ReadLogFileOperation(pathManager));
+        resourceRegistration.registerOperationHandler(STREAM_LOG_FILE, new StreamLogFileOperation(pathManager));
 
     }
 
@@ -200,8 +213,9 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
     /**
      * Reads a log file and returns the results.
      * <p/>
-     * <i>Note: </i> If this operation ends up being repeatedly invoked, from the web console for instance, there could
-     * be a performance impact as the model is read and processed for file names during each invocation
+     * <i>Note: </i> For ASCII compatible encodings the lines are located with a {@linkplain LogFileIndex sparse line index}
+     * of the file, or by scanning backward from the end of the file for tail reads, so only the requested lines are read.
+     * Other encodings fall back to reading the file sequentially.
      */
     static class ReadLogFileOperation implements OperationStepHandler {
 
@@ -249,6 +263,35 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
         }
 
         private List<String> readLines(final File file, final String encoding, final boolean tail, final int skip, final int numberOfLines) throws IOException {
+            final Charset charset = resolveCharset(encoding);
+            if (!LogFileIndex.isIndexable(charset)) {
+                return readLinesSequentially(file, charset, tail, skip, numberOfLines);
+            }
+            final List<String> lines;
+            if (numberOfLines < 0) {
+                lines = new ArrayList<>();
+            } else {
+                lines = new ArrayList<>(numberOfLines);
+            }
+            final Path path = file.toPath();
+            // Only the lines requested are decoded, the index is used to locate the starting offset
+            try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                final LogFileIndex.Range range = LogFileIndex.forFile(path).range(path, channel, tail, skip, numberOfLines);
+                try (
+                        final InputStream in = new LogFileIndex.ChannelInputStream(channel, range);
+                        final BufferedReader reader = new BufferedReader(new InputStreamReader(in, charset))
+                ) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (lines.size() == numberOfLines) break;
+                        lines.add(line);
+                    }
+                }
+            }
+            return lines;
+        }
+
+        private List<String> readLinesSequentially(final File file, final Charset charset, final boolean tail, final int skip, final int numberOfLines) throws IOException {
             final List<String> lines;
             if (numberOfLines < 0) {
                 lines = new ArrayList<>();
@@ -257,7 +300,7 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
             }
             try (
                     final InputStream in = (tail ? new LifoFileInputStream(file) : Files.newInputStream(file.toPath()));
-                    final InputStreamReader isr = (encoding == null ? new InputStreamReader(in) : new InputStreamReader(in, encoding));
+                    final InputStreamReader isr = new InputStreamReader(in, charset);
                     final BufferedReader reader = new BufferedReader(isr)
             ) {
                 int lineCount = 0;
@@ -275,6 +318,73 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
         }
     }
 
+    /**
+     * Attaches a range of lines of a log file to the response as a stream. The lines are located with the
+     * {@linkplain LogFileIndex index} of the file and the bytes are streamed without being decoded.
+     */
+    static class StreamLogFileOperation implements OperationStepHandler {
+
+        private final PathManager pathManager;
+
+        private StreamLogFileOperation(final PathManager pathManager) {
+            this.pathManager = pathManager;
+        }
+
+        @Override
+        public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+            // Validate the operation
+            for (AttributeDefinition attribute : STREAM_LOG_FILE.getParameters()) {
+                attribute.validateOperation(operation);
+            }
+            final int numberOfLines = LINES.resolveModelAttribute(context, operation).asInt();
+            final int skip = SKIP.resolveModelAttribute(context, operation).asInt();
+            final boolean tail = TAIL.resolveModelAttribute(context, operation).asBoolean();
+            final String fileName = LoggingOperations.getAddressName(operation);
+            final Path path = Paths.get(pathManager.resolveRelativePathEntry(fileName, ServerEnvironment.SERVER_LOG_DIR));
+
+            // The file must exist
+            if (Files.notExists(path)) {
+                throw LoggingLogger.ROOT_LOGGER.logFileNotFound(fileName, ServerEnvironment.SERVER_LOG_DIR);
+            }
+
+            FileChannel channel = null;
+            try {
+                channel = FileChannel.open(path, StandardOpenOption.READ);
+                final LogFileIndex.Range range;
+                if (numberOfLines == 0) {
+                    range = new LogFileIndex.Range(0L, 0L);
+                } else {
+                    range = LogFileIndex.forFile(path).range(path, channel, tail, skip, numberOfLines);
+                }
+                // The channel is closed when the attached stream is closed
+                final String uuid = context.attachResultStream("text/plain", new LogFileIndex.ChannelInputStream(channel, range));
+                channel = null;
+                context.getResult().set(uuid);
+            } catch (IOException e) {
+                throw LoggingLogger.ROOT_LOGGER.failedToReadLogFile(e, fileName);
+            } finally {
+                if (channel != null) {
+                    try {
+                        channel.close();
+                    } catch (IOException ignore) {
+                    }
+                }
+            }
+            context.completeStep(ResultHandler.NOOP_RESULT_HANDLER);
+        }
+    }
+
+    private static Charset resolveCharset(final String encoding) throws UnsupportedEncodingException {
+        if (encoding == null) {
+            return Charset.defaultCharset();
+        }
+        try {
+            return Charset.forName(encoding);
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedEncodingException(encoding);
+        }
+    }
+
     static final class LifoFileInputStream extends InputStream {
         private final RandomAccessFile raf;
         private final long len;
@@ -0,0 +1,164 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.logging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link LogFileIndex} against the expected lines of a file.
+ */
+public class LogFileIndexTestCase {
+
+    private Path logFile;
+
+    @Before
+    public void createFile() throws IOException {
+        logFile = Files.createTempFile("log-file-index", ".log");
+    }
+
+    @After
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(logFile);
+    }
+
+    @Test
+    public void testHeadAndTail() throws Exception {
+        final List<String> expected = writeLines(0, 100);
+        // Use a small interval so lines are located between recorded offsets
+        final LogFileIndex index = new LogFileIndex(7);
+
+        assertEquals(expected.subList(0, 10), read(index, false, 0, 10));
+        assertEquals(expected.subList(23, 48), read(index, false, 23, 25));
+        assertEquals(expected.subList(95, 100), read(index, false, 95, 10));
+        assertEquals(expected.subList(50, 100), read(index, false, 50, -1));
+        assertTrue(read(index, false, 100, 10).isEmpty());
+
+        assertEquals(expected.subList(90, 100), read(index, true, 0, 10));
+        assertEquals(expected.subList(62, 77), read(index, true, 23, 15));
+        assertEquals(expected.subList(0, 5), read(index, true, 95, 10));
+        assertEquals(expected.subList(0, 80), read(index, true, 20, -1));
+        assertTrue(read(index, true, 100, 10).isEmpty());
+        assertEquals(100L, index.getLineCount());
+    }
+
+    @Test
+    public void testFileGrowth() throws Exception {
+        final List<String> expected = writeLines(0, 20);
+        final LogFileIndex index = new LogFileIndex(3);
+        assertEquals(expected.subList(15, 20), read(index, true, 0, 5));
+
+        expected.addAll(writeLines(20, 15));
+        assertEquals(35L, readLineCount(index));
+        assertEquals(expected.subList(30, 35), read(index, true, 0, 5));
+        assertEquals(expected.subList(18, 24), read(index, false, 18, 6));
+    }
+
+    @Test
+    public void testRotation() throws Exception {
+        writeLines(0, 50);
+        final LogFileIndex index = new LogFileIndex(4);
+        assertEquals(50L, readLineCount(index));
+
+        // Simulate a rotation where the file is replaced by a smaller one
+        Files.delete(logFile);
+        final List<String> expected = writeLines(1000, 6);
+        assertEquals(expected, read(index, false, 0, -1));
+        assertEquals(6L, index.getLineCount());
+    }
+
+    @Test
+    public void testTailWithoutIndex() throws Exception {
+        // Enough lines for the backward scan to cross several buffers
+        final List<String> expected = writeLines(0, 2000);
+        final LogFileIndex index = new LogFileIndex(7);
+
+        assertEquals(expected.subList(1990, 2000), read(index, true, 0, 10));
+        assertEquals(expected.subList(1000, 1500), read(index, true, 500, 500));
+        assertEquals(expected.subList(0, 1200), read(index, true, 800, -1));
+        assertEquals(expected, read(index, true, 0, 5000));
+        assertTrue(read(index, true, 2000, 10).isEmpty());
+        assertTrue(read(index, true, 0, 0).isEmpty());
+        // Tail reads do not build the index
+        assertEquals(0L, index.getLineCount());
+
+        // A last line without a terminator is still a line
+        Files.write(logFile, "partial".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        expected.add("partial");
+        assertEquals(expected.subList(1997, 2001), read(index, true, 0, 4));
+        assertEquals(expected.subList(1996, 2000), read(index, true, 1, 4));
+    }
+
+    @Test
+    public void testIndexable() {
+        assertTrue(LogFileIndex.isIndexable(StandardCharsets.UTF_8));
+        assertTrue(LogFileIndex.isIndexable(StandardCharsets.ISO_8859_1));
+        assertFalse(LogFileIndex.isIndexable(StandardCharsets.UTF_16));
+    }
+
+    private List<String> writeLines(final int start, final int count) throws IOException {
+        final List<String> lines = new ArrayList<>(count);
+        for (int i = start; i < start + count; i++) {
+            lines.add("Test message " + i);
+        }
+        Files.write(logFile, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        return lines;
+    }
+
+    private long readLineCount(final LogFileIndex index) throws IOException {
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            index.range(logFile, channel, false, 0, 0);
+        }
+        return index.getLineCount();
+    }
+
+    private List<String> read(final LogFileIndex index, final boolean tail, final int skip, final int lines) throws IOException {
+        final List<String> result = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            final LogFileIndex.Range range = index.range(logFile, channel, tail, skip, lines);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(new LogFileIndex.ChannelInputStream(channel, range), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    result.add(line);
+                }
+            }
+        }
+        return result;
+    }
+}
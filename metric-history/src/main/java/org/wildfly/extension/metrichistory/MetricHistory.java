@@ -0,0 +1,172 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.wildfly.extension.metrichistory;
+
+/**
+ * Fixed-size history of the samples of a single metric. Samples are stored in primitive ring buffers, so recording
+ * one does not allocate; once the buffers are full the oldest sample is overwritten.
+ */
+final class MetricHistory {
+
+    /** The memory used by a single sample: its time and its value */
+    static final int SAMPLE_SIZE = Long.BYTES + Double.BYTES;
+
+    /**
+     * The largest memory budget accepted. Resizing a history holds its old and new buffers at once, so while the
+     * number of metrics changes up to one more share of the budget is used on top of it.
+     */
+    static final long MAX_MEMORY_BUDGET = 1L << 30;
+
+    private long[] times;
+    private double[] values;
+    // the index the next sample is written to
+    private int next;
+    private int count;
+
+    MetricHistory(final int capacity) {
+        times = new long[capacity];
+        values = new double[capacity];
+    }
+
+    /**
+     * Gets the number of samples that fit in a memory budget shared by a number of metrics.
+     *
+     * @param memoryBudget the memory budget in bytes
+     * @param metrics the number of metrics sharing the budget
+     * @return the number of samples to keep for each metric, at least one
+     */
+    static int getCapacity(final long memoryBudget, final int metrics) {
+        final long capacity = memoryBudget / ((long) Math.max(metrics, 1) * SAMPLE_SIZE);
+        return (int) Math.max(1, Math.min(capacity, Integer.MAX_VALUE - 8));
+    }
+
+    synchronized void record(final long time, final double value) {
+        times[next] = time;
+        values[next] = value;
+        next = (next + 1) % times.length;
+        if (count < times.length) {
+            count++;
+        }
+    }
+
+    /**
+     * Changes the number of samples kept, keeping the most recent ones. The old buffers are only released once the
+     * samples have been copied to the new ones.
+     */
+    synchronized void resize(final int capacity) {
+        if (capacity == times.length) {
+            return;
+        }
+        final int kept = Math.min(count, capacity);
+        final long[] newTimes = new long[capacity];
+        final double[] newValues = new double[capacity];
+        for (int i = 0; i < kept; i++) {
+            final int index = (next - kept + i + times.length) % times.length;
+            newTimes[i] = times[index];
+            newValues[i] = values[index];
+        }
+        times = newTimes;
+        values = newValues;
+        count = kept;
+        next = kept % capacity;
+    }
+
+    synchronized int getCapacity() {
+        return times.length;
+    }
+
+    /**
+     * Copies the recorded samples, from the oldest to the most recent, and computes their rollups.
+     */
+    synchronized Snapshot snapshot() {
+        final long[] snapshotTimes = new long[count];
+        final double[] snapshotValues = new double[count];
+        double min = Double.NaN;
+        double max = Double.NaN;
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            final int index = (next - count + i + times.length) % times.length;
+            final double value = values[index];
+            snapshotTimes[i] = times[index];
+            snapshotValues[i] = value;
+            if (i == 0 || value < min) {
+                min = value;
+            }
+            if (i == 0 || value > max) {
+                max = value;
+            }
+            sum += value;
+        }
+        return new Snapshot(snapshotTimes, snapshotValues, min, max, count == 0 ? Double.NaN : sum / count);
+    }
+
+    static final class Snapshot {
+        private final long[] times;
+        private final double[] values;
+        private final double min;
+        private final double max;
+        private final double average;
+
+        private Snapshot(final long[] times, final double[] values, final double min, final double max, final double average) {
+            this.times = times;
+            this.values = values;
+            this.min = min;
+            this.max = max;
+            this.average = average;
+        }
+
+        int getCount() {
+            return times.length;
+        }
+
+        long getTime(final int index) {
+            return times[index];
+        }
+
+        double getValue(final int index) {
+            return values[index];
+        }
+
+        /**
+         * @return the lowest value, or {@code NaN} if there are no samples
+         */
+        double getMin() {
+            return min;
+        }
+
+        /**
+         * @return the highest value, or {@code NaN} if there are no samples
+         */
+        double getMax() {
+            return max;
+        }
+
+        /**
+         * @return the average value, or {@code NaN} if there are no samples
+         */
+        double getAverage() {
+            return average;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.wildfly.extension.metrichistory;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PersistentResourceDefinition;
+import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
+import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Definition of the metric history subsystem resource.
+ */
+class MetricHistoryRootDefinition extends PersistentResourceDefinition {
+
+    static final String METRIC_HISTORY_CAPABILITY_NAME = "org.wildfly.metric-history";
+
+    static final RuntimeCapability<Void> METRIC_HISTORY_CAPABILITY =
+            RuntimeCapability.Builder.of(METRIC_HISTORY_CAPABILITY_NAME, false, MetricHistoryService.class)
+                    .build();
+
+    static final SimpleAttributeDefinition SAMPLE_INTERVAL = SimpleAttributeDefinitionBuilder.create("sample-interval", ModelType.LONG, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(10000L))
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setValidator(new LongRangeValidator(1, Long.MAX_VALUE, true, true))
+            .build();
+
+    static final SimpleAttributeDefinition MEMORY_BUDGET = SimpleAttributeDefinitionBuilder.create("memory-budget", ModelType.LONG, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(1048576L))
+            .setMeasurementUnit(MeasurementUnit.BYTES)
+            .setValidator(new LongRangeValidator(MetricHistory.SAMPLE_SIZE, MetricHistory.MAX_MEMORY_BUDGET, true, true))
+            .build();
+
+    static final Collection<AttributeDefinition> ATTRIBUTES = Arrays.<AttributeDefinition>asList(SAMPLE_INTERVAL, MEMORY_BUDGET);
+
+    static final MetricHistoryRootDefinition INSTANCE = new MetricHistoryRootDefinition(true);
+
+    private final boolean registerRuntimeOnly;
+
+    MetricHistoryRootDefinition(boolean registerRuntimeOnly) {
+        super(MetricHistoryExtension.SUBSYSTEM_PATH,
+                MetricHistoryExtension.getResolver(),
+                new SubsystemAdd(),
+                ReloadRequiredRemoveStepHandler.INSTANCE);
+        this.registerRuntimeOnly = registerRuntimeOnly;
+    }
+
+    @Override
+    public Collection<AttributeDefinition> getAttributes() {
+        return ATTRIBUTES;
+    }
+
+    @Override
+    protected List<? extends PersistentResourceDefinition> getChildren() {
+        return Collections.singletonList(new MetricResourceDefinition(registerRuntimeOnly));
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        final ReloadRequiredWriteAttributeHandler handler = new ReloadRequiredWriteAttributeHandler(ATTRIBUTES);
+        for (AttributeDefinition attribute : ATTRIBUTES) {
+            resourceRegistration.registerReadWriteAttribute(attribute, null, handler);
+        }
+    }
+
+    @Override
+    public void registerCapabilities(ManagementResourceRegistration resourceRegistration) {
+        resourceRegistration.registerCapability(METRIC_HISTORY_CAPABILITY);
+    }
+
+    private static class SubsystemAdd extends AbstractAddStepHandler {
+
+        private SubsystemAdd() {
+            super(METRIC_HISTORY_CAPABILITY, ATTRIBUTES);
+        }
+
+        @Override
+        protected void performRuntime(OperationContext context, ModelNode operation, ModelNode model) throws OperationFailedException {
+            final long sampleInterval = SAMPLE_INTERVAL.resolveModelAttribute(context, model).asLong();
+            final long memoryBudget = MEMORY_BUDGET.resolveModelAttribute(context, model).asLong();
+            MetricHistoryService.addService(context.getServiceTarget(), sampleInterval, memoryBudget);
+        }
+    }
+}
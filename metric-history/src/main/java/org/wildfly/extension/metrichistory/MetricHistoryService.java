@@ -0,0 +1,218 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.wildfly.extension.metrichistory;
+
+import static java.security.AccessController.doPrivileged;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.wildfly.extension.metrichistory.logging.MetricHistoryLogger.ROOT_LOGGER;
+
+import java.io.IOException;
+import java.security.PrivilegedAction;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.server.Services;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceTarget;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.jboss.msc.value.InjectedValue;
+import org.jboss.threads.JBossThreadFactory;
+
+/**
+ * Service that periodically reads the configured metric attributes and records their values in the
+ * {@link MetricHistory} of each metric. The memory budget is shared equally by all metrics.
+ */
+class MetricHistoryService implements Service<MetricHistoryService> {
+
+    static final ServiceName SERVICE_NAME = MetricHistoryRootDefinition.METRIC_HISTORY_CAPABILITY.getCapabilityServiceName();
+
+    private final InjectedValue<ModelController> controllerValue = new InjectedValue<ModelController>();
+    private final long sampleInterval;
+    private final long memoryBudget;
+    private final Map<String, Metric> metrics = new LinkedHashMap<>();
+    private volatile Metric[] sampledMetrics = new Metric[0];
+    private ScheduledExecutorService executor;
+
+    private MetricHistoryService(final long sampleInterval, final long memoryBudget) {
+        this.sampleInterval = sampleInterval;
+        this.memoryBudget = memoryBudget;
+    }
+
+    static void addService(final ServiceTarget serviceTarget, final long sampleInterval, final long memoryBudget) {
+        final MetricHistoryService service = new MetricHistoryService(sampleInterval, memoryBudget);
+        serviceTarget.addService(SERVICE_NAME, service)
+                .addDependency(Services.JBOSS_SERVER_CONTROLLER, ModelController.class, service.controllerValue)
+                .install();
+    }
+
+    @Override
+    public synchronized void start(StartContext context) throws StartException {
+        final ThreadFactory threadFactory = doPrivileged(new PrivilegedAction<ThreadFactory>() {
+            public ThreadFactory run() {
+                return new JBossThreadFactory(new ThreadGroup("MetricHistory-threads"), Boolean.TRUE, null, "%G - %t", null, null);
+            }
+        });
+        executor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        final ModelControllerClient client = controllerValue.getValue().createClient(executor);
+        executor.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                sample(client);
+            }
+        }, sampleInterval, sampleInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop(StopContext context) {
+        executor.shutdownNow();
+        executor = null;
+    }
+
+    @Override
+    public MetricHistoryService getValue() throws IllegalStateException, IllegalArgumentException {
+        return this;
+    }
+
+    long getSampleInterval() {
+        return sampleInterval;
+    }
+
+    /**
+     * Starts recording the history of a metric attribute.
+     *
+     * @param name the name of the metric
+     * @param address the address of the resource the attribute belongs to
+     * @param attribute the name of the attribute
+     */
+    synchronized void addMetric(final String name, final PathAddress address, final String attribute) {
+        metrics.put(name, new Metric(name, address, attribute));
+        update();
+    }
+
+    synchronized void removeMetric(final String name) {
+        if (metrics.remove(name) != null) {
+            update();
+        }
+    }
+
+    /**
+     * Gets the recorded history of a metric.
+     *
+     * @param name the name of the metric
+     * @return the samples, or {@code null} if there is no such metric
+     */
+    synchronized MetricHistory.Snapshot getSnapshot(final String name) {
+        final Metric metric = metrics.get(name);
+        return metric == null ? null : metric.history.snapshot();
+    }
+
+    private void update() {
+        final int capacity = MetricHistory.getCapacity(memoryBudget, metrics.size());
+        for (Metric metric : metrics.values()) {
+            metric.history.resize(capacity);
+        }
+        sampledMetrics = metrics.values().toArray(new Metric[metrics.size()]);
+    }
+
+    private void sample(final ModelControllerClient client) {
+        for (Metric metric : sampledMetrics) {
+            try {
+                final ModelNode response = client.execute(metric.operation);
+                if (SUCCESS.equals(response.get(OUTCOME).asString())) {
+                    final double value = toDouble(response.get(RESULT));
+                    if (!Double.isNaN(value)) {
+                        metric.history.record(System.currentTimeMillis(), value);
+                    }
+                    metric.succeeded();
+                } else {
+                    metric.failed(response.get(FAILURE_DESCRIPTION).asString());
+                }
+            } catch (IOException | RuntimeException e) {
+                metric.failed(e.toString());
+            }
+        }
+    }
+
+    static double toDouble(final ModelNode value) {
+        switch (value.getType()) {
+            case INT:
+            case LONG:
+            case DOUBLE:
+            case BIG_INTEGER:
+            case BIG_DECIMAL:
+                return value.asDouble();
+            case BOOLEAN:
+                return value.asBoolean() ? 1 : 0;
+            default:
+                return Double.NaN;
+        }
+    }
+
+    private static final class Metric {
+        private final String name;
+        private final PathAddress address;
+        private final String attribute;
+        private final ModelNode operation;
+        private final MetricHistory history = new MetricHistory(1);
+        // only accessed by the sampling thread
+        private boolean failing;
+
+        private Metric(final String name, final PathAddress address, final String attribute) {
+            this.name = name;
+            this.address = address;
+            this.attribute = attribute;
+            this.operation = Util.getReadAttributeOperation(address, attribute);
+        }
+
+        private void succeeded() {
+            if (failing) {
+                failing = false;
+                ROOT_LOGGER.resumedSamplingMetric(attribute, address.toCLIStyleString(), name);
+            }
+        }
+
+        private void failed(final String failure) {
+            // Only log the first of a run of failures, the resource may be gone for a while
+            if (!failing) {
+                failing = true;
+                ROOT_LOGGER.failedToSampleMetric(attribute, address.toCLIStyleString(), name, failure);
+            }
+        }
+    }
+}
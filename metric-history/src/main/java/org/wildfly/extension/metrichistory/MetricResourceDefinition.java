@@ -0,0 +1,210 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.wildfly.extension.metrichistory;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.AbstractRemoveStepHandler;
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationDefinition;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.PersistentResourceDefinition;
+import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.operations.validation.StringLengthValidator;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Definition of a {@code metric} resource, which selects a metric attribute whose history is recorded.
+ */
+class MetricResourceDefinition extends PersistentResourceDefinition {
+
+    static final String METRIC = "metric";
+    static final PathElement PATH = PathElement.pathElement(METRIC);
+
+    static final SimpleAttributeDefinition RESOURCE = SimpleAttributeDefinitionBuilder.create("resource", ModelType.STRING, false)
+            .setAllowExpression(true)
+            .setValidator(new AddressValidator())
+            .build();
+
+    static final SimpleAttributeDefinition ATTRIBUTE = SimpleAttributeDefinitionBuilder.create(ModelDescriptionConstants.ATTRIBUTE, ModelType.STRING, false)
+            .setAllowExpression(true)
+            .setValidator(new StringLengthValidator(1, false, true))
+            .build();
+
+    static final Collection<AttributeDefinition> ATTRIBUTES = Arrays.<AttributeDefinition>asList(RESOURCE, ATTRIBUTE);
+
+    static final OperationDefinition READ_METRIC_HISTORY = new SimpleOperationDefinitionBuilder("read-metric-history", MetricHistoryExtension.getResolver(METRIC))
+            .setReadOnly()
+            .setRuntimeOnly()
+            .setReplyType(ModelType.OBJECT)
+            .build();
+
+    static final MetricResourceDefinition INSTANCE = new MetricResourceDefinition(true);
+
+    private final boolean registerRuntimeOnly;
+
+    MetricResourceDefinition(boolean registerRuntimeOnly) {
+        super(PATH, MetricHistoryExtension.getResolver(METRIC), new MetricAdd(), new MetricRemove());
+        this.registerRuntimeOnly = registerRuntimeOnly;
+    }
+
+    @Override
+    public Collection<AttributeDefinition> getAttributes() {
+        return ATTRIBUTES;
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        final ReloadRequiredWriteAttributeHandler handler = new ReloadRequiredWriteAttributeHandler(ATTRIBUTES);
+        for (AttributeDefinition attribute : ATTRIBUTES) {
+            resourceRegistration.registerReadWriteAttribute(attribute, null, handler);
+        }
+    }
+
+    @Override
+    public void registerOperations(ManagementResourceRegistration resourceRegistration) {
+        super.registerOperations(resourceRegistration);
+        if (registerRuntimeOnly) {
+            resourceRegistration.registerOperationHandler(READ_METRIC_HISTORY, new ReadMetricHistoryHandler());
+        }
+    }
+
+    private static MetricHistoryService getService(final OperationContext context, final boolean modify) {
+        final ServiceController<?> controller = context.getServiceRegistry(modify).getService(MetricHistoryService.SERVICE_NAME);
+        return controller == null ? null : (MetricHistoryService) controller.getService();
+    }
+
+    private static void addMetric(final OperationContext context, final ModelNode model, final MetricHistoryService service) throws OperationFailedException {
+        final PathAddress address = PathAddress.parseCLIStyleAddress(RESOURCE.resolveModelAttribute(context, model).asString());
+        final String attribute = ATTRIBUTE.resolveModelAttribute(context, model).asString();
+        service.addMetric(context.getCurrentAddressValue(), address, attribute);
+    }
+
+    private static class MetricAdd extends AbstractAddStepHandler {
+
+        private MetricAdd() {
+            super(ATTRIBUTES);
+        }
+
+        @Override
+        protected void performRuntime(OperationContext context, ModelNode operation, ModelNode model) throws OperationFailedException {
+            final MetricHistoryService service = getService(context, true);
+            if (service != null) {
+                addMetric(context, model, service);
+            }
+        }
+
+        @Override
+        protected void rollbackRuntime(OperationContext context, ModelNode operation, Resource resource) {
+            final MetricHistoryService service = getService(context, true);
+            if (service != null) {
+                service.removeMetric(context.getCurrentAddressValue());
+            }
+        }
+    }
+
+    private static class MetricRemove extends AbstractRemoveStepHandler {
+
+        @Override
+        protected void performRuntime(OperationContext context, ModelNode operation, ModelNode model) throws OperationFailedException {
+            final MetricHistoryService service = getService(context, true);
+            if (service != null) {
+                service.removeMetric(context.getCurrentAddressValue());
+            }
+        }
+
+        @Override
+        protected void recoverServices(OperationContext context, ModelNode operation, ModelNode model) throws OperationFailedException {
+            final MetricHistoryService service = getService(context, true);
+            if (service != null) {
+                addMetric(context, model, service);
+            }
+        }
+    }
+
+    /**
+     * Returns the samples of the metric, from the oldest to the most recent, along with their min, max and average.
+     */
+    private static class ReadMetricHistoryHandler extends AbstractRuntimeOnlyHandler {
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final MetricHistoryService service = getService(context, false);
+            final MetricHistory.Snapshot snapshot = service == null ? null : service.getSnapshot(context.getCurrentAddressValue());
+            final ModelNode result = context.getResult();
+            if (snapshot == null) {
+                return;
+            }
+            result.get("sample-interval").set(service.getSampleInterval());
+            result.get("count").set(snapshot.getCount());
+            if (snapshot.getCount() > 0) {
+                result.get("min").set(snapshot.getMin());
+                result.get("max").set(snapshot.getMax());
+                result.get("average").set(snapshot.getAverage());
+            }
+            final ModelNode samples = result.get("samples").setEmptyList();
+            for (int i = 0; i < snapshot.getCount(); i++) {
+                final ModelNode sample = samples.add();
+                sample.get("time").set(snapshot.getTime(i));
+                sample.get("value").set(snapshot.getValue(i));
+            }
+        }
+    }
+
+    /**
+     * Checks that a value is a valid resource address in the CLI style, e.g. {@code /subsystem=io/worker=default}.
+     */
+    private static class AddressValidator extends StringLengthValidator {
+
+        private AddressValidator() {
+            super(1, false, true);
+        }
+
+        @Override
+        public void validateParameter(String parameterName, ModelNode value) throws OperationFailedException {
+            super.validateParameter(parameterName, value);
+            if (value.getType() != ModelType.EXPRESSION) {
+                try {
+                    PathAddress.parseCLIStyleAddress(value.asString());
+                } catch (IllegalArgumentException e) {
+                    throw new OperationFailedException(e.getLocalizedMessage());
+                }
+            }
+        }
+    }
+}
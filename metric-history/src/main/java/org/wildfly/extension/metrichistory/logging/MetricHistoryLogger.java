@@ -0,0 +1,50 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.wildfly.extension.metrichistory.logging;
+
+import static org.jboss.logging.Logger.Level.INFO;
+import static org.jboss.logging.Logger.Level.WARN;
+
+import org.jboss.logging.BasicLogger;
+import org.jboss.logging.Logger;
+import org.jboss.logging.annotations.LogMessage;
+import org.jboss.logging.annotations.Message;
+import org.jboss.logging.annotations.MessageLogger;
+
+@MessageLogger(projectCode = "WFLYMETHIST", length = 3)
+public interface MetricHistoryLogger extends BasicLogger {
+
+    /**
+     * A root logger with the category of the package name.
+     */
+    MetricHistoryLogger ROOT_LOGGER = Logger.getMessageLogger(MetricHistoryLogger.class, "org.wildfly.extension.metrichistory");
+
+    @LogMessage(level = WARN)
+    @Message(id = 1, value = "Failed to sample attribute %s of resource %s for metric %s: %s")
+    void failedToSampleMetric(String attribute, String address, String metric, String failure);
+
+    @LogMessage(level = INFO)
+    @Message(id = 2, value = "Sampling attribute %s of resource %s for metric %s again")
+    void resumedSamplingMetric(String attribute, String address, String metric);
+}
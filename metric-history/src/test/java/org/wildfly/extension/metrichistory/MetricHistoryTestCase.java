@@ -0,0 +1,93 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.wildfly.extension.metrichistory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests the ring buffers of a {@link MetricHistory}.
+ */
+public class MetricHistoryTestCase {
+
+    @Test
+    public void testRecord() {
+        final MetricHistory history = new MetricHistory(3);
+        MetricHistory.Snapshot snapshot = history.snapshot();
+        assertEquals(0, snapshot.getCount());
+        assertTrue(Double.isNaN(snapshot.getAverage()));
+
+        history.record(1, 10);
+        history.record(2, 30);
+        snapshot = history.snapshot();
+        assertEquals(2, snapshot.getCount());
+        assertEquals(10, snapshot.getMin(), 0);
+        assertEquals(30, snapshot.getMax(), 0);
+        assertEquals(20, snapshot.getAverage(), 0);
+
+        // the oldest samples are overwritten
+        history.record(3, 5);
+        history.record(4, 50);
+        history.record(5, 20);
+        snapshot = history.snapshot();
+        assertEquals(3, snapshot.getCount());
+        assertEquals(3, snapshot.getTime(0));
+        assertEquals(5, snapshot.getTime(2));
+        assertEquals(20, snapshot.getValue(2), 0);
+        assertEquals(5, snapshot.getMin(), 0);
+        assertEquals(50, snapshot.getMax(), 0);
+        assertEquals(25, snapshot.getAverage(), 0);
+    }
+
+    @Test
+    public void testResize() {
+        final MetricHistory history = new MetricHistory(4);
+        for (int i = 1; i <= 6; i++) {
+            history.record(i, i);
+        }
+        history.resize(2);
+        MetricHistory.Snapshot snapshot = history.snapshot();
+        assertEquals(2, snapshot.getCount());
+        assertEquals(5, snapshot.getTime(0));
+        assertEquals(6, snapshot.getTime(1));
+
+        history.resize(8);
+        history.record(7, 7);
+        snapshot = history.snapshot();
+        assertEquals(8, history.getCapacity());
+        assertEquals(3, snapshot.getCount());
+        assertEquals(5, snapshot.getTime(0));
+        assertEquals(7, snapshot.getTime(2));
+    }
+
+    @Test
+    public void testCapacity() {
+        assertEquals(1024, MetricHistory.getCapacity(16 * 1024, 1));
+        assertEquals(256, MetricHistory.getCapacity(16 * 1024, 4));
+        assertEquals(1, MetricHistory.getCapacity(16, 4));
+        assertEquals(1024, MetricHistory.getCapacity(16 * 1024, 0));
+    }
+}
@@ -351,4 +351,12 @@ public interface ProtocolLogger extends BasicLogger {
 
     @Message(id = 60, value = "Channel open request timed out")
     IOException channelTimedOut();
+
+    /**
+     * Creates an exception indicating a write to a closed message stream.
+     *
+     * @return an {@link IOException} for the error.
+     */
+    @Message(id = 61, value = "Message stream closed")
+    IOException messageStreamClosed();
 }
@@ -41,7 +41,6 @@ import org.jboss.as.protocol.logging.ProtocolLogger;
 import org.jboss.as.protocol.mgmt.support.ManagementChannelShutdownHandle;
 import org.jboss.remoting3.Channel;
 import org.jboss.remoting3.CloseHandler;
-import org.jboss.remoting3.MessageOutputStream;
 import org.jboss.threads.AsyncFuture;
 
 /**
@@ -506,7 +505,7 @@ public abstract class AbstractMessageHandler implements ManagementMessageHandler
      */
     protected static void writeErrorResponse(final Channel channel, final ManagementRequestHeader header, final Throwable error) throws IOException {
         final ManagementResponseHeader response = ManagementResponseHeader.create(header, error);
-        final MessageOutputStream output = channel.writeMessage();
+        final OutputStream output = ManagementChannelStatistics.getStatistics(channel).countSent(channel.writeMessage());
         try {
             writeHeader(response, output);
             output.close();
@@ -0,0 +1,169 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.protocol.mgmt;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import org.jboss.as.protocol.logging.ProtocolLogger;
+
+/**
+ * Output of a response message which deflates the response body once it grows beyond a threshold. The body is buffered
+ * until the threshold is reached, the first flush or close; only then is the header, describing whether the body is
+ * compressed, written to the wire.
+ */
+final class CompressingResponseOutputStream extends OutputStream {
+
+    /**
+     * The number of response body bytes above which the body is compressed. A negative value disables compression.
+     */
+    static final String COMPRESSION_THRESHOLD = "jboss.management.protocol.compression-threshold";
+
+    private static final int DEFAULT_THRESHOLD = 64 * 1024;
+    private static final int THRESHOLD = getThreshold();
+
+    private final ManagementResponseHeader header;
+    private final ManagementChannelStatistics.CountingOutputStream wire;
+    private final ManagementChannelStatistics statistics;
+    private final int threshold;
+    private final byte[] single = new byte[1];
+    private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private OutputStream body;
+    private Deflater deflater;
+    private long headerBytes;
+    private long bodyBytes;
+    private boolean closed;
+
+    CompressingResponseOutputStream(final ManagementResponseHeader header, final OutputStream output,
+                                    final ManagementChannelStatistics statistics, final int threshold) {
+        this.header = header;
+        this.wire = new ManagementChannelStatistics.CountingOutputStream(output);
+        this.statistics = statistics;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Whether the body following a header may be compressed.
+     *
+     * @param header the message header
+     * @return {@code true} if the header is a successful response for a peer supporting compression
+     */
+    static boolean isApplicable(final ManagementProtocolHeader header) {
+        return THRESHOLD >= 0
+                && header.getType() == ManagementProtocol.TYPE_RESPONSE
+                && header.getVersion() >= ManagementProtocol.COMPRESSION_VERSION
+                && !((ManagementResponseHeader) header).isFailed();
+    }
+
+    static CompressingResponseOutputStream create(final ManagementProtocolHeader header, final OutputStream output,
+                                                  final ManagementChannelStatistics statistics) {
+        return new CompressingResponseOutputStream((ManagementResponseHeader) header, output, statistics, THRESHOLD);
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        single[0] = (byte) b;
+        write(single, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        if (closed) {
+            throw ProtocolLogger.ROOT_LOGGER.messageStreamClosed();
+        }
+        bodyBytes += len;
+        if (body == null) {
+            if (buffer.size() + len <= threshold) {
+                buffer.write(b, off, len);
+                return;
+            }
+            start(true);
+        }
+        body.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (closed) {
+            return;
+        }
+        if (body == null) {
+            start(false);
+        }
+        // Compressed output uses sync flush, so the peer can inflate everything written so far
+        body.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            try {
+                if (body == null) {
+                    start(false);
+                }
+            } finally {
+                (body != null ? body : wire).close();
+            }
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+            statistics.messageSent(wire.getCount(), headerBytes + bodyBytes, deflater != null);
+        }
+    }
+
+    private void start(final boolean compress) throws IOException {
+        header.setCompressed(compress);
+        header.write(new DataOutputStream(wire));
+        headerBytes = wire.getCount();
+        if (compress) {
+            deflater = new Deflater();
+            body = new DeflaterOutputStream(wire, deflater, 8192, true);
+        } else {
+            body = wire;
+        }
+        buffer.writeTo(body);
+        buffer = null;
+    }
+
+    private static int getThreshold() {
+        final String value = SecurityActions.getSystemProperty(COMPRESSION_THRESHOLD);
+        if (value == null) {
+            return DEFAULT_THRESHOLD;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return DEFAULT_THRESHOLD;
+        }
+    }
+}
@@ -26,12 +26,13 @@ import java.io.DataInput;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 import org.jboss.as.protocol.StreamUtils;
 import org.jboss.as.protocol.logging.ProtocolLogger;
 import org.jboss.remoting3.Channel;
 import org.jboss.remoting3.MessageInputStream;
-import org.jboss.remoting3.MessageOutputStream;
 
 /**
  * Base receiver class for the management protocol support.
@@ -64,9 +65,14 @@ public final class ManagementChannelReceiver implements Channel.Receiver {
         try {
             ProtocolLogger.ROOT_LOGGER.tracef("%s handling incoming data", this);
             lastMessageTime = System.currentTimeMillis();
-            final DataInput input = new DataInputStream(message);
-            final ManagementProtocolHeader header = ManagementProtocolHeader.parse(input);
+            final ManagementChannelStatistics.CountingInputStream wire = new ManagementChannelStatistics.CountingInputStream(message);
+            final ManagementProtocolHeader header = ManagementProtocolHeader.parse(new DataInputStream(wire));
             final byte type = header.getType();
+            final long headerBytes = wire.getCount();
+            final boolean compressed = type == ManagementProtocol.TYPE_RESPONSE && ((ManagementResponseHeader) header).isCompressed();
+            final Inflater inflater = compressed ? new Inflater() : null;
+            final ManagementChannelStatistics.CountingInputStream body = new ManagementChannelStatistics.CountingInputStream(compressed ? new InflaterInputStream(wire, inflater) : wire);
+            final DataInput input = new DataInputStream(body);
             try {
                 if (type == ManagementProtocol.TYPE_PING) {
                     // Handle legacy ping/pong directly
@@ -87,12 +93,18 @@ public final class ManagementChannelReceiver implements Channel.Receiver {
             } finally {
                 try {
                     //noinspection StatementWithEmptyBody
-                    while (message.read() != -1) {
+                    while (wire.read() != -1) {
                         // drain the message to workaround a potential remoting buffer leak
                     }
                 } catch (IOException ignore) {
                     //
                 }
+                if (inflater != null) {
+                    inflater.end();
+                }
+                // Only the part of a compressed body which the handler read is known uncompressed
+                final long uncompressedBytes = compressed ? headerBytes + body.getCount() : wire.getCount();
+                ManagementChannelStatistics.getStatistics(channel).messageReceived(wire.getCount(), uncompressedBytes, compressed);
             }
             message.close();
         } catch(IOException e) {
@@ -141,7 +153,7 @@ public final class ManagementChannelReceiver implements Channel.Receiver {
      */
     private static void handlePing(final Channel channel, final ManagementProtocolHeader header) throws IOException {
         final ManagementProtocolHeader response = new ManagementPongHeader(header.getVersion());
-        final MessageOutputStream output = channel.writeMessage();
+        final OutputStream output = ManagementChannelStatistics.getStatistics(channel).countSent(channel.writeMessage());
         try {
             writeHeader(response, output);
             output.close();
@@ -0,0 +1,272 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.protocol.mgmt;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.remoting3.Attachments;
+import org.jboss.remoting3.Channel;
+
+/**
+ * Counts the management protocol messages and bytes passing through a channel. The number of bytes on the wire and the
+ * number of bytes before compression differ only for the messages which were compressed. The counts of all channels
+ * are also added to the {@link #getTotalStatistics() totals} of the process.
+ */
+public final class ManagementChannelStatistics {
+
+    private static final Attachments.Key<ManagementChannelStatistics> KEY = new Attachments.Key<ManagementChannelStatistics>(ManagementChannelStatistics.class);
+    private static final ManagementChannelStatistics TOTAL = new ManagementChannelStatistics(null);
+
+    private final ManagementChannelStatistics total;
+
+    private final AtomicLong messagesSent = new AtomicLong();
+    private final AtomicLong compressedMessagesSent = new AtomicLong();
+    private final AtomicLong bytesSent = new AtomicLong();
+    private final AtomicLong uncompressedBytesSent = new AtomicLong();
+    private final AtomicLong messagesReceived = new AtomicLong();
+    private final AtomicLong compressedMessagesReceived = new AtomicLong();
+    private final AtomicLong bytesReceived = new AtomicLong();
+    private final AtomicLong uncompressedBytesReceived = new AtomicLong();
+
+    ManagementChannelStatistics(final ManagementChannelStatistics total) {
+        this.total = total;
+    }
+
+    /**
+     * Gets the statistics of a channel, creating them if the channel has none yet.
+     *
+     * @param channel the channel
+     * @return the statistics
+     */
+    public static ManagementChannelStatistics getStatistics(final Channel channel) {
+        final Attachments attachments = channel.getAttachments();
+        final ManagementChannelStatistics statistics = attachments.getAttachment(KEY);
+        if (statistics != null) {
+            return statistics;
+        }
+        final ManagementChannelStatistics created = new ManagementChannelStatistics(TOTAL);
+        final ManagementChannelStatistics existing = attachments.attachIfAbsent(KEY, created);
+        return existing == null ? created : existing;
+    }
+
+    /**
+     * Gets the statistics of all the channels of this process, including the channels already closed.
+     *
+     * @return the statistics
+     */
+    public static ManagementChannelStatistics getTotalStatistics() {
+        return TOTAL;
+    }
+
+    /**
+     * Gets the number of messages sent.
+     *
+     * @return the number of messages
+     */
+    public long getMessagesSent() {
+        return messagesSent.get();
+    }
+
+    /**
+     * Gets the number of sent messages with a compressed body.
+     *
+     * @return the number of compressed messages
+     */
+    public long getCompressedMessagesSent() {
+        return compressedMessagesSent.get();
+    }
+
+    /**
+     * Gets the number of bytes sent on the wire.
+     *
+     * @return the number of bytes
+     */
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    /**
+     * Gets the number of bytes which would have been sent without compression.
+     *
+     * @return the number of bytes
+     */
+    public long getUncompressedBytesSent() {
+        return uncompressedBytesSent.get();
+    }
+
+    /**
+     * Gets the number of messages received.
+     *
+     * @return the number of messages
+     */
+    public long getMessagesReceived() {
+        return messagesReceived.get();
+    }
+
+    /**
+     * Gets the number of received messages with a compressed body.
+     *
+     * @return the number of compressed messages
+     */
+    public long getCompressedMessagesReceived() {
+        return compressedMessagesReceived.get();
+    }
+
+    /**
+     * Gets the number of bytes received from the wire.
+     *
+     * @return the number of bytes
+     */
+    public long getBytesReceived() {
+        return bytesReceived.get();
+    }
+
+    /**
+     * Gets the number of bytes received after decompression.
+     *
+     * @return the number of bytes
+     */
+    public long getUncompressedBytesReceived() {
+        return uncompressedBytesReceived.get();
+    }
+
+    void messageSent(final long wireBytes, final long uncompressedBytes, final boolean compressed) {
+        messagesSent.incrementAndGet();
+        bytesSent.addAndGet(wireBytes);
+        uncompressedBytesSent.addAndGet(uncompressedBytes);
+        if (compressed) {
+            compressedMessagesSent.incrementAndGet();
+        }
+        if (total != null) {
+            total.messageSent(wireBytes, uncompressedBytes, compressed);
+        }
+    }
+
+    void messageReceived(final long wireBytes, final long uncompressedBytes, final boolean compressed) {
+        messagesReceived.incrementAndGet();
+        bytesReceived.addAndGet(wireBytes);
+        uncompressedBytesReceived.addAndGet(uncompressedBytes);
+        if (compressed) {
+            compressedMessagesReceived.incrementAndGet();
+        }
+        if (total != null) {
+            total.messageReceived(wireBytes, uncompressedBytes, compressed);
+        }
+    }
+
+    /**
+     * Wraps the output of an uncompressed message, so it is counted once it is closed.
+     *
+     * @param output the message output
+     * @return the counting output
+     */
+    OutputStream countSent(final OutputStream output) {
+        return new CountingOutputStream(output) {
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (!closed) {
+                        closed = true;
+                        messageSent(getCount(), getCount(), false);
+                    }
+                }
+            }
+        };
+    }
+
+    static class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(final OutputStream output) {
+            super(output);
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    static class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(final InputStream input) {
+            super(input);
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = in.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final int read = in.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final long skipped = in.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
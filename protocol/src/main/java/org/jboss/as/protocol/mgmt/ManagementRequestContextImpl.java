@@ -120,7 +120,12 @@ class ManagementRequestContextImpl<T, A> implements ManagementRequestContext<A>
     @Override
     public FlushableDataOutput writeMessage(final ManagementProtocolHeader header) throws IOException {
         final MessageOutputStream os = channel.writeMessage();
-        return AbstractMessageHandler.writeHeader(header, os);
+        final ManagementChannelStatistics statistics = ManagementChannelStatistics.getStatistics(channel);
+        if (CompressingResponseOutputStream.isApplicable(header)) {
+            // The header is only written once it is known whether the body will be compressed
+            return FlushableDataOutputImpl.create(CompressingResponseOutputStream.create(header, os, statistics));
+        }
+        return AbstractMessageHandler.writeHeader(header, statistics.countSent(os));
     }
 
     private abstract static class AsyncTaskRunner implements Runnable, Cancellable {
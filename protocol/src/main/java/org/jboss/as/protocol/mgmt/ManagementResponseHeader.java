@@ -40,6 +40,7 @@ public class ManagementResponseHeader extends ManagementProtocolHeader {
     private int responseId;
     private boolean failed = false;
     private String error;
+    private boolean compressed = false;
 
     /**
      * Construct an instance with the protocol version for the header.
@@ -68,6 +69,8 @@ public class ManagementResponseHeader extends ManagementProtocolHeader {
         if (type == ManagementProtocol.RESPONSE_ERROR) {
             this.failed = true;
             error = input.readUTF();
+        } else if (type == ManagementProtocol.RESPONSE_COMPRESSED_BODY) {
+            compressed = true;
         } else if (type != ManagementProtocol.RESPONSE_BODY) {
             throw ProtocolLogger.ROOT_LOGGER.invalidType("RESPONSE_ERROR", "RESPONSE_BODY", type);
         }
@@ -82,7 +85,7 @@ public class ManagementResponseHeader extends ManagementProtocolHeader {
             output.write(ManagementProtocol.RESPONSE_ERROR);
             output.writeUTF(error);
         } else {
-            output.write(ManagementProtocol.RESPONSE_BODY);
+            output.write(compressed ? ManagementProtocol.RESPONSE_COMPRESSED_BODY : ManagementProtocol.RESPONSE_BODY);
         }
     }
 
@@ -113,6 +116,22 @@ public class ManagementResponseHeader extends ManagementProtocolHeader {
         return error;
     }
 
+    /**
+     * Whether the body following this header is deflate compressed. Only responses to requests of protocol version
+     * {@link ManagementProtocol#COMPRESSION_VERSION} or later are compressed. The header layout is the same for all
+     * versions, so a peer which echoes the version of a request without knowing about compression stays readable.
+     *
+     * @return {@code true} if the response body is compressed, {@code false} otherwise
+     */
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    void setCompressed(final boolean compressed) {
+        assert !compressed || getVersion() >= ManagementProtocol.COMPRESSION_VERSION;
+        this.compressed = compressed;
+    }
+
     @Override
     public byte getType() {
         return ManagementProtocol.TYPE_RESPONSE;
@@ -0,0 +1,173 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.protocol.mgmt;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.junit.Test;
+
+/**
+ * Tests the compression of management response bodies.
+ */
+public class CompressingResponseOutputStreamTestCase {
+
+    private static final int THRESHOLD = 1024;
+    private static final String SAMPLE = "\"address\" => [(\"subsystem\" => \"logging\")]";
+
+    @Test
+    public void testSmallBodyNotCompressed() throws Exception {
+        final byte[] body = createBody(THRESHOLD);
+        final ManagementChannelStatistics statistics = new ManagementChannelStatistics(null);
+        final ByteArrayOutputStream wire = new ByteArrayOutputStream();
+        writeResponse(ManagementProtocol.VERSION, body, wire, statistics);
+
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(wire.toByteArray()));
+        final ManagementResponseHeader header = (ManagementResponseHeader) ManagementProtocolHeader.parse(input);
+        assertFalse(header.isCompressed());
+        assertArrayEquals(body, readFully(input, body.length));
+        assertEquals(-1, input.read());
+
+        assertEquals(1, statistics.getMessagesSent());
+        assertEquals(0, statistics.getCompressedMessagesSent());
+        assertEquals(wire.size(), statistics.getBytesSent());
+        assertEquals(wire.size(), statistics.getUncompressedBytesSent());
+    }
+
+    @Test
+    public void testLargeBodyCompressed() throws Exception {
+        final byte[] body = createBody(THRESHOLD * 64);
+        final ManagementChannelStatistics statistics = new ManagementChannelStatistics(null);
+        final ByteArrayOutputStream wire = new ByteArrayOutputStream();
+        writeResponse(ManagementProtocol.VERSION, body, wire, statistics);
+
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(wire.toByteArray()));
+        final ManagementResponseHeader header = (ManagementResponseHeader) ManagementProtocolHeader.parse(input);
+        assertTrue(header.isCompressed());
+        assertEquals(42, header.getResponseId());
+        final DataInputStream inflated = new DataInputStream(new InflaterInputStream(input));
+        assertArrayEquals(body, readFully(inflated, body.length));
+        assertEquals(-1, inflated.read());
+
+        assertEquals(1, statistics.getCompressedMessagesSent());
+        assertEquals(wire.size(), statistics.getBytesSent());
+        assertTrue(statistics.getBytesSent() < body.length);
+        assertTrue(statistics.getUncompressedBytesSent() > body.length);
+    }
+
+    @Test
+    public void testFlushBeforeThreshold() throws Exception {
+        final byte[] body = createBody(THRESHOLD * 4);
+        final ManagementChannelStatistics statistics = new ManagementChannelStatistics(null);
+        final ByteArrayOutputStream wire = new ByteArrayOutputStream();
+        final ManagementResponseHeader response = new ManagementResponseHeader(ManagementProtocol.VERSION, 42, null);
+        final DataOutputStream output = new DataOutputStream(new CompressingResponseOutputStream(response, wire, statistics, THRESHOLD));
+        output.write(body, 0, 10);
+        output.flush();
+        // Once flushed, the header is on the wire and the rest of the body can no longer be compressed
+        assertTrue(wire.size() > 10);
+        output.write(body, 10, body.length - 10);
+        output.close();
+
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(wire.toByteArray()));
+        assertFalse(((ManagementResponseHeader) ManagementProtocolHeader.parse(input)).isCompressed());
+        assertArrayEquals(body, readFully(input, body.length));
+    }
+
+    @Test
+    public void testLegacyHeader() throws Exception {
+        // Peers of earlier protocol versions echo the version of the request, whatever it is, in a header without
+        // any notion of compression
+        final ByteArrayOutputStream wire = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(wire);
+        output.write(ManagementProtocol.SIGNATURE);
+        output.writeByte(ManagementProtocol.VERSION_FIELD);
+        output.writeInt(ManagementProtocol.VERSION);
+        output.writeByte(ManagementProtocol.TYPE);
+        output.writeByte(ManagementProtocol.TYPE_RESPONSE);
+        output.writeByte(ManagementProtocol.RESPONSE_ID);
+        output.writeInt(42);
+        output.writeByte(ManagementProtocol.RESPONSE_TYPE);
+        output.writeByte(ManagementProtocol.RESPONSE_BODY);
+        output.writeByte(ManagementProtocol.RESPONSE_END);
+
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(wire.toByteArray()));
+        final ManagementResponseHeader header = (ManagementResponseHeader) ManagementProtocolHeader.parse(input);
+        assertEquals(ManagementProtocol.VERSION, header.getVersion());
+        assertEquals(42, header.getResponseId());
+        assertFalse(header.isCompressed());
+        assertEquals(ManagementProtocol.RESPONSE_END, input.readByte());
+    }
+
+    @Test
+    public void testTotalStatistics() throws Exception {
+        final ManagementChannelStatistics total = new ManagementChannelStatistics(null);
+        final ManagementChannelStatistics statistics = new ManagementChannelStatistics(total);
+        final ByteArrayOutputStream wire = new ByteArrayOutputStream();
+        writeResponse(ManagementProtocol.VERSION, createBody(THRESHOLD * 64), wire, statistics);
+        statistics.messageReceived(10, 20, true);
+
+        assertEquals(1, total.getMessagesSent());
+        assertEquals(1, total.getCompressedMessagesSent());
+        assertEquals(wire.size(), total.getBytesSent());
+        assertEquals(statistics.getUncompressedBytesSent(), total.getUncompressedBytesSent());
+        assertEquals(1, total.getMessagesReceived());
+        assertEquals(1, total.getCompressedMessagesReceived());
+        assertEquals(10, total.getBytesReceived());
+        assertEquals(20, total.getUncompressedBytesReceived());
+    }
+
+    private static void writeResponse(final int version, final byte[] body, final ByteArrayOutputStream wire,
+                                      final ManagementChannelStatistics statistics) throws Exception {
+        final ManagementResponseHeader response = new ManagementResponseHeader(version, 42, null);
+        final DataOutputStream output = new DataOutputStream(new CompressingResponseOutputStream(response, wire, statistics, THRESHOLD));
+        for (byte b : body) {
+            output.write(b);
+        }
+        output.close();
+        output.close();
+    }
+
+    private static byte[] createBody(final int size) {
+        final byte[] body = new byte[size];
+        for (int i = 0; i < size; i++) {
+            body[i] = (byte) SAMPLE.charAt(i % SAMPLE.length());
+        }
+        return body;
+    }
+
+    private static byte[] readFully(final DataInputStream input, final int length) throws Exception {
+        final byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return bytes;
+    }
+}
@@ -362,6 +362,12 @@ public class DeploymentAttributes {
             .withFlags(Flag.READ_ONLY)
             .build();
 
+    public static final OperationDefinition READ_DEPLOYMENT_PROFILE_DEFINITION = new SimpleOperationDefinitionBuilder(ModelDescriptionConstants.READ_DEPLOYMENT_PROFILE, DEPLOYMENT_RESOLVER)
+            .setReplyType(ModelType.LIST)
+            .setReplyValueType(ModelType.OBJECT)
+            .withFlags(Flag.READ_ONLY, Flag.RUNTIME_ONLY)
+            .build();
+
     /** Server group add deployment definition */
     public static final OperationDefinition SERVER_GROUP_DEPLOYMENT_ADD_DEFINITION = new SimpleOperationDefinitionBuilder(ModelDescriptionConstants.ADD, DEPLOYMENT_RESOLVER)
             .setParameters(SERVER_GROUP_ADD_ATTRIBUTES)
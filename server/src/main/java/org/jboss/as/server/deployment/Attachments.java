@@ -38,6 +38,7 @@ import org.jboss.as.server.deployment.module.ExtensionListEntry;
 import org.jboss.as.server.deployment.module.ModuleDependency;
 import org.jboss.as.server.deployment.module.ModuleSpecification;
 import org.jboss.as.server.deployment.module.ResourceRoot;
+import org.jboss.as.server.deployment.module.ResourceRootMetadataCache;
 import org.jboss.as.server.deployment.reflect.DeploymentReflectionIndex;
 import org.jboss.as.server.deployment.reflect.ProxyMetadataSource;
 import org.jboss.as.server.deploymentoverlay.DeploymentOverlayIndex;
@@ -105,6 +106,11 @@ public final class Attachments {
 
     public static final AttachmentKey<Boolean> ALLOW_PHASE_RESTART = AttachmentKey.create(Boolean.class);
 
+    /**
+     * The time spent and memory allocated by each deployment unit processor run for the deployment unit.
+     */
+    public static final AttachmentKey<DeploymentProfile> DEPLOYMENT_PROFILE = AttachmentKey.create(DeploymentProfile.class);
+
     /**
      * A builder used to install a deployment phase
      */
@@ -139,6 +145,12 @@ public final class Attachments {
      */
     public static final AttachmentKey<Manifest> OSGI_MANIFEST = AttachmentKey.create(Manifest.class);
 
+    /**
+     * The cached metadata of the resource roots of a deployment whose content is in the content repository. Only
+     * attached to the top level deployment unit.
+     */
+    public static final AttachmentKey<ResourceRootMetadataCache> RESOURCE_ROOT_METADATA_CACHE = AttachmentKey.create(ResourceRootMetadataCache.class);
+
     /**
      * Module identifiers for Class-Path information
      */
@@ -0,0 +1,314 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The time spent and memory allocated by each {@link DeploymentUnitProcessor} run for a deployment unit.
+ * <p>
+ * CPU time and allocated bytes are measured for the thread running the processor, so work a processor hands off to other
+ * threads is only included in the wall time. Either value is {@code -1} if the JVM does not support measuring it.
+ * </p>
+ */
+public final class DeploymentProfile {
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME_SUPPORTED = isCpuTimeSupported();
+    private static final boolean ALLOCATION_SUPPORTED = isAllocationSupported();
+    /**
+     * Guards attaching the profiles and their completion state. It is only taken once per phase of a deployment unit,
+     * so a single lock is enough and nothing outside this class can hold it.
+     */
+    private static final Object LOCK = new Object();
+
+    /**
+     * Orders the entries with the longest wall time first.
+     */
+    public static final Comparator<Entry> WALL_TIME_COMPARATOR = new Comparator<Entry>() {
+        @Override
+        public int compare(final Entry o1, final Entry o2) {
+            return Long.compare(o2.getWallTime(), o1.getWallTime());
+        }
+    };
+
+    private final List<Entry> entries = new ArrayList<Entry>();
+    /**
+     * Whether the deployment unit has run all of its phases.
+     */
+    private boolean complete;
+    /**
+     * Whether the completion of the top level deployment and all its subdeployments has been reported, only used in the
+     * profile of the top level deployment.
+     */
+    private boolean reported;
+
+    /**
+     * Gets the profile attached to the deployment unit, attaching a new profile if there is none.
+     *
+     * @param deploymentUnit the deployment unit
+     * @return the profile
+     */
+    static DeploymentProfile get(final DeploymentUnit deploymentUnit) {
+        synchronized (LOCK) {
+            DeploymentProfile profile = deploymentUnit.getAttachment(Attachments.DEPLOYMENT_PROFILE);
+            if (profile == null) {
+                profile = new DeploymentProfile();
+                deploymentUnit.putAttachment(Attachments.DEPLOYMENT_PROFILE, profile);
+            }
+            return profile;
+        }
+    }
+
+    /**
+     * Discard the profile of a previous run of the deployment unit's phases, called when the first phase starts.
+     *
+     * @param deploymentUnit the deployment unit
+     * @return the empty profile
+     */
+    static DeploymentProfile reset(final DeploymentUnit deploymentUnit) {
+        final DeploymentProfile profile = get(deploymentUnit);
+        synchronized (LOCK) {
+            synchronized (profile.entries) {
+                profile.entries.clear();
+            }
+            profile.complete = false;
+            profile.reported = false;
+        }
+        return profile;
+    }
+
+    /**
+     * Mark the deployment unit as having run all of its phases.
+     * <p>
+     * Subdeployments run their last phase after the last phase of their parent, so the profile of a deployment is only
+     * complete once the top level deployment and all of its subdeployments have run all their phases.
+     * </p>
+     *
+     * @param deploymentUnit the deployment unit
+     * @return the top level deployment if it and all its subdeployments are now complete, {@code null} otherwise
+     */
+    static DeploymentUnit complete(final DeploymentUnit deploymentUnit) {
+        final DeploymentUnit topLevel = topLevel(deploymentUnit);
+        final DeploymentProfile profile = get(deploymentUnit);
+        synchronized (LOCK) {
+            profile.complete = true;
+            final DeploymentProfile topLevelProfile = get(topLevel);
+            if (topLevelProfile.reported || !topLevelProfile.complete) {
+                return null;
+            }
+            for (DeploymentUnit subDeployment : topLevel.getAttachmentList(Attachments.SUB_DEPLOYMENTS)) {
+                final DeploymentProfile subDeploymentProfile = subDeployment.getAttachment(Attachments.DEPLOYMENT_PROFILE);
+                if (subDeploymentProfile == null || !subDeploymentProfile.complete) {
+                    return null;
+                }
+            }
+            topLevelProfile.reported = true;
+            return topLevel;
+        }
+    }
+
+    private static DeploymentUnit topLevel(final DeploymentUnit deploymentUnit) {
+        return deploymentUnit.getParent() == null ? deploymentUnit : deploymentUnit.getParent();
+    }
+
+    /**
+     * Start measuring a processor on the current thread.
+     *
+     * @return the measurement to pass to {@link #record(Phase, RegisteredDeploymentUnitProcessor, Sample)}
+     */
+    static Sample start() {
+        return new Sample();
+    }
+
+    /**
+     * Record the resources used by a processor since the sample was started on the current thread.
+     *
+     * @param phase the phase the processor ran in
+     * @param processor the processor
+     * @param sample the sample started before the processor ran
+     */
+    void record(final Phase phase, final RegisteredDeploymentUnitProcessor processor, final Sample sample) {
+        final long wallTime = System.nanoTime() - sample.wallTime;
+        final long cpuTime = sample.cpuTime < 0 ? -1 : currentCpuTime() - sample.cpuTime;
+        final long allocated = sample.allocated < 0 ? -1 : currentAllocatedBytes() - sample.allocated;
+        final Entry entry = new Entry(phase, processor.getProcessor().getClass().getName(), processor.getSubsystemName(),
+                processor.getPriority(), wallTime, cpuTime, allocated);
+        synchronized (entries) {
+            entries.add(entry);
+        }
+    }
+
+    /**
+     * Get the recorded entries in the order the processors ran.
+     *
+     * @return a copy of the entries
+     */
+    public List<Entry> getEntries() {
+        synchronized (entries) {
+            return new ArrayList<Entry>(entries);
+        }
+    }
+
+    /**
+     * Get the recorded entries with the longest wall time first.
+     *
+     * @param limit the maximum number of entries to return
+     * @return the slowest entries
+     */
+    public List<Entry> getSlowestEntries(final int limit) {
+        final List<Entry> result = getEntries();
+        Collections.sort(result, WALL_TIME_COMPARATOR);
+        return result.size() > limit ? result.subList(0, limit) : result;
+    }
+
+    /**
+     * @return the total wall time in nanoseconds of all the recorded processors
+     */
+    public long getTotalWallTime() {
+        long total = 0;
+        synchronized (entries) {
+            for (Entry entry : entries) {
+                total += entry.getWallTime();
+            }
+        }
+        return total;
+    }
+
+    private static long currentCpuTime() {
+        return CPU_TIME_SUPPORTED ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long currentAllocatedBytes() {
+        return ALLOCATION_SUPPORTED
+                ? ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN).getThreadAllocatedBytes(Thread.currentThread().getId())
+                : -1;
+    }
+
+    private static boolean isCpuTimeSupported() {
+        try {
+            return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() && THREAD_MX_BEAN.isThreadCpuTimeEnabled();
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    private static boolean isAllocationSupported() {
+        try {
+            if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean) {
+                final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+                return threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled();
+            }
+        } catch (UnsupportedOperationException | LinkageError e) {
+            // fall through
+        }
+        return false;
+    }
+
+    /**
+     * The values measured on the current thread before a processor runs.
+     */
+    static final class Sample {
+        private final long wallTime;
+        private final long cpuTime;
+        private final long allocated;
+
+        private Sample() {
+            this.cpuTime = currentCpuTime();
+            this.allocated = currentAllocatedBytes();
+            this.wallTime = System.nanoTime();
+        }
+    }
+
+    /**
+     * The resources used by a single processor.
+     */
+    public static final class Entry {
+        private final Phase phase;
+        private final String processor;
+        private final String subsystemName;
+        private final int priority;
+        private final long wallTime;
+        private final long cpuTime;
+        private final long allocatedBytes;
+
+        Entry(final Phase phase, final String processor, final String subsystemName, final int priority,
+              final long wallTime, final long cpuTime, final long allocatedBytes) {
+            this.phase = phase;
+            this.processor = processor;
+            this.subsystemName = subsystemName;
+            this.priority = priority;
+            this.wallTime = wallTime;
+            this.cpuTime = cpuTime;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        public Phase getPhase() {
+            return phase;
+        }
+
+        /**
+         * @return the class name of the processor
+         */
+        public String getProcessor() {
+            return processor;
+        }
+
+        /**
+         * @return the name of the subsystem which registered the processor, may be {@code null}
+         */
+        public String getSubsystemName() {
+            return subsystemName;
+        }
+
+        public int getPriority() {
+            return priority;
+        }
+
+        /**
+         * @return the elapsed time in nanoseconds
+         */
+        public long getWallTime() {
+            return wallTime;
+        }
+
+        /**
+         * @return the CPU time in nanoseconds used by the thread running the processor, or {@code -1} if not measured
+         */
+        public long getCpuTime() {
+            return cpuTime;
+        }
+
+        /**
+         * @return the bytes allocated by the thread running the processor, or {@code -1} if not measured
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEPLOYMENT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PRIORITY;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.RUNTIME_NAME;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads the {@link DeploymentProfile} of a deployment and its subdeployments. Times are reported in microseconds.
+ */
+public class DeploymentProfileHandler implements OperationStepHandler {
+
+    public static final OperationStepHandler INSTANCE = new DeploymentProfileHandler();
+
+    private static final String PHASE = "phase";
+    private static final String PROCESSOR = "processor";
+    private static final String WALL_TIME = "wall-time";
+    private static final String CPU_TIME = "cpu-time";
+    private static final String ALLOCATED_BYTES = "allocated-bytes";
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final ModelNode deployment = context.readResource(PathAddress.EMPTY_ADDRESS).getModel();
+        final String runtimeName = RUNTIME_NAME.resolveModelAttribute(context, deployment).asString();
+        context.addStep(new OperationStepHandler() {
+            @Override
+            public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+                final ModelNode result = context.getResult().setEmptyList();
+                final ServiceController<?> controller = context.getServiceRegistry(false).getService(Services.deploymentUnitName(runtimeName));
+                if (controller == null) {
+                    return;
+                }
+                final DeploymentUnit deploymentUnit = ((AbstractDeploymentUnitService) controller.getService()).getValue();
+                if (deploymentUnit == null) {
+                    return;
+                }
+                addEntries(result, deploymentUnit);
+                for (DeploymentUnit subDeployment : deploymentUnit.getAttachmentList(Attachments.SUB_DEPLOYMENTS)) {
+                    addEntries(result, subDeployment);
+                }
+            }
+        }, OperationContext.Stage.RUNTIME);
+    }
+
+    private static void addEntries(final ModelNode result, final DeploymentUnit deploymentUnit) {
+        final DeploymentProfile profile = deploymentUnit.getAttachment(Attachments.DEPLOYMENT_PROFILE);
+        if (profile == null) {
+            return;
+        }
+        for (DeploymentProfile.Entry entry : profile.getEntries()) {
+            final ModelNode node = new ModelNode();
+            node.get(DEPLOYMENT).set(deploymentUnit.getName());
+            node.get(PHASE).set(entry.getPhase().name());
+            node.get(PROCESSOR).set(entry.getProcessor());
+            if (entry.getSubsystemName() != null) {
+                node.get(SUBSYSTEM).set(entry.getSubsystemName());
+            }
+            node.get(PRIORITY).set(entry.getPriority());
+            node.get(WALL_TIME).set(TimeUnit.NANOSECONDS.toMicros(entry.getWallTime()));
+            node.get(CPU_TIME).set(entry.getCpuTime() < 0 ? -1L : TimeUnit.NANOSECONDS.toMicros(entry.getCpuTime()));
+            node.get(ALLOCATED_BYTES).set(entry.getAllocatedBytes());
+            result.add(node);
+        }
+    }
+}
@@ -27,6 +27,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.jboss.as.server.logging.ServerLogger;
@@ -46,6 +47,12 @@ import org.jboss.msc.value.InjectedValue;
 
 /**
  * A service which executes a particular phase of deployment.
+ * <p>
+ * The phase service of a subdeployment depends on the same phase of its parent and the next phase of the parent depends
+ * on the phase services of all its subdeployments, so the phases of sibling subdeployments are run concurrently by the
+ * service container's executor. Processors which can not be run concurrently are serialized, see
+ * {@link DeploymentUnitProcessor#isConcurrencySafe()}.
+ * </p>
  *
  * @param <T> the public type of this deployment unit phase
  *
@@ -54,6 +61,10 @@ import org.jboss.msc.value.InjectedValue;
 final class DeploymentUnitPhaseService<T> implements Service<T> {
 
     private static final AttachmentKey<AttachmentList<DeploymentUnit>> UNVISITED_DEFERRED_MODULES = AttachmentKey.createList(DeploymentUnit.class);
+    /**
+     * The number of the slowest processors of each deployment unit included in the profile logged when a deployment completes.
+     */
+    private static final int PROFILE_LOG_ENTRIES = 10;
 
     private final InjectedValue<DeployerChains> deployerChainsInjector = new InjectedValue<DeployerChains>();
     private final DeploymentUnit deploymentUnit;
@@ -140,11 +151,18 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
             }
         }
 
+        // A restarted deployment starts a new profile rather than adding to the profile of the previous run
+        final DeploymentProfile profile = phase == Phase.STRUCTURE ? DeploymentProfile.reset(deploymentUnit) : DeploymentProfile.get(deploymentUnit);
         while (iterator.hasNext()) {
             final RegisteredDeploymentUnitProcessor processor = iterator.next();
             try {
                 if (shouldRun(deploymentUnit, processor)) {
-                    processor.getProcessor().deploy(processorContext);
+                    final DeploymentProfile.Sample sample = DeploymentProfile.start();
+                    try {
+                        deploy(processor.getProcessor(), processorContext);
+                    } finally {
+                        profile.record(phase, processor, sample);
+                    }
                 }
             } catch (Throwable e) {
                 while (iterator.hasPrevious()) {
@@ -206,6 +224,55 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
             }
 
             phaseServiceBuilder.install();
+        } else {
+            final DeploymentUnit completed = DeploymentProfile.complete(deploymentUnit);
+            if (completed != null) {
+                logProfile(completed);
+            }
+        }
+    }
+
+    private static void logProfile(final DeploymentUnit deploymentUnit) {
+        if (!ServerLogger.DEPLOYMENT_LOGGER.isDebugEnabled()) {
+            return;
+        }
+        final List<DeploymentUnit> units = new ArrayList<DeploymentUnit>();
+        units.add(deploymentUnit);
+        units.addAll(deploymentUnit.getAttachmentList(Attachments.SUB_DEPLOYMENTS));
+        for (DeploymentUnit unit : units) {
+            final DeploymentProfile profile = unit.getAttachment(Attachments.DEPLOYMENT_PROFILE);
+            if (profile == null) {
+                continue;
+            }
+            ServerLogger.DEPLOYMENT_LOGGER.debugf("Deployment profile deployment=%s processors=%d wall-ms=%d",
+                    unit.getName(), profile.getEntries().size(), TimeUnit.NANOSECONDS.toMillis(profile.getTotalWallTime()));
+            for (DeploymentProfile.Entry entry : profile.getSlowestEntries(PROFILE_LOG_ENTRIES)) {
+                ServerLogger.DEPLOYMENT_LOGGER.debugf("Deployment profile deployment=%s phase=%s priority=0x%x processor=%s subsystem=%s wall-us=%d cpu-us=%d allocated-bytes=%d",
+                        unit.getName(), entry.getPhase(), entry.getPriority(), entry.getProcessor(), entry.getSubsystemName(),
+                        TimeUnit.NANOSECONDS.toMicros(entry.getWallTime()), entry.getCpuTime() < 0 ? -1 : TimeUnit.NANOSECONDS.toMicros(entry.getCpuTime()),
+                        entry.getAllocatedBytes());
+            }
+        }
+    }
+
+    private static void deploy(final DeploymentUnitProcessor processor, final DeploymentPhaseContext processorContext) throws DeploymentUnitProcessingException {
+        if (processor.isConcurrencySafe()) {
+            processor.deploy(processorContext);
+        } else {
+            // Sibling subdeployments run their phases at the same time, serialize processors which can not cope with that
+            synchronized (processor) {
+                processor.deploy(processorContext);
+            }
+        }
+    }
+
+    private static void undeploy(final DeploymentUnitProcessor processor, final DeploymentUnit deploymentUnit) {
+        if (processor.isConcurrencySafe()) {
+            processor.undeploy(deploymentUnit);
+        } else {
+            synchronized (processor) {
+                processor.undeploy(deploymentUnit);
+            }
         }
     }
 
@@ -269,7 +336,7 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
     private static void safeUndeploy(final DeploymentUnit deploymentUnit, final Phase phase, final RegisteredDeploymentUnitProcessor prev) {
         try {
             if (shouldRun(deploymentUnit, prev)) {
-                prev.getProcessor().undeploy(deploymentUnit);
+                undeploy(prev.getProcessor(), deploymentUnit);
             }
         } catch (Throwable t) {
             ServerLogger.DEPLOYMENT_LOGGER.caughtExceptionUndeploying(t, prev.getProcessor(), phase, deploymentUnit);
@@ -59,4 +59,15 @@ public interface DeploymentUnitProcessor {
      * @param context the deployment unit context
      */
     void undeploy(DeploymentUnit context);
+
+    /**
+     * Whether this processor can be run for different deployment units at the same time. The phases of sibling
+     * subdeployments are run concurrently, a processor which returns {@code false} is only run for one deployment unit
+     * at a time.
+     *
+     * @return {@code true} if the processor can be run concurrently, {@code false} otherwise
+     */
+    default boolean isConcurrencySafe() {
+        return true;
+    }
 }
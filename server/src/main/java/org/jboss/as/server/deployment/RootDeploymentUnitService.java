@@ -22,13 +22,19 @@
 
 package org.jboss.as.server.deployment;
 
+import java.io.File;
+import java.io.IOException;
+
 import org.jboss.as.controller.ServiceVerificationHandler;
 import org.jboss.as.controller.capability.CapabilityServiceSupport;
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.as.repository.ContentRepository;
+import org.jboss.as.server.deployment.module.ResourceRootMetadataCache;
 import org.jboss.as.server.deploymentoverlay.DeploymentOverlayIndex;
+import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.as.server.services.security.AbstractVaultReader;
 import org.jboss.msc.inject.Injector;
 import org.jboss.msc.service.ServiceRegistry;
@@ -49,6 +55,7 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
     private final DeploymentUnit parent;
     private final DeploymentOverlayIndex deploymentOverlays;
     private final boolean isExplodedContent;
+    private final byte[] contentHash;
 
     /**
      * Construct a new instance.
@@ -62,11 +69,13 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
      * @param vaultReader the vault reader
      * @param deploymentOverlays the deployment overlays
      * @param exploded the deployment has been exploded
+     * @param contentHash the hash of the deployment's archive in the content repository, {@code null} for other content
      */
     public RootDeploymentUnitService(final String name, final String managementName, final DeploymentUnit parent,
                                      final ImmutableManagementResourceRegistration registration, final ManagementResourceRegistration mutableRegistration,
                                      final Resource resource, final CapabilityServiceSupport capabilityServiceSupport,
-                                     final AbstractVaultReader vaultReader, DeploymentOverlayIndex deploymentOverlays, boolean exploded) {
+                                     final AbstractVaultReader vaultReader, DeploymentOverlayIndex deploymentOverlays, boolean exploded,
+                                     final byte[] contentHash) {
         super(registration, mutableRegistration, resource, capabilityServiceSupport, vaultReader);
         assert name != null : "name is null";
         this.name = name;
@@ -74,6 +83,7 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
         this.parent = parent;
         this.deploymentOverlays = deploymentOverlays;
         this.isExplodedContent = exploded;
+        this.contentHash = contentHash;
     }
 
     protected DeploymentUnit createAndInitializeDeploymentUnit(final ServiceRegistry registry) {
@@ -92,6 +102,10 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
         if(this.isExplodedContent) {
             MountExplodedMarker.setMountExploded(deploymentUnit);
         }
+        // Overlays can replace the cached metadata files
+        if (contentHash != null && deploymentOverlays.getOverlays(name).isEmpty()) {
+            attachMetadataCache(deploymentUnit, contentsInjector.getValue(), contentHash);
+        }
 
         // Attach the deployment repo
         deploymentUnit.putAttachment(Attachments.SERVER_DEPLOYMENT_REPOSITORY, serverDeploymentRepositoryInjector.getValue());
@@ -114,6 +128,15 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
         return contentsInjector;
     }
 
+    private static void attachMetadataCache(final DeploymentUnit deploymentUnit, final VirtualFile contents, final byte[] contentHash) {
+        try {
+            final File file = new File(contents.getPhysicalFile().getParentFile(), ContentRepository.CONTENT_METADATA);
+            deploymentUnit.putAttachment(Attachments.RESOURCE_ROOT_METADATA_CACHE, ResourceRootMetadataCache.load(file, contentHash));
+        } catch (IOException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Not caching the resource root metadata of %s", deploymentUnit);
+        }
+    }
+
     @SuppressWarnings("deprecation")
     private static void addSVH(DeploymentUnit deploymentUnit) {
         deploymentUnit.putAttachment(Attachments.SERVICE_VERIFICATION_HANDLER, ServiceVerificationHandler.INSTANCE);
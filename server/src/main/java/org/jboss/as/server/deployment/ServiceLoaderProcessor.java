@@ -35,6 +35,7 @@ import java.util.Map;
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.as.server.deployment.module.ModuleRootMarker;
 import org.jboss.as.server.deployment.module.ResourceRoot;
+import org.jboss.as.server.deployment.module.ResourceRootMetadataCache;
 import org.jboss.vfs.VFSUtils;
 import org.jboss.vfs.VirtualFile;
 
@@ -52,27 +53,45 @@ public final class ServiceLoaderProcessor implements DeploymentUnitProcessor {
         final Map<String, List<String>> foundServices = new HashMap<String, List<String>>();
         final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
         final ResourceRoot deploymentRoot = deploymentUnit.getAttachment(Attachments.DEPLOYMENT_ROOT);
+        final ResourceRootMetadataCache cache = ResourceRootMetadataCache.get(deploymentUnit);
         if (deploymentRoot != null) {
-            processRoot(deploymentRoot, foundServices);
+            processRoot(deploymentRoot, foundServices, cache);
         }
         final List<ResourceRoot> resourceRoots = deploymentUnit.getAttachmentList(Attachments.RESOURCE_ROOTS);
         for (ResourceRoot resourceRoot : resourceRoots) {
             if (!SubDeploymentMarker.isSubDeployment(resourceRoot) && ModuleRootMarker.isModuleRoot(resourceRoot))
-                processRoot(resourceRoot, foundServices);
+                processRoot(resourceRoot, foundServices, cache);
         }
         deploymentUnit.putAttachment(Attachments.SERVICES, new ServicesAttachment(foundServices));
     }
 
-    private void processRoot(final ResourceRoot resourceRoot, final Map<String, List<String>> foundServices) throws DeploymentUnitProcessingException {
+    private void processRoot(final ResourceRoot resourceRoot, final Map<String, List<String>> foundServices,
+                             final ResourceRootMetadataCache cache) throws DeploymentUnitProcessingException {
+        Map<String, List<String>> services = cache == null ? null : cache.getServices(resourceRoot);
+        if (services == null) {
+            services = readServices(resourceRoot);
+            if (cache != null) {
+                cache.putServices(resourceRoot, services);
+            }
+        }
+        for (Map.Entry<String, List<String>> entry : services.entrySet()) {
+            List<String> list = foundServices.get(entry.getKey());
+            if (list == null) {
+                foundServices.put(entry.getKey(), list = new ArrayList<String>());
+            }
+            list.addAll(entry.getValue());
+        }
+    }
+
+    private static Map<String, List<String>> readServices(final ResourceRoot resourceRoot) throws DeploymentUnitProcessingException {
+        final Map<String, List<String>> services = new HashMap<String, List<String>>();
         final VirtualFile virtualFile = resourceRoot.getRoot();
         final VirtualFile child = virtualFile.getChild("META-INF/services");
         for (VirtualFile serviceType : child.getChildren()) {
             final String name = serviceType.getName();
             try {
-                List<String> list = foundServices.get(name);
-                if (list == null) {
-                    foundServices.put(name, list = new ArrayList<String>());
-                }
+                final List<String> list = new ArrayList<String>();
+                services.put(name, list);
                 final InputStream stream = serviceType.openStream();
                 try {
                     final BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
@@ -97,6 +116,7 @@ public final class ServiceLoaderProcessor implements DeploymentUnitProcessor {
                 throw ServerLogger.ROOT_LOGGER.failedToReadVirtualFile(child, e);
             }
         }
+        return services;
     }
 
     /**
@@ -89,7 +89,8 @@ public class DeploymentRootMountProcessor implements DeploymentUnitProcessor {
                     type = MountType.ZIP;
                 }
                 handle = deploymentMountProvider.mountDeploymentContent(deploymentContents, deploymentRoot, type);
-                mountHandle = new MountHandle(handle);
+                final MappedZipFile zipFile = type == MountType.ZIP && MappedZipFile.isEnabled() ? openMappedZipFile(deploymentContents) : null;
+                mountHandle = new MountHandle(handle, zipFile);
             } catch (IOException e) {
                 failed = true;
                 throw ServerLogger.ROOT_LOGGER.deploymentMountFailed(e);
@@ -105,6 +106,21 @@ public class DeploymentRootMountProcessor implements DeploymentUnitProcessor {
         deploymentUnit.putAttachment(Attachments.MODULE_SPECIFICATION, new ModuleSpecification());
     }
 
+    private static MappedZipFile openMappedZipFile(final VirtualFile deploymentContents) {
+        try {
+            final MappedZipFile zipFile = MappedZipFile.open(deploymentContents.getPhysicalFile());
+            if (!zipFile.isSigned()) {
+                return zipFile;
+            }
+            zipFile.release();
+            ServerLogger.DEPLOYMENT_LOGGER.debugf("Not mapping signed archive %s", deploymentContents);
+        } catch (IOException | RuntimeException e) {
+            // The archive is still read through VFS
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Not mapping archive %s", deploymentContents);
+        }
+        return null;
+    }
+
     public void undeploy(DeploymentUnit context) {
         final ResourceRoot resourceRoot = context.removeAttachment(Attachments.DEPLOYMENT_ROOT);
         if (resourceRoot != null) {
@@ -57,17 +57,36 @@ public class ManifestAttachmentProcessor implements DeploymentUnitProcessor {
     public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
 
         final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
+        final ResourceRootMetadataCache cache = ResourceRootMetadataCache.get(deploymentUnit);
         List<ResourceRoot> resourceRoots = DeploymentUtils.allResourceRoots(deploymentUnit);
         for (ResourceRoot resourceRoot : resourceRoots) {
             if (IgnoreMetaInfMarker.isIgnoreMetaInf(resourceRoot)) {
                 continue;
             }
-            Manifest manifest = getManifest(resourceRoot);
+            Manifest manifest = cache == null ? getManifest(resourceRoot) : getManifest(resourceRoot, cache);
             if (manifest != null)
                 resourceRoot.putAttachment(Attachments.MANIFEST, manifest);
         }
     }
 
+    private static Manifest getManifest(ResourceRoot resourceRoot, ResourceRootMetadataCache cache) throws DeploymentUnitProcessingException {
+        Manifest manifest = resourceRoot.getAttachment(Attachments.MANIFEST);
+        if (manifest == null) {
+            final VirtualFile deploymentRoot = resourceRoot.getRoot();
+            try {
+                if (cache.isManifestCached(resourceRoot)) {
+                    manifest = cache.getManifest(resourceRoot);
+                } else {
+                    manifest = VFSUtils.getManifest(deploymentRoot);
+                    cache.putManifest(resourceRoot, manifest);
+                }
+            } catch (IOException e) {
+                throw ServerLogger.ROOT_LOGGER.failedToGetManifest(deploymentRoot, e);
+            }
+        }
+        return manifest;
+    }
+
     public static Manifest getManifest(ResourceRoot resourceRoot) throws DeploymentUnitProcessingException {
         Manifest manifest = resourceRoot.getAttachment(Attachments.MANIFEST);
         if (manifest == null) {
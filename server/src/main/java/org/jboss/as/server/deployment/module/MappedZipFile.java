@@ -0,0 +1,375 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.module;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+import org.jboss.as.server.logging.ServerLogger;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * A read-only zip archive which is memory mapped and whose central directory is parsed once into an index.
+ * <p>
+ * Instances are shared by everything that {@link #open(File) opens} the same file, so the index of content in the
+ * content repository, whose location is derived from its hash, is only built once however many deployments and
+ * resource loaders use it. The mapping is released by the garbage collector once the last user has
+ * {@link #release() released} it; on Windows the file cannot be deleted until then. Zip64 archives, archives larger
+ * than 2GB and encrypted entries are not supported, in which case {@link #open(File)} fails and the archive should be
+ * read through VFS instead.
+ * </p>
+ */
+final class MappedZipFile {
+
+    /**
+     * The system property which enables loading classes from mounted deployment archives through memory mapped zip files.
+     */
+    static final String ENABLED_PROPERTY = "jboss.as.deployment.mapped-zip";
+
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int CENTRAL_SIGNATURE = 0x02014b50;
+    private static final int LOCAL_SIGNATURE = 0x04034b50;
+    private static final int END_LENGTH = 22;
+    private static final int CENTRAL_LENGTH = 46;
+    private static final int LOCAL_LENGTH = 30;
+    private static final int MAX_COMMENT_LENGTH = 0xffff;
+
+    // protected by MappedZipFile.class
+    private static final Map<String, MappedZipFile> openFiles = new HashMap<String, MappedZipFile>();
+
+    private final File file;
+    private final String key;
+    private final ByteBuffer buffer;
+    private final Map<String, Entry> entries = new HashMap<String, Entry>();
+    private final Map<String, List<Entry>> directories = new HashMap<String, List<Entry>>();
+    private final boolean signed;
+    // protected by MappedZipFile.class
+    private int references;
+
+    private MappedZipFile(final File file, final String key) throws IOException {
+        this.file = file;
+        this.key = key;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < END_LENGTH || size > Integer.MAX_VALUE) {
+                throw ServerLogger.ROOT_LOGGER.cannotMapZipFile(file);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        try {
+            signed = readCentralDirectory();
+        } catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            // A corrupt directory pointing outside the file
+            final ZipException exception = ServerLogger.ROOT_LOGGER.cannotMapZipFile(file);
+            exception.initCause(e);
+            throw exception;
+        }
+    }
+
+    static boolean isEnabled() {
+        return Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(ENABLED_PROPERTY, "false"));
+    }
+
+    /**
+     * Open a zip file, sharing the instance already opened for the same file if it has not changed since.
+     *
+     * @param file the zip file
+     * @return the zip file, which must be {@link #release() released} once no longer used
+     * @throws IOException if the file cannot be read or is not a supported zip file
+     */
+    static MappedZipFile open(final File file) throws IOException {
+        final String key = file.getCanonicalPath() + ':' + file.length() + ':' + file.lastModified();
+        synchronized (MappedZipFile.class) {
+            final MappedZipFile zipFile = openFiles.get(key);
+            if (zipFile != null) {
+                zipFile.references++;
+                return zipFile;
+            }
+        }
+        // Parse outside the lock so that archives of concurrent deployments are indexed in parallel
+        final MappedZipFile created = new MappedZipFile(file, key);
+        synchronized (MappedZipFile.class) {
+            MappedZipFile zipFile = openFiles.get(key);
+            if (zipFile == null) {
+                openFiles.put(key, zipFile = created);
+            }
+            zipFile.references++;
+            return zipFile;
+        }
+    }
+
+    /**
+     * Release a reference obtained from {@link #open(File)}.
+     */
+    void release() {
+        synchronized (MappedZipFile.class) {
+            if (--references == 0 && openFiles.get(key) == this) {
+                openFiles.remove(key);
+            }
+        }
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    /**
+     * @return {@code true} if the archive contains signature files, whose code signers are not verified by this class
+     */
+    boolean isSigned() {
+        return signed;
+    }
+
+    /**
+     * Gets a file entry.
+     *
+     * @param name the path of the entry, without a leading {@code /}
+     * @return the entry, or {@code null} if there is no such file
+     */
+    Entry getEntry(final String name) {
+        return entries.get(name);
+    }
+
+    /**
+     * Determine whether a directory exists, including directories which only exist as the parent of an entry.
+     *
+     * @param path the path of the directory, without leading or trailing {@code /}
+     * @return {@code true} if the directory exists
+     */
+    boolean isDirectory(final String path) {
+        return directories.containsKey(path);
+    }
+
+    /**
+     * @return the paths of all directories, including {@code ""} for the root
+     */
+    Collection<String> getDirectories() {
+        return Collections.unmodifiableSet(directories.keySet());
+    }
+
+    /**
+     * Gets the file entries directly in a directory.
+     *
+     * @param path the path of the directory, without leading or trailing {@code /}
+     * @return the entries, which are empty if there is no such directory
+     */
+    List<Entry> getEntries(final String path) {
+        final List<Entry> result = directories.get(path);
+        return result == null ? Collections.<Entry>emptyList() : Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Read the uncompressed content of an entry.
+     *
+     * @param entry the entry
+     * @return the content
+     * @throws IOException if the entry is corrupt or uses an unsupported compression method
+     */
+    byte[] read(final Entry entry) throws IOException {
+        final ByteBuffer data = buffer.duplicate();
+        data.position(entry.offset);
+        final byte[] bytes = new byte[entry.size];
+        if (entry.method == ZipEntry.STORED) {
+            data.get(bytes);
+        } else if (entry.method == ZipEntry.DEFLATED) {
+            // The inflater needs an extra byte after the data when the zlib header and checksum are omitted
+            final byte[] compressed = new byte[entry.compressedSize + 1];
+            data.get(compressed, 0, entry.compressedSize);
+            final Inflater inflater = new Inflater(true);
+            try {
+                inflater.setInput(compressed);
+                int length = 0;
+                while (length < bytes.length) {
+                    final int read = inflater.inflate(bytes, length, bytes.length - length);
+                    if (read == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    length += read;
+                }
+                if (length != bytes.length) {
+                    throw ServerLogger.ROOT_LOGGER.corruptZipEntry(entry.name, file);
+                }
+            } catch (DataFormatException e) {
+                final ZipException exception = ServerLogger.ROOT_LOGGER.corruptZipEntry(entry.name, file);
+                exception.initCause(e);
+                throw exception;
+            } finally {
+                inflater.end();
+            }
+        } else {
+            throw ServerLogger.ROOT_LOGGER.corruptZipEntry(entry.name, file);
+        }
+        final CRC32 crc = new CRC32();
+        crc.update(bytes);
+        if ((int) crc.getValue() != entry.crc) {
+            throw ServerLogger.ROOT_LOGGER.corruptZipEntry(entry.name, file);
+        }
+        return bytes;
+    }
+
+    private boolean readCentralDirectory() throws ZipException {
+        final int limit = buffer.limit();
+        int end = -1;
+        for (int i = limit - END_LENGTH; i >= Math.max(0, limit - END_LENGTH - MAX_COMMENT_LENGTH); i--) {
+            if (buffer.getInt(i) == END_SIGNATURE) {
+                end = i;
+                break;
+            }
+        }
+        if (end < 0) {
+            throw ServerLogger.ROOT_LOGGER.cannotMapZipFile(file);
+        }
+        final int count = getUnsignedShort(end + 10);
+        final long centralOffset = getUnsignedInt(end + 16);
+        if (count == 0xffff || centralOffset >= limit) {
+            // Zip64, which is not supported
+            throw ServerLogger.ROOT_LOGGER.cannotMapZipFile(file);
+        }
+        directories.put("", new ArrayList<Entry>());
+        boolean signed = false;
+        int position = (int) centralOffset;
+        for (int i = 0; i < count; i++) {
+            if (position + CENTRAL_LENGTH > limit || buffer.getInt(position) != CENTRAL_SIGNATURE) {
+                throw ServerLogger.ROOT_LOGGER.cannotMapZipFile(file);
+            }
+            final int flags = getUnsignedShort(position + 8);
+            final int method = getUnsignedShort(position + 10);
+            final int crc = buffer.getInt(position + 16);
+            final long compressedSize = getUnsignedInt(position + 20);
+            final long size = getUnsignedInt(position + 24);
+            final int nameLength = getUnsignedShort(position + 28);
+            final int extraLength = getUnsignedShort(position + 30);
+            final int commentLength = getUnsignedShort(position + 32);
+            final long localOffset = getUnsignedInt(position + 42);
+            if (position + CENTRAL_LENGTH + nameLength > limit) {
+                throw ServerLogger.ROOT_LOGGER.cannotMapZipFile(file);
+            }
+            final String name = getString(position + CENTRAL_LENGTH, nameLength);
+            position += CENTRAL_LENGTH + nameLength + extraLength + commentLength;
+
+            if (name.endsWith("/")) {
+                addDirectory(name.substring(0, name.length() - 1));
+                continue;
+            }
+            if ((flags & 1) != 0 || localOffset + LOCAL_LENGTH > limit || size > Integer.MAX_VALUE) {
+                // Encrypted or Zip64
+                throw ServerLogger.ROOT_LOGGER.cannotMapZipFile(file);
+            }
+            final int local = (int) localOffset;
+            if (buffer.getInt(local) != LOCAL_SIGNATURE) {
+                throw ServerLogger.ROOT_LOGGER.cannotMapZipFile(file);
+            }
+            final long offset = localOffset + LOCAL_LENGTH + getUnsignedShort(local + 26) + getUnsignedShort(local + 28);
+            if (offset + compressedSize > limit) {
+                throw ServerLogger.ROOT_LOGGER.cannotMapZipFile(file);
+            }
+            final Entry entry = new Entry(name, method, crc, (int) compressedSize, (int) size, (int) offset);
+            entries.put(name, entry);
+            final int separator = name.lastIndexOf('/');
+            addDirectory(separator < 0 ? "" : name.substring(0, separator)).add(entry);
+            if (isSignatureFile(name)) {
+                signed = true;
+            }
+        }
+        return signed;
+    }
+
+    private List<Entry> addDirectory(final String path) {
+        List<Entry> result = directories.get(path);
+        if (result == null) {
+            directories.put(path, result = new ArrayList<Entry>());
+            final int separator = path.lastIndexOf('/');
+            addDirectory(separator < 0 ? "" : path.substring(0, separator));
+        }
+        return result;
+    }
+
+    private static boolean isSignatureFile(final String name) {
+        final String upper = name.toUpperCase(Locale.ENGLISH);
+        return upper.startsWith("META-INF/") && upper.indexOf('/', "META-INF/".length()) < 0
+                && (upper.endsWith(".SF") || upper.endsWith(".RSA") || upper.endsWith(".DSA") || upper.endsWith(".EC"));
+    }
+
+    private int getUnsignedShort(final int index) {
+        return buffer.getShort(index) & 0xffff;
+    }
+
+    private long getUnsignedInt(final int index) {
+        return buffer.getInt(index) & 0xffffffffL;
+    }
+
+    private String getString(final int index, final int length) {
+        final ByteBuffer data = buffer.duplicate();
+        data.position(index);
+        final byte[] bytes = new byte[length];
+        data.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A file in the archive.
+     */
+    static final class Entry {
+        private final String name;
+        private final int method;
+        private final int crc;
+        private final int compressedSize;
+        private final int size;
+        private final int offset;
+
+        private Entry(final String name, final int method, final int crc, final int compressedSize, final int size, final int offset) {
+            this.name = name;
+            this.method = method;
+            this.crc = crc;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.offset = offset;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        int getSize() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.module;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.security.CodeSigner;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+import org.jboss.modules.AbstractResourceLoader;
+import org.jboss.modules.ClassSpec;
+import org.jboss.modules.IterableResourceLoader;
+import org.jboss.modules.PackageSpec;
+import org.jboss.modules.PathUtils;
+import org.jboss.modules.Resource;
+import org.jboss.modules.filter.PathFilter;
+import org.jboss.modules.filter.PathFilters;
+import org.jboss.vfs.VFSUtils;
+import org.jboss.vfs.VirtualFile;
+import org.jboss.vfs.VirtualFilePermission;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Resource loader which reads a mounted zip archive through a {@link MappedZipFile} rather than through the VFS mount.
+ * Resource URLs and code sources are those of the VFS mount, so they are the same as with a {@link VFSResourceLoader}.
+ * Signed archives must use a {@link VFSResourceLoader}, since the code signers of entries are not verified.
+ */
+final class MappedZipResourceLoader extends AbstractResourceLoader implements IterableResourceLoader {
+
+    private final String rootName;
+    private final VirtualFile root;
+    private final MappedZipFile zipFile;
+    private final Manifest manifest;
+    private final URL rootUrl;
+    private final CodeSource codeSource;
+
+    /**
+     * Construct new instance.
+     *
+     * @param rootName The module root name
+     * @param root The mount point of the archive
+     * @param zipFile The archive mounted at {@code root}
+     * @param usePhysicalCodeSource {@code true} to use the physical root URL for code sources, {@code false} to use the VFS URL
+     * @throws IOException if the manifest could not be read or the root URL is invalid
+     */
+    MappedZipResourceLoader(final String rootName, final VirtualFile root, final MappedZipFile zipFile, final boolean usePhysicalCodeSource) throws IOException {
+        if (WildFlySecurityManager.isChecking()) {
+            System.getSecurityManager().checkPermission(new VirtualFilePermission(root.getPathName(), "read"));
+        }
+        this.rootName = rootName;
+        this.root = root;
+        this.zipFile = zipFile;
+        final MappedZipFile.Entry manifestEntry = zipFile.getEntry(JarFile.MANIFEST_NAME);
+        manifest = manifestEntry == null ? null : new Manifest(new ByteArrayInputStream(zipFile.read(manifestEntry)));
+        rootUrl = usePhysicalCodeSource ? VFSUtils.getRootURL(root) : root.asFileURL();
+        codeSource = new CodeSource(rootUrl, (CodeSigner[]) null);
+    }
+
+    /** {@inheritDoc} */
+    public ClassSpec getClassSpec(final String name) throws IOException {
+        final MappedZipFile.Entry entry = zipFile.getEntry(name);
+        if (entry == null) {
+            return null;
+        }
+        final ClassSpec spec = new ClassSpec();
+        spec.setBytes(zipFile.read(entry));
+        spec.setCodeSource(codeSource);
+        return spec;
+    }
+
+    /** {@inheritDoc} */
+    public PackageSpec getPackageSpec(final String name) throws IOException {
+        return getPackageSpec(name, manifest, rootUrl);
+    }
+
+    /** {@inheritDoc} */
+    public String getLibrary(final String name) {
+        return null;
+    }
+
+    /** {@inheritDoc} */
+    public String getRootName() {
+        return rootName;
+    }
+
+    /** {@inheritDoc} */
+    public PathFilter getExportFilter() {
+        return PathFilters.acceptAll();
+    }
+
+    /** {@inheritDoc} */
+    public Resource getResource(final String name) {
+        final String path = relativize(PathUtils.canonicalize(name));
+        final MappedZipFile.Entry entry = zipFile.getEntry(path);
+        if (entry != null) {
+            return new MappedZipEntryResource(entry);
+        }
+        if (zipFile.isDirectory(path)) {
+            // Directories have no content of their own, so leave them to VFS
+            final VirtualFile file = root.getChild(path);
+            try {
+                return new VFSResourceLoader.VFSEntryResource(file.getPathNameRelativeTo(root), file, file.toURL());
+            } catch (MalformedURLException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /** {@inheritDoc} */
+    public Collection<String> getPaths() {
+        return new ArrayList<String>(zipFile.getDirectories());
+    }
+
+    @Override
+    public Iterator<Resource> iterateResources(final String startPath, final boolean recursive) {
+        final String start = relativize(PathUtils.canonicalize(startPath));
+        if (!zipFile.isDirectory(start)) {
+            return Collections.<Resource>emptySet().iterator();
+        }
+        final List<MappedZipFile.Entry> entries = new ArrayList<MappedZipFile.Entry>(zipFile.getEntries(start));
+        if (recursive) {
+            final String prefix = start.isEmpty() ? "" : start + '/';
+            for (String directory : zipFile.getDirectories()) {
+                if (!directory.equals(start) && directory.startsWith(prefix)) {
+                    entries.addAll(zipFile.getEntries(directory));
+                }
+            }
+        }
+        final Iterator<MappedZipFile.Entry> iterator = entries.iterator();
+        return new Iterator<Resource>() {
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Resource next() {
+                return new MappedZipEntryResource(iterator.next());
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private static String relativize(final String path) {
+        int start = 0;
+        while (start < path.length() && path.charAt(start) == '/') {
+            start++;
+        }
+        int end = path.length();
+        while (end > start && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        return path.substring(start, end);
+    }
+
+    private final class MappedZipEntryResource implements Resource {
+        private final MappedZipFile.Entry entry;
+        private volatile URL url;
+
+        private MappedZipEntryResource(final MappedZipFile.Entry entry) {
+            this.entry = entry;
+        }
+
+        public String getName() {
+            return entry.getName();
+        }
+
+        public URL getURL() {
+            URL url = this.url;
+            if (url == null) {
+                try {
+                    this.url = url = root.getChild(entry.getName()).toURL();
+                } catch (MalformedURLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return url;
+        }
+
+        public InputStream openStream() throws IOException {
+            return new ByteArrayInputStream(zipFile.read(entry));
+        }
+
+        public long getSize() {
+            return entry.getSize();
+        }
+    }
+}
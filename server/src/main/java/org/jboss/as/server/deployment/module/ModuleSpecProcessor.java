@@ -30,6 +30,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Map;
 import java.util.PropertyPermission;
 
 import org.jboss.as.server.logging.ServerLogger;
@@ -38,6 +39,7 @@ import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
+import org.jboss.as.server.deployment.MountedDeploymentOverlay;
 import org.jboss.as.server.deployment.SubDeploymentMarker;
 import org.jboss.as.server.moduleservice.ModuleDefinition;
 import org.jboss.as.server.moduleservice.ModuleLoadService;
@@ -46,6 +48,7 @@ import org.jboss.as.server.moduleservice.ServiceModuleLoader;
 import org.jboss.modules.DependencySpec;
 import org.jboss.modules.ModuleIdentifier;
 import org.jboss.modules.ModuleSpec;
+import org.jboss.modules.ResourceLoader;
 import org.jboss.modules.ResourceLoaderSpec;
 import org.jboss.modules.filter.MultiplePathFilterBuilder;
 import org.jboss.modules.filter.PathFilter;
@@ -222,9 +225,10 @@ public class ModuleSpecProcessor implements DeploymentUnitProcessor {
             specBuilder.addResourceRoot(resourceLoaderSpec);
         }
 
+        final boolean overlaid = hasOverlays(deploymentUnit);
         for (final ResourceRoot resourceRoot : resourceRoots) {
             logger.debugf("Adding resource %s to module %s", resourceRoot.getRoot(), moduleIdentifier);
-            addResourceRoot(specBuilder, resourceRoot, permFactories);
+            addResourceRoot(specBuilder, resourceRoot, permFactories, overlaid);
         }
 
         createDependencies(specBuilder, dependencies, false);
@@ -330,20 +334,19 @@ public class ModuleSpecProcessor implements DeploymentUnitProcessor {
         }
     }
 
-    private void addResourceRoot(final ModuleSpec.Builder specBuilder, final ResourceRoot resource, final List<PermissionFactory> permFactories)
-            throws DeploymentUnitProcessingException {
+    private void addResourceRoot(final ModuleSpec.Builder specBuilder, final ResourceRoot resource, final List<PermissionFactory> permFactories,
+                                 final boolean overlaid) throws DeploymentUnitProcessingException {
         try {
             final VirtualFile root = resource.getRoot();
+            final ResourceLoader loader = createResourceLoader(resource, overlaid);
             if (resource.getExportFilters().isEmpty()) {
-                specBuilder.addResourceRoot(ResourceLoaderSpec.createResourceLoaderSpec(new VFSResourceLoader(resource
-                        .getRootName(), root, resource.isUsePhysicalCodeSource())));
+                specBuilder.addResourceRoot(ResourceLoaderSpec.createResourceLoaderSpec(loader));
             } else {
                 final MultiplePathFilterBuilder filterBuilder = PathFilters.multiplePathFilterBuilder(true);
                 for (final FilterSpecification filter : resource.getExportFilters()) {
                     filterBuilder.addFilter(filter.getPathFilter(), filter.isInclude());
                 }
-                specBuilder.addResourceRoot(ResourceLoaderSpec.createResourceLoaderSpec(new VFSResourceLoader(resource
-                        .getRootName(), root, resource.isUsePhysicalCodeSource()), filterBuilder.create()));
+                specBuilder.addResourceRoot(ResourceLoaderSpec.createResourceLoaderSpec(loader, filterBuilder.create()));
             }
             // start with the root
             permFactories.add(new ImmediatePermissionFactory(
@@ -356,4 +359,32 @@ public class ModuleSpecProcessor implements DeploymentUnitProcessor {
         }
     }
 
+    /**
+     * Create the loader of a resource root. A mapped archive is only read directly if no deployment overlays are mounted
+     * into its VFS mount, since the mapped archive does not see them.
+     *
+     * @param resource the resource root
+     * @param overlaid {@code true} if deployment overlays are mounted into the deployment
+     * @return the resource loader
+     * @throws IOException if the loader cannot be created
+     */
+    static ResourceLoader createResourceLoader(final ResourceRoot resource, final boolean overlaid) throws IOException {
+        final MountHandle mountHandle = resource.getMountHandle();
+        final MappedZipFile zipFile = mountHandle == null || overlaid ? null : mountHandle.getMappedZipFile();
+        if (zipFile != null) {
+            return new MappedZipResourceLoader(resource.getRootName(), resource.getRoot(), zipFile, resource.isUsePhysicalCodeSource());
+        }
+        return new VFSResourceLoader(resource.getRootName(), resource.getRoot(), resource.isUsePhysicalCodeSource());
+    }
+
+    private static boolean hasOverlays(final DeploymentUnit deploymentUnit) {
+        for (DeploymentUnit unit = deploymentUnit; unit != null; unit = unit.getParent()) {
+            final Map<String, MountedDeploymentOverlay> overlays = unit.getAttachment(Attachments.DEPLOYMENT_OVERLAY_LOCATIONS);
+            if (overlays != null && !overlays.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
 }
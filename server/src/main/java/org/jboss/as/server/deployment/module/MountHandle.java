@@ -23,6 +23,7 @@
 package org.jboss.as.server.deployment.module;
 
 import java.io.Closeable;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.jboss.vfs.VFSUtils;
 
@@ -37,6 +38,7 @@ import org.jboss.vfs.VFSUtils;
  */
 public class MountHandle implements Closeable {
     private final Closeable handle;
+    private final AtomicReference<MappedZipFile> zipFile;
 
     /**
      * Construct new instance with the mount handle to close.
@@ -44,7 +46,25 @@ public class MountHandle implements Closeable {
      * @param handle The mount handle to close
      */
     public MountHandle(final Closeable handle) {
+        this(handle, null);
+    }
+
+    /**
+     * Construct new instance with the mount handle to close and the mapped archive which is mounted.
+     *
+     * @param handle The mount handle to close
+     * @param zipFile The mounted archive, which is released when the handle is closed, or {@code null}
+     */
+    MountHandle(final Closeable handle, final MappedZipFile zipFile) {
         this.handle = handle;
+        this.zipFile = new AtomicReference<MappedZipFile>(zipFile);
+    }
+
+    /**
+     * @return the mounted archive to load resources from, or {@code null} to load them through VFS
+     */
+    MappedZipFile getMappedZipFile() {
+        return zipFile.get();
     }
 
     /**
@@ -54,6 +74,7 @@ public class MountHandle implements Closeable {
         if (handle != null) {
             VFSUtils.safeClose(handle);
         }
+        releaseZipFile();
     }
 
     @Override
@@ -61,6 +82,14 @@ public class MountHandle implements Closeable {
         if (handle != null) {
             VFSUtils.safeClose(handle);
         }
+        releaseZipFile();
         super.finalize();
     }
+
+    private void releaseZipFile() {
+        final MappedZipFile zipFile = this.zipFile.getAndSet(null);
+        if (zipFile != null) {
+            zipFile.release();
+        }
+    }
 }
@@ -0,0 +1,321 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.module;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.jar.Manifest;
+
+import org.jboss.as.server.deployment.Attachments;
+import org.jboss.as.server.deployment.DeploymentUnit;
+import org.jboss.as.server.deployment.DeploymentUtils;
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.vfs.VirtualFile;
+
+/**
+ * The metadata read from the resource roots of a deployment whose content is stored in the content repository.
+ * <p>
+ * The service files and manifest of each resource root can only change if the content changes, so they are kept in a
+ * file next to the content and reused whenever content with the same hash is deployed again, instead of reading them
+ * from the archive. Class-Path entries are read from the cached manifest. The cache is not used for deployments that
+ * deployment overlays apply to, since overlays can replace these files.
+ * </p>
+ */
+public final class ResourceRootMetadataCache {
+
+    private static final int MAGIC = 0x52524d43;
+    private static final int VERSION = 1;
+
+    private final File file;
+    private final byte[] hash;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+    private final AtomicBoolean modified = new AtomicBoolean();
+    private volatile VirtualFile deploymentRoot;
+
+    private ResourceRootMetadataCache(final File file, final byte[] hash) {
+        this.file = file;
+        this.hash = hash;
+    }
+
+    /**
+     * Gets the cache shared by a deployment and its subdeployments.
+     *
+     * @param deploymentUnit the deployment unit
+     * @return the cache, or {@code null} if the metadata of the deployment is not cached
+     */
+    public static ResourceRootMetadataCache get(final DeploymentUnit deploymentUnit) {
+        final DeploymentUnit topUnit = DeploymentUtils.getTopDeploymentUnit(deploymentUnit);
+        final ResourceRootMetadataCache cache = topUnit.getAttachment(Attachments.RESOURCE_ROOT_METADATA_CACHE);
+        if (cache != null && cache.deploymentRoot == null) {
+            final ResourceRoot deploymentRoot = topUnit.getAttachment(Attachments.DEPLOYMENT_ROOT);
+            if (deploymentRoot == null) {
+                return null;
+            }
+            cache.setDeploymentRoot(deploymentRoot.getRoot());
+        }
+        return cache;
+    }
+
+    /**
+     * Sets the root of the deployment content which the paths of the cached resource roots are relative to.
+     *
+     * @param deploymentRoot the root of the deployment
+     */
+    void setDeploymentRoot(final VirtualFile deploymentRoot) {
+        this.deploymentRoot = deploymentRoot;
+    }
+
+    /**
+     * Load the cache from its file, starting with an empty cache if the file does not exist or was written for other
+     * content.
+     *
+     * @param file the file the cache is stored in
+     * @param hash the hash of the deployment content
+     * @return the cache
+     */
+    public static ResourceRootMetadataCache load(final File file, final byte[] hash) {
+        final ResourceRootMetadataCache cache = new ResourceRootMetadataCache(file, hash);
+        if (file.exists()) {
+            try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                cache.read(input);
+            } catch (IOException | RuntimeException e) {
+                ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Ignoring unreadable resource root metadata %s", file);
+                cache.entries.clear();
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Gets the cached services of a resource root.
+     *
+     * @param resourceRoot the resource root
+     * @return the service type names mapped to the implementation class names, or {@code null} if not cached
+     */
+    public Map<String, List<String>> getServices(final ResourceRoot resourceRoot) {
+        final Entry entry = getEntry(resourceRoot, false);
+        return entry == null ? null : entry.services;
+    }
+
+    public void putServices(final ResourceRoot resourceRoot, final Map<String, List<String>> services) {
+        final Entry entry = getEntry(resourceRoot, true);
+        if (entry != null) {
+            entry.services = Collections.unmodifiableMap(new HashMap<String, List<String>>(services));
+            modified.set(true);
+        }
+    }
+
+    /**
+     * Determine whether the manifest of a resource root is cached.
+     *
+     * @param resourceRoot the resource root
+     * @return {@code true} if {@link #getManifest(ResourceRoot)} returns the manifest of the resource root
+     */
+    public boolean isManifestCached(final ResourceRoot resourceRoot) {
+        final Entry entry = getEntry(resourceRoot, false);
+        return entry != null && entry.manifestCached;
+    }
+
+    /**
+     * Gets the cached manifest of a resource root.
+     *
+     * @param resourceRoot the resource root
+     * @return a new copy of the manifest, or {@code null} if the resource root has no manifest or it is not cached
+     * @throws IOException if the cached manifest cannot be read
+     */
+    public Manifest getManifest(final ResourceRoot resourceRoot) throws IOException {
+        final Entry entry = getEntry(resourceRoot, false);
+        final byte[] manifest = entry == null ? null : entry.manifest;
+        return manifest == null ? null : new Manifest(new ByteArrayInputStream(manifest));
+    }
+
+    public void putManifest(final ResourceRoot resourceRoot, final Manifest manifest) throws IOException {
+        final Entry entry = getEntry(resourceRoot, true);
+        if (entry != null) {
+            byte[] bytes = null;
+            if (manifest != null) {
+                final ByteArrayOutputStream output = new ByteArrayOutputStream();
+                manifest.write(output);
+                bytes = output.toByteArray();
+            }
+            entry.manifest = bytes;
+            entry.manifestCached = true;
+            modified.set(true);
+        }
+    }
+
+    /**
+     * Write the cache to its file if anything was added. The cache is only an optimisation, so failures are logged.
+     */
+    public void save() {
+        if (!modified.compareAndSet(true, false)) {
+            return;
+        }
+        final File tmp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+                write(output);
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Failed to write resource root metadata %s", file);
+            tmp.delete();
+        }
+    }
+
+    private Entry getEntry(final ResourceRoot resourceRoot, final boolean create) {
+        final String path = getPath(resourceRoot);
+        if (path == null) {
+            return null;
+        }
+        Entry entry = entries.get(path);
+        if (entry == null && create) {
+            final Entry existing = entries.putIfAbsent(path, entry = new Entry());
+            if (existing != null) {
+                entry = existing;
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Gets the path of the resource root within the deployment content. Resource roots outside the content, such as
+     * external Class-Path entries, are not cached.
+     */
+    private String getPath(final ResourceRoot resourceRoot) {
+        final VirtualFile deploymentRoot = this.deploymentRoot;
+        final VirtualFile root = resourceRoot.getRoot();
+        if (deploymentRoot == null || root == null) {
+            return null;
+        }
+        if (root.equals(deploymentRoot)) {
+            return "";
+        }
+        try {
+            return root.getPathNameRelativeTo(deploymentRoot);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void read(final DataInputStream input) throws IOException {
+        if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+            return;
+        }
+        final int hashLength = input.readInt();
+        if (hashLength != hash.length) {
+            return;
+        }
+        final byte[] storedHash = new byte[hashLength];
+        input.readFully(storedHash);
+        if (!Arrays.equals(hash, storedHash)) {
+            return;
+        }
+        final int entryCount = input.readInt();
+        for (int i = 0; i < entryCount; i++) {
+            final String path = input.readUTF();
+            final Entry entry = new Entry();
+            if (input.readBoolean()) {
+                final int serviceCount = input.readInt();
+                final Map<String, List<String>> services = new HashMap<String, List<String>>(serviceCount);
+                for (int j = 0; j < serviceCount; j++) {
+                    final String type = input.readUTF();
+                    final int implementationCount = input.readInt();
+                    final List<String> implementations = new ArrayList<String>(implementationCount);
+                    for (int k = 0; k < implementationCount; k++) {
+                        implementations.add(input.readUTF());
+                    }
+                    services.put(type, implementations);
+                }
+                entry.services = Collections.unmodifiableMap(services);
+            }
+            if (input.readBoolean()) {
+                final int manifestLength = input.readInt();
+                if (manifestLength >= 0) {
+                    entry.manifest = new byte[manifestLength];
+                    input.readFully(entry.manifest);
+                }
+                entry.manifestCached = true;
+            }
+            entries.put(path, entry);
+        }
+    }
+
+    private void write(final DataOutputStream output) throws IOException {
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeInt(hash.length);
+        output.write(hash);
+        final Map<String, Entry> entries = new HashMap<String, Entry>(this.entries);
+        output.writeInt(entries.size());
+        for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+            output.writeUTF(mapEntry.getKey());
+            final Entry entry = mapEntry.getValue();
+            final Map<String, List<String>> services = entry.services;
+            output.writeBoolean(services != null);
+            if (services != null) {
+                output.writeInt(services.size());
+                for (Map.Entry<String, List<String>> service : services.entrySet()) {
+                    output.writeUTF(service.getKey());
+                    output.writeInt(service.getValue().size());
+                    for (String implementation : service.getValue()) {
+                        output.writeUTF(implementation);
+                    }
+                }
+            }
+            output.writeBoolean(entry.manifestCached);
+            if (entry.manifestCached) {
+                final byte[] manifest = entry.manifest;
+                output.writeInt(manifest == null ? -1 : manifest.length);
+                if (manifest != null) {
+                    output.write(manifest);
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        private volatile Map<String, List<String>> services;
+        private volatile byte[] manifest;
+        private volatile boolean manifestCached;
+    }
+}
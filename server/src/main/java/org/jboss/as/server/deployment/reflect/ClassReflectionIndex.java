@@ -22,15 +22,18 @@
 
 package org.jboss.as.server.deployment.reflect;
 
+import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.invocation.proxy.MethodIdentifier;
 
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
@@ -44,19 +47,26 @@ import static java.lang.reflect.Modifier.STATIC;
 /**
  * A short-lived index of all the declared fields and methods of a class.
  * <p/>
- * The ClassReflectionIndex is only available during the deployment.
+ * The ClassReflectionIndex is only available during the deployment. Fields, constructors and methods are each read from
+ * the class the first time they are looked up, since most classes are only ever asked for one kind of member.
  *
  * @param <?> the type being indexed
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
  */
 public final class ClassReflectionIndex {
+    private static final Comparator<Method> METHOD_NAME_ORDER = new Comparator<Method>() {
+        public int compare(final Method o1, final Method o2) {
+            return o1.getName().compareTo(o2.getName());
+        }
+    };
+
     private final DeploymentReflectionIndex deploymentReflectionIndex;
     private final Class<?> indexedClass;
-    private final Map<String, Field> fields;
-    private final Map<ParamList, Constructor<?>> constructors;
-    private final Map<ParamNameList, Constructor<?>> constructorsByTypeName;
-    private final Map<String, Map<ParamList, Map<Class<?>, Method>>> methods;
-    private final Map<String, Map<ParamNameList, Map<String, Method>>> methodsByTypeName;
+    // each kind of member is only read from the class the first time it is used
+    private final Object membersLock = new Object();
+    private volatile Map<String, Field> fields;
+    private volatile MemberTable<Constructor<?>> constructors;
+    private volatile MemberTable<Method> methods;
 
     /**
      * Identity map of all methods defined by this class and its superclasses (including default methods)
@@ -64,101 +74,78 @@ public final class ClassReflectionIndex {
      */
     private volatile Set<Method> classMethods;
 
-    @SuppressWarnings({"unchecked"})
     ClassReflectionIndex(final Class<?> indexedClass, final DeploymentReflectionIndex deploymentReflectionIndex) {
         this.deploymentReflectionIndex = deploymentReflectionIndex;
         this.indexedClass = indexedClass;
-        // -- fields --
-        final Field[] declaredFields = indexedClass.getDeclaredFields();
-        final Map<String, Field> fields = new HashMap<String, Field>();
-        for (Field field : declaredFields) {
-            field.setAccessible(true);
-            fields.put(field.getName(), field);
-        }
-        this.fields = fields;
-        // -- methods --
-        final Method[] declaredMethods = indexedClass.getDeclaredMethods();
-        final Map<String, Map<ParamList, Map<Class<?>, Method>>> methods = new HashMap<String, Map<ParamList, Map<Class<?>, Method>>>();
-        final Map<String, Map<ParamNameList, Map<String, Method>>> methodsByTypeName = new HashMap<String, Map<ParamNameList, Map<String, Method>>>();
-        for (Method method : declaredMethods) {
-            method.setAccessible(true);
-            addMethod(methods, method);
-            addMethodByTypeName(methodsByTypeName, method);
-        }
-
-        this.methods = methods;
-        this.methodsByTypeName = methodsByTypeName;
-        // -- constructors --
-        final Constructor<?>[] declaredConstructors = (Constructor<?>[]) indexedClass.getDeclaredConstructors();
-        final Map<ParamNameList, Constructor<?>> constructorsByTypeName = new HashMap<ParamNameList, Constructor<?>>();
-        final Map<ParamList, Constructor<?>> constructors = new HashMap<ParamList, Constructor<?>>();
-        for (Constructor<?> constructor : declaredConstructors) {
-            constructor.setAccessible(true);
-            Class<?>[] parameterTypes = constructor.getParameterTypes();
-            constructors.put(createParamList(parameterTypes), constructor);
-            constructorsByTypeName.put(createParamNameList(parameterTypes), constructor);
-        }
-        this.constructorsByTypeName = constructorsByTypeName;
-        this.constructors = constructors;
     }
 
-    private static final ParamList EMPTY = new ParamList(new Class<?>[0]);
-    private static final ParamNameList EMPTY_NAMES = new ParamNameList(new String[0]);
-
-    private static void addMethod(Map<String, Map<ParamList, Map<Class<?>, Method>>> methods, Method method) {
-        final String name = method.getName();
-        Map<ParamList, Map<Class<?>, Method>> nameMap = methods.get(name);
-        if (nameMap == null) {
-            methods.put(name, nameMap = new HashMap<ParamList, Map<Class<?>, Method>>());
-        }
-        final Class<?>[] types = method.getParameterTypes();
-        final ParamList list = createParamList(types);
-        Map<Class<?>, Method> paramsMap = nameMap.get(list);
-        if (paramsMap == null) {
-            nameMap.put(list, paramsMap = new HashMap<Class<?>, Method>());
-        }
-        //don't allow superclass / interface methods to overwrite existing methods
-        if (!paramsMap.containsKey(method.getReturnType())) {
-            paramsMap.put(method.getReturnType(), method);
+    private Map<String, Field> fields() {
+        Map<String, Field> fields = this.fields;
+        if (fields == null) {
+            synchronized (membersLock) {
+                fields = this.fields;
+                if (fields == null) {
+                    try {
+                        final Field[] declaredFields = indexedClass.getDeclaredFields();
+                        fields = new HashMap<String, Field>(declaredFields.length * 4 / 3 + 1);
+                        for (Field field : declaredFields) {
+                            field.setAccessible(true);
+                            fields.put(field.getName(), field);
+                        }
+                    } catch (Throwable e) {
+                        throw ServerLogger.ROOT_LOGGER.errorGettingReflectiveInformation(indexedClass, indexedClass.getClassLoader(), e);
+                    }
+                    this.fields = fields;
+                }
+            }
         }
+        return fields;
     }
 
-    private static void addMethodByTypeName(Map<String, Map<ParamNameList, Map<String, Method>>> methodsByTypeName, Method method) {
-        final String name = method.getName();
-        Map<ParamNameList, Map<String, Method>> nameMap = methodsByTypeName.get(name);
-        if (nameMap == null) {
-            methodsByTypeName.put(name, nameMap = new HashMap<ParamNameList, Map<String, Method>>());
-        }
-        final Class<?>[] types = method.getParameterTypes();
-        final ParamNameList list = createParamNameList(types);
-        Map<String, Method> paramsMap = nameMap.get(list);
-        if (paramsMap == null) {
-            nameMap.put(list, paramsMap = new HashMap<String, Method>());
-        }
-
-        //don't allow superclass / interface methods to overwrite existing methods
-        if (!paramsMap.containsKey(method.getReturnType().getName())) {
-            paramsMap.put(method.getReturnType().getName(), method);
+    private MemberTable<Constructor<?>> constructors() {
+        MemberTable<Constructor<?>> constructors = this.constructors;
+        if (constructors == null) {
+            synchronized (membersLock) {
+                constructors = this.constructors;
+                if (constructors == null) {
+                    try {
+                        final Constructor<?>[] declaredConstructors = indexedClass.getDeclaredConstructors();
+                        for (Constructor<?> constructor : declaredConstructors) {
+                            constructor.setAccessible(true);
+                        }
+                        constructors = new MemberTable<Constructor<?>>(declaredConstructors);
+                    } catch (Throwable e) {
+                        throw ServerLogger.ROOT_LOGGER.errorGettingReflectiveInformation(indexedClass, indexedClass.getClassLoader(), e);
+                    }
+                    this.constructors = constructors;
+                }
+            }
         }
+        return constructors;
     }
 
-    private static ParamNameList createParamNameList(final Class<?>[] types) {
-        if (types == null || types.length == 0) {
-            return EMPTY_NAMES;
-        }
-        String[] strings = new String[types.length];
-        for (int i = 0; i < types.length; i++) {
-            strings[i] = types[i].getName();
+    private MemberTable<Method> methods() {
+        MemberTable<Method> methods = this.methods;
+        if (methods == null) {
+            synchronized (membersLock) {
+                methods = this.methods;
+                if (methods == null) {
+                    try {
+                        final Method[] declaredMethods = indexedClass.getDeclaredMethods();
+                        for (Method method : declaredMethods) {
+                            method.setAccessible(true);
+                        }
+                        // sorted by name so the overloads of a method are adjacent and can be found by a binary search
+                        Arrays.sort(declaredMethods, METHOD_NAME_ORDER);
+                        methods = new MemberTable<Method>(declaredMethods);
+                    } catch (Throwable e) {
+                        throw ServerLogger.ROOT_LOGGER.errorGettingReflectiveInformation(indexedClass, indexedClass.getClassLoader(), e);
+                    }
+                    this.methods = methods;
+                }
+            }
         }
-        return new ParamNameList(strings);
-    }
-
-    private static ParamNameList createParamNameList(final String[] typeNames) {
-        return typeNames == null || typeNames.length == 0 ? EMPTY_NAMES : new ParamNameList(typeNames);
-    }
-
-    private static ParamList createParamList(final Class<?>[] types) {
-        return types == null || types.length == 0 ? EMPTY : new ParamList(types);
+        return methods;
     }
 
     /**
@@ -177,7 +164,7 @@ public final class ClassReflectionIndex {
      * @return the field, or {@code null} if no field of that name exists
      */
     public Field getField(String name) {
-        return fields.get(name);
+        return fields().get(name);
     }
 
     /**
@@ -186,7 +173,7 @@ public final class ClassReflectionIndex {
      * @return The (possibly empty) collection of all declared fields on this object
      */
     public Collection<Field> getFields() {
-        return Collections.unmodifiableCollection(fields.values());
+        return Collections.unmodifiableCollection(fields().values());
     }
 
     /**
@@ -198,15 +185,13 @@ public final class ClassReflectionIndex {
      * @return the method, or {@code null} if no method of that description exists
      */
     public Method getMethod(Class<?> returnType, String name, Class<?>... paramTypes) {
-        final Map<ParamList, Map<Class<?>, Method>> nameMap = methods.get(name);
-        if (nameMap == null) {
-            return null;
-        }
-        final Map<Class<?>, Method> paramsMap = nameMap.get(createParamList(paramTypes));
-        if (paramsMap == null) {
-            return null;
+        final MemberTable<Method> methods = methods();
+        for (int i = methods.indexOf(name); i >= 0 && i < methods.members.length && name.equals(methods.members[i].getName()); i++) {
+            if (methods.members[i].getReturnType() == returnType && methods.hasParameterTypes(i, paramTypes)) {
+                return methods.members[i];
+            }
         }
-        return paramsMap.get(returnType);
+        return null;
     }
 
     /**
@@ -228,15 +213,13 @@ public final class ClassReflectionIndex {
      * @return the method, or {@code null} if no method of that description exists
      */
     public Method getMethod(String returnType, String name, String... paramTypeNames) {
-        final Map<ParamNameList, Map<String, Method>> nameMap = methodsByTypeName.get(name);
-        if (nameMap == null) {
-            return null;
-        }
-        final Map<String, Method> paramsMap = nameMap.get(createParamNameList(paramTypeNames));
-        if (paramsMap == null) {
-            return null;
+        final MemberTable<Method> methods = methods();
+        for (int i = methods.indexOf(name); i >= 0 && i < methods.members.length && name.equals(methods.members[i].getName()); i++) {
+            if (methods.members[i].getReturnType().getName().equals(returnType) && methods.hasParameterTypeNames(i, paramTypeNames)) {
+                return methods.members[i];
+            }
         }
-        return paramsMap.get(returnType);
+        return null;
     }
 
     /**
@@ -246,15 +229,7 @@ public final class ClassReflectionIndex {
      * @return the method, or {@code null} if no method of that description exists
      */
     public Method getMethod(MethodIdentifier methodIdentifier) {
-        final Map<ParamNameList, Map<String, Method>> nameMap = methodsByTypeName.get(methodIdentifier.getName());
-        if (nameMap == null) {
-            return null;
-        }
-        final Map<String, Method> paramsMap = nameMap.get(createParamNameList(methodIdentifier.getParameterTypes()));
-        if (paramsMap == null) {
-            return null;
-        }
-        return paramsMap.get(methodIdentifier.getReturnType());
+        return getMethod(methodIdentifier.getReturnType(), methodIdentifier.getName(), methodIdentifier.getParameterTypes());
     }
 
     /**
@@ -265,15 +240,14 @@ public final class ClassReflectionIndex {
      * @return the (possibly empty) collection of methods matching the description
      */
     public Collection<Method> getMethods(String name, Class<?>... paramTypes) {
-        final Map<ParamList, Map<Class<?>, Method>> nameMap = methods.get(name);
-        if (nameMap == null) {
-            return Collections.emptySet();
-        }
-        final Map<Class<?>, Method> paramsMap = nameMap.get(createParamList(paramTypes));
-        if (paramsMap == null) {
-            return Collections.emptySet();
+        final MemberTable<Method> methods = methods();
+        Collection<Method> result = Collections.emptySet();
+        for (int i = methods.indexOf(name); i >= 0 && i < methods.members.length && name.equals(methods.members[i].getName()); i++) {
+            if (methods.hasParameterTypes(i, paramTypes)) {
+                result = add(result, methods.members[i]);
+            }
         }
-        return Collections.unmodifiableCollection(paramsMap.values());
+        return result;
     }
 
     /**
@@ -284,15 +258,14 @@ public final class ClassReflectionIndex {
      * @return the (possibly empty) collection of methods matching the description
      */
     public Collection<Method> getMethods(String name, String... paramTypeNames) {
-        final Map<ParamNameList, Map<String, Method>> nameMap = methodsByTypeName.get(name);
-        if (nameMap == null) {
-            return Collections.emptySet();
-        }
-        final Map<String, Method> paramsMap = nameMap.get(createParamNameList(paramTypeNames));
-        if (paramsMap == null) {
-            return Collections.emptySet();
+        final MemberTable<Method> methods = methods();
+        Collection<Method> result = Collections.emptySet();
+        for (int i = methods.indexOf(name); i >= 0 && i < methods.members.length && name.equals(methods.members[i].getName()); i++) {
+            if (methods.hasParameterTypeNames(i, paramTypeNames)) {
+                result = add(result, methods.members[i]);
+            }
         }
-        return Collections.unmodifiableCollection(paramsMap.values());
+        return result;
     }
 
     /**
@@ -302,15 +275,7 @@ public final class ClassReflectionIndex {
      * @return the (possibly empty) collection of methods with the given name
      */
     public Collection<Method> getAllMethods(String name) {
-        final Map<ParamList, Map<Class<?>, Method>> nameMap = methods.get(name);
-        if (nameMap == null) {
-            return Collections.emptySet();
-        }
-        final Collection<Method> methods = new ArrayList<Method>();
-        for (Map<Class<?>, Method> map : nameMap.values()) {
-            methods.addAll(map.values());
-        }
-        return methods;
+        return getAllMethods(name, -1);
     }
 
     /**
@@ -321,19 +286,14 @@ public final class ClassReflectionIndex {
      * @return the (possibly empty) collection of methods with the given name and parameter count
      */
     public Collection<Method> getAllMethods(String name, int paramCount) {
-        final Map<ParamList, Map<Class<?>, Method>> nameMap = methods.get(name);
-        if (nameMap == null) {
-            return Collections.emptySet();
-        }
-        final Collection<Method> methods = new ArrayList<Method>();
-        for (Map<Class<?>, Method> map : nameMap.values()) {
-            for (Method method : map.values()) {
-                if (method.getParameterTypes().length == paramCount) {
-                    methods.add(method);
-                }
+        final MemberTable<Method> methods = methods();
+        final Collection<Method> result = new ArrayList<Method>();
+        for (int i = methods.indexOf(name); i >= 0 && i < methods.members.length && name.equals(methods.members[i].getName()); i++) {
+            if (paramCount < 0 || methods.parameterTypes[i].length == paramCount) {
+                result.add(methods.members[i]);
             }
         }
-        return methods;
+        return result;
     }
 
     /**
@@ -342,14 +302,7 @@ public final class ClassReflectionIndex {
      * @return the (possibly empty) collection of all declared methods
      */
     public Collection<Method> getMethods() {
-        final Collection<Method> methods = new ArrayList<Method>();
-        for (Map.Entry<String, Map<ParamList, Map<Class<?>, Method>>> entry : this.methods.entrySet()) {
-            final Map<ParamList, Map<Class<?>, Method>> nameMap = entry.getValue();
-            for (Map<Class<?>, Method> map : nameMap.values()) {
-                methods.addAll(map.values());
-            }
-        }
-        return methods;
+        return new ArrayList<Method>(Arrays.asList(methods().members));
     }
 
     /**
@@ -358,7 +311,7 @@ public final class ClassReflectionIndex {
      * @return the constructors
      */
     public Collection<Constructor<?>> getConstructors() {
-        return Collections.unmodifiableCollection(constructors.values());
+        return Collections.unmodifiableCollection(Arrays.asList(constructors().members));
     }
 
     /**
@@ -368,7 +321,13 @@ public final class ClassReflectionIndex {
      * @return the constructor, or {@code null} of no such constructor exists
      */
     public Constructor<?> getConstructor(Class<?>... paramTypes) {
-        return constructors.get(createParamList(paramTypes));
+        final MemberTable<Constructor<?>> constructors = constructors();
+        for (int i = 0; i < constructors.members.length; i++) {
+            if (constructors.hasParameterTypes(i, paramTypes)) {
+                return constructors.members[i];
+            }
+        }
+        return null;
     }
 
     /**
@@ -378,7 +337,22 @@ public final class ClassReflectionIndex {
      * @return the constructor, or {@code null} of no such constructor exists
      */
     public Constructor<?> getConstructor(String... paramTypeNames) {
-        return constructorsByTypeName.get(createParamNameList(paramTypeNames));
+        final MemberTable<Constructor<?>> constructors = constructors();
+        for (int i = 0; i < constructors.members.length; i++) {
+            if (constructors.hasParameterTypeNames(i, paramTypeNames)) {
+                return constructors.members[i];
+            }
+        }
+        return null;
+    }
+
+    private static Collection<Method> add(final Collection<Method> methods, final Method method) {
+        if (methods.isEmpty()) {
+            return Collections.singleton(method);
+        }
+        final Collection<Method> result = new ArrayList<Method>(methods);
+        result.add(method);
+        return Collections.unmodifiableCollection(result);
     }
 
     public Set<Method> getClassMethods() {
@@ -433,56 +407,59 @@ public final class ClassReflectionIndex {
         return Collections.newSetFromMap(new IdentityHashMap<Method, Boolean>());
     }
 
-
-    private static final class ParamList {
-        private final Class<?>[] types;
-        private final int hashCode;
-
-        ParamList(final Class<?>[] types) {
-            this.types = types;
-            hashCode = Arrays.hashCode(types);
-        }
-
-        Class<?>[] getTypes() {
-            return types;
-        }
-
-        public boolean equals(Object other) {
-            return other instanceof ParamList && equals((ParamList) other);
-        }
-
-        public boolean equals(ParamList other) {
-            return this == other || other != null && Arrays.equals(types, other.types);
-        }
-
-        public int hashCode() {
-            return hashCode;
-        }
-    }
-
-    private static final class ParamNameList {
-        private final String[] types;
-        private final int hashCode;
-
-        ParamNameList(final String[] types) {
-            this.types = types;
-            hashCode = Arrays.hashCode(types);
-        }
-
-        String[] getTypes() {
-            return types;
+    /**
+     * The declared constructors or methods of a class, with their parameter types so that lookups do not need to copy
+     * them from each member.
+     */
+    private static final class MemberTable<T extends Executable> {
+        private final T[] members;
+        private final Class<?>[][] parameterTypes;
+
+        MemberTable(final T[] members) {
+            this.members = members;
+            parameterTypes = new Class<?>[members.length][];
+            for (int i = 0; i < members.length; i++) {
+                parameterTypes[i] = members[i].getParameterTypes();
+            }
         }
 
-        public boolean equals(Object other) {
-            return other instanceof ParamNameList && equals((ParamNameList) other);
+        /**
+         * Gets the index of the first member with the given name, assuming the members are sorted by name.
+         *
+         * @return the index, or {@code -1} if there is no such member
+         */
+        int indexOf(final String name) {
+            int low = 0;
+            int high = members.length - 1;
+            while (low <= high) {
+                final int mid = (low + high) >>> 1;
+                final int cmp = members[mid].getName().compareTo(name);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low < members.length && members[low].getName().equals(name) ? low : -1;
         }
 
-        public boolean equals(ParamNameList other) {
-            return this == other || other != null && Arrays.equals(types, other.types);
+        boolean hasParameterTypes(final int index, final Class<?>[] types) {
+            final Class<?>[] memberTypes = parameterTypes[index];
+            return types == null ? memberTypes.length == 0 : Arrays.equals(memberTypes, types);
         }
 
-        public int hashCode() {
-            return hashCode;
+        boolean hasParameterTypeNames(final int index, final String[] typeNames) {
+            final Class<?>[] memberTypes = parameterTypes[index];
+            final int length = typeNames == null ? 0 : typeNames.length;
+            if (memberTypes.length != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (!memberTypes[i].getName().equals(typeNames[i])) {
+                    return false;
+                }
+            }
+            return true;
         }
     }
 }
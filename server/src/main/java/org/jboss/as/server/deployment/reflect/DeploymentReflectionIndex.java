@@ -22,8 +22,8 @@
 
 package org.jboss.as.server.deployment.reflect;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.as.server.security.ServerPermission;
@@ -34,7 +34,7 @@ import org.jboss.as.server.security.ServerPermission;
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
  */
 public final class DeploymentReflectionIndex {
-    private final Map<Class<?>, ClassReflectionIndex> classes = new HashMap<Class<?>, ClassReflectionIndex>();
+    private final ConcurrentMap<Class<?>, ClassReflectionIndex> classes = new ConcurrentHashMap<Class<?>, ClassReflectionIndex>();
 
     DeploymentReflectionIndex() {
     }
@@ -59,11 +59,15 @@ public final class DeploymentReflectionIndex {
      * @return the index
      */
     @SuppressWarnings({"unchecked"})
-    public synchronized ClassReflectionIndex getClassIndex(Class clazz) {
+    public ClassReflectionIndex getClassIndex(Class clazz) {
         try {
             ClassReflectionIndex index = classes.get(clazz);
             if (index == null) {
-                classes.put(clazz, index = new ClassReflectionIndex(clazz, this));
+                // creating an index is cheap since its members are only read when first used
+                final ClassReflectionIndex existing = classes.putIfAbsent(clazz, index = new ClassReflectionIndex(clazz, this));
+                if (existing != null) {
+                    index = existing;
+                }
             }
             return index;
         } catch (Throwable e) {
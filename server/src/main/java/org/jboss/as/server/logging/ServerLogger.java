@@ -38,6 +38,7 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.Set;
 import java.util.jar.Attributes;
+import java.util.zip.ZipException;
 
 import javax.xml.namespace.QName;
 import javax.xml.stream.Location;
@@ -1242,4 +1243,13 @@ public interface ServerLogger extends BasicLogger {
 
     @Message(id = 256, value = "Cannot read content from an unexploded deployment")
     OperationFailedException cannotReadContentFromUnexplodedDeployment();
+
+    @Message(id = 257, value = "Failed to enumerate the network interfaces")
+    OperationFailedException cannotEnumerateNetworkInterfaces(@Cause Exception cause);
+
+    @Message(id = 258, value = "Zip file %s cannot be memory mapped")
+    ZipException cannotMapZipFile(File file);
+
+    @Message(id = 259, value = "Corrupt entry %s in zip file %s")
+    ZipException corruptZipEntry(String name, File file);
 }
@@ -27,16 +27,12 @@ import java.net.InetAddress;
 import java.net.NetworkInterface;
 import java.net.SocketException;
 import java.net.UnknownHostException;
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
-import java.util.Enumeration;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
 import org.jboss.as.controller.interfaces.InterfaceCriteria;
+import org.jboss.as.controller.interfaces.NetworkInterfaceSnapshot;
 import org.jboss.as.controller.interfaces.OverallInterfaceCriteria;
 import org.jboss.as.controller.interfaces.ParsedInterfaceCriteria;
 import org.jboss.as.network.NetworkInterfaceBinding;
@@ -120,12 +116,7 @@ public class NetworkInterfaceService implements Service<NetworkInterfaceBinding>
 
     private static NetworkInterfaceBinding resolveInterface(final OverallInterfaceCriteria criteria) throws SocketException {
         NetworkInterfaceBinding result = null;
-        final Map<NetworkInterface, Set<InetAddress>> candidates = new HashMap<NetworkInterface, Set<InetAddress>>();
-        final Enumeration<NetworkInterface> networkInterfaces = NetworkInterface.getNetworkInterfaces();
-        while (networkInterfaces.hasMoreElements()) {
-            storeAddresses(networkInterfaces.nextElement(), candidates);
-        }
-        Map<NetworkInterface, Set<InetAddress>> acceptable = criteria.getAcceptableAddresses(candidates);
+        Map<NetworkInterface, Set<InetAddress>> acceptable = criteria.getAcceptableAddresses(NetworkInterfaceSnapshot.get());
 
         if (acceptable.size() == 1 && acceptable.values().iterator().next().size() == 1) {
             // single result
@@ -136,27 +127,9 @@ public class NetworkInterfaceService implements Service<NetworkInterfaceBinding>
         return result;
     }
 
-    private static void storeAddresses(final NetworkInterface networkInterface, final Map<NetworkInterface, Set<InetAddress>> candidates) {
-        final Enumeration<InetAddress> interfaceAddresses = networkInterface.getInetAddresses();
-        Set<InetAddress> addresses = new HashSet<InetAddress>();
-        candidates.put(networkInterface, addresses);
-        while (interfaceAddresses.hasMoreElements()) {
-            addresses.add(interfaceAddresses.nextElement());
-        }
-        final Enumeration<NetworkInterface> subInterfaces = networkInterface.getSubInterfaces();
-        while (subInterfaces.hasMoreElements()) {
-            storeAddresses(subInterfaces.nextElement(), candidates);
-        }
-    }
-
     static NetworkInterfaceBinding getNetworkInterfaceBinding(final String addr) throws UnknownHostException, SocketException {
         final InetAddress address = InetAddress.getByName(addr);
-        final Collection<NetworkInterface> interfaces = new ArrayList<NetworkInterface>();
-        final Enumeration<NetworkInterface> networkInterfaces = NetworkInterface.getNetworkInterfaces();
-        while (networkInterfaces.hasMoreElements()) {
-            interfaces.add(networkInterfaces.nextElement());
-        }
-        return new NetworkInterfaceBinding(interfaces, address);
+        return new NetworkInterfaceBinding(NetworkInterfaceSnapshot.get().getInterfaces(), address);
     }
 
     private static boolean isPreferIPv4Stack() {
@@ -0,0 +1,71 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.services.net;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INTERFACE;
+
+import java.net.SocketException;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.SimpleOperationDefinition;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.access.management.SensitiveTargetAccessConstraintDefinition;
+import org.jboss.as.controller.interfaces.NetworkInterfaceSnapshot;
+import org.jboss.as.server.controller.descriptions.ServerDescriptions;
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Replaces the shared {@link NetworkInterfaceSnapshot} with a new enumeration of the network interfaces.
+ */
+public class NetworkInterfacesRefreshHandler implements OperationStepHandler {
+
+    private static final String OPERATION_NAME = "refresh-network-interfaces";
+
+    public static final SimpleOperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(OPERATION_NAME,
+            ServerDescriptions.getResourceDescriptionResolver(INTERFACE))
+            .setRuntimeOnly()
+            .addAccessConstraint(SensitiveTargetAccessConstraintDefinition.SOCKET_CONFIG)
+            .build();
+
+    public static final NetworkInterfacesRefreshHandler INSTANCE = new NetworkInterfacesRefreshHandler();
+
+    private NetworkInterfacesRefreshHandler() {
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        context.addStep(new OperationStepHandler() {
+            @Override
+            public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                try {
+                    NetworkInterfaceSnapshot.refresh();
+                } catch (SocketException e) {
+                    throw ServerLogger.ROOT_LOGGER.cannotEnumerateNetworkInterfaces(e);
+                }
+            }
+        }, OperationContext.Stage.RUNTIME);
+    }
+}
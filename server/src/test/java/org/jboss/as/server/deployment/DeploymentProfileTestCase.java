@@ -0,0 +1,105 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.server.deployment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests the values recorded by a {@link DeploymentProfile}.
+ */
+public class DeploymentProfileTestCase {
+
+    @Test
+    public void testRecord() throws Exception {
+        final DeploymentProfile profile = new DeploymentProfile();
+        final RegisteredDeploymentUnitProcessor fast = new RegisteredDeploymentUnitProcessor(0x100, new FastProcessor(), "fast");
+        final RegisteredDeploymentUnitProcessor slow = new RegisteredDeploymentUnitProcessor(0x200, new SlowProcessor(), null);
+
+        DeploymentProfile.Sample sample = DeploymentProfile.start();
+        profile.record(Phase.PARSE, fast, sample);
+        sample = DeploymentProfile.start();
+        Thread.sleep(20);
+        // allocate something so the allocated bytes are not zero where they are measured
+        final byte[][] allocated = new byte[16][];
+        for (int i = 0; i < allocated.length; i++) {
+            allocated[i] = new byte[1024];
+        }
+        profile.record(Phase.INSTALL, slow, sample);
+
+        final List<DeploymentProfile.Entry> entries = profile.getEntries();
+        assertEquals(2, entries.size());
+        assertEquals(Phase.PARSE, entries.get(0).getPhase());
+        assertEquals(FastProcessor.class.getName(), entries.get(0).getProcessor());
+        assertEquals("fast", entries.get(0).getSubsystemName());
+        assertEquals(0x100, entries.get(0).getPriority());
+
+        final DeploymentProfile.Entry slowest = profile.getSlowestEntries(1).get(0);
+        assertEquals(SlowProcessor.class.getName(), slowest.getProcessor());
+        assertTrue(slowest.getWallTime() >= 20000000L);
+        assertTrue(slowest.getAllocatedBytes() == -1 || slowest.getAllocatedBytes() >= 16 * 1024);
+        assertTrue(profile.getTotalWallTime() >= slowest.getWallTime());
+    }
+
+    @Test
+    public void testCompleteAfterSubDeployments() throws Exception {
+        final DeploymentUnit ear = new DeploymentUnitImpl(null, "test.ear", null);
+        final DeploymentUnit war = new DeploymentUnitImpl(ear, "test.war", null);
+        ear.addToAttachmentList(Attachments.SUB_DEPLOYMENTS, war);
+        final RegisteredDeploymentUnitProcessor processor = new RegisteredDeploymentUnitProcessor(0x100, new FastProcessor(), null);
+
+        DeploymentProfile.reset(ear).record(Phase.STRUCTURE, processor, DeploymentProfile.start());
+        DeploymentProfile.reset(war).record(Phase.STRUCTURE, processor, DeploymentProfile.start());
+
+        // the parent runs its last phase before the subdeployment
+        assertNull(DeploymentProfile.complete(ear));
+        assertSame(ear, DeploymentProfile.complete(war));
+        // only reported once
+        assertNull(DeploymentProfile.complete(war));
+
+        // a restart discards the previous run
+        final DeploymentProfile profile = DeploymentProfile.reset(ear);
+        assertTrue(profile.getEntries().isEmpty());
+        profile.record(Phase.STRUCTURE, processor, DeploymentProfile.start());
+        assertEquals(1, DeploymentProfile.get(ear).getEntries().size());
+        assertSame(ear, DeploymentProfile.complete(ear));
+    }
+
+    private static class FastProcessor implements DeploymentUnitProcessor {
+        @Override
+        public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
+        }
+
+        @Override
+        public void undeploy(DeploymentUnit context) {
+        }
+    }
+
+    private static class SlowProcessor extends FastProcessor {
+    }
+}
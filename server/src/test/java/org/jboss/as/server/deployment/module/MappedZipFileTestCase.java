@@ -0,0 +1,170 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.module;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that a {@link MappedZipFile} reads the same content as was written to the archive.
+ */
+public class MappedZipFileTestCase {
+
+    private static final byte[] CLASS_BYTES = "class bytes class bytes class bytes".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] STORED_BYTES = "stored".getBytes(StandardCharsets.UTF_8);
+
+    private File file;
+
+    @Before
+    public void setup() {
+        file = new File("target", "mapped-zip-test.jar");
+        file.delete();
+    }
+
+    @After
+    public void cleanup() {
+        file.delete();
+    }
+
+    @Test
+    public void testReadEntries() throws Exception {
+        createZip(false);
+        final MappedZipFile zipFile = MappedZipFile.open(file);
+        try {
+            assertFalse(zipFile.isSigned());
+            assertArrayEquals(CLASS_BYTES, zipFile.read(zipFile.getEntry("org/test/Test.class")));
+            assertArrayEquals(STORED_BYTES, zipFile.read(zipFile.getEntry("META-INF/stored.txt")));
+            assertEquals(0, zipFile.read(zipFile.getEntry("empty.txt")).length);
+            assertNull(zipFile.getEntry("org/test"));
+            assertNull(zipFile.getEntry("org/test/Other.class"));
+
+            // Directories without an entry of their own are implied by the entries in them
+            assertEquals(new HashSet<String>(Arrays.asList("", "org", "org/test", "META-INF", "WEB-INF")), new HashSet<String>(zipFile.getDirectories()));
+            assertTrue(zipFile.isDirectory("WEB-INF"));
+            assertTrue(zipFile.getEntries("WEB-INF").isEmpty());
+            assertEquals(1, zipFile.getEntries("org/test").size());
+            assertEquals("org/test/Test.class", zipFile.getEntries("org/test").get(0).getName());
+        } finally {
+            zipFile.release();
+        }
+    }
+
+    @Test
+    public void testShared() throws Exception {
+        createZip(false);
+        final MappedZipFile zipFile = MappedZipFile.open(file);
+        final MappedZipFile other = MappedZipFile.open(file);
+        assertSame(zipFile, other);
+        other.release();
+        assertSame(zipFile, MappedZipFile.open(file));
+        zipFile.release();
+        zipFile.release();
+
+        final MappedZipFile reopened = MappedZipFile.open(file);
+        assertNotSame(zipFile, reopened);
+        reopened.release();
+    }
+
+    @Test
+    public void testSigned() throws Exception {
+        createZip(true);
+        final MappedZipFile zipFile = MappedZipFile.open(file);
+        try {
+            assertTrue(zipFile.isSigned());
+        } finally {
+            zipFile.release();
+        }
+    }
+
+    @Test
+    public void testCorruptNameLength() throws Exception {
+        createZip(false);
+        final byte[] bytes = Files.readAllBytes(file.toPath());
+        // Make the name of the last central directory entry run past the end of the file
+        int central = -1;
+        for (int i = bytes.length - 4; i >= 0; i--) {
+            if (bytes[i] == 'P' && bytes[i + 1] == 'K' && bytes[i + 2] == 1 && bytes[i + 3] == 2) {
+                central = i;
+                break;
+            }
+        }
+        assertTrue(central >= 0);
+        bytes[central + 28] = (byte) 0xff;
+        bytes[central + 29] = (byte) 0xff;
+        Files.write(file.toPath(), bytes);
+        try {
+            MappedZipFile.open(file).release();
+            fail("Corrupt archive mapped");
+        } catch (ZipException expected) {
+            // falls back to VFS
+        }
+    }
+
+    private void createZip(final boolean signed) throws Exception {
+        try (ZipOutputStream output = new ZipOutputStream(new FileOutputStream(file))) {
+            output.putNextEntry(new ZipEntry("META-INF/"));
+            output.closeEntry();
+            final ZipEntry stored = new ZipEntry("META-INF/stored.txt");
+            stored.setMethod(ZipEntry.STORED);
+            stored.setSize(STORED_BYTES.length);
+            final CRC32 crc = new CRC32();
+            crc.update(STORED_BYTES);
+            stored.setCrc(crc.getValue());
+            output.putNextEntry(stored);
+            output.write(STORED_BYTES);
+            output.closeEntry();
+            if (signed) {
+                output.putNextEntry(new ZipEntry("META-INF/TEST.SF"));
+                output.closeEntry();
+            }
+            output.putNextEntry(new ZipEntry("org/test/Test.class"));
+            output.write(CLASS_BYTES);
+            output.closeEntry();
+            output.putNextEntry(new ZipEntry("WEB-INF/"));
+            output.closeEntry();
+            output.putNextEntry(new ZipEntry("empty.txt"));
+            output.closeEntry();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.module;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.jboss.modules.Resource;
+import org.jboss.modules.ResourceLoader;
+import org.jboss.vfs.TempFileProvider;
+import org.jboss.vfs.VFS;
+import org.jboss.vfs.VFSUtils;
+import org.jboss.vfs.VirtualFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the loaders created for a deployment archive which is mapped.
+ */
+public class MappedZipResourceLoaderTestCase {
+
+    private static final byte[] ORIGINAL = "original".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] OVERLAY = "overlay".getBytes(StandardCharsets.UTF_8);
+
+    private ScheduledExecutorService executor;
+    private TempFileProvider provider;
+    private File file;
+    private File overlay;
+    private Closeable overlayMount;
+    private MountHandle mountHandle;
+
+    @Before
+    public void setup() throws Exception {
+        file = new File("target", "mapped-zip-loader-test.war");
+        overlay = new File("target", "mapped-zip-loader-test-overlay.html");
+        try (ZipOutputStream output = new ZipOutputStream(new FileOutputStream(file))) {
+            output.putNextEntry(new ZipEntry("index.html"));
+            output.write(ORIGINAL);
+            output.closeEntry();
+        }
+        Files.write(overlay.toPath(), OVERLAY);
+        executor = Executors.newSingleThreadScheduledExecutor();
+        provider = TempFileProvider.create("test", executor);
+    }
+
+    @After
+    public void cleanup() throws Exception {
+        if (mountHandle != null) {
+            mountHandle.close();
+        }
+        VFSUtils.safeClose(overlayMount, provider);
+        executor.shutdownNow();
+        file.delete();
+        overlay.delete();
+    }
+
+    @Test
+    public void testMapped() throws Exception {
+        final ResourceRoot resourceRoot = mount("mapped.war");
+        final ResourceLoader loader = ModuleSpecProcessor.createResourceLoader(resourceRoot, false);
+        assertTrue(loader instanceof MappedZipResourceLoader);
+        assertArrayEquals(ORIGINAL, read(loader.getResource("index.html")));
+    }
+
+    @Test
+    public void testOverlay() throws Exception {
+        final ResourceRoot resourceRoot = mount("overlaid.war");
+        overlayMount = VFS.mountReal(overlay, resourceRoot.getRoot().getChild("index.html"));
+        // the overlay is only visible through VFS
+        final ResourceLoader loader = ModuleSpecProcessor.createResourceLoader(resourceRoot, true);
+        assertTrue(loader instanceof VFSResourceLoader);
+        assertArrayEquals(OVERLAY, read(loader.getResource("index.html")));
+    }
+
+    private ResourceRoot mount(final String name) throws IOException {
+        final VirtualFile root = VFS.getChild("content/" + name);
+        mountHandle = new MountHandle(VFS.mountZip(file, root, provider), MappedZipFile.open(file));
+        return new ResourceRoot(root, mountHandle);
+    }
+
+    private static byte[] read(final Resource resource) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (InputStream in = resource.openStream()) {
+            final byte[] buffer = new byte[256];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                bytes.write(buffer, 0, read);
+            }
+        }
+        return bytes.toByteArray();
+    }
+}
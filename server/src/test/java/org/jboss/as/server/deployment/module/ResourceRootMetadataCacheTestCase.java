@@ -0,0 +1,118 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.module;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+
+import org.jboss.vfs.VFS;
+import org.jboss.vfs.VirtualFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the {@link ResourceRootMetadataCache} is reused only for the content it was written for.
+ */
+public class ResourceRootMetadataCacheTestCase {
+
+    private static final byte[] HASH = {1, 2, 3, 4};
+
+    private File file;
+    private VirtualFile deploymentRoot;
+
+    @Before
+    public void setup() {
+        file = new File("target", "resource-root-metadata-test");
+        file.delete();
+        deploymentRoot = VFS.getChild(new File("target", "test.ear").getAbsolutePath());
+    }
+
+    @After
+    public void cleanup() {
+        file.delete();
+    }
+
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        final ResourceRoot root = new ResourceRoot(deploymentRoot, null);
+        final ResourceRoot lib = new ResourceRoot(deploymentRoot.getChild("lib/test.jar"), null);
+        final Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, "other.jar");
+
+        ResourceRootMetadataCache cache = ResourceRootMetadataCache.load(file, HASH);
+        cache.setDeploymentRoot(deploymentRoot);
+        assertNull(cache.getServices(lib));
+        assertFalse(cache.isManifestCached(lib));
+        cache.putServices(lib, Collections.singletonMap("org.test.Service", Arrays.asList("org.test.ServiceImpl")));
+        cache.putManifest(lib, manifest);
+        cache.putManifest(root, null);
+        cache.save();
+
+        cache = ResourceRootMetadataCache.load(file, HASH);
+        cache.setDeploymentRoot(deploymentRoot);
+        final Map<String, List<String>> services = cache.getServices(lib);
+        assertEquals(Collections.singletonMap("org.test.Service", Arrays.asList("org.test.ServiceImpl")), services);
+        assertTrue(cache.isManifestCached(lib));
+        assertEquals("other.jar", cache.getManifest(lib).getMainAttributes().getValue(Attributes.Name.CLASS_PATH));
+        assertTrue(cache.isManifestCached(root));
+        assertNull(cache.getManifest(root));
+        assertNull(cache.getServices(root));
+    }
+
+    @Test
+    public void testDifferentContent() throws Exception {
+        final ResourceRoot root = new ResourceRoot(deploymentRoot, null);
+        ResourceRootMetadataCache cache = ResourceRootMetadataCache.load(file, HASH);
+        cache.setDeploymentRoot(deploymentRoot);
+        cache.putManifest(root, null);
+        cache.save();
+        assertTrue(file.exists());
+
+        cache = ResourceRootMetadataCache.load(file, new byte[] {4, 3, 2, 1});
+        cache.setDeploymentRoot(deploymentRoot);
+        assertFalse(cache.isManifestCached(root));
+    }
+
+    @Test
+    public void testExternalResourceRoot() throws Exception {
+        final ResourceRoot external = new ResourceRoot(VFS.getChild(new File("target", "external.jar").getAbsolutePath()), null);
+        final ResourceRootMetadataCache cache = ResourceRootMetadataCache.load(file, HASH);
+        cache.setDeploymentRoot(deploymentRoot);
+        cache.putManifest(external, null);
+        assertFalse(cache.isManifestCached(external));
+        cache.save();
+        assertFalse(file.exists());
+    }
+}
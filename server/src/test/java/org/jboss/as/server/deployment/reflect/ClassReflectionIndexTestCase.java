@@ -0,0 +1,140 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.reflect;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jboss.invocation.proxy.MethodIdentifier;
+import org.junit.Test;
+
+/**
+ * Tests the lookups of a {@link ClassReflectionIndex}.
+ */
+public class ClassReflectionIndexTestCase {
+
+    @Test
+    public void testMethods() throws Exception {
+        final ClassReflectionIndex index = DeploymentReflectionIndex.create().getClassIndex(Child.class);
+        final Method call = index.getMethod(Object.class, "call");
+        assertNotNull(call);
+        assertSame(call, index.getMethod(Child.class.getDeclaredMethod("call")));
+        assertSame(call, index.getMethod("java.lang.Object", "call"));
+        assertSame(call, index.getMethod(MethodIdentifier.getIdentifierForMethod(call)));
+        assertNull(index.getMethod(void.class, "call"));
+        assertNull(index.getMethod(Object.class, "missing"));
+
+        final Method withString = index.getMethod(void.class, "overloaded", String.class);
+        final Method withInts = index.getMethod(void.class, "overloaded", int.class, int.class);
+        assertNotNull(withString);
+        assertNotNull(withInts);
+        assertSame(withString, index.getMethod("void", "overloaded", "java.lang.String"));
+        assertEquals(1, index.getMethods("overloaded", String.class).size());
+        assertEquals(1, index.getMethods("overloaded", "int", "int").size());
+        assertEquals(3, index.getAllMethods("overloaded").size());
+        assertEquals(2, index.getAllMethods("overloaded", 1).size());
+        assertTrue(index.getAllMethods("missing").isEmpty());
+        assertEquals(Child.class.getDeclaredMethods().length, index.getMethods().size());
+
+        // the superclass method is not declared by the child
+        assertNull(index.getMethod(void.class, "inherited"));
+        assertEquals(1, index.getClassMethods().size() - Child.class.getDeclaredMethods().length - Object.class.getDeclaredMethods().length);
+    }
+
+    @Test
+    public void testFieldsAndConstructors() throws Exception {
+        final ClassReflectionIndex index = DeploymentReflectionIndex.create().getClassIndex(Child.class);
+        assertNotNull(index.getField("value"));
+        assertNull(index.getField("missing"));
+        assertEquals(1, index.getFields().size());
+        assertEquals(2, index.getConstructors().size());
+        assertNotNull(index.getConstructor(new Class<?>[0]));
+        assertNotNull(index.getConstructor(String.class));
+        assertSame(index.getConstructor(String.class), index.getConstructor("java.lang.String"));
+        assertNull(index.getConstructor(int.class));
+    }
+
+    @Test
+    public void testConcurrentLookups() throws Exception {
+        final DeploymentReflectionIndex deploymentIndex = DeploymentReflectionIndex.create();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<Method>> futures = new ArrayList<Future<Method>>();
+            for (int i = 0; i < 64; i++) {
+                futures.add(executor.submit(new Callable<Method>() {
+                    @Override
+                    public Method call() throws Exception {
+                        return deploymentIndex.getClassIndex(Child.class).getMethod(Object.class, "call");
+                    }
+                }));
+            }
+            final Method method = futures.get(0).get();
+            for (Future<Method> future : futures) {
+                // every thread sees the same canonical method
+                assertSame(method, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public static class Parent {
+        public void inherited() {
+        }
+    }
+
+    public static class Child extends Parent implements Callable<Object> {
+        private String value;
+
+        public Child() {
+        }
+
+        public Child(String value) {
+            this.value = value;
+        }
+
+        public Object call() {
+            return value;
+        }
+
+        public void overloaded(String value) {
+        }
+
+        public void overloaded(Object value) {
+        }
+
+        public void overloaded(int first, int second) {
+        }
+    }
+}
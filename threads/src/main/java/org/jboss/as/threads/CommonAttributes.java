@@ -27,6 +27,7 @@ package org.jboss.as.threads;
 public interface CommonAttributes {
     String ACTIVE_COUNT = "active-count";
     String ALLOW_CORE_TIMEOUT = "allow-core-timeout";
+    String ASYNC_MODE = "async-mode";
     String BLOCKING = "blocking";
     String BLOCKING_BOUNDED_QUEUE_THREAD_POOL = "blocking-bounded-queue-thread-pool";
     String BLOCKING_QUEUELESS_THREAD_POOL = "blocking-queueless-thread-pool";
@@ -39,8 +40,10 @@ public interface CommonAttributes {
     String HANDOFF_EXECUTOR = "handoff-executor";
     String LARGEST_THREAD_COUNT = "largest-thread-count";
     String NAME = "name";
+    String PARALLELISM = "parallelism";
     String GROUP_NAME = "group-name";
     String KEEPALIVE_TIME = "keepalive-time";
+    String MAX_QUEUED_TASKS = "max-queued-tasks";
     String MAX_THREADS = "max-threads";
     String PRIORITY = "priority";
     String PROPERTIES = "properties";
@@ -49,7 +52,9 @@ public interface CommonAttributes {
     String QUEUE_LENGTH = "queue-length";
     String QUEUE_SIZE = "queue-size";
     String REJECTED_COUNT = "rejected-count";
+    String SATURATION_POLICY = "saturation-policy";
     String SCHEDULED_THREAD_POOL = "scheduled-thread-pool";
+    String STEAL_COUNT = "steal-count";
     String TASK_COUNT = "task-count";
     String THREADS = "threads";
     String TIME = "time";
@@ -58,4 +63,6 @@ public interface CommonAttributes {
     String UNBOUNDED_QUEUE_THREAD_POOL = "unbounded-queue-thread-pool";
     String UNIT = "unit";
     String VALUE = "value";
+    String VIRTUAL_THREAD_POOL = "virtual-thread-pool";
+    String WORK_STEALING_THREAD_POOL = "work-stealing-thread-pool";
 }
@@ -25,6 +25,7 @@ package org.jboss.as.threads;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.operations.validation.EnumValidator;
 import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.dmr.ModelNode;
@@ -76,6 +77,24 @@ public interface PoolAttributeDefinitions {
             .setAllowExpression(true)
             .build();
 
+    SimpleAttributeDefinition PARALLELISM = new SimpleAttributeDefinitionBuilder(CommonAttributes.PARALLELISM, ModelType.INT, true)
+            .setValidator(new IntRangeValidator(1, WorkStealingExecutor.MAX_PARALLELISM, true, true)).setAllowExpression(true)
+            .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES).build();
+
+    SimpleAttributeDefinition ASYNC_MODE = new SimpleAttributeDefinitionBuilder(CommonAttributes.ASYNC_MODE, ModelType.BOOLEAN, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(true))
+            .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES).build();
+
+    SimpleAttributeDefinition MAX_QUEUED_TASKS = new SimpleAttributeDefinitionBuilder(CommonAttributes.MAX_QUEUED_TASKS, ModelType.INT, true)
+            .setValidator(new IntRangeValidator(0, Integer.MAX_VALUE, true, true)).setAllowExpression(true).build();
+
+    SimpleAttributeDefinition SATURATION_POLICY = new SimpleAttributeDefinitionBuilder(CommonAttributes.SATURATION_POLICY, ModelType.STRING, true)
+            .setValidator(new EnumValidator<SaturationPolicy>(SaturationPolicy.class, true, true))
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(SaturationPolicy.ABORT.toString()))
+            .build();
+
     // Metrics
     AttributeDefinition CURRENT_THREAD_COUNT = new SimpleAttributeDefinitionBuilder(CommonAttributes.CURRENT_THREAD_COUNT, ModelType.INT)
             .setUndefinedMetricValue(new ModelNode(0))
@@ -98,4 +117,7 @@ public interface PoolAttributeDefinitions {
     AttributeDefinition QUEUE_SIZE = new SimpleAttributeDefinitionBuilder(CommonAttributes.QUEUE_SIZE, ModelType.INT)
             .setUndefinedMetricValue(new ModelNode(0))
             .build();
+    AttributeDefinition STEAL_COUNT = new SimpleAttributeDefinitionBuilder(CommonAttributes.STEAL_COUNT, ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0L))
+            .build();
 }
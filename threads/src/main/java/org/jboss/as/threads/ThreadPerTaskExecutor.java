@@ -0,0 +1,305 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.threads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.threads.EventListener;
+
+/**
+ * Executor which runs every task in a thread of its own rather than in a pooled thread. A semaphore bounds the
+ * number of tasks running at once; tasks submitted while no permit is available wait in an unbounded queue and are
+ * started as running tasks complete, so submitting threads never block.
+ */
+final class ThreadPerTaskExecutor extends AbstractExecutorService {
+
+    private final ThreadFactory threadFactory;
+    private final Permits permits;
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<Runnable>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    // Tasks accepted but not yet completed, whether queued or running
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    // Threads created and not yet done with their task, including those which have not started running it yet
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicInteger largestThreadCount = new AtomicInteger();
+    private final AtomicInteger rejectedCount = new AtomicInteger();
+    private final AtomicLong taskCount = new AtomicLong();
+    private final AtomicLong completedTaskCount = new AtomicLong();
+    private final List<ShutdownListener<?>> shutdownListeners = new ArrayList<ShutdownListener<?>>();
+    private volatile boolean shutdown;
+    private int maxThreads;
+    private boolean terminated;
+
+    ThreadPerTaskExecutor(final int maxThreads, final ThreadFactory threadFactory) {
+        this.threadFactory = threadFactory;
+        this.permits = new Permits(maxThreads);
+        this.maxThreads = maxThreads;
+    }
+
+    @Override
+    public void execute(final Runnable task) {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        pendingCount.incrementAndGet();
+        if (shutdown) {
+            completed();
+            rejectedCount.incrementAndGet();
+            throw ThreadsLogger.ROOT_LOGGER.executorShutDown();
+        }
+        taskCount.incrementAndGet();
+        if (permits.tryAcquire()) {
+            if (!startThread(task)) {
+                throw ThreadsLogger.ROOT_LOGGER.threadNotCreated();
+            }
+        } else {
+            queue.add(task);
+            queueSize.incrementAndGet();
+            // A running task may have completed between the failed acquire and the enqueue
+            startQueued();
+        }
+    }
+
+    private void startQueued() {
+        while (queueSize.get() > 0 && permits.tryAcquire()) {
+            final Runnable task = queue.poll();
+            if (task == null) {
+                permits.release();
+                return;
+            }
+            queueSize.decrementAndGet();
+            startThread(task);
+        }
+    }
+
+    /**
+     * Starts a thread for a task for which a permit has been acquired. If no thread can be started the permit is
+     * released and the task is counted as rejected.
+     */
+    private boolean startThread(final Runnable task) {
+        Thread thread = null;
+        try {
+            thread = threadFactory.newThread(new Worker(task));
+            if (thread != null) {
+                final int count = threadCount.incrementAndGet();
+                int largest;
+                while ((largest = largestThreadCount.get()) < count && !largestThreadCount.compareAndSet(largest, count)) {
+                    // retry
+                }
+                thread.start();
+                return true;
+            }
+        } catch (OutOfMemoryError | RuntimeException e) {
+            if (thread != null) {
+                threadCount.decrementAndGet();
+            }
+        }
+        permits.release();
+        rejectedCount.incrementAndGet();
+        completed();
+        return false;
+    }
+
+    private void completed() {
+        if (pendingCount.decrementAndGet() == 0 && shutdown) {
+            tryTerminate();
+        }
+    }
+
+    private void tryTerminate() {
+        final List<ShutdownListener<?>> listeners;
+        synchronized (this) {
+            if (terminated || pendingCount.get() != 0) {
+                return;
+            }
+            terminated = true;
+            notifyAll();
+            listeners = new ArrayList<ShutdownListener<?>>(shutdownListeners);
+            shutdownListeners.clear();
+        }
+        for (ShutdownListener<?> listener : listeners) {
+            listener.handleEvent();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        if (pendingCount.get() == 0) {
+            tryTerminate();
+        }
+    }
+
+    /**
+     * Shuts down the executor and removes the tasks that have not started yet. Running tasks are not interrupted.
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        final List<Runnable> tasks = new ArrayList<Runnable>();
+        Runnable task;
+        while ((task = queue.poll()) != null) {
+            queueSize.decrementAndGet();
+            tasks.add(task);
+            completed();
+        }
+        return tasks;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public synchronized boolean isTerminated() {
+        return terminated;
+    }
+
+    @Override
+    public synchronized boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        final long deadline = System.nanoTime() + remaining;
+        while (!terminated && remaining > 0) {
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            remaining = deadline - System.nanoTime();
+        }
+        return terminated;
+    }
+
+    <A> void addShutdownListener(final EventListener<A> listener, final A attachment) {
+        final ShutdownListener<A> shutdownListener = new ShutdownListener<A>(listener, attachment);
+        synchronized (this) {
+            if (!terminated) {
+                shutdownListeners.add(shutdownListener);
+                return;
+            }
+        }
+        shutdownListener.handleEvent();
+    }
+
+    synchronized int getMaxThreads() {
+        return maxThreads;
+    }
+
+    synchronized void setMaxThreads(final int maxThreads) {
+        final int delta = maxThreads - this.maxThreads;
+        this.maxThreads = maxThreads;
+        if (delta > 0) {
+            permits.release(delta);
+            startQueued();
+        } else if (delta < 0) {
+            // Running tasks keep their permits; fewer tasks start until the count drops below the new maximum
+            permits.reducePermits(-delta);
+        }
+    }
+
+    int getActiveCount() {
+        return activeCount.get();
+    }
+
+    int getCurrentThreadCount() {
+        return threadCount.get();
+    }
+
+    int getLargestThreadCount() {
+        return largestThreadCount.get();
+    }
+
+    int getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    long getTaskCount() {
+        return taskCount.get();
+    }
+
+    long getCompletedTaskCount() {
+        return completedTaskCount.get();
+    }
+
+    int getQueueSize() {
+        return queueSize.get();
+    }
+
+    private final class Worker implements Runnable {
+        private final Runnable task;
+
+        private Worker(final Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            activeCount.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                activeCount.decrementAndGet();
+                threadCount.decrementAndGet();
+                completedTaskCount.incrementAndGet();
+                permits.release();
+                completed();
+                startQueued();
+            }
+        }
+    }
+
+    private static final class Permits extends Semaphore {
+        private static final long serialVersionUID = 1L;
+
+        private Permits(final int permits) {
+            super(permits);
+        }
+
+        @Override
+        protected void reducePermits(final int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+
+    private static final class ShutdownListener<A> {
+        private final EventListener<A> listener;
+        private final A attachment;
+
+        private ShutdownListener(final EventListener<A> listener, final A attachment) {
+            this.listener = listener;
+            this.attachment = attachment;
+        }
+
+        void handleEvent() {
+            listener.handleEvent(attachment);
+        }
+    }
+}
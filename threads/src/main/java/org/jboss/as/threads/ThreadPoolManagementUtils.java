@@ -126,6 +126,11 @@ class ThreadPoolManagementUtils {
         return parseBaseThreadPoolOperationParameters(context, operation, model, params);
     }
 
+    static BaseThreadPoolParameters parseVirtualThreadPoolParameters(final OperationContext context, final ModelNode operation, final ModelNode model) throws OperationFailedException {
+        ThreadPoolParametersImpl params = new ThreadPoolParametersImpl();
+        return parseBaseThreadPoolOperationParameters(context, operation, model, params);
+    }
+
     static BaseThreadPoolParameters parseScheduledThreadPoolParameters(final OperationContext context, final ModelNode operation, final ModelNode model) throws OperationFailedException {
         ThreadPoolParametersImpl params = new ThreadPoolParametersImpl();
         return parseBaseThreadPoolOperationParameters(context, operation, model, params);
@@ -159,6 +164,23 @@ class ThreadPoolManagementUtils {
     }
 
 
+    static WorkStealingThreadPoolParameters parseWorkStealingThreadPoolParameters(final OperationContext context, final ModelNode operation, final ModelNode model) throws OperationFailedException {
+        ThreadPoolParametersImpl params = new ThreadPoolParametersImpl();
+        params.address = operation.require(OP_ADDR);
+        PathAddress pathAddress = PathAddress.pathAddress(params.address);
+        params.name = pathAddress.getLastElement().getValue();
+
+        ModelNode tfNode = PoolAttributeDefinitions.THREAD_FACTORY.resolveModelAttribute(context, model);
+        params.threadFactory = tfNode.isDefined() ? tfNode.asString() : null;
+        ModelNode parallelism = PoolAttributeDefinitions.PARALLELISM.resolveModelAttribute(context, model);
+        params.parallelism = parallelism.isDefined() ? parallelism.asInt() : Math.min(Runtime.getRuntime().availableProcessors(), WorkStealingExecutor.MAX_PARALLELISM);
+        params.asyncMode = PoolAttributeDefinitions.ASYNC_MODE.resolveModelAttribute(context, model).asBoolean();
+        ModelNode maxQueued = PoolAttributeDefinitions.MAX_QUEUED_TASKS.resolveModelAttribute(context, model);
+        params.maxQueuedTasks = maxQueued.isDefined() ? maxQueued.asInt() : -1;
+        params.saturationPolicy = SaturationPolicy.forName(PoolAttributeDefinitions.SATURATION_POLICY.resolveModelAttribute(context, model).asString());
+        return params;
+    }
+
     private static ThreadPoolParametersImpl parseBaseThreadPoolOperationParameters(final OperationContext context, final ModelNode operation,
                                                                                    final ModelNode model, final ThreadPoolParametersImpl params) throws OperationFailedException {
         params.address = operation.require(OP_ADDR);
@@ -209,7 +231,14 @@ class ThreadPoolManagementUtils {
         int getQueueLength();
     }
 
-    private static class ThreadPoolParametersImpl implements QueuelessThreadPoolParameters, BoundedThreadPoolParameters {
+    interface WorkStealingThreadPoolParameters extends BaseThreadPoolParameters {
+        int getParallelism();
+        boolean isAsyncMode();
+        int getMaxQueuedTasks();
+        SaturationPolicy getSaturationPolicy();
+    }
+
+    private static class ThreadPoolParametersImpl implements QueuelessThreadPoolParameters, BoundedThreadPoolParameters, WorkStealingThreadPoolParameters {
         ModelNode address;
         String name;
         String threadFactory;
@@ -219,6 +248,10 @@ class ThreadPoolManagementUtils {
         boolean allowCoreTimeout;
         int coreThreads;
         int queueLength;
+        int parallelism;
+        boolean asyncMode;
+        int maxQueuedTasks;
+        SaturationPolicy saturationPolicy;
 
         @Override
         public ModelNode getAddress() {
@@ -264,6 +297,26 @@ class ThreadPoolManagementUtils {
         public int getQueueLength() {
             return queueLength;
         }
+
+        @Override
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        @Override
+        public boolean isAsyncMode() {
+            return asyncMode;
+        }
+
+        @Override
+        public int getMaxQueuedTasks() {
+            return maxQueuedTasks;
+        }
+
+        @Override
+        public SaturationPolicy getSaturationPolicy() {
+            return saturationPolicy;
+        }
     }
 
 }
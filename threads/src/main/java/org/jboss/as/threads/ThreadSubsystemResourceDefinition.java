@@ -69,7 +69,9 @@ class ThreadSubsystemResourceDefinition extends PersistentResourceDefinition {
                 BoundedQueueThreadPoolResourceDefinition.create(false, registerRuntimeOnly),
 
                 UnboundedQueueThreadPoolResourceDefinition.create(registerRuntimeOnly),
-                ScheduledThreadPoolResourceDefinition.create(registerRuntimeOnly)
+                ScheduledThreadPoolResourceDefinition.create(registerRuntimeOnly),
+                VirtualThreadPoolResourceDefinition.create(registerRuntimeOnly),
+                WorkStealingThreadPoolResourceDefinition.create(registerRuntimeOnly)
         );
     }
 }
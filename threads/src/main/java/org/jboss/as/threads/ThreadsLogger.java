@@ -25,6 +25,7 @@ package org.jboss.as.threads;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 
 import javax.xml.stream.Location;
@@ -149,4 +150,41 @@ interface ThreadsLogger extends BasicLogger {
 
     @Message(id = 31, value = "unit is null")
     IllegalArgumentException nullUnit();
+
+    @Message(id = 32, value = "Unsupported attribute '%s'")
+    IllegalStateException unsupportedVirtualThreadPoolMetric(String attributeName);
+
+    @Message(id = 33, value = "Unsupported attribute '%s'")
+    IllegalStateException unsupportedVirtualThreadPoolAttribute(String attributeName);
+
+    @Message(id = 34, value = "The executor service hasn't been initialized.")
+    IllegalStateException virtualThreadPoolExecutorUninitialized();
+
+    @Message(id = 35, value = "Service '%s' not found.")
+    OperationFailedException virtualThreadPoolServiceNotFound(ServiceName serviceName);
+
+    @Message(id = 36, value = "Task rejected because the executor is shut down")
+    RejectedExecutionException executorShutDown();
+
+    @Message(id = 37, value = "Task rejected because no thread could be created for it")
+    RejectedExecutionException threadNotCreated();
+
+    @Message(id = 38, value = "Unsupported attribute '%s'")
+    IllegalStateException unsupportedWorkStealingThreadPoolMetric(String attributeName);
+
+    @Message(id = 39, value = "Unsupported attribute '%s'")
+    IllegalStateException unsupportedWorkStealingThreadPoolAttribute(String attributeName);
+
+    @Message(id = 40, value = "The executor service hasn't been initialized.")
+    IllegalStateException workStealingThreadPoolExecutorUninitialized();
+
+    @Message(id = 41, value = "Service '%s' not found.")
+    OperationFailedException workStealingThreadPoolServiceNotFound(ServiceName serviceName);
+
+    @Message(id = 42, value = "Task rejected because the maximum number of tasks are waiting to run")
+    RejectedExecutionException executorSaturated();
+
+    @LogMessage(level = Logger.Level.WARN)
+    @Message(id = 43, value = "Thread factory '%s' is ignored by virtual thread pool '%s', which names its virtual threads after the pool")
+    void virtualThreadPoolIgnoresThreadFactory(String threadFactory, String name);
 }
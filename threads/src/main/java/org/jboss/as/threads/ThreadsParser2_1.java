@@ -0,0 +1,71 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.threads;
+
+import static org.jboss.as.controller.PersistentResourceXMLDescription.builder;
+
+import org.jboss.as.controller.PersistentResourceXMLDescription;
+import org.jboss.as.controller.PersistentResourceXMLDescription.PersistentResourceXMLBuilder;
+import org.jboss.as.controller.PersistentResourceXMLParser;
+
+/**
+ * Parser and writer for the 2.1 version of the threads subsystem, which adds the virtual and work-stealing thread
+ * pools to the resources of {@link ThreadsParser2_0}.
+ */
+public class ThreadsParser2_1 extends PersistentResourceXMLParser {
+    static final ThreadsParser2_1 INSTANCE = new ThreadsParser2_1();
+
+    @SuppressWarnings("deprecation")
+    private static final PersistentResourceXMLDescription xmlDescription = builder(new ThreadSubsystemResourceDefinition(false), Namespace.THREADS_2_1.getUriString())
+            .addChild(ThreadsParser2_0.THREAD_FACTORY_PARSER)
+            .addChild(ThreadsParser2_0.getUnboundedQueueThreadPoolParser(UnboundedQueueThreadPoolResourceDefinition.create(false)))
+            .addChild(ThreadsParser2_0.getBoundedQueueThreadPoolParser(BoundedQueueThreadPoolResourceDefinition.create(false, false)))
+            .addChild(ThreadsParser2_0.getBoundedQueueThreadPoolParser(BoundedQueueThreadPoolResourceDefinition.create(true, false)))
+            .addChild(ThreadsParser2_0.getQueuelessThreadPoolParser(QueuelessThreadPoolResourceDefinition.create(false, false)))
+            .addChild(ThreadsParser2_0.getQueuelessThreadPoolParser(QueuelessThreadPoolResourceDefinition.create(true, false)))
+            .addChild(ThreadsParser2_0.getScheduledThreadPoolParser(ScheduledThreadPoolResourceDefinition.create(false)))
+            .addChild(getVirtualThreadPoolParser(VirtualThreadPoolResourceDefinition.create(false)))
+            .addChild(getWorkStealingThreadPoolParser(WorkStealingThreadPoolResourceDefinition.create(false)))
+            .build();
+
+
+    @Override
+    public PersistentResourceXMLDescription getParserDescription() {
+        return xmlDescription;
+    }
+
+    public static PersistentResourceXMLBuilder getVirtualThreadPoolParser(VirtualThreadPoolResourceDefinition resourceDefinition) {
+        return builder(resourceDefinition)
+                .addAttributes(PoolAttributeDefinitions.MAX_THREADS, PoolAttributeDefinitions.THREAD_FACTORY);
+
+    }
+
+    public static PersistentResourceXMLBuilder getWorkStealingThreadPoolParser(WorkStealingThreadPoolResourceDefinition resourceDefinition) {
+        return builder(resourceDefinition)
+                .addAttributes(PoolAttributeDefinitions.PARALLELISM, PoolAttributeDefinitions.ASYNC_MODE,
+                        PoolAttributeDefinitions.MAX_QUEUED_TASKS, PoolAttributeDefinitions.SATURATION_POLICY,
+                        PoolAttributeDefinitions.THREAD_FACTORY);
+
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.threads;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.PersistentResourceDefinition;
+import org.jboss.as.controller.ReadResourceNameOperationStepHandler;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * {@link org.jboss.as.controller.ResourceDefinition} for a virtual thread pool resource.
+ */
+public class VirtualThreadPoolResourceDefinition extends PersistentResourceDefinition {
+    private final VirtualThreadPoolWriteAttributeHandler writeAttributeHandler;
+    private final VirtualThreadPoolMetricsHandler metricsHandler;
+
+    private final boolean registerRuntimeOnly;
+
+    public static VirtualThreadPoolResourceDefinition create(boolean registerRuntimeOnly) {
+        return create(CommonAttributes.VIRTUAL_THREAD_POOL, ThreadsServices.STANDARD_THREAD_FACTORY_RESOLVER,
+                ThreadsServices.EXECUTOR, registerRuntimeOnly);
+    }
+
+    public static VirtualThreadPoolResourceDefinition create(String type, ThreadFactoryResolver threadFactoryResolver,
+                                                             ServiceName serviceNameBase, boolean registerRuntimeOnly) {
+        return create(PathElement.pathElement(type), threadFactoryResolver, serviceNameBase, registerRuntimeOnly);
+    }
+
+    public static VirtualThreadPoolResourceDefinition create(PathElement path, ThreadFactoryResolver threadFactoryResolver,
+                                                             ServiceName serviceNameBase, boolean registerRuntimeOnly) {
+        VirtualThreadPoolAdd addHandler = new VirtualThreadPoolAdd(threadFactoryResolver, serviceNameBase);
+        return new VirtualThreadPoolResourceDefinition(path, addHandler, serviceNameBase, registerRuntimeOnly);
+    }
+
+    private VirtualThreadPoolResourceDefinition(PathElement path, VirtualThreadPoolAdd addHandler,
+                                                ServiceName serviceNameBase, boolean registerRuntimeOnly) {
+        super(path,
+                new ThreadPoolResourceDescriptionResolver(CommonAttributes.VIRTUAL_THREAD_POOL, ThreadsExtension.RESOURCE_NAME,
+                        ThreadsExtension.class.getClassLoader()),
+                addHandler, new VirtualThreadPoolRemove(addHandler));
+        this.registerRuntimeOnly = registerRuntimeOnly;
+        this.writeAttributeHandler = new VirtualThreadPoolWriteAttributeHandler(serviceNameBase);
+        this.metricsHandler = new VirtualThreadPoolMetricsHandler(serviceNameBase);
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        resourceRegistration.registerReadOnlyAttribute(PoolAttributeDefinitions.NAME, ReadResourceNameOperationStepHandler.INSTANCE);
+        writeAttributeHandler.registerAttributes(resourceRegistration);
+        if (registerRuntimeOnly) {
+            metricsHandler.registerAttributes(resourceRegistration);
+        }
+    }
+
+    @Override
+    public Collection<AttributeDefinition> getAttributes() {
+        return Arrays.asList(writeAttributeHandler.attributes);
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.threads;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+import org.jboss.msc.inject.Injector;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.jboss.msc.value.InjectedValue;
+
+/**
+ * Service responsible for creating, starting and stopping an executor which runs each task in a new thread, with
+ * the number of tasks running at once limited to {@code max-threads}. On Java 21 or later the threads are virtual
+ * threads named after the pool, and a configured {@code thread-factory} is only used on older JVMs; otherwise they
+ * are platform threads created by the injected thread factory.
+ */
+public class VirtualThreadPoolService implements Service<ManagedThreadPerTaskExecutorService> {
+    private final InjectedValue<ThreadFactory> threadFactoryValue = new InjectedValue<ThreadFactory>();
+
+    private ManagedThreadPerTaskExecutorService executor;
+
+    private final String name;
+    private final String threadFactoryName;
+    private int maxThreads;
+
+    public VirtualThreadPoolService(String name, String threadFactoryName, int maxThreads) {
+        this.name = name;
+        this.threadFactoryName = threadFactoryName;
+        this.maxThreads = maxThreads;
+    }
+
+    public synchronized void start(final StartContext context) throws StartException {
+        ThreadFactory threadFactory = createVirtualThreadFactory(name);
+        if (threadFactory == null) {
+            ThreadsLogger.ROOT_LOGGER.debugf("Virtual threads are not available, %s runs its tasks in platform threads", name);
+            threadFactory = threadFactoryValue.getValue();
+        } else if (threadFactoryName != null) {
+            ThreadsLogger.ROOT_LOGGER.virtualThreadPoolIgnoresThreadFactory(threadFactoryName, name);
+        }
+        executor = new ManagedThreadPerTaskExecutorService(new ThreadPerTaskExecutor(maxThreads, threadFactory));
+    }
+
+    public void stop(final StopContext context) {
+        final ManagedThreadPerTaskExecutorService executor;
+        synchronized (this) {
+            executor = this.executor;
+            this.executor = null;
+        }
+        context.asynchronous();
+        executor.internalShutdown();
+        executor.addShutdownListener(StopContextEventListener.getInstance(), context);
+    }
+
+    public synchronized ManagedThreadPerTaskExecutorService getValue() throws IllegalStateException {
+        final ManagedThreadPerTaskExecutorService value = this.executor;
+        if (value == null) {
+            throw ThreadsLogger.ROOT_LOGGER.virtualThreadPoolExecutorUninitialized();
+        }
+        return value;
+    }
+
+    public Injector<ThreadFactory> getThreadFactoryInjector() {
+        return threadFactoryValue;
+    }
+
+    public synchronized void setMaxThreads(final int maxThreads) {
+        final ManagedThreadPerTaskExecutorService executor = this.executor;
+        if (executor != null) {
+            executor.setMaxThreads(maxThreads);
+        }
+        this.maxThreads = maxThreads;
+    }
+
+    public int getActiveCount() {
+        return getValue().getActiveCount();
+    }
+
+    public long getCompletedTaskCount() {
+        return getValue().getCompletedTaskCount();
+    }
+
+    public int getCurrentThreadCount() {
+        return getValue().getCurrentThreadCount();
+    }
+
+    public int getLargestThreadCount() {
+        return getValue().getLargestThreadCount();
+    }
+
+    public int getRejectedCount() {
+        return getValue().getRejectedCount();
+    }
+
+    public long getTaskCount() {
+        return getValue().getTaskCount();
+    }
+
+    public int getQueueSize() {
+        return getValue().getQueueSize();
+    }
+
+    /**
+     * Creates a factory of virtual threads named after a pool. Virtual threads only exist as of Java 21, so the
+     * {@code Thread.ofVirtual()} builder is looked up reflectively.
+     *
+     * @param name the name of the pool
+     * @return the thread factory, or {@code null} if this JVM cannot create virtual threads
+     */
+    static ThreadFactory createVirtualThreadFactory(final String name) {
+        try {
+            final Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = ofVirtual.invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, name + "-", 1L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Before Java 21, or a preview API which is not enabled
+            return null;
+        }
+    }
+}
@@ -0,0 +1,372 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.threads;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.threads.EventListener;
+
+/**
+ * Executor which runs tasks in a {@link ForkJoinPool}, where each worker thread has a queue of its own and idle workers
+ * steal tasks from busy ones, rather than all threads sharing one queue. A submitted task which finds
+ * {@code maxQueued} tasks already waiting to run is handled according to the {@link SaturationPolicy}.
+ */
+final class WorkStealingExecutor extends AbstractExecutorService {
+
+    /**
+     * The largest parallelism a {@link ForkJoinPool} accepts.
+     */
+    static final int MAX_PARALLELISM = 0x7fff;
+
+    private static final Runnable NOOP = new Runnable() {
+        @Override
+        public void run() {
+        }
+    };
+
+    private final WorkerPool pool;
+    // Tasks submitted through this executor which have not started yet
+    private final AtomicInteger queuedCount = new AtomicInteger();
+    // Tasks submitted through this executor which have not completed yet
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicInteger rejectedCount = new AtomicInteger();
+    private final AtomicLong taskCount = new AtomicLong();
+    private final AtomicLong completedTaskCount = new AtomicLong();
+    private final List<ShutdownListener<?>> shutdownListeners = new ArrayList<ShutdownListener<?>>();
+    private volatile int maxQueued;
+    private volatile SaturationPolicy saturationPolicy;
+    private volatile boolean shutdown;
+    private boolean terminated;
+
+    /**
+     * Construct new instance.
+     *
+     * @param parallelism the number of worker threads
+     * @param asyncMode {@code true} to run tasks which are never joined in submission order, {@code false} to run the
+     *                  most recently forked task first
+     * @param maxQueued the number of waiting tasks at which the pool is saturated, or {@code -1} for no limit
+     * @param saturationPolicy the handling of tasks submitted while the pool is saturated
+     * @param threadFactory the factory whose threads' names, priority and daemon status the workers take
+     */
+    WorkStealingExecutor(final int parallelism, final boolean asyncMode, final int maxQueued,
+                         final SaturationPolicy saturationPolicy, final ThreadFactory threadFactory) {
+        this.pool = new WorkerPool(parallelism, new WorkerThreadFactory(threadFactory), asyncMode);
+        this.maxQueued = maxQueued;
+        this.saturationPolicy = saturationPolicy;
+    }
+
+    @Override
+    public void execute(final Runnable task) {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        pendingCount.incrementAndGet();
+        if (shutdown) {
+            reject();
+            throw ThreadsLogger.ROOT_LOGGER.executorShutDown();
+        }
+        if (!reserveQueueSlot()) {
+            if (saturationPolicy == SaturationPolicy.ABORT) {
+                reject();
+                throw ThreadsLogger.ROOT_LOGGER.executorSaturated();
+            }
+            taskCount.incrementAndGet();
+            queuedCount.incrementAndGet();
+            new Task(task).run();
+            return;
+        }
+        taskCount.incrementAndGet();
+        try {
+            pool.execute((ForkJoinTask<?>) new Task(task));
+        } catch (RuntimeException e) {
+            queuedCount.decrementAndGet();
+            taskCount.decrementAndGet();
+            reject();
+            throw e;
+        }
+    }
+
+    /**
+     * Counts a task as queued unless {@code maxQueued} tasks are already waiting to run. The check and the increment
+     * are a single atomic step so that concurrent submitters cannot queue more than {@code maxQueued} tasks.
+     *
+     * @return {@code true} if the task was counted, {@code false} if the pool is saturated
+     */
+    private boolean reserveQueueSlot() {
+        final int maxQueued = this.maxQueued;
+        if (maxQueued < 0) {
+            queuedCount.incrementAndGet();
+            return true;
+        }
+        int queued;
+        do {
+            queued = queuedCount.get();
+            if (queued >= maxQueued) {
+                return false;
+            }
+        } while (!queuedCount.compareAndSet(queued, queued + 1));
+        return true;
+    }
+
+    private void reject() {
+        rejectedCount.incrementAndGet();
+        completed();
+    }
+
+    private void completed() {
+        if (pendingCount.decrementAndGet() == 0 && shutdown) {
+            tryTerminate();
+        }
+    }
+
+    private void tryTerminate() {
+        final List<ShutdownListener<?>> listeners;
+        synchronized (this) {
+            if (terminated || pendingCount.get() != 0) {
+                return;
+            }
+            terminated = true;
+            listeners = new ArrayList<ShutdownListener<?>>(shutdownListeners);
+            shutdownListeners.clear();
+        }
+        for (ShutdownListener<?> listener : listeners) {
+            listener.handleEvent();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        pool.shutdown();
+        if (pendingCount.get() == 0) {
+            tryTerminate();
+        }
+    }
+
+    /**
+     * Shuts down the executor and removes the tasks that have not started yet. Running tasks are interrupted.
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        // ForkJoinPool.shutdownNow() cancels queued tasks without returning them, so take them out first
+        final List<ForkJoinTask<?>> drained = new ArrayList<ForkJoinTask<?>>();
+        pool.drainTasksTo(drained);
+        pool.shutdownNow();
+        final List<Runnable> tasks = new ArrayList<Runnable>(drained.size());
+        for (ForkJoinTask<?> task : drained) {
+            if (task instanceof Task) {
+                queuedCount.decrementAndGet();
+                tasks.add(((Task) task).task);
+                completed();
+            }
+        }
+        return tasks;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return pool.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return pool.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * Adds a listener which is called once every task submitted through this executor has completed after a
+     * shutdown. Tasks forked by those tasks and never joined are not waited for.
+     */
+    <A> void addShutdownListener(final EventListener<A> listener, final A attachment) {
+        final ShutdownListener<A> shutdownListener = new ShutdownListener<A>(listener, attachment);
+        synchronized (this) {
+            if (!terminated) {
+                shutdownListeners.add(shutdownListener);
+                return;
+            }
+        }
+        shutdownListener.handleEvent();
+    }
+
+    int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    boolean isAsyncMode() {
+        return pool.getAsyncMode();
+    }
+
+    int getMaxQueued() {
+        return maxQueued;
+    }
+
+    void setMaxQueued(final int maxQueued) {
+        this.maxQueued = maxQueued;
+    }
+
+    SaturationPolicy getSaturationPolicy() {
+        return saturationPolicy;
+    }
+
+    void setSaturationPolicy(final SaturationPolicy saturationPolicy) {
+        this.saturationPolicy = saturationPolicy;
+    }
+
+    int getActiveCount() {
+        return pool.getActiveThreadCount();
+    }
+
+    int getCurrentThreadCount() {
+        return pool.getPoolSize();
+    }
+
+    long getStealCount() {
+        return pool.getStealCount();
+    }
+
+    long getQueueSize() {
+        return pool.getQueuedSubmissionCount() + pool.getQueuedTaskCount();
+    }
+
+    int getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    long getTaskCount() {
+        return taskCount.get();
+    }
+
+    long getCompletedTaskCount() {
+        return completedTaskCount.get();
+    }
+
+    private final class Task extends ForkJoinTask<Void> implements Runnable {
+        private static final long serialVersionUID = 1L;
+
+        private final Runnable task;
+
+        private Task(final Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public Void getRawResult() {
+            return null;
+        }
+
+        @Override
+        protected void setRawResult(final Void value) {
+        }
+
+        @Override
+        protected boolean exec() {
+            try {
+                run();
+            } catch (Throwable t) {
+                // Report the failure like a task passed to ForkJoinPool.execute(Runnable) rather than keep it in the task
+                final Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+            }
+            return true;
+        }
+
+        @Override
+        public void run() {
+            queuedCount.decrementAndGet();
+            try {
+                task.run();
+            } finally {
+                completedTaskCount.incrementAndGet();
+                completed();
+            }
+        }
+    }
+
+    /**
+     * Exposes {@link ForkJoinPool#drainTasksTo(Collection)}, so tasks which have not started can be returned.
+     */
+    private static final class WorkerPool extends ForkJoinPool {
+
+        private WorkerPool(final int parallelism, final ForkJoinWorkerThreadFactory factory, final boolean asyncMode) {
+            super(parallelism, factory, null, asyncMode);
+        }
+
+        @Override
+        protected int drainTasksTo(final Collection<? super ForkJoinTask<?>> c) {
+            return super.drainTasksTo(c);
+        }
+    }
+
+    private static final class WorkerThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+        private final ThreadFactory threadFactory;
+
+        private WorkerThreadFactory(final ThreadFactory threadFactory) {
+            this.threadFactory = threadFactory;
+        }
+
+        @Override
+        public ForkJoinWorkerThread newThread(final ForkJoinPool pool) {
+            final ForkJoinWorkerThread thread = new ForkJoinWorkerThread(pool) {
+            };
+            // A ThreadFactory cannot create fork/join workers, so take the settings of a thread it would have created
+            final Thread template = threadFactory.newThread(NOOP);
+            if (template != null) {
+                thread.setName(template.getName());
+                thread.setDaemon(template.isDaemon());
+                thread.setPriority(template.getPriority());
+            }
+            return thread;
+        }
+    }
+
+    private static final class ShutdownListener<A> {
+        private final EventListener<A> listener;
+        private final A attachment;
+
+        private ShutdownListener(final EventListener<A> listener, final A attachment) {
+            this.listener = listener;
+            this.attachment = attachment;
+        }
+
+        void handleEvent() {
+            listener.handleEvent(attachment);
+        }
+    }
+}
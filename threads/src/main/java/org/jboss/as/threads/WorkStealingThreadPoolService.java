@@ -0,0 +1,126 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.threads;
+
+import java.util.concurrent.ThreadFactory;
+
+import org.jboss.msc.inject.Injector;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.jboss.msc.value.InjectedValue;
+
+/**
+ * Service responsible for creating, starting and stopping a work-stealing thread pool executor.
+ */
+public class WorkStealingThreadPoolService implements Service<ManagedWorkStealingExecutorService> {
+    private final InjectedValue<ThreadFactory> threadFactoryValue = new InjectedValue<ThreadFactory>();
+
+    private ManagedWorkStealingExecutorService executor;
+
+    private final int parallelism;
+    private final boolean asyncMode;
+    private int maxQueuedTasks;
+    private SaturationPolicy saturationPolicy;
+
+    public WorkStealingThreadPoolService(int parallelism, boolean asyncMode, int maxQueuedTasks, SaturationPolicy saturationPolicy) {
+        this.parallelism = parallelism;
+        this.asyncMode = asyncMode;
+        this.maxQueuedTasks = maxQueuedTasks;
+        this.saturationPolicy = saturationPolicy;
+    }
+
+    public synchronized void start(final StartContext context) throws StartException {
+        executor = new ManagedWorkStealingExecutorService(new WorkStealingExecutor(parallelism, asyncMode, maxQueuedTasks,
+                saturationPolicy, threadFactoryValue.getValue()));
+    }
+
+    public void stop(final StopContext context) {
+        final ManagedWorkStealingExecutorService executor;
+        synchronized (this) {
+            executor = this.executor;
+            this.executor = null;
+        }
+        context.asynchronous();
+        executor.internalShutdown();
+        executor.addShutdownListener(StopContextEventListener.getInstance(), context);
+    }
+
+    public synchronized ManagedWorkStealingExecutorService getValue() throws IllegalStateException {
+        final ManagedWorkStealingExecutorService value = this.executor;
+        if (value == null) {
+            throw ThreadsLogger.ROOT_LOGGER.workStealingThreadPoolExecutorUninitialized();
+        }
+        return value;
+    }
+
+    public Injector<ThreadFactory> getThreadFactoryInjector() {
+        return threadFactoryValue;
+    }
+
+    public synchronized void setMaxQueuedTasks(final int maxQueuedTasks) {
+        final ManagedWorkStealingExecutorService executor = this.executor;
+        if (executor != null) {
+            executor.setMaxQueuedTasks(maxQueuedTasks);
+        }
+        this.maxQueuedTasks = maxQueuedTasks;
+    }
+
+    public synchronized void setSaturationPolicy(final SaturationPolicy saturationPolicy) {
+        final ManagedWorkStealingExecutorService executor = this.executor;
+        if (executor != null) {
+            executor.setSaturationPolicy(saturationPolicy);
+        }
+        this.saturationPolicy = saturationPolicy;
+    }
+
+    public int getActiveCount() {
+        return getValue().getActiveCount();
+    }
+
+    public long getCompletedTaskCount() {
+        return getValue().getCompletedTaskCount();
+    }
+
+    public int getCurrentThreadCount() {
+        return getValue().getCurrentThreadCount();
+    }
+
+    public int getRejectedCount() {
+        return getValue().getRejectedCount();
+    }
+
+    public long getTaskCount() {
+        return getValue().getTaskCount();
+    }
+
+    public long getQueueSize() {
+        return getValue().getQueueSize();
+    }
+
+    public long getStealCount() {
+        return getValue().getStealCount();
+    }
+}
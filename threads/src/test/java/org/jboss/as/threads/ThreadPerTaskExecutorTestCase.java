@@ -0,0 +1,204 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.threads;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.threads.EventListener;
+import org.junit.Test;
+
+/**
+ * Tests of the {@link ThreadPerTaskExecutor} used by virtual thread pools.
+ */
+public class ThreadPerTaskExecutorTestCase {
+
+    @Test
+    public void testMaxThreads() throws Exception {
+        final ThreadPerTaskExecutor executor = new ThreadPerTaskExecutor(2, Executors.defaultThreadFactory());
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(5);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger largest = new AtomicInteger();
+        for (int i = 0; i < 5; i++) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    final int count = running.incrementAndGet();
+                    largest.set(Math.max(largest.get(), count));
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        running.decrementAndGet();
+                        done.countDown();
+                    }
+                }
+            });
+        }
+        // Tasks beyond the limit wait in the queue rather than blocking the submitter
+        assertEquals(3, executor.getQueueSize());
+        assertEquals(5, executor.getTaskCount());
+
+        // Raising the limit starts queued tasks straight away
+        executor.setMaxThreads(3);
+        assertEquals(2, executor.getQueueSize());
+
+        release.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertTrue(largest.get() <= 3);
+        assertEquals(3, executor.getLargestThreadCount());
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(5, executor.getCompletedTaskCount());
+        assertEquals(0, executor.getQueueSize());
+    }
+
+    @Test
+    public void testShutdown() throws Exception {
+        final ThreadPerTaskExecutor executor = new ThreadPerTaskExecutor(1, Executors.defaultThreadFactory());
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(2);
+        final Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                done.countDown();
+            }
+        };
+        executor.execute(task);
+        executor.execute(task);
+
+        final CountDownLatch terminated = new CountDownLatch(1);
+        executor.shutdown();
+        executor.addShutdownListener(new EventListener<CountDownLatch>() {
+            @Override
+            public void handleEvent(CountDownLatch attachment) {
+                attachment.countDown();
+            }
+        }, terminated);
+        assertFalse(executor.isTerminated());
+        try {
+            executor.execute(task);
+            fail("Task accepted after shutdown");
+        } catch (RejectedExecutionException expected) {
+            assertEquals(1, executor.getRejectedCount());
+        }
+
+        // Tasks accepted before the shutdown still run
+        release.countDown();
+        assertTrue(terminated.await(10, TimeUnit.SECONDS));
+        assertTrue(done.await(0, TimeUnit.SECONDS));
+        assertTrue(executor.isTerminated());
+    }
+
+    @Test
+    public void testActiveCount() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        // Holds each thread back before it runs its task, so it is counted as a thread but not as active
+        final ThreadFactory threadFactory = new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable worker) {
+                return new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            started.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        worker.run();
+                    }
+                });
+            }
+        };
+        final ThreadPerTaskExecutor executor = new ThreadPerTaskExecutor(2, threadFactory);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                running.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        assertEquals(1, executor.getCurrentThreadCount());
+        assertEquals(0, executor.getActiveCount());
+
+        started.countDown();
+        assertTrue(running.await(10, TimeUnit.SECONDS));
+        assertEquals(1, executor.getCurrentThreadCount());
+        assertEquals(1, executor.getActiveCount());
+
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(0, executor.getActiveCount());
+    }
+
+    @Test
+    public void testVirtualThreadFactory() throws Exception {
+        final ThreadFactory threadFactory = VirtualThreadPoolService.createVirtualThreadFactory("virtual");
+        boolean virtualThreads;
+        try {
+            Thread.class.getMethod("ofVirtual").invoke(null);
+            virtualThreads = true;
+        } catch (ReflectiveOperationException e) {
+            virtualThreads = false;
+        }
+        if (!virtualThreads) {
+            assertNull(threadFactory);
+            return;
+        }
+        assertNotNull(threadFactory);
+        final Thread thread = threadFactory.newThread(new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+        assertEquals("virtual-1", thread.getName());
+        assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(thread));
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2017, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.threads;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jboss.threads.EventListener;
+import org.junit.Test;
+
+/**
+ * Tests of the {@link WorkStealingExecutor} used by work-stealing thread pools.
+ */
+public class WorkStealingExecutorTestCase {
+
+    @Test
+    public void testSaturation() throws Exception {
+        final WorkStealingExecutor executor = new WorkStealingExecutor(1, true, 1, SaturationPolicy.ABORT, Executors.defaultThreadFactory());
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        try {
+            executor.execute(task);
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            // The only worker is busy, so this task waits and the pool is saturated
+            executor.execute(task);
+            try {
+                executor.execute(task);
+                fail("Task accepted by a saturated pool");
+            } catch (RejectedExecutionException expected) {
+                assertEquals(1, executor.getRejectedCount());
+            }
+
+            // With the caller-runs policy the submitting thread runs the task itself
+            executor.setSaturationPolicy(SaturationPolicy.CALLER_RUNS);
+            final AtomicReference<Thread> runner = new AtomicReference<Thread>();
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    runner.set(Thread.currentThread());
+                }
+            });
+            assertSame(Thread.currentThread(), runner.get());
+
+            release.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            assertEquals(3, executor.getTaskCount());
+            assertEquals(3, executor.getCompletedTaskCount());
+            assertEquals(0, executor.getQueueSize());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentSaturation() throws Exception {
+        final WorkStealingExecutor executor = new WorkStealingExecutor(1, true, 5, SaturationPolicy.ABORT, Executors.defaultThreadFactory());
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        try {
+            executor.execute(task);
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            // Many submitters racing for the last free slots must not queue more than the limit
+            final CountDownLatch go = new CountDownLatch(1);
+            final AtomicInteger accepted = new AtomicInteger();
+            final Thread[] submitters = new Thread[16];
+            for (int i = 0; i < submitters.length; i++) {
+                submitters[i] = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            go.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        for (int j = 0; j < 10; j++) {
+                            try {
+                                executor.execute(task);
+                                accepted.incrementAndGet();
+                            } catch (RejectedExecutionException expected) {
+                                // saturated
+                            }
+                        }
+                    }
+                });
+                submitters[i].start();
+            }
+            go.countDown();
+            for (Thread submitter : submitters) {
+                submitter.join(10000);
+            }
+            assertEquals(5, accepted.get());
+            assertEquals(5, executor.getQueueSize());
+            assertEquals(155, executor.getRejectedCount());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testShutdownNow() throws Exception {
+        final WorkStealingExecutor executor = new WorkStealingExecutor(1, true, -1, SaturationPolicy.ABORT, Executors.defaultThreadFactory());
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        final Runnable queued = new Runnable() {
+            @Override
+            public void run() {
+                fail("Queued task run after shutdownNow");
+            }
+        };
+        executor.execute(queued);
+        executor.execute(queued);
+
+        final CountDownLatch terminated = new CountDownLatch(1);
+        executor.addShutdownListener(new EventListener<CountDownLatch>() {
+            @Override
+            public void handleEvent(CountDownLatch attachment) {
+                attachment.countDown();
+            }
+        }, terminated);
+        final List<Runnable> drained = executor.shutdownNow();
+        assertEquals(2, drained.size());
+        assertSame(queued, drained.get(0));
+        assertSame(queued, drained.get(1));
+
+        // The running task is interrupted, after which the executor terminates
+        assertTrue(terminated.await(10, TimeUnit.SECONDS));
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(0, executor.getQueueSize());
+    }
+
+    @Test
+    public void testPoolSettings() throws Exception {
+        final WorkStealingExecutor executor = new WorkStealingExecutor(3, false, -1, SaturationPolicy.ABORT, Executors.defaultThreadFactory());
+        try {
+            assertEquals(3, executor.getParallelism());
+            assertEquals(false, executor.isAsyncMode());
+            final AtomicReference<String> name = new AtomicReference<String>();
+            final CountDownLatch done = new CountDownLatch(1);
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    name.set(Thread.currentThread().getName());
+                    done.countDown();
+                }
+            });
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            // Workers are named by the thread factory
+            assertTrue(name.get(), name.get().startsWith("pool-"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}